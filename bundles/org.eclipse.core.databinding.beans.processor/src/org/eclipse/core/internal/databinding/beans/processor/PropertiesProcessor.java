@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates the properties of the classes annotated with
+ * <code>org.eclipse.core.databinding.beans.GenerateProperties</code>.
+ * <p>
+ * The properties of a class are found the way {@link java.beans.Introspector}
+ * finds them, from its public getter and setter methods. For each property,
+ * the generated class contains a property implementation that invokes the
+ * accessor methods directly, so that neither introspection nor reflection is
+ * needed at run time.
+ * </p>
+ *
+ * @since 1.0
+ */
+@SupportedAnnotationTypes(PropertiesProcessor.ANNOTATION)
+public class PropertiesProcessor extends AbstractProcessor {
+	static final String ANNOTATION = "org.eclipse.core.databinding.beans.GenerateProperties"; //$NON-NLS-1$
+
+	private static final String PROPERTY_CHANGE_LISTENER = "java.beans.PropertyChangeListener"; //$NON-NLS-1$
+
+	private Elements elements;
+
+	private Types types;
+
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	public boolean process(Set<? extends TypeElement> annotations,
+			RoundEnvironment roundEnv) {
+		elements = processingEnv.getElementUtils();
+		types = processingEnv.getTypeUtils();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv
+					.getElementsAnnotatedWith(annotation)) {
+				if (isSupported(element))
+					generate((TypeElement) element);
+			}
+		}
+		return true;
+	}
+
+	private boolean isSupported(Element element) {
+		if (element.getKind() != ElementKind.CLASS) {
+			error("@GenerateProperties can only be applied to classes", //$NON-NLS-1$
+					element);
+			return false;
+		}
+		TypeElement type = (TypeElement) element;
+		if (!type.getTypeParameters().isEmpty()) {
+			error("@GenerateProperties cannot be applied to generic classes", //$NON-NLS-1$
+					element);
+			return false;
+		}
+		for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e
+				.getEnclosingElement()) {
+			if (e.getModifiers().contains(Modifier.PRIVATE)
+					|| (e.getEnclosingElement().getKind() != ElementKind.PACKAGE && !e
+							.getModifiers().contains(Modifier.STATIC))) {
+				error("@GenerateProperties can only be applied to top level classes and non-private static member classes", //$NON-NLS-1$
+						element);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void generate(TypeElement type) {
+		PackageElement packageElement = elements.getPackageOf(type);
+		String packageName = packageElement.isUnnamed() ? null
+				: packageElement.getQualifiedName().toString();
+		String className = generatedClassName(type);
+		String qualifiedName = packageName == null ? className : packageName
+				+ "." + className; //$NON-NLS-1$
+
+		PropertiesWriter writer = new PropertiesWriter(packageName,
+				className, type.getQualifiedName().toString(), type
+						.getSimpleName().toString());
+		findListenerMethods(type, writer);
+		for (PropertyModel property : findProperties(type))
+			writer.addProperty(property);
+
+		try {
+			JavaFileObject file = processingEnv.getFiler().createSourceFile(
+					qualifiedName, type);
+			Writer out = file.openWriter();
+			try {
+				out.write(writer.toString());
+			} finally {
+				out.close();
+			}
+		} catch (IOException e) {
+			error("Could not write " + qualifiedName + ": " + e, type); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * The generated class of a member class is named after the classes
+	 * enclosing it, for example <code>OuterInnerProperties</code>.
+	 */
+	private static String generatedClassName(TypeElement type) {
+		StringBuilder name = new StringBuilder();
+		for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e
+				.getEnclosingElement()) {
+			name.insert(0, e.getSimpleName());
+		}
+		return name.append("Properties").toString(); //$NON-NLS-1$
+	}
+
+	private List<ExecutableElement> publicMethods(TypeElement type) {
+		List<ExecutableElement> methods = new ArrayList<ExecutableElement>();
+		for (ExecutableElement method : ElementFilter.methodsIn(elements
+				.getAllMembers(type))) {
+			Set<Modifier> modifiers = method.getModifiers();
+			if (modifiers.contains(Modifier.PUBLIC)
+					&& !modifiers.contains(Modifier.STATIC)
+					&& method.getTypeParameters().isEmpty())
+				methods.add(method);
+		}
+		return methods;
+	}
+
+	/**
+	 * Looks for the listener registration methods, preferring the variant
+	 * that takes a property name like BeanPropertyListenerSupport does.
+	 */
+	private void findListenerMethods(TypeElement type, PropertiesWriter writer) {
+		boolean addNamed = false, addUnnamed = false;
+		boolean removeNamed = false, removeUnnamed = false;
+		for (ExecutableElement method : publicMethods(type)) {
+			String name = method.getSimpleName().toString();
+			List<? extends TypeMirror> parameters = ((ExecutableType) method
+					.asType()).getParameterTypes();
+			boolean named = parameters.size() == 2
+					&& isType(parameters.get(0), "java.lang.String") //$NON-NLS-1$
+					&& isType(parameters.get(1), PROPERTY_CHANGE_LISTENER);
+			boolean unnamed = parameters.size() == 1
+					&& isType(parameters.get(0), PROPERTY_CHANGE_LISTENER);
+			if ("addPropertyChangeListener".equals(name)) { //$NON-NLS-1$
+				addNamed |= named;
+				addUnnamed |= unnamed;
+			} else if ("removePropertyChangeListener".equals(name)) { //$NON-NLS-1$
+				removeNamed |= named;
+				removeUnnamed |= unnamed;
+			}
+		}
+		if (addNamed && removeNamed)
+			writer.setListenerRegistration(PropertiesWriter.NAMED_REGISTRATION);
+		else if (addUnnamed && removeUnnamed)
+			writer.setListenerRegistration(PropertiesWriter.UNNAMED_REGISTRATION);
+	}
+
+	private List<PropertyModel> findProperties(TypeElement type) {
+		DeclaredType declaredType = (DeclaredType) type.asType();
+		Map<String, ExecutableElement> getters = new TreeMap<String, ExecutableElement>();
+		Map<String, List<ExecutableElement>> setters = new HashMap<String, List<ExecutableElement>>();
+		for (ExecutableElement method : publicMethods(type)) {
+			String name = method.getSimpleName().toString();
+			ExecutableType methodType = (ExecutableType) types.asMemberOf(
+					declaredType, method);
+			List<? extends TypeMirror> parameters = methodType
+					.getParameterTypes();
+			TypeMirror returnType = methodType.getReturnType();
+			if (parameters.isEmpty() && returnType.getKind() != TypeKind.VOID) {
+				String propertyName;
+				if (name.startsWith("get") && name.length() > 3 //$NON-NLS-1$
+						&& !"getClass".equals(name)) { //$NON-NLS-1$
+					propertyName = decapitalize(name.substring(3));
+					// Like the Introspector, prefer isFoo() over getFoo()
+					if (getters.containsKey(propertyName))
+						continue;
+				} else if (name.startsWith("is") && name.length() > 2 //$NON-NLS-1$
+						&& returnType.getKind() == TypeKind.BOOLEAN) {
+					propertyName = decapitalize(name.substring(2));
+				} else {
+					continue;
+				}
+				getters.put(propertyName, method);
+			} else if (parameters.size() == 1
+					&& returnType.getKind() == TypeKind.VOID
+					&& name.startsWith("set") && name.length() > 3) { //$NON-NLS-1$
+				String propertyName = decapitalize(name.substring(3));
+				List<ExecutableElement> list = setters.get(propertyName);
+				if (list == null)
+					setters.put(propertyName,
+							list = new ArrayList<ExecutableElement>());
+				list.add(method);
+			}
+		}
+
+		List<PropertyModel> properties = new ArrayList<PropertyModel>();
+		for (Map.Entry<String, ExecutableElement> entry : getters.entrySet()) {
+			String propertyName = entry.getKey();
+			ExecutableElement getter = entry.getValue();
+			TypeMirror propertyType = ((ExecutableType) types.asMemberOf(
+					declaredType, getter)).getReturnType();
+			String setterName = null;
+			List<ExecutableElement> candidates = setters.get(propertyName);
+			if (candidates != null) {
+				for (ExecutableElement setter : candidates) {
+					TypeMirror parameterType = ((ExecutableType) types
+							.asMemberOf(declaredType, setter))
+							.getParameterTypes().get(0);
+					if (types.isSameType(parameterType, propertyType))
+						setterName = setter.getSimpleName().toString();
+				}
+			}
+			properties.add(createProperty(propertyName, propertyType, getter
+					.getSimpleName().toString(), setterName));
+		}
+		return properties;
+	}
+
+	private PropertyModel createProperty(String name, TypeMirror type,
+			String getterName, String setterName) {
+		boolean primitive = type.getKind().isPrimitive();
+		TypeMirror boxedType = primitive ? types.boxedClass(
+				(PrimitiveType) type).asType() : type;
+		PropertyModel property = new PropertyModel(name, getterName,
+				setterName, primitive);
+
+		List<TypeMirror> typeArguments = typeArguments(type);
+		if (typeArguments != null) {
+			if (isType(type, "java.util.List") && typeArguments.size() == 1) { //$NON-NLS-1$
+				property.setCollection(PropertyModel.LIST,
+						typeModels(typeArguments));
+				return property;
+			}
+			if (isType(type, "java.util.Set") && typeArguments.size() == 1) { //$NON-NLS-1$
+				property.setCollection(PropertyModel.SET,
+						typeModels(typeArguments));
+				return property;
+			}
+			if (isType(type, "java.util.Map") && typeArguments.size() == 2) { //$NON-NLS-1$
+				property.setCollection(PropertyModel.MAP,
+						typeModels(typeArguments));
+				return property;
+			}
+		}
+		property.setValueType(typeModel(boxedType));
+		return property;
+	}
+
+	/**
+	 * @return the type arguments of a collection type, with
+	 *         <code>Object</code> for each argument of a raw type, or
+	 *         <code>null</code> if an argument is not a plain class, array or
+	 *         parameterized type
+	 */
+	private List<TypeMirror> typeArguments(TypeMirror type) {
+		if (type.getKind() != TypeKind.DECLARED)
+			return null;
+		DeclaredType declaredType = (DeclaredType) type;
+		List<TypeMirror> arguments = new ArrayList<TypeMirror>();
+		if (declaredType.getTypeArguments().isEmpty()) {
+			TypeMirror object = elements.getTypeElement("java.lang.Object") //$NON-NLS-1$
+					.asType();
+			int count = ((TypeElement) declaredType.asElement())
+					.getTypeParameters().size();
+			for (int i = 0; i < count; i++)
+				arguments.add(object);
+			return arguments;
+		}
+		for (TypeMirror argument : declaredType.getTypeArguments()) {
+			if (argument.getKind() != TypeKind.DECLARED
+					&& argument.getKind() != TypeKind.ARRAY)
+				return null;
+			arguments.add(argument);
+		}
+		return arguments;
+	}
+
+	private List<TypeModel> typeModels(List<TypeMirror> typeMirrors) {
+		List<TypeModel> models = new ArrayList<TypeModel>();
+		for (TypeMirror type : typeMirrors)
+			models.add(typeModel(type));
+		return models;
+	}
+
+	private TypeModel typeModel(TypeMirror type) {
+		String erasure = types.erasure(type).toString();
+		boolean parameterized = type.getKind() == TypeKind.DECLARED
+				&& !((DeclaredType) type).getTypeArguments().isEmpty();
+		String simpleName = erasure.substring(erasure.lastIndexOf('.') + 1);
+		return new TypeModel(type.toString(), erasure, simpleName,
+				parameterized);
+	}
+
+	private boolean isType(TypeMirror type, String qualifiedName) {
+		TypeElement element = elements.getTypeElement(qualifiedName);
+		return element != null
+				&& types.isSameType(types.erasure(type), types.erasure(element
+						.asType()));
+	}
+
+	/**
+	 * Same as {@link java.beans.Introspector#decapitalize(String)}.
+	 */
+	private static String decapitalize(String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1))
+				&& Character.isUpperCase(name.charAt(0)))
+			return name;
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private void error(String message, Element element) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+				message, element);
+	}
+}
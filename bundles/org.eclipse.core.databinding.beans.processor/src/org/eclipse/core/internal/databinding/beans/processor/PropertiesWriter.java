@@ -0,0 +1,443 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans.processor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.lang.model.SourceVersion;
+
+/**
+ * Writes the source of the class holding the generated properties of an
+ * annotated class. The generated code only uses Java 5 language features and
+ * the public API of the property framework.
+ *
+ * @since 1.0
+ */
+class PropertiesWriter {
+	static final int NO_REGISTRATION = 0;
+
+	static final int UNNAMED_REGISTRATION = 1;
+
+	static final int NAMED_REGISTRATION = 2;
+
+	private static final String OBSERVABLE = "org.eclipse.core.databinding.observable."; //$NON-NLS-1$
+
+	private static final String PROPERTY = "org.eclipse.core.databinding.property."; //$NON-NLS-1$
+
+	private final String packageName;
+
+	private final String className;
+
+	private final String sourceType;
+
+	private final String sourceSimpleName;
+
+	private int registration = NO_REGISTRATION;
+
+	private final List<PropertyModel> properties = new ArrayList<PropertyModel>();
+
+	private final Set<String> imports = new TreeSet<String>();
+
+	private StringBuilder out;
+
+	private int indent;
+
+	/**
+	 * @param packageName
+	 *            the package of the generated class, or <code>null</code>
+	 *            for the unnamed package
+	 * @param className
+	 *            the simple name of the generated class
+	 * @param sourceType
+	 *            the qualified name of the annotated class
+	 * @param sourceSimpleName
+	 *            the simple name of the annotated class
+	 */
+	PropertiesWriter(String packageName, String className, String sourceType,
+			String sourceSimpleName) {
+		this.packageName = packageName;
+		this.className = className;
+		this.sourceType = sourceType;
+		this.sourceSimpleName = sourceSimpleName;
+	}
+
+	void setListenerRegistration(int registration) {
+		this.registration = registration;
+	}
+
+	void addProperty(PropertyModel property) {
+		properties.add(property);
+	}
+
+	public String toString() {
+		out = new StringBuilder();
+		indent = 0;
+		imports.clear();
+		writeClass();
+		String body = out.toString();
+
+		out = new StringBuilder();
+		line("// Generated from " + sourceType + " by the " //$NON-NLS-1$ //$NON-NLS-2$
+				+ "org.eclipse.core.databinding.beans.processor annotation processor. Do not edit."); //$NON-NLS-1$
+		if (packageName != null) {
+			line("package " + packageName + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+			line();
+		}
+		for (Iterator<String> it = imports.iterator(); it.hasNext();)
+			line("import " + it.next() + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+		line();
+		out.append(body);
+		return out.toString();
+	}
+
+	private void writeClass() {
+		line("/**"); //$NON-NLS-1$
+		line(" * The properties of {@link " + sourceType + "}."); //$NON-NLS-1$ //$NON-NLS-2$
+		line(" */"); //$NON-NLS-1$
+		line("@SuppressWarnings({ \"unchecked\", \"deprecation\" })"); //$NON-NLS-1$
+		line("public final class " + className + " {"); //$NON-NLS-1$ //$NON-NLS-2$
+		indent++;
+		for (Iterator<PropertyModel> it = properties.iterator(); it.hasNext();) {
+			PropertyModel property = it.next();
+			line("private static final " + interfaceType(property) + " " //$NON-NLS-1$ //$NON-NLS-2$
+					+ constantName(property) + " = new " //$NON-NLS-1$
+					+ implementationName(property) + "();"); //$NON-NLS-1$
+			line();
+		}
+		line("private " + className + "() {"); //$NON-NLS-1$ //$NON-NLS-2$
+		line("}"); //$NON-NLS-1$
+
+		for (Iterator<PropertyModel> it = properties.iterator(); it.hasNext();) {
+			PropertyModel property = it.next();
+			line();
+			line("/**"); //$NON-NLS-1$
+			line(" * @return the " + property.name + " property of {@link " //$NON-NLS-1$ //$NON-NLS-2$
+					+ sourceType + "}"); //$NON-NLS-1$
+			line(" */"); //$NON-NLS-1$
+			line("public static " + interfaceType(property) + " " //$NON-NLS-1$ //$NON-NLS-2$
+					+ methodName(property) + "() {"); //$NON-NLS-1$
+			indent++;
+			line("return " + constantName(property) + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+			indent--;
+			line("}"); //$NON-NLS-1$
+		}
+
+		for (Iterator<PropertyModel> it = properties.iterator(); it.hasNext();) {
+			line();
+			writeProperty(it.next());
+		}
+
+		if (registration != NO_REGISTRATION) {
+			line();
+			writeListener();
+		}
+		indent--;
+		line("}"); //$NON-NLS-1$
+	}
+
+	private void writeProperty(PropertyModel property) {
+		switch (property.kind) {
+		case PropertyModel.LIST:
+			writeCollectionProperty(property, "list", "List", "[]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			break;
+		case PropertyModel.SET:
+			writeCollectionProperty(property, "set", "Set", "{}"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			break;
+		case PropertyModel.MAP:
+			writeCollectionProperty(property, "map", "Map", "{:}"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			break;
+		default:
+			writeValueProperty(property);
+		}
+	}
+
+	private void writeValueProperty(PropertyModel property) {
+		String type = property.valueType.name;
+		String simpleValueProperty = use(PROPERTY + "value.SimpleValueProperty"); //$NON-NLS-1$
+		String valueDiff = use(OBSERVABLE + "value.ValueDiff"); //$NON-NLS-1$
+
+		line("private static final class " + implementationName(property) //$NON-NLS-1$
+				+ " extends " + simpleValueProperty + "<" + sourceType + ", " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ type + "> {"); //$NON-NLS-1$
+		indent++;
+		line("public Object getValueType() {"); //$NON-NLS-1$
+		line(1, "return getValueClass();"); //$NON-NLS-1$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("public Class<" + type + "> getValueClass() {"); //$NON-NLS-1$ //$NON-NLS-2$
+		line(1, "return " + property.valueType.classLiteral() + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("protected " + type + " doGetValue(" + sourceType + " source) {"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		line(1, "return source." + property.getterName + "();"); //$NON-NLS-1$ //$NON-NLS-2$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("protected void doSetValue(" + sourceType + " source, " + type //$NON-NLS-1$ //$NON-NLS-2$
+				+ " value) {"); //$NON-NLS-1$
+		if (property.setterName == null) {
+			writeMissingSetter(property);
+		} else if (property.primitive) {
+			// A primitive property cannot be set to null
+			line(1, "if (value != null)"); //$NON-NLS-1$
+			line(2, "source." + property.setterName + "(value);"); //$NON-NLS-1$ //$NON-NLS-2$
+		} else {
+			line(1, "source." + property.setterName + "(value);"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		line("}"); //$NON-NLS-1$
+		line();
+		writeAdaptListener(property, valueDiff + "<" + type + ">", //$NON-NLS-1$ //$NON-NLS-2$
+				use(OBSERVABLE + "Diffs") + ".createValueDiff((" + type //$NON-NLS-1$ //$NON-NLS-2$
+						+ ") oldValue, (" + type + ") newValue)"); //$NON-NLS-1$ //$NON-NLS-2$
+		line();
+		writeToString(property, "", property.valueType); //$NON-NLS-1$
+		indent--;
+		line("}"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @param kind
+	 *            "list", "set" or "map"
+	 * @param capitalizedKind
+	 *            "List", "Set" or "Map"
+	 */
+	private void writeCollectionProperty(PropertyModel property, String kind,
+			String capitalizedKind, String suffix) {
+		boolean map = property.kind == PropertyModel.MAP;
+		TypeModel elementType = property.typeArguments.get(0);
+		TypeModel valueType = map ? property.typeArguments.get(1) : null;
+		String typeArguments = map ? elementType.name + ", " + valueType.name //$NON-NLS-1$
+				: elementType.name;
+		String collection = use("java.util." + capitalizedKind) + "<" //$NON-NLS-1$ //$NON-NLS-2$
+				+ typeArguments + ">"; //$NON-NLS-1$
+		String diff = use(OBSERVABLE + kind + "." + capitalizedKind + "Diff") //$NON-NLS-1$ //$NON-NLS-2$
+				+ "<" + typeArguments + ">"; //$NON-NLS-1$ //$NON-NLS-2$
+		String superclass = use(PROPERTY + kind + ".Simple" + capitalizedKind //$NON-NLS-1$
+				+ "Property"); //$NON-NLS-1$
+
+		line("private static final class " + implementationName(property) //$NON-NLS-1$
+				+ " extends " + superclass + "<" + sourceType + ", " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ typeArguments + "> {"); //$NON-NLS-1$
+		indent++;
+		if (map) {
+			writeTypeGetters("Key", elementType); //$NON-NLS-1$
+			line();
+			writeTypeGetters("Value", valueType); //$NON-NLS-1$
+		} else {
+			writeTypeGetters("Element", elementType); //$NON-NLS-1$
+		}
+		line();
+		line("protected " + collection + " doGet" + capitalizedKind + "(" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ sourceType + " source) {"); //$NON-NLS-1$
+		line(1, collection + " " + kind + " = source." + property.getterName //$NON-NLS-1$ //$NON-NLS-2$
+				+ "();"); //$NON-NLS-1$
+		line(1, "return " + kind + " != null ? " + kind + " : " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ use("java.util.Collections") + ".<" + typeArguments //$NON-NLS-1$ //$NON-NLS-2$
+				+ "> empty" + capitalizedKind + "();"); //$NON-NLS-1$ //$NON-NLS-2$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("protected void doSet" + capitalizedKind + "(" + sourceType //$NON-NLS-1$ //$NON-NLS-2$
+				+ " source, " + collection + " " + kind + ", " + diff //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ " diff) {"); //$NON-NLS-1$
+		if (property.setterName == null)
+			writeMissingSetter(property);
+		else
+			line(1, "source." + property.setterName + "(" + kind + ");"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		line("}"); //$NON-NLS-1$
+		line();
+		String wildcardCollection = "java.util." + capitalizedKind //$NON-NLS-1$
+				+ (map ? "<?, ?>" : "<?>"); //$NON-NLS-1$ //$NON-NLS-2$
+		String classes = map ? elementType.classLiteral() + ", " //$NON-NLS-1$
+				+ valueType.classLiteral() : elementType.classLiteral();
+		writeAdaptListener(property, diff, use(OBSERVABLE + "Diffs") //$NON-NLS-1$
+				+ ".computeAndCast" + capitalizedKind + "Diff((" //$NON-NLS-1$ //$NON-NLS-2$
+				+ wildcardCollection + ") oldValue, (" + wildcardCollection //$NON-NLS-1$
+				+ ") newValue, " + classes + ")"); //$NON-NLS-1$ //$NON-NLS-2$
+		line();
+		writeToString(property, suffix, map ? null : elementType);
+		indent--;
+		line("}"); //$NON-NLS-1$
+	}
+
+	private void writeTypeGetters(String role, TypeModel type) {
+		line("public Object get" + role + "Type() {"); //$NON-NLS-1$ //$NON-NLS-2$
+		line(1, "return get" + role + "Class();"); //$NON-NLS-1$ //$NON-NLS-2$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("public Class<" + type.name + "> get" + role + "Class() {"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		line(1, "return " + type.classLiteral() + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+		line("}"); //$NON-NLS-1$
+	}
+
+	private void writeMissingSetter(PropertyModel property) {
+		line(1, "throw new IllegalArgumentException(\"Missing public setter method for " //$NON-NLS-1$
+				+ property.name + " property\");"); //$NON-NLS-1$
+	}
+
+	private void writeAdaptListener(PropertyModel property, String diffType,
+			String computeDiff) {
+		String nativeListener = use(PROPERTY + "INativePropertyListener"); //$NON-NLS-1$
+		String simpleListener = use(PROPERTY + "ISimplePropertyListener"); //$NON-NLS-1$
+		line("public " + nativeListener + "<" + sourceType + "> adaptListener("); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		line(2, "final " + simpleListener + "<" + diffType + "> listener) {"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (registration == NO_REGISTRATION) {
+			line(1, "return null;"); //$NON-NLS-1$
+		} else {
+			line(1, "return new Listener<" + diffType + ">(this, \"" //$NON-NLS-1$ //$NON-NLS-2$
+					+ property.name + "\", listener) {"); //$NON-NLS-1$
+			line(2, "protected " + diffType //$NON-NLS-1$
+					+ " computeDiff(Object oldValue, Object newValue) {"); //$NON-NLS-1$
+			line(3, "return " + computeDiff + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+			line(2, "}"); //$NON-NLS-1$
+			line(1, "};"); //$NON-NLS-1$
+		}
+		line("}"); //$NON-NLS-1$
+	}
+
+	private void writeToString(PropertyModel property, String suffix,
+			TypeModel type) {
+		String s = sourceSimpleName + "." + property.name + suffix; //$NON-NLS-1$
+		if (type != null)
+			s += "<" + type.simpleName + ">"; //$NON-NLS-1$ //$NON-NLS-2$
+		line("public String toString() {"); //$NON-NLS-1$
+		line(1, "return \"" + s + "\";"); //$NON-NLS-1$ //$NON-NLS-2$
+		line("}"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the base class of the native listeners, which registers itself
+	 * with the source bean through the bean's listener methods.
+	 */
+	private void writeListener() {
+		String propertyChangeListener = use("java.beans.PropertyChangeListener"); //$NON-NLS-1$
+		String propertyChangeEvent = use("java.beans.PropertyChangeEvent"); //$NON-NLS-1$
+		String iDiff = use(OBSERVABLE + "IDiff"); //$NON-NLS-1$
+		String nativeListener = use(PROPERTY + "NativePropertyListener"); //$NON-NLS-1$
+		String simpleListener = use(PROPERTY + "ISimplePropertyListener"); //$NON-NLS-1$
+		String iProperty = use(PROPERTY + "IProperty"); //$NON-NLS-1$
+		String arguments = registration == NAMED_REGISTRATION ? "(propertyName, this);" //$NON-NLS-1$
+				: "(this);"; //$NON-NLS-1$
+
+		line("private static abstract class Listener<D extends " + iDiff //$NON-NLS-1$
+				+ "> extends " + nativeListener + "<" + sourceType //$NON-NLS-1$ //$NON-NLS-2$
+				+ ", D> implements " + propertyChangeListener + " {"); //$NON-NLS-1$ //$NON-NLS-2$
+		indent++;
+		line("private final String propertyName;"); //$NON-NLS-1$
+		line();
+		line("Listener(" + iProperty + " property, String propertyName, " //$NON-NLS-1$ //$NON-NLS-2$
+				+ simpleListener + "<D> listener) {"); //$NON-NLS-1$
+		line(1, "super(property, listener);"); //$NON-NLS-1$
+		line(1, "this.propertyName = propertyName;"); //$NON-NLS-1$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("protected void doAddTo(" + sourceType + " source) {"); //$NON-NLS-1$ //$NON-NLS-2$
+		line(1, "source.addPropertyChangeListener" + arguments); //$NON-NLS-1$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("protected void doRemoveFrom(" + sourceType + " source) {"); //$NON-NLS-1$ //$NON-NLS-2$
+		line(1, "source.removePropertyChangeListener" + arguments); //$NON-NLS-1$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("public void propertyChange(" + propertyChangeEvent + " evt) {"); //$NON-NLS-1$ //$NON-NLS-2$
+		line(1, "String name = evt.getPropertyName();"); //$NON-NLS-1$
+		line(1, "if (name == null || propertyName.equals(name)) {"); //$NON-NLS-1$
+		line(2, "Object oldValue = evt.getOldValue();"); //$NON-NLS-1$
+		line(2, "Object newValue = evt.getNewValue();"); //$NON-NLS-1$
+		line(2, "D diff = null;"); //$NON-NLS-1$
+		line(2, "if (name != null && oldValue != null && newValue != null)"); //$NON-NLS-1$
+		line(3, "diff = computeDiff(oldValue, newValue);"); //$NON-NLS-1$
+		line(2, "fireChange(evt.getSource(), diff);"); //$NON-NLS-1$
+		line(1, "}"); //$NON-NLS-1$
+		line("}"); //$NON-NLS-1$
+		line();
+		line("protected abstract D computeDiff(Object oldValue, Object newValue);"); //$NON-NLS-1$
+		indent--;
+		line("}"); //$NON-NLS-1$
+	}
+
+	private String interfaceType(PropertyModel property) {
+		switch (property.kind) {
+		case PropertyModel.LIST:
+			return use(PROPERTY + "list.IListProperty") + "<" + sourceType //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", " + property.typeArguments.get(0).name + ">"; //$NON-NLS-1$ //$NON-NLS-2$
+		case PropertyModel.SET:
+			return use(PROPERTY + "set.ISetProperty") + "<" + sourceType //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", " + property.typeArguments.get(0).name + ">"; //$NON-NLS-1$ //$NON-NLS-2$
+		case PropertyModel.MAP:
+			return use(PROPERTY + "map.IMapProperty") + "<" + sourceType //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", " + property.typeArguments.get(0).name + ", " //$NON-NLS-1$ //$NON-NLS-2$
+					+ property.typeArguments.get(1).name + ">"; //$NON-NLS-1$
+		default:
+			return use(PROPERTY + "value.IValueProperty") + "<" + sourceType //$NON-NLS-1$ //$NON-NLS-2$
+					+ ", " + property.valueType.name + ">"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * @return the name of the static method returning the property, which
+	 *         is the property name unless that is a keyword
+	 */
+	private static String methodName(PropertyModel property) {
+		if (SourceVersion.isKeyword(property.name))
+			return property.name + "Property"; //$NON-NLS-1$
+		return property.name;
+	}
+
+	private static String implementationName(PropertyModel property) {
+		return Character.toUpperCase(property.name.charAt(0))
+				+ property.name.substring(1) + "Property"; //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the name of the constant holding the property, for example
+	 *         <code>FIRST_NAME</code> for the property <code>firstName</code>
+	 */
+	private static String constantName(PropertyModel property) {
+		StringBuilder name = new StringBuilder();
+		String propertyName = property.name;
+		for (int i = 0; i < propertyName.length(); i++) {
+			char c = propertyName.charAt(i);
+			if (i > 0 && Character.isUpperCase(c)
+					&& !Character.isUpperCase(propertyName.charAt(i - 1)))
+				name.append('_');
+			name.append(Character.toUpperCase(c));
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Imports the given type.
+	 *
+	 * @return the simple name of the type
+	 */
+	private String use(String qualifiedName) {
+		imports.add(qualifiedName);
+		return qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1);
+	}
+
+	private void line() {
+		out.append('\n');
+	}
+
+	private void line(String text) {
+		line(0, text);
+	}
+
+	private void line(int extraIndent, String text) {
+		for (int i = 0; i < indent + extraIndent; i++)
+			out.append('\t');
+		out.append(text).append('\n');
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans.processor;
+
+import java.util.List;
+
+/**
+ * A property found on an annotated class.
+ *
+ * @since 1.0
+ */
+class PropertyModel {
+	static final int VALUE = 0;
+
+	static final int LIST = 1;
+
+	static final int SET = 2;
+
+	static final int MAP = 3;
+
+	final String name;
+
+	final String getterName;
+
+	/**
+	 * The name of the setter method, or <code>null</code> if the property is
+	 * read-only
+	 */
+	final String setterName;
+
+	/**
+	 * Whether the property has a primitive type, whose values are boxed
+	 */
+	final boolean primitive;
+
+	int kind = VALUE;
+
+	/**
+	 * The type of a value property
+	 */
+	TypeModel valueType;
+
+	/**
+	 * The element type of a list or set property, or the key and value types
+	 * of a map property
+	 */
+	List<TypeModel> typeArguments;
+
+	PropertyModel(String name, String getterName, String setterName,
+			boolean primitive) {
+		this.name = name;
+		this.getterName = getterName;
+		this.setterName = setterName;
+		this.primitive = primitive;
+	}
+
+	void setValueType(TypeModel valueType) {
+		this.kind = VALUE;
+		this.valueType = valueType;
+	}
+
+	void setCollection(int kind, List<TypeModel> typeArguments) {
+		this.kind = kind;
+		this.typeArguments = typeArguments;
+	}
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans.processor;
+
+/**
+ * A type as it is written in the generated source.
+ *
+ * @since 1.0
+ */
+class TypeModel {
+	/**
+	 * The qualified name of the type, including its type arguments
+	 */
+	final String name;
+
+	/**
+	 * The qualified name of the erasure of the type
+	 */
+	final String erasure;
+
+	/**
+	 * The simple name of the erasure of the type
+	 */
+	final String simpleName;
+
+	private final boolean parameterized;
+
+	TypeModel(String name, String erasure, String simpleName,
+			boolean parameterized) {
+		this.name = name;
+		this.erasure = erasure;
+		this.simpleName = simpleName;
+		this.parameterized = parameterized;
+	}
+
+	/**
+	 * @return an expression evaluating to the class of the type, typed as
+	 *         <code>Class&lt;name&gt;</code>
+	 */
+	String classLiteral() {
+		if (parameterized)
+			return "(java.lang.Class<" + name + ">) (java.lang.Class<?>) " //$NON-NLS-1$ //$NON-NLS-2$
+					+ erasure + ".class"; //$NON-NLS-1$
+		return erasure + ".class"; //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.beans;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests that properties be generated at compile time for the annotated
+ * class, as an alternative to {@link BeanProperties}, which looks up the
+ * properties through introspection and accesses them through reflection.
+ * <p>
+ * When the <code>org.eclipse.core.databinding.beans.processor</code>
+ * annotation processor is on the processor path of the compiler, it generates
+ * a class named after the annotated class with the suffix
+ * <code>Properties</code>, in the same package. For each property of the
+ * annotated class, defined by a public getter and an optional public setter,
+ * the generated class has a static method returning a property that calls the
+ * accessor methods directly:
+ * </p>
+ * <ul>
+ * <li>properties of type {@link java.util.List}, {@link java.util.Set} or
+ * {@link java.util.Map} are list, set or map properties, respectively</li>
+ * <li>all other properties are value properties</li>
+ * </ul>
+ * <p>
+ * If the class has public <code>addPropertyChangeListener</code> and
+ * <code>removePropertyChangeListener</code> methods, the generated
+ * properties listen to property changes through them, otherwise the
+ * properties are not observable for changes made outside of the property.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ *
+ * <pre>
+ * &#064;GenerateProperties
+ * public class Person {
+ * 	public String getName() { ... }
+ * 	public void setName(String name) { ... }
+ * 	...
+ * }
+ *
+ * IObservableValue&lt;String&gt; name = PersonProperties.name().observe(person);
+ * </pre>
+ *
+ * The annotated class must not be generic, and must be a top level class or
+ * a static member class.
+ *
+ * @since 1.5
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateProperties {
+}
@@ -12,9 +12,6 @@
 
 package org.eclipse.core.internal.databinding.beans;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.core.databinding.beans.BeanProperties;
 import org.eclipse.core.databinding.property.list.DelegatingListProperty;
 import org.eclipse.core.databinding.property.list.IListProperty;
@@ -29,32 +26,31 @@ public class AnonymousBeanListProperty<S, E> extends
 		DelegatingListProperty<S, E> {
 	private final String propertyName;
 
-	private Map<Class<? extends S>, IListProperty<S, E>> delegates;
+	private final DelegateCache<S, IListProperty<S, E>> delegates;
 
 	/**
 	 * @param propertyName
 	 * @param elementType
 	 */
-	public AnonymousBeanListProperty(String propertyName, Class<E> elementType) {
+	public AnonymousBeanListProperty(final String propertyName,
+			Class<E> elementType) {
 		super(elementType);
 		this.propertyName = propertyName;
-		this.delegates = new HashMap<Class<? extends S>, IListProperty<S, E>>();
+		this.delegates = new DelegateCache<S, IListProperty<S, E>>() {
+			protected IListProperty<S, E> createDelegate(
+					Class<? extends S> beanClass) {
+				try {
+					return BeanProperties.<S, E> list(beanClass, propertyName,
+							getElementClass());
+				} catch (IllegalArgumentException noSuchProperty) {
+					return null;
+				}
+			}
+		};
 	}
 
 	protected IListProperty<S, E> doGetDelegate(S source) {
-		Class<? extends S> beanClass = Util.getClass(source);
-		if (delegates.containsKey(beanClass))
-			return delegates.get(beanClass);
-
-		IListProperty<S, E> delegate;
-		try {
-			delegate = BeanProperties.<S, E> list(beanClass, propertyName,
-					getElementClass());
-		} catch (IllegalArgumentException noSuchProperty) {
-			delegate = null;
-		}
-		delegates.put(beanClass, delegate);
-		return delegate;
+		return delegates.get(Util.getClass(source));
 	}
 
 	public String toString() {
@@ -12,9 +12,6 @@
 
 package org.eclipse.core.internal.databinding.beans;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.core.databinding.beans.BeanProperties;
 import org.eclipse.core.databinding.property.set.DelegatingSetProperty;
 import org.eclipse.core.databinding.property.set.ISetProperty;
@@ -28,32 +25,31 @@ import org.eclipse.core.databinding.property.set.ISetProperty;
 public class AnonymousBeanSetProperty<S, E> extends DelegatingSetProperty<S, E> {
 	private final String propertyName;
 
-	private Map<Class<? extends S>, ISetProperty<S, E>> delegates;
+	private final DelegateCache<S, ISetProperty<S, E>> delegates;
 
 	/**
 	 * @param propertyName
 	 * @param elementType
 	 */
-	public AnonymousBeanSetProperty(String propertyName, Class<E> elementType) {
+	public AnonymousBeanSetProperty(final String propertyName,
+			Class<E> elementType) {
 		super(elementType);
 		this.propertyName = propertyName;
-		this.delegates = new HashMap<Class<? extends S>, ISetProperty<S, E>>();
+		this.delegates = new DelegateCache<S, ISetProperty<S, E>>() {
+			protected ISetProperty<S, E> createDelegate(
+					Class<? extends S> beanClass) {
+				try {
+					return BeanProperties.<S, E> set(beanClass, propertyName,
+							getElementClass());
+				} catch (IllegalArgumentException noSuchProperty) {
+					return null;
+				}
+			}
+		};
 	}
 
 	protected ISetProperty<S, E> doGetDelegate(S source) {
-		Class<? extends S> beanClass = Util.getClass(source);
-		if (delegates.containsKey(beanClass))
-			return delegates.get(beanClass);
-
-		ISetProperty<S, E> delegate;
-		try {
-			delegate = BeanProperties.<S, E> set(beanClass, propertyName,
-					getElementClass());
-		} catch (IllegalArgumentException noSuchProperty) {
-			delegate = null;
-		}
-		delegates.put(beanClass, delegate);
-		return delegate;
+		return delegates.get(Util.getClass(source));
 	}
 
 	public String toString() {
@@ -12,9 +12,6 @@
 
 package org.eclipse.core.internal.databinding.beans;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.core.databinding.beans.BeanProperties;
 import org.eclipse.core.databinding.observable.masterdetail.MasterDetailObservables;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
@@ -31,36 +28,31 @@ public class AnonymousBeanValueProperty<S, T> extends
 		DelegatingValueProperty<S, T> {
 	private final String propertyName;
 
-	private Map<Class<? extends S>, IValueProperty<S, T>> delegates;
+	private final DelegateCache<S, IValueProperty<S, T>> delegates;
 
 	/**
 	 * @param propertyName
 	 * @param valueType
 	 */
-	public AnonymousBeanValueProperty(String propertyName, Class<T> valueType) {
+	public AnonymousBeanValueProperty(final String propertyName,
+			Class<T> valueType) {
 		super(valueType);
 		this.propertyName = propertyName;
-		this.delegates = new HashMap<Class<? extends S>, IValueProperty<S, T>>();
+		this.delegates = new DelegateCache<S, IValueProperty<S, T>>() {
+			protected IValueProperty<S, T> createDelegate(
+					Class<? extends S> beanClass) {
+				try {
+					return BeanProperties.<S, T> value(beanClass, propertyName,
+							getValueClass());
+				} catch (IllegalArgumentException noSuchProperty) {
+					return null;
+				}
+			}
+		};
 	}
 
 	protected IValueProperty<S, T> doGetDelegate(S source) {
-		Class<? extends S> beanClass = Util.getClass(source);
-		return getClassDelegate(beanClass);
-	}
-
-	private IValueProperty<S, T> getClassDelegate(Class<? extends S> beanClass) {
-		if (delegates.containsKey(beanClass))
-			return delegates.get(beanClass);
-
-		IValueProperty<S, T> delegate;
-		try {
-			delegate = BeanProperties.<S, T> value(beanClass, propertyName,
-					getValueClass());
-		} catch (IllegalArgumentException noSuchProperty) {
-			delegate = null;
-		}
-		delegates.put(beanClass, delegate);
-		return delegate;
+		return delegates.get(Util.getClass(source));
 	}
 
 	public <M extends S> IObservableValue<T> observeDetail(
@@ -74,7 +66,7 @@ public class AnonymousBeanValueProperty<S, T> extends
 
 	private Object inferValueType(Object masterObservableValueType) {
 		if (masterObservableValueType instanceof Class) {
-			return getClassDelegate(
+			return delegates.get(
 					(Class<? extends S>) masterObservableValueType)
 					.getValueClass();
 		}
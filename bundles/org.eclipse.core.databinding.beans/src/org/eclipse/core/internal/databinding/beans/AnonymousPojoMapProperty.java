@@ -12,9 +12,6 @@
 
 package org.eclipse.core.internal.databinding.beans;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.core.databinding.beans.PojoProperties;
 import org.eclipse.core.databinding.property.map.DelegatingMapProperty;
 import org.eclipse.core.databinding.property.map.IMapProperty;
@@ -30,34 +27,32 @@ public class AnonymousPojoMapProperty<S, K, V> extends
 		DelegatingMapProperty<S, K, V> {
 	private final String propertyName;
 
-	private Map<Class<? extends S>, IMapProperty<S, K, V>> delegates;
+	private final DelegateCache<S, IMapProperty<S, K, V>> delegates;
 
 	/**
 	 * @param propertyName
 	 * @param keyType
 	 * @param valueType
 	 */
-	public AnonymousPojoMapProperty(String propertyName, Class<K> keyType,
-			Class<V> valueType) {
+	public AnonymousPojoMapProperty(final String propertyName,
+			Class<K> keyType, Class<V> valueType) {
 		super(keyType, valueType);
 		this.propertyName = propertyName;
-		this.delegates = new HashMap<Class<? extends S>, IMapProperty<S, K, V>>();
+		this.delegates = new DelegateCache<S, IMapProperty<S, K, V>>() {
+			protected IMapProperty<S, K, V> createDelegate(
+					Class<? extends S> beanClass) {
+				try {
+					return PojoProperties.<S, K, V> map(beanClass, propertyName,
+							getKeyClass(), getValueClass());
+				} catch (IllegalArgumentException noSuchProperty) {
+					return null;
+				}
+			}
+		};
 	}
 
 	protected IMapProperty<S, K, V> doGetDelegate(S source) {
-		Class<? extends S> beanClass = Util.getClass(source);
-		if (delegates.containsKey(beanClass))
-			return delegates.get(beanClass);
-
-		IMapProperty<S, K, V> delegate;
-		try {
-			delegate = PojoProperties.<S, K, V> map(beanClass, propertyName,
-					getKeyClass(), getValueClass());
-		} catch (IllegalArgumentException noSuchProperty) {
-			delegate = null;
-		}
-		delegates.put(beanClass, delegate);
-		return delegate;
+		return delegates.get(Util.getClass(source));
 	}
 
 	public String toString() {
@@ -12,9 +12,6 @@
 
 package org.eclipse.core.internal.databinding.beans;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.eclipse.core.databinding.beans.PojoProperties;
 import org.eclipse.core.databinding.observable.masterdetail.MasterDetailObservables;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
@@ -31,36 +28,31 @@ public class AnonymousPojoValueProperty<S, T> extends
 		DelegatingValueProperty<S, T> {
 	private final String propertyName;
 
-	private Map<Class<? extends S>, IValueProperty<S, T>> delegates;
+	private final DelegateCache<S, IValueProperty<S, T>> delegates;
 
 	/**
 	 * @param propertyName
 	 * @param valueType
 	 */
-	public AnonymousPojoValueProperty(String propertyName, Class<T> valueType) {
+	public AnonymousPojoValueProperty(final String propertyName,
+			Class<T> valueType) {
 		super(valueType);
 		this.propertyName = propertyName;
-		this.delegates = new HashMap<Class<? extends S>, IValueProperty<S, T>>();
+		this.delegates = new DelegateCache<S, IValueProperty<S, T>>() {
+			protected IValueProperty<S, T> createDelegate(
+					Class<? extends S> beanClass) {
+				try {
+					return PojoProperties.<S, T> value(beanClass, propertyName,
+							getValueClass());
+				} catch (IllegalArgumentException noSuchProperty) {
+					return null;
+				}
+			}
+		};
 	}
 
 	protected IValueProperty<S, T> doGetDelegate(S source) {
-		Class<? extends S> beanClass = Util.getClass(source);
-		return getClassDelegate(beanClass);
-	}
-
-	private IValueProperty<S, T> getClassDelegate(Class<? extends S> pojoClass) {
-		if (delegates.containsKey(pojoClass))
-			return delegates.get(pojoClass);
-
-		IValueProperty<S, T> delegate;
-		try {
-			delegate = PojoProperties.<S, T> value(pojoClass, propertyName,
-					getValueClass());
-		} catch (IllegalArgumentException noSuchProperty) {
-			delegate = null;
-		}
-		delegates.put(pojoClass, delegate);
-		return delegate;
+		return delegates.get(Util.getClass(source));
 	}
 
 	public <M extends S> IObservableValue<T> observeDetail(
@@ -74,7 +66,7 @@ public class AnonymousPojoValueProperty<S, T> extends
 
 	private Object inferValueType(Object masterObservableValueType) {
 		if (masterObservableValueType instanceof Class) {
-			return getClassDelegate((Class) masterObservableValueType)
+			return delegates.get((Class) masterObservableValueType)
 					.getValueClass();
 		}
 		return null;
@@ -36,6 +36,7 @@ import org.eclipse.core.runtime.Status;
  */
 public class BeanListProperty<S, E> extends SimpleListProperty<S, E> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<E> elementType;
 
 	/**
@@ -66,6 +67,7 @@ public class BeanListProperty<S, E> extends SimpleListProperty<S, E> {
 		BeanPropertyHelper.checkCollectionPropertyElementType(
 				propertyDescriptor, elementType);
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.elementType = elementType;
 	}
 
@@ -78,8 +80,7 @@ public class BeanListProperty<S, E> extends SimpleListProperty<S, E> {
 	}
 
 	protected List<E> doGetList(S source) {
-		return (List<E>) asList(BeanPropertyHelper.readProperty(source,
-				propertyDescriptor));
+		return (List<E>) asList(accessor.read(source));
 	}
 
 	private List<?> asList(Object propertyValue) {
@@ -95,8 +96,7 @@ public class BeanListProperty<S, E> extends SimpleListProperty<S, E> {
 	}
 
 	protected void doSetList(S source, List<E> list) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor,
-				convertListToBeanPropertyType(list));
+		accessor.write(source, convertListToBeanPropertyType(list));
 	}
 
 	private Object convertListToBeanPropertyType(List<E> list) {
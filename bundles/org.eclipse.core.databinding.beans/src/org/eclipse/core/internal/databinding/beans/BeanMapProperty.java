@@ -31,6 +31,7 @@ import org.eclipse.core.databinding.property.map.SimpleMapProperty;
  */
 public class BeanMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<K> keyType;
 	private final Class<V> valueType;
 
@@ -42,6 +43,7 @@ public class BeanMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	public BeanMapProperty(PropertyDescriptor propertyDescriptor,
 			Class<K> keyType, Class<V> valueType) {
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.keyType = keyType;
 		this.valueType = valueType;
 	}
@@ -63,8 +65,7 @@ public class BeanMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	}
 
 	protected Map<K, V> doGetMap(S source) {
-		return (Map<K, V>) asMap(BeanPropertyHelper.readProperty(source,
-				propertyDescriptor));
+		return (Map<K, V>) asMap(accessor.read(source));
 	}
 
 	private Map<?, ?> asMap(Object propertyValue) {
@@ -78,7 +79,7 @@ public class BeanMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	}
 
 	protected void doSetMap(S source, Map<K, V> map) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor, map);
+		accessor.write(source, map);
 	}
 
 	public INativePropertyListener<S> adaptListener(
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.eclipse.core.databinding.beans.BeanProperties;
+import org.eclipse.core.databinding.util.Policy;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Reads and writes a bean property. The accessor methods are looked up and
+ * made accessible once, when the accessor is created, so that each access
+ * only invokes the method. Property implementations create one accessor for
+ * their property descriptor and keep it for their lifetime.
+ *
+ * @since 1.5
+ */
+public class BeanPropertyAccessor {
+	private static final Object[] NO_ARGUMENTS = new Object[0];
+
+	private final PropertyDescriptor propertyDescriptor;
+
+	private final Method readMethod;
+
+	private final Method writeMethod;
+
+	/**
+	 * @param propertyDescriptor
+	 *            the property to access
+	 */
+	public BeanPropertyAccessor(PropertyDescriptor propertyDescriptor) {
+		this.propertyDescriptor = propertyDescriptor;
+		this.readMethod = makeAccessible(propertyDescriptor.getReadMethod());
+		this.writeMethod = makeAccessible(propertyDescriptor.getWriteMethod());
+	}
+
+	private static Method makeAccessible(Method method) {
+		if (method != null) {
+			try {
+				method.setAccessible(true);
+			} catch (SecurityException e) {
+				// Public methods of public classes can still be invoked,
+				// otherwise invoking the method reports the failure
+				if (BeanProperties.DEBUG) {
+					Policy.getLog().log(
+							new Status(IStatus.WARNING,
+									Policy.JFACE_DATABINDING, IStatus.OK,
+									"Could not make " + method + " accessible", e)); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		}
+		return method;
+	}
+
+	/**
+	 * Returns the contents of the property for the given bean.
+	 *
+	 * @param source
+	 *            the source bean
+	 * @return the contents of the property for the given bean, or
+	 *         <code>null</code> if it could not be read
+	 */
+	public Object read(Object source) {
+		try {
+			if (readMethod == null) {
+				throw new IllegalArgumentException(propertyDescriptor.getName()
+						+ " property does not have a read method."); //$NON-NLS-1$
+			}
+			return readMethod.invoke(source, NO_ARGUMENTS);
+		} catch (InvocationTargetException e) {
+			/*
+			 * InvocationTargetException wraps any exception thrown by the
+			 * invoked method.
+			 */
+			throw new RuntimeException(e.getCause());
+		} catch (Exception e) {
+			if (BeanProperties.DEBUG) {
+				Policy.getLog()
+						.log(new Status(
+								IStatus.WARNING,
+								Policy.JFACE_DATABINDING,
+								IStatus.OK,
+								"Could not read value of " + source + "." + propertyDescriptor.getName(), e)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Sets the contents of the property on the given bean to the given value.
+	 *
+	 * @param source
+	 *            the source bean
+	 * @param value
+	 *            the new value of the property
+	 */
+	public void write(Object source, Object value) {
+		try {
+			if (writeMethod == null) {
+				throw new IllegalArgumentException(
+						"Missing public setter method for " //$NON-NLS-1$
+								+ propertyDescriptor.getName() + " property"); //$NON-NLS-1$
+			}
+			writeMethod.invoke(source, new Object[] { value });
+		} catch (InvocationTargetException e) {
+			/*
+			 * InvocationTargetException wraps any exception thrown by the
+			 * invoked method.
+			 */
+			throw new RuntimeException(e.getCause());
+		} catch (Exception e) {
+			if (BeanProperties.DEBUG) {
+				Policy.getLog()
+						.log(new Status(
+								IStatus.WARNING,
+								Policy.JFACE_DATABINDING,
+								IStatus.OK,
+								"Could not change value of " + source + "." + propertyDescriptor.getName(), e)); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+}
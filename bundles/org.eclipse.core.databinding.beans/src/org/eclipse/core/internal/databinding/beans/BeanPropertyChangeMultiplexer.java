@@ -0,0 +1,350 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.core.internal.databinding.beans.BeanPropertyListenerSupport.ListenerMethods;
+
+/**
+ * A property change listener that is registered once on a bean and dispatches
+ * the events of the bean to the {@link BeanPropertyListener}s subscribed to
+ * its properties, looking up the subscribers by property name.
+ * <p>
+ * Observing many properties of a bean thus registers a single listener on the
+ * bean, unless the bean only supports registering listeners for a named
+ * property, in which case the multiplexer is registered once per observed
+ * property.
+ * </p>
+ *
+ * @since 1.5
+ */
+public class BeanPropertyChangeMultiplexer implements PropertyChangeListener {
+	private static final BeanPropertyListener<?, ?>[] NO_SUBSCRIBERS = new BeanPropertyListener[0];
+
+	/**
+	 * The multiplexers of the beans, keyed by bean identity. The beans are
+	 * weakly referenced, a bean only refers to its multiplexer while it is
+	 * registered as a listener.
+	 */
+	private static final Map<Key, BeanPropertyChangeMultiplexer> multiplexers = new HashMap<Key, BeanPropertyChangeMultiplexer>();
+
+	private static final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+
+	private final BeanKey key;
+
+	private final ListenerMethods listenerMethods;
+
+	private final boolean named;
+
+	/**
+	 * The subscribers per property name. The map is replaced rather than
+	 * modified, so that events are dispatched without locking.
+	 */
+	private volatile Map<String, BeanPropertyListener<?, ?>[]> subscribers = Collections
+			.emptyMap();
+
+	/**
+	 * Set once the last subscriber is removed, the multiplexer is then no
+	 * longer registered on the bean.
+	 */
+	private boolean disposed;
+
+	private BeanPropertyChangeMultiplexer(BeanKey key,
+			ListenerMethods listenerMethods) {
+		this.key = key;
+		this.listenerMethods = listenerMethods;
+		this.named = listenerMethods.isNamed();
+	}
+
+	/**
+	 * Subscribes the listener to changes of the named property of the bean.
+	 *
+	 * @param bean
+	 * @param propertyName
+	 * @param listener
+	 */
+	public static void subscribe(Object bean, String propertyName,
+			BeanPropertyListener<?, ?> listener) {
+		subscribe(bean, null, propertyName, listener);
+	}
+
+	/**
+	 * Subscribes the listener to changes of the named property of each of the
+	 * beans. The listener registration methods are looked up once for each
+	 * run of beans of the same class, which makes this cheaper than
+	 * subscribing to each bean separately when many beans are added at once.
+	 *
+	 * @param beans
+	 *            the beans, <code>null</code> elements are skipped
+	 * @param propertyName
+	 * @param listener
+	 */
+	public static void subscribe(Collection<?> beans, String propertyName,
+			BeanPropertyListener<?, ?> listener) {
+		Class<?> beanClass = null;
+		ListenerMethods methods = null;
+		for (Iterator<?> it = beans.iterator(); it.hasNext();) {
+			Object bean = it.next();
+			if (bean == null)
+				continue;
+			if (bean.getClass() != beanClass) {
+				beanClass = bean.getClass();
+				methods = BeanPropertyListenerSupport
+						.getListenerMethods(beanClass);
+			}
+			subscribe(bean, methods, propertyName, listener);
+		}
+	}
+
+	private static void subscribe(Object bean, ListenerMethods methods,
+			String propertyName, BeanPropertyListener<?, ?> listener) {
+		while (!getMultiplexer(bean, methods).add(bean, propertyName,
+				listener)) {
+			// The multiplexer was disposed concurrently, get a new one
+		}
+	}
+
+	/**
+	 * Unsubscribes the listener from changes of the named property of the
+	 * bean.
+	 *
+	 * @param bean
+	 * @param propertyName
+	 * @param listener
+	 */
+	public static void unsubscribe(Object bean, String propertyName,
+			BeanPropertyListener<?, ?> listener) {
+		BeanPropertyChangeMultiplexer multiplexer;
+		synchronized (multiplexers) {
+			multiplexer = multiplexers.get(new LookupKey(bean));
+		}
+		if (multiplexer != null)
+			multiplexer.remove(bean, propertyName, listener);
+	}
+
+	/**
+	 * Unsubscribes the listener from changes of the named property of each of
+	 * the beans.
+	 *
+	 * @param beans
+	 *            the beans, <code>null</code> elements are skipped
+	 * @param propertyName
+	 * @param listener
+	 */
+	public static void unsubscribe(Collection<?> beans, String propertyName,
+			BeanPropertyListener<?, ?> listener) {
+		for (Iterator<?> it = beans.iterator(); it.hasNext();) {
+			Object bean = it.next();
+			if (bean != null)
+				unsubscribe(bean, propertyName, listener);
+		}
+	}
+
+	/**
+	 * @param methods
+	 *            the listener registration methods of the bean's class, or
+	 *            <code>null</code> to look them up if needed
+	 */
+	private static BeanPropertyChangeMultiplexer getMultiplexer(Object bean,
+			ListenerMethods methods) {
+		synchronized (multiplexers) {
+			BeanPropertyChangeMultiplexer multiplexer = multiplexers
+					.get(new LookupKey(bean));
+			if (multiplexer == null) {
+				expungeStaleEntries();
+				if (methods == null)
+					methods = BeanPropertyListenerSupport
+							.getListenerMethods(bean.getClass());
+				BeanKey key = new BeanKey(bean, queue);
+				multiplexer = new BeanPropertyChangeMultiplexer(key, methods);
+				multiplexers.put(key, multiplexer);
+			}
+			return multiplexer;
+		}
+	}
+
+	private static void expungeStaleEntries() {
+		Object key;
+		while ((key = queue.poll()) != null)
+			multiplexers.remove(key);
+	}
+
+	private synchronized boolean add(Object bean, String propertyName,
+			BeanPropertyListener<?, ?> listener) {
+		if (disposed)
+			return false;
+		boolean hook = named ? !subscribers.containsKey(propertyName)
+				: subscribers.isEmpty();
+
+		BeanPropertyListener<?, ?>[] oldListeners = subscribers
+				.get(propertyName);
+		if (oldListeners == null)
+			oldListeners = NO_SUBSCRIBERS;
+		BeanPropertyListener<?, ?>[] newListeners = new BeanPropertyListener[oldListeners.length + 1];
+		System.arraycopy(oldListeners, 0, newListeners, 0, oldListeners.length);
+		newListeners[oldListeners.length] = listener;
+		if (subscribers.isEmpty()) {
+			// Most beans are observed for a single property
+			subscribers = Collections.singletonMap(propertyName, newListeners);
+		} else {
+			Map<String, BeanPropertyListener<?, ?>[]> newSubscribers = new HashMap<String, BeanPropertyListener<?, ?>[]>(
+					subscribers);
+			newSubscribers.put(propertyName, newListeners);
+			subscribers = newSubscribers;
+		}
+
+		if (hook)
+			listenerMethods.hook(bean, propertyName, this);
+		return true;
+	}
+
+	private synchronized void remove(Object bean, String propertyName,
+			BeanPropertyListener<?, ?> listener) {
+		BeanPropertyListener<?, ?>[] oldListeners = subscribers
+				.get(propertyName);
+		if (oldListeners == null)
+			return;
+		int index = -1;
+		for (int i = 0; i < oldListeners.length; i++) {
+			if (oldListeners[i] == listener) {
+				index = i;
+				break;
+			}
+		}
+		if (index == -1)
+			return;
+
+		Map<String, BeanPropertyListener<?, ?>[]> newSubscribers;
+		if (subscribers.size() == 1 && oldListeners.length == 1) {
+			newSubscribers = Collections.emptyMap();
+		} else if (oldListeners.length == 1) {
+			newSubscribers = new HashMap<String, BeanPropertyListener<?, ?>[]>(
+					subscribers);
+			newSubscribers.remove(propertyName);
+		} else {
+			newSubscribers = new HashMap<String, BeanPropertyListener<?, ?>[]>(
+					subscribers);
+			BeanPropertyListener<?, ?>[] newListeners = new BeanPropertyListener[oldListeners.length - 1];
+			System.arraycopy(oldListeners, 0, newListeners, 0, index);
+			System.arraycopy(oldListeners, index + 1, newListeners, index,
+					newListeners.length - index);
+			newSubscribers.put(propertyName, newListeners);
+		}
+		subscribers = newSubscribers;
+
+		if (named ? !newSubscribers.containsKey(propertyName) : newSubscribers
+				.isEmpty())
+			listenerMethods.unhook(bean, propertyName, this);
+		if (newSubscribers.isEmpty()) {
+			disposed = true;
+			synchronized (multiplexers) {
+				multiplexers.remove(key);
+			}
+		}
+	}
+
+	public void propertyChange(PropertyChangeEvent evt) {
+		Map<String, BeanPropertyListener<?, ?>[]> subscribers = this.subscribers;
+		String propertyName = evt.getPropertyName();
+		if (propertyName == null) {
+			// All properties may have changed
+			for (Iterator<BeanPropertyListener<?, ?>[]> it = subscribers
+					.values().iterator(); it.hasNext();) {
+				dispatch(it.next(), evt);
+			}
+		} else {
+			BeanPropertyListener<?, ?>[] listeners = subscribers
+					.get(propertyName);
+			if (listeners != null)
+				dispatch(listeners, evt);
+		}
+	}
+
+	private static void dispatch(BeanPropertyListener<?, ?>[] listeners,
+			PropertyChangeEvent evt) {
+		for (int i = 0; i < listeners.length; i++)
+			listeners[i].handlePropertyChange(evt);
+	}
+
+	/**
+	 * A key of the multiplexers map, which compares the referenced beans by
+	 * identity.
+	 */
+	private interface Key {
+		/**
+		 * @return the bean, or <code>null</code> if it has been collected
+		 */
+		Object get();
+	}
+
+	private static boolean keysEqual(Key key, Object obj) {
+		if (obj == key)
+			return true;
+		if (!(obj instanceof Key))
+			return false;
+		Object bean = key.get();
+		return bean != null && bean == ((Key) obj).get();
+	}
+
+	/**
+	 * Weakly references a bean, stored in the multiplexers map.
+	 */
+	private static final class BeanKey extends WeakReference<Object> implements
+			Key {
+		private final int hashCode;
+
+		BeanKey(Object bean, ReferenceQueue<Object> queue) {
+			super(bean, queue);
+			this.hashCode = System.identityHashCode(bean);
+		}
+
+		public int hashCode() {
+			return hashCode;
+		}
+
+		public boolean equals(Object obj) {
+			return keysEqual(this, obj);
+		}
+	}
+
+	/**
+	 * Finds the entry of a bean without creating a weak reference.
+	 */
+	private static final class LookupKey implements Key {
+		private final Object bean;
+
+		LookupKey(Object bean) {
+			this.bean = bean;
+		}
+
+		public Object get() {
+			return bean;
+		}
+
+		public int hashCode() {
+			return System.identityHashCode(bean);
+		}
+
+		public boolean equals(Object obj) {
+			return keysEqual(this, obj);
+		}
+	}
+}
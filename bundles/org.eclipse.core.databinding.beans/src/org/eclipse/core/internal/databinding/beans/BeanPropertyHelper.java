@@ -17,11 +17,14 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.eclipse.core.databinding.beans.BeanProperties;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
@@ -44,36 +47,11 @@ public class BeanPropertyHelper {
 	 *            the property being changed
 	 * @param value
 	 *            the new value of the property
+	 * @see BeanPropertyAccessor
 	 */
 	public static void writeProperty(Object source,
 			PropertyDescriptor propertyDescriptor, Object value) {
-		try {
-			Method writeMethod = propertyDescriptor.getWriteMethod();
-			if (null == writeMethod) {
-				throw new IllegalArgumentException(
-						"Missing public setter method for " //$NON-NLS-1$
-								+ propertyDescriptor.getName() + " property"); //$NON-NLS-1$
-			}
-			if (!writeMethod.isAccessible()) {
-				writeMethod.setAccessible(true);
-			}
-			writeMethod.invoke(source, new Object[] { value });
-		} catch (InvocationTargetException e) {
-			/*
-			 * InvocationTargetException wraps any exception thrown by the
-			 * invoked method.
-			 */
-			throw new RuntimeException(e.getCause());
-		} catch (Exception e) {
-			if (BeanProperties.DEBUG) {
-				Policy.getLog()
-						.log(new Status(
-								IStatus.WARNING,
-								Policy.JFACE_DATABINDING,
-								IStatus.OK,
-								"Could not change value of " + source + "." + propertyDescriptor.getName(), e)); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-		}
+		new BeanPropertyAccessor(propertyDescriptor).write(source, value);
 	}
 
 	/**
@@ -84,36 +62,11 @@ public class BeanPropertyHelper {
 	 * @param propertyDescriptor
 	 *            the property to retrieve
 	 * @return the contents of the given property for the given bean.
+	 * @see BeanPropertyAccessor
 	 */
 	public static Object readProperty(Object source,
 			PropertyDescriptor propertyDescriptor) {
-		try {
-			Method readMethod = propertyDescriptor.getReadMethod();
-			if (readMethod == null) {
-				throw new IllegalArgumentException(propertyDescriptor.getName()
-						+ " property does not have a read method."); //$NON-NLS-1$
-			}
-			if (!readMethod.isAccessible()) {
-				readMethod.setAccessible(true);
-			}
-			return readMethod.invoke(source, (Object[]) null);
-		} catch (InvocationTargetException e) {
-			/*
-			 * InvocationTargetException wraps any exception thrown by the
-			 * invoked method.
-			 */
-			throw new RuntimeException(e.getCause());
-		} catch (Exception e) {
-			if (BeanProperties.DEBUG) {
-				Policy.getLog()
-						.log(new Status(
-								IStatus.WARNING,
-								Policy.JFACE_DATABINDING,
-								IStatus.OK,
-								"Could not read value of " + source + "." + propertyDescriptor.getName(), e)); //$NON-NLS-1$ //$NON-NLS-2$
-			}
-			return null;
-		}
+		return new BeanPropertyAccessor(propertyDescriptor).read(source);
 	}
 
 	/**
@@ -158,6 +111,14 @@ public class BeanPropertyHelper {
 		}
 	}
 
+	/**
+	 * The property descriptors of each introspected class, by property name.
+	 * The classes are weakly referenced. The descriptors refer to their class
+	 * through their accessor methods, so they are softly referenced, which
+	 * lets unused classes and their class loaders be collected.
+	 */
+	private static final Map<Class<?>, SoftReference<Map<String, PropertyDescriptor>>> descriptorCache = new WeakHashMap<Class<?>, SoftReference<Map<String, PropertyDescriptor>>>();
+
 	/**
 	 * @param beanClass
 	 * @param propertyName
@@ -166,46 +127,63 @@ public class BeanPropertyHelper {
 	 */
 	public static PropertyDescriptor getPropertyDescriptor(Class<?> beanClass,
 			String propertyName) {
-		if (!beanClass.isInterface()) {
-			BeanInfo beanInfo;
-			try {
-				beanInfo = Introspector.getBeanInfo(beanClass);
-			} catch (IntrospectionException e) {
-				// cannot introspect, give up
-				return null;
-			}
-			PropertyDescriptor[] propertyDescriptors = beanInfo
-					.getPropertyDescriptors();
-			for (int i = 0; i < propertyDescriptors.length; i++) {
-				PropertyDescriptor descriptor = propertyDescriptors[i];
-				if (descriptor.getName().equals(propertyName)) {
-					return descriptor;
-				}
-			}
-		} else {
-			try {
-				PropertyDescriptor propertyDescriptors[];
-				List<PropertyDescriptor> pds = new ArrayList<PropertyDescriptor>();
-				getInterfacePropertyDescriptors(pds, beanClass);
-				if (pds.size() > 0) {
-					propertyDescriptors = pds
-							.toArray(new PropertyDescriptor[pds.size()]);
-					PropertyDescriptor descriptor;
-					for (int i = 0; i < propertyDescriptors.length; i++) {
-						descriptor = propertyDescriptors[i];
-						if (descriptor.getName().equals(propertyName))
-							return descriptor;
-					}
-				}
-			} catch (IntrospectionException e) {
-				// cannot introspect, give up
-				return null;
+		Map<String, PropertyDescriptor> descriptors;
+		try {
+			descriptors = getPropertyDescriptors(beanClass);
+		} catch (IntrospectionException e) {
+			// cannot introspect, give up
+			if (BeanProperties.DEBUG) {
+				Policy.getLog().log(
+						new Status(IStatus.WARNING, Policy.JFACE_DATABINDING,
+								IStatus.OK, "Could not introspect " + beanClass, e)); //$NON-NLS-1$
 			}
+			return null;
 		}
+		PropertyDescriptor descriptor = descriptors.get(propertyName);
+		if (descriptor != null)
+			return descriptor;
 		throw new IllegalArgumentException(
 				"Could not find property with name " + propertyName + " in class " + beanClass); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	private static Map<String, PropertyDescriptor> getPropertyDescriptors(
+			Class<?> beanClass) throws IntrospectionException {
+		synchronized (descriptorCache) {
+			SoftReference<Map<String, PropertyDescriptor>> reference = descriptorCache
+					.get(beanClass);
+			Map<String, PropertyDescriptor> descriptors = reference == null ? null
+					: reference.get();
+			if (descriptors != null)
+				return descriptors;
+		}
+
+		// Introspect without holding the lock, at worst a class is
+		// introspected twice
+		List<PropertyDescriptor> pds;
+		if (!beanClass.isInterface()) {
+			pds = Arrays.asList(Introspector.getBeanInfo(beanClass)
+					.getPropertyDescriptors());
+		} else {
+			pds = new ArrayList<PropertyDescriptor>();
+			getInterfacePropertyDescriptors(pds, beanClass);
+		}
+		Map<String, PropertyDescriptor> descriptors = new HashMap<String, PropertyDescriptor>();
+		for (int i = 0; i < pds.size(); i++) {
+			PropertyDescriptor descriptor = pds.get(i);
+			// The first descriptor found takes precedence, as with interfaces
+			// a property may also be declared by a super interface
+			if (!descriptors.containsKey(descriptor.getName()))
+				descriptors.put(descriptor.getName(), descriptor);
+		}
+
+		synchronized (descriptorCache) {
+			descriptorCache.put(beanClass,
+					new SoftReference<Map<String, PropertyDescriptor>>(
+							descriptors));
+		}
+		return descriptors;
+	}
+
 	/**
 	 * Goes recursively into the interface and gets all defined
 	 * propertyDescriptors
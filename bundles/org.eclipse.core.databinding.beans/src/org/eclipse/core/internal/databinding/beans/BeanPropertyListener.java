@@ -14,6 +14,7 @@ package org.eclipse.core.internal.databinding.beans;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyDescriptor;
+import java.util.Collection;
 
 import org.eclipse.core.databinding.observable.IDiff;
 import org.eclipse.core.databinding.property.IProperty;
@@ -39,28 +40,59 @@ public abstract class BeanPropertyListener<S, D extends IDiff> extends
 
 	public void propertyChange(java.beans.PropertyChangeEvent evt) {
 		if (evt.getPropertyName() == null
-				|| propertyDescriptor.getName().equals(evt.getPropertyName())) {
-			Object oldValue = evt.getOldValue();
-			Object newValue = evt.getNewValue();
-			D diff;
-			if (evt.getPropertyName() == null || oldValue == null
-					|| newValue == null)
-				diff = null;
-			else
-				diff = computeDiff(oldValue, newValue);
-			fireChange(evt.getSource(), diff);
-		}
+				|| propertyDescriptor.getName().equals(evt.getPropertyName()))
+			handlePropertyChange(evt);
+	}
+
+	/**
+	 * Handles a change of the property, or of all properties if the event
+	 * does not name a property.
+	 */
+	void handlePropertyChange(java.beans.PropertyChangeEvent evt) {
+		Object oldValue = evt.getOldValue();
+		Object newValue = evt.getNewValue();
+		D diff;
+		if (evt.getPropertyName() == null || oldValue == null
+				|| newValue == null)
+			diff = null;
+		else
+			diff = computeDiff(oldValue, newValue);
+		fireChange(evt.getSource(), diff);
 	}
 
 	protected abstract D computeDiff(Object oldValue, Object newValue);
 
 	protected void doAddTo(Object source) {
-		BeanPropertyListenerSupport.hookListener(source,
+		BeanPropertyChangeMultiplexer.subscribe(source,
 				propertyDescriptor.getName(), this);
 	}
 
 	protected void doRemoveFrom(Object source) {
-		BeanPropertyListenerSupport.unhookListener(source,
+		BeanPropertyChangeMultiplexer.unsubscribe(source,
 				propertyDescriptor.getName(), this);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Adds the receiver as a listener on each of the given sources.
+	 * 
+	 * @param sources
+	 *            the property sources, <code>null</code> elements are skipped
+	 * @since 1.5
+	 */
+	public void addTo(Collection<? extends S> sources) {
+		BeanPropertyChangeMultiplexer.subscribe(sources, propertyDescriptor
+				.getName(), this);
+	}
+
+	/**
+	 * Removes the receiver as a listener from each of the given sources.
+	 * 
+	 * @param sources
+	 *            the property sources, <code>null</code> elements are skipped
+	 * @since 1.5
+	 */
+	public void removeFrom(Collection<? extends S> sources) {
+		BeanPropertyChangeMultiplexer.unsubscribe(sources, propertyDescriptor
+				.getName(), this);
+	}
+}
@@ -12,8 +12,11 @@
 package org.eclipse.core.internal.databinding.beans;
 
 import java.beans.PropertyChangeListener;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.eclipse.core.databinding.beans.BeanProperties;
 import org.eclipse.core.databinding.util.Policy;
@@ -28,6 +31,21 @@ import org.eclipse.core.runtime.Status;
  * @since 1.0
  */
 public class BeanPropertyListenerSupport {
+	private static final String ADD_METHOD_NAME = "addPropertyChangeListener"; //$NON-NLS-1$
+
+	private static final String REMOVE_METHOD_NAME = "removePropertyChangeListener"; //$NON-NLS-1$
+
+	private static final String ADD_MESSAGE = "Could not attach listener to "; //$NON-NLS-1$
+
+	private static final String REMOVE_MESSAGE = "Cound not remove listener from "; //$NON-NLS-1$
+
+	/**
+	 * Resolved listener registration methods, per bean class. The values are
+	 * softly referenced because the methods refer to their class, which would
+	 * otherwise never be collected.
+	 */
+	private static final Map<Class<?>, SoftReference<ListenerMethods>> methodCache = new WeakHashMap<Class<?>, SoftReference<ListenerMethods>>();
+
 	/**
 	 * Start listen to target (if it supports the JavaBean property change
 	 * listener pattern)
@@ -41,8 +59,8 @@ public class BeanPropertyListenerSupport {
 		Assert.isNotNull(bean, "Bean cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(listener, "Listener cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(propertyName, "Property name cannot be null"); //$NON-NLS-1$
-		processListener(bean, propertyName, listener,
-				"addPropertyChangeListener", "Could not attach listener to ");//$NON-NLS-1$ //$NON-NLS-2$
+		getListenerMethods(bean.getClass()).add.invoke(bean, propertyName,
+				listener, ADD_MESSAGE);
 	}
 
 	/**
@@ -57,59 +75,144 @@ public class BeanPropertyListenerSupport {
 		Assert.isNotNull(bean, "Bean cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(listener, "Listener cannot be null"); //$NON-NLS-1$
 		Assert.isNotNull(propertyName, "Property name cannot be null"); //$NON-NLS-1$
+		getListenerMethods(bean.getClass()).remove.invoke(bean, propertyName,
+				listener, REMOVE_MESSAGE);
+	}
 
-		processListener(
-				bean,
-				propertyName,
-				listener,
-				"removePropertyChangeListener", "Cound not remove listener from "); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * @param beanClass
+	 * @return the listener registration methods of the bean class
+	 */
+	static ListenerMethods getListenerMethods(Class<?> beanClass) {
+		synchronized (methodCache) {
+			SoftReference<ListenerMethods> reference = methodCache
+					.get(beanClass);
+			ListenerMethods methods = reference == null ? null : reference
+					.get();
+			if (methods != null)
+				return methods;
+		}
+
+		// Resolve outside of the lock, racing threads resolve equal methods
+		ListenerMethods methods = new ListenerMethods(
+				ListenerMethod.resolve(beanClass, ADD_METHOD_NAME),
+				ListenerMethod.resolve(beanClass, REMOVE_METHOD_NAME));
+		synchronized (methodCache) {
+			methodCache.put(beanClass, new SoftReference<ListenerMethods>(
+					methods));
+		}
+		return methods;
 	}
 
 	/**
-	 * Invokes the method for the provided <code>methodName</code> attempting to
-	 * first use the method with the property name and then the unnamed version.
-	 * 
-	 * @param bean
-	 *            object to invoke the method on
-	 * @param methodName
-	 *            either addPropertyChangeListener or
-	 *            removePropertyChangeListener
-	 * @param message
-	 *            string that will be prefixed to the target in an error message
-	 * 
-	 * @return <code>true</code> if the method was invoked successfully
+	 * The listener registration methods of a bean class.
 	 */
-	private static boolean processListener(Object bean, String propertyName,
-			PropertyChangeListener listener, String methodName, String message) {
-		Method method = null;
-		Object[] parameters = null;
+	static final class ListenerMethods {
+		final ListenerMethod add;
 
-		try {
-			try {
-				method = bean.getClass().getMethod(
-						methodName,
-						new Class[] { String.class,
-								PropertyChangeListener.class });
+		final ListenerMethod remove;
+
+		ListenerMethods(ListenerMethod add, ListenerMethod remove) {
+			this.add = add;
+			this.remove = remove;
+		}
+
+		/**
+		 * @return <code>true</code> if listeners are registered for a single
+		 *         property, <code>false</code> if registered listeners receive
+		 *         the events of all properties
+		 */
+		boolean isNamed() {
+			return add.named;
+		}
+
+		void hook(Object bean, String propertyName,
+				PropertyChangeListener listener) {
+			add.invoke(bean, propertyName, listener, ADD_MESSAGE);
+		}
+
+		void unhook(Object bean, String propertyName,
+				PropertyChangeListener listener) {
+			remove.invoke(bean, propertyName, listener, REMOVE_MESSAGE);
+		}
+	}
+
+	/**
+	 * A resolved addPropertyChangeListener or removePropertyChangeListener
+	 * method, which either takes the property name (named registration) or
+	 * only the listener (unnamed registration).
+	 */
+	private static final class ListenerMethod {
+		/**
+		 * The parameter types of the named and the unnamed registration
+		 * methods, in the order they are looked up.
+		 */
+		private static final Class<?>[][] SIGNATURES = {
+				{ String.class, PropertyChangeListener.class },
+				{ PropertyChangeListener.class } };
+
+		/**
+		 * The method, or <code>null</code> if the bean class does not have one
+		 */
+		private final Method method;
+
+		private final boolean named;
+
+		/**
+		 * The reason why there is no method, reported on each invocation
+		 */
+		private final Exception failure;
+
+		private ListenerMethod(Method method, boolean named, Exception failure) {
+			this.method = method;
+			this.named = named;
+			this.failure = failure;
+		}
 
-				parameters = new Object[] { propertyName, listener };
-			} catch (NoSuchMethodException e) {
-				method = bean.getClass().getMethod(methodName,
-						new Class[] { PropertyChangeListener.class });
+		/**
+		 * Looks up the method with the given name, attempting to first use the
+		 * method with the property name and then the unnamed version.
+		 */
+		static ListenerMethod resolve(Class<?> beanClass, String methodName) {
+			NoSuchMethodException failure = null;
+			for (int i = 0; i < SIGNATURES.length; i++) {
+				Method method;
+				try {
+					method = beanClass.getMethod(methodName, SIGNATURES[i]);
+				} catch (SecurityException e) {
+					log(IStatus.WARNING, "Could not look up " + methodName //$NON-NLS-1$
+							+ " of " + beanClass, e); //$NON-NLS-1$
+					return new ListenerMethod(null, false, null);
+				} catch (NoSuchMethodException e) {
+					failure = e;
+					continue;
+				}
 
-				parameters = new Object[] { listener };
+				try {
+					method.setAccessible(true);
+				} catch (SecurityException e) {
+					// Public methods of public classes can still be invoked
+					log(IStatus.WARNING, "Could not make " + method //$NON-NLS-1$
+							+ " accessible", e); //$NON-NLS-1$
+				}
+				return new ListenerMethod(method, i == 0, null);
 			}
-		} catch (SecurityException e) {
-			// ignore
-		} catch (NoSuchMethodException e) {
-			log(IStatus.WARNING, message + bean, e);
+			return new ListenerMethod(null, false, failure);
 		}
 
-		if (method != null) {
-			if (!method.isAccessible()) {
-				method.setAccessible(true);
+		/**
+		 * @return <code>true</code> if the method was invoked successfully
+		 */
+		boolean invoke(Object bean, String propertyName,
+				PropertyChangeListener listener, String message) {
+			if (method == null) {
+				if (failure != null)
+					log(IStatus.WARNING, message + bean, failure);
+				return false;
 			}
 			try {
-				method.invoke(bean, parameters);
+				method.invoke(bean, named ? new Object[] { propertyName,
+						listener } : new Object[] { listener });
 				return true;
 			} catch (IllegalArgumentException e) {
 				log(IStatus.WARNING, message + bean, e);
@@ -118,8 +221,8 @@ public class BeanPropertyListenerSupport {
 			} catch (InvocationTargetException e) {
 				log(IStatus.WARNING, message + bean, e);
 			}
+			return false;
 		}
-		return false;
 	}
 
 	/**
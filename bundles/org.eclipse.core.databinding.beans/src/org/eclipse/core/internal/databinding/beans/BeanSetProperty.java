@@ -36,6 +36,7 @@ import org.eclipse.core.runtime.Status;
  */
 public class BeanSetProperty<S, E> extends SimpleSetProperty<S, E> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<E> elementType;
 
 	/**
@@ -66,6 +67,7 @@ public class BeanSetProperty<S, E> extends SimpleSetProperty<S, E> {
 		BeanPropertyHelper.checkCollectionPropertyElementType(
 				propertyDescriptor, elementType);
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.elementType = elementType;
 	}
 
@@ -78,8 +80,7 @@ public class BeanSetProperty<S, E> extends SimpleSetProperty<S, E> {
 	}
 
 	protected Set<E> doGetSet(S source) {
-		return asSet(BeanPropertyHelper
-				.readProperty(source, propertyDescriptor));
+		return asSet(accessor.read(source));
 	}
 
 	private Set<E> asSet(Object propertyValue) {
@@ -101,8 +102,7 @@ public class BeanSetProperty<S, E> extends SimpleSetProperty<S, E> {
 	}
 
 	protected void doSetSet(S source, Set<E> set) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor,
-				convertSetToBeanPropertyType(set));
+		accessor.write(source, convertSetToBeanPropertyType(set));
 	}
 
 	private Object convertSetToBeanPropertyType(Set<E> set) {
@@ -28,6 +28,7 @@ import org.eclipse.core.databinding.property.value.SimpleValueProperty;
  */
 public class BeanValueProperty<S, T> extends SimpleValueProperty<S, T> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<T> valueType;
 
 	/**
@@ -46,6 +47,7 @@ public class BeanValueProperty<S, T> extends SimpleValueProperty<S, T> {
 					"valueType does not match the actual property type."); //$NON-NLS-1$
 		}
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.valueType = valueType;
 	}
 
@@ -58,13 +60,12 @@ public class BeanValueProperty<S, T> extends SimpleValueProperty<S, T> {
 	}
 
 	protected T doGetValue(S source) {
-		Object value = BeanPropertyHelper.readProperty(source,
-				propertyDescriptor);
+		Object value = accessor.read(source);
 		return valueType.cast(value);
 	}
 
 	protected void doSetValue(S source, T value) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor, value);
+		accessor.write(source, value);
 	}
 
 	public INativePropertyListener<S> adaptListener(
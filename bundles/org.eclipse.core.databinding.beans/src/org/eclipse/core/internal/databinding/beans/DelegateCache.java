@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.beans;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the delegate properties of an anonymous property per bean class.
+ * <p>
+ * The delegate of the most recently looked up class is remembered, so that
+ * looking up the delegates of the elements of a collection in which most
+ * elements have the same class does not need a hash lookup. Other classes are
+ * looked up in a concurrent map, so the cache may be used from any thread.
+ * </p>
+ *
+ * @param <S>
+ *            type of the source objects
+ * @param <P>
+ *            type of the delegate properties
+ * @since 1.5
+ */
+public abstract class DelegateCache<S, P> {
+	/**
+	 * Stands in for a <code>null</code> delegate, which the concurrent map
+	 * cannot hold.
+	 */
+	private static final Object NO_DELEGATE = new Object();
+
+	private final ConcurrentHashMap<Class<? extends S>, Object> delegates = new ConcurrentHashMap<Class<? extends S>, Object>();
+
+	private volatile Entry<S, P> last;
+
+	/**
+	 * Returns the delegate for the given bean class, creating it on first
+	 * use.
+	 *
+	 * @param beanClass
+	 * @return the delegate, or <code>null</code> if the class does not have
+	 *         the property
+	 */
+	@SuppressWarnings("unchecked")
+	public P get(Class<? extends S> beanClass) {
+		Entry<S, P> entry = last;
+		if (entry != null && entry.beanClass == beanClass)
+			return entry.delegate;
+
+		Object value = delegates.get(beanClass);
+		if (value == null) {
+			// Racing threads create equal delegates, the first one wins
+			P delegate = createDelegate(beanClass);
+			value = delegates.putIfAbsent(beanClass,
+					delegate == null ? NO_DELEGATE : delegate);
+			if (value == null)
+				value = delegate == null ? NO_DELEGATE : delegate;
+		}
+		P delegate = value == NO_DELEGATE ? null : (P) value;
+		last = new Entry<S, P>(beanClass, delegate);
+		return delegate;
+	}
+
+	/**
+	 * Creates the delegate for the given bean class.
+	 *
+	 * @param beanClass
+	 * @return the delegate, or <code>null</code> if the class does not have
+	 *         the property
+	 */
+	protected abstract P createDelegate(Class<? extends S> beanClass);
+
+	private static final class Entry<S, P> {
+		final Class<? extends S> beanClass;
+
+		final P delegate;
+
+		Entry(Class<? extends S> beanClass, P delegate) {
+			this.beanClass = beanClass;
+			this.delegate = delegate;
+		}
+	}
+}
@@ -30,6 +30,7 @@ import org.eclipse.core.databinding.property.map.SimpleMapProperty;
  */
 public class PojoMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<K> keyType;
 	private final Class<V> valueType;
 
@@ -41,6 +42,7 @@ public class PojoMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	public PojoMapProperty(PropertyDescriptor propertyDescriptor,
 			Class<K> keyType, Class<V> valueType) {
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.keyType = keyType;
 		this.valueType = valueType;
 	}
@@ -62,8 +64,7 @@ public class PojoMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	}
 
 	protected Map<K, V> doGetMap(S source) {
-		return (Map<K, V>) asMap(BeanPropertyHelper.readProperty(source,
-				propertyDescriptor));
+		return (Map<K, V>) asMap(accessor.read(source));
 	}
 
 	private Map<?, ?> asMap(Object propertyValue) {
@@ -77,7 +78,7 @@ public class PojoMapProperty<S, K, V> extends SimpleMapProperty<S, K, V> {
 	}
 
 	protected void doSetMap(S source, Map<K, V> map) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor, map);
+		accessor.write(source, map);
 	}
 
 	public INativePropertyListener<S> adaptListener(
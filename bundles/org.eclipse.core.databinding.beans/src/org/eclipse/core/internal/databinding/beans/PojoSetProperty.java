@@ -35,6 +35,7 @@ import org.eclipse.core.runtime.Status;
  */
 public class PojoSetProperty<S, E> extends SimpleSetProperty<S, E> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<E> elementType;
 
 	/**
@@ -65,6 +66,7 @@ public class PojoSetProperty<S, E> extends SimpleSetProperty<S, E> {
 		BeanPropertyHelper.checkCollectionPropertyElementType(
 				propertyDescriptor, elementType);
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.elementType = elementType;
 	}
 
@@ -77,8 +79,7 @@ public class PojoSetProperty<S, E> extends SimpleSetProperty<S, E> {
 	}
 
 	protected Set<E> doGetSet(S source) {
-		return (Set<E>) asSet(BeanPropertyHelper.readProperty(source,
-				propertyDescriptor));
+		return (Set<E>) asSet(accessor.read(source));
 	}
 
 	private Set<?> asSet(Object propertyValue) {
@@ -94,8 +95,7 @@ public class PojoSetProperty<S, E> extends SimpleSetProperty<S, E> {
 	}
 
 	protected void doSetSet(S source, Set<E> set) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor,
-				convertSetToBeanPropertyType(set));
+		accessor.write(source, convertSetToBeanPropertyType(set));
 	}
 
 	private Object convertSetToBeanPropertyType(Set<E> set) {
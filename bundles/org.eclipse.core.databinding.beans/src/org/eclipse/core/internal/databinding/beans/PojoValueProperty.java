@@ -27,6 +27,7 @@ import org.eclipse.core.databinding.property.value.SimpleValueProperty;
  */
 public class PojoValueProperty<S, T> extends SimpleValueProperty<S, T> {
 	private final PropertyDescriptor propertyDescriptor;
+	private final BeanPropertyAccessor accessor;
 	private final Class<T> valueType;
 
 	/**
@@ -43,6 +44,7 @@ public class PojoValueProperty<S, T> extends SimpleValueProperty<S, T> {
 			throw new IllegalArgumentException("valueType cannot be null."); //$NON-NLS-1$
 		}
 		this.propertyDescriptor = propertyDescriptor;
+		this.accessor = new BeanPropertyAccessor(propertyDescriptor);
 		this.valueType = valueType;
 	}
 
@@ -57,13 +59,12 @@ public class PojoValueProperty<S, T> extends SimpleValueProperty<S, T> {
 	protected T doGetValue(S source) {
 		if (source == null)
 			return null;
-		Object value = BeanPropertyHelper.readProperty(source,
-				propertyDescriptor);
+		Object value = accessor.read(source);
 		return valueType.cast(value);
 	}
 
 	protected void doSetValue(Object source, Object value) {
-		BeanPropertyHelper.writeProperty(source, propertyDescriptor, value);
+		accessor.write(source, value);
 	}
 
 	public INativePropertyListener<S> adaptListener(
@@ -24,6 +24,7 @@ import org.eclipse.core.databinding.observable.list.IObservableList;
 import org.eclipse.core.databinding.observable.map.IObservableMap;
 import org.eclipse.core.databinding.observable.set.IObservableSet;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.property.Properties;
 import org.eclipse.core.databinding.property.value.IValueProperty;
 import org.eclipse.core.databinding.property.value.ValueProperty;
 
@@ -167,6 +168,20 @@ public class PojoValuePropertyDecorator<S, T> extends ValueProperty<S, T>
 				delegate.observeDetail(master), propertyDescriptor);
 	}
 
+	public <M extends S> IObservableMap<M, T> observeDetailLazily(
+			IObservableSet<M> master, int maximumObservedKeys) {
+		return new BeanObservableMapDecorator<M, T>(
+				Properties.observeDetailLazily(delegate, master,
+						maximumObservedKeys), propertyDescriptor);
+	}
+
+	public <K, M extends S> IObservableMap<K, T> observeDetailLazily(
+			IObservableMap<K, M> master, int maximumObservedKeys) {
+		return new BeanObservableMapDecorator<K, T>(
+				Properties.observeDetailLazily(delegate, master,
+						maximumObservedKeys), propertyDescriptor);
+	}
+
 	public String toString() {
 		return delegate.toString();
 	}
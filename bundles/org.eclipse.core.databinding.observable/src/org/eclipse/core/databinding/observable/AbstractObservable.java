@@ -44,14 +44,14 @@ public abstract class AbstractObservable extends ChangeSupport implements
 
 	protected void fireChange() {
 		checkRealm();
-		if (genericListenerList != null) {
+		if (hasChangeListeners()) {
 			genericListenerList.fireEvent(new ChangeEvent(this));
 		}
 	}
 
 	protected void fireStale() {
 		checkRealm();
-		if (staleListenerList != null) {
+		if (hasStaleListeners()) {
 			staleListenerList.fireEvent(new StaleEvent(this));
 		}
 	}
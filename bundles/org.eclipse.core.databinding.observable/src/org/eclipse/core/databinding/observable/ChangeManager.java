@@ -50,15 +50,17 @@ public/* package */class ChangeManager<EV extends ObservableEvent<EV, L>, L exte
 	 *         listeners
 	 */
 	public boolean hasListeners() {
-		return (listenerList.size() > 0);
+		ListenerList<L> list = listenerList;
+		return list != null && list.hasListeners();
 	}
 
 	/**
 	 * @param event
 	 */
 	public void fireEvent(ObservableEvent<EV, L> event) {
-		for (L listener : listenerList.getListeners()) {
-			event.dispatch(listener);
+		ListenerList<L> list = listenerList;
+		if (list != null) {
+			list.fireEvent(event);
 		}
 	}
 
@@ -256,6 +256,32 @@ public abstract class ChangeSupport {
 		}
 	}
 
+	/**
+	 * Returns whether any change listeners are registered. This method does not
+	 * allocate, so it can be used to avoid constructing change events that
+	 * nobody would receive.
+	 * 
+	 * @return true if there are change listeners
+	 * @since 1.5
+	 */
+	public boolean hasChangeListeners() {
+		ListenerList<IChangeListener> list = genericListenerList;
+		return list != null && list.hasListeners();
+	}
+
+	/**
+	 * Returns whether any stale listeners are registered. This method does not
+	 * allocate, so it can be used to avoid constructing stale events that
+	 * nobody would receive.
+	 * 
+	 * @return true if there are stale listeners
+	 * @since 1.5
+	 */
+	public boolean hasStaleListeners() {
+		ListenerList<IStaleListener> list = staleListenerList;
+		return list != null && list.hasListeners();
+	}
+
 	/**
 	 * Note the 'dispose' listeners are not included. This is because this
 	 * method is used to see if anyone still needs this observable. Listening
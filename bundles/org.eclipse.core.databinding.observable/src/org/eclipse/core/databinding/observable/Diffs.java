@@ -20,7 +20,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.core.databinding.observable.list.ListDiff;
@@ -28,6 +27,9 @@ import org.eclipse.core.databinding.observable.list.ListDiffEntry;
 import org.eclipse.core.databinding.observable.map.MapDiff;
 import org.eclipse.core.databinding.observable.set.SetDiff;
 import org.eclipse.core.databinding.observable.value.ValueDiff;
+import org.eclipse.core.internal.databinding.identity.IdentitySet;
+import org.eclipse.core.internal.databinding.observable.ElementEqualitySet;
+import org.eclipse.core.internal.databinding.observable.ListDiffEngine;
 import org.eclipse.core.internal.databinding.observable.Util;
 
 /**
@@ -36,6 +38,42 @@ import org.eclipse.core.internal.databinding.observable.Util;
  */
 public class Diffs {
 
+	/**
+	 * List diff mode constant (value 0) indicating that the algorithm should be
+	 * chosen based on the size of the lists. Small lists are compared with the
+	 * original, quadratic algorithm, whose results existing clients may depend
+	 * on; larger lists are compared as in {@link #LIST_DIFF_FAST} mode.
+	 * 
+	 * @since 1.5
+	 */
+	public static final int LIST_DIFF_DEFAULT = 0;
+
+	/**
+	 * List diff mode constant (value 1) indicating that the shortest possible
+	 * sequence of additions and removals should be computed. This takes
+	 * O((N+M)D) time, where D is the number of differences.
+	 * 
+	 * @since 1.5
+	 */
+	public static final int LIST_DIFF_MINIMAL = 1;
+
+	/**
+	 * List diff mode constant (value 2) indicating that a correct but not
+	 * necessarily minimal sequence of additions and removals may be computed,
+	 * when finding the minimal one would be too expensive. The running time is
+	 * close to linear in the size of the lists, even if they are very
+	 * different.
+	 * 
+	 * @since 1.5
+	 */
+	public static final int LIST_DIFF_FAST = 2;
+
+	/**
+	 * Lists whose sizes multiply to at most this value are compared with the
+	 * original algorithm in {@link #LIST_DIFF_DEFAULT} mode.
+	 */
+	private static final int SMALL_LIST_DIFF_THRESHOLD = 4096;
+
 	/**
 	 * Returns a {@link ListDiff} describing the change between the specified
 	 * old and new list states.
@@ -50,10 +88,52 @@ public class Diffs {
 	 */
 	public static <E> ListDiff<E> computeListDiff(List<E> oldList,
 			List<E> newList) {
-		List<ListDiffEntry<E>> diffEntries = new ArrayList<ListDiffEntry<E>>();
-		createListDiffs(new ArrayList<E>(oldList), newList, diffEntries);
-		ListDiff<E> listDiff = createListDiff(diffEntries);
-		return listDiff;
+		return computeListDiff(oldList, newList, LIST_DIFF_DEFAULT);
+	}
+
+	/**
+	 * Returns a {@link ListDiff} describing the change between the specified
+	 * old and new list states, using the given algorithm. Element moves are
+	 * described as a removal immediately followed by an addition of the same
+	 * element, in every mode.
+	 * 
+	 * @param <E>
+	 * 
+	 * @param oldList
+	 *            the old list state
+	 * @param newList
+	 *            the new list state
+	 * @param mode
+	 *            one of {@link #LIST_DIFF_DEFAULT}, {@link #LIST_DIFF_MINIMAL}
+	 *            or {@link #LIST_DIFF_FAST}
+	 * @return the differences between oldList and newList
+	 * @since 1.5
+	 */
+	public static <E> ListDiff<E> computeListDiff(List<E> oldList,
+			List<E> newList, int mode) {
+		List<ListDiffEntry<E>> diffEntries;
+		switch (mode) {
+		case LIST_DIFF_DEFAULT:
+			if ((long) oldList.size() * newList.size() <= SMALL_LIST_DIFF_THRESHOLD) {
+				diffEntries = new ArrayList<ListDiffEntry<E>>();
+				createListDiffs(new ArrayList<E>(oldList), newList, diffEntries);
+			} else {
+				diffEntries = new ListDiffEngine<E>(oldList, newList, false)
+						.computeDifferences();
+			}
+			break;
+		case LIST_DIFF_MINIMAL:
+			diffEntries = new ListDiffEngine<E>(oldList, newList, true)
+					.computeDifferences();
+			break;
+		case LIST_DIFF_FAST:
+			diffEntries = new ListDiffEngine<E>(oldList, newList, false)
+					.computeDifferences();
+			break;
+		default:
+			throw new IllegalArgumentException();
+		}
+		return createListDiff(diffEntries);
 	}
 
 	/**
@@ -76,11 +156,8 @@ public class Diffs {
 	 */
 	public static <E> ListDiff<E> computeAndCastListDiff(List<?> oldList,
 			List<?> newList, Class<E> elementType) {
-		List<ListDiffEntry<E>> diffEntries = new ArrayList<ListDiffEntry<E>>();
-
 		/*
-		 * We copy both lists into typed lists. createListDiffs will alter the
-		 * oldList (though not newList), so that one has to be copied anyway.
+		 * We copy both lists into typed lists.
 		 */
 
 		List<E> oldListTyped = new ArrayList<E>();
@@ -93,9 +170,7 @@ public class Diffs {
 			newListTyped.add(elementType.cast(newElement));
 		}
 
-		createListDiffs(oldListTyped, newListTyped, diffEntries);
-		ListDiff<E> listDiff = createListDiff(diffEntries);
-		return listDiff;
+		return computeListDiff(oldListTyped, newListTyped);
 	}
 
 	/**
@@ -114,12 +189,38 @@ public class Diffs {
 	 */
 	public static <E> ListDiff<E> computeLazyListDiff(final List<E> oldList,
 			final List<E> newList) {
+		return computeLazyListDiff(oldList, newList, LIST_DIFF_DEFAULT);
+	}
+
+	/**
+	 * Returns a lazily computed {@link ListDiff} describing the change between
+	 * the specified old and new list states, using the given algorithm.
+	 * 
+	 * @param <E>
+	 * 
+	 * @param oldList
+	 *            the old list state
+	 * @param newList
+	 *            the new list state
+	 * @param mode
+	 *            one of {@link #LIST_DIFF_DEFAULT}, {@link #LIST_DIFF_MINIMAL}
+	 *            or {@link #LIST_DIFF_FAST}
+	 * @return a lazily computed {@link ListDiff} describing the change between
+	 *         the specified old and new list states.
+	 * @see #computeListDiff(List, List, int)
+	 * @since 1.5
+	 */
+	public static <E> ListDiff<E> computeLazyListDiff(final List<E> oldList,
+			final List<E> newList, final int mode) {
+		if (mode != LIST_DIFF_DEFAULT && mode != LIST_DIFF_MINIMAL
+				&& mode != LIST_DIFF_FAST)
+			throw new IllegalArgumentException();
 		return new ListDiff<E>() {
 			ListDiff<E> lazyDiff;
 
 			public ListDiffEntry<?>[] getDifferences() {
 				if (lazyDiff == null) {
-					lazyDiff = Diffs.computeListDiff(oldList, newList);
+					lazyDiff = Diffs.computeListDiff(oldList, newList, mode);
 				}
 				return lazyDiff.getDifferences();
 			}
@@ -127,7 +228,7 @@ public class Diffs {
 			@Override
 			public List<ListDiffEntry<E>> getDifferencesAsList() {
 				if (lazyDiff == null) {
-					lazyDiff = Diffs.computeListDiff(oldList, newList);
+					lazyDiff = Diffs.computeListDiff(oldList, newList, mode);
 				}
 				return lazyDiff.getDifferencesAsList();
 			}
@@ -258,11 +359,99 @@ public class Diffs {
 	 * @since 1.5
 	 */
 	public static <E> SetDiff<E> computeSetDiff(Set<E> oldSet, Set<E> newSet) {
-		Set<E> additions = new HashSet<E>(newSet);
-		additions.removeAll(oldSet);
-		Set<E> removals = new HashSet<E>(oldSet);
-		removals.removeAll(newSet);
-		return createSetDiff(additions, removals);
+		// Membership is tested through the sets themselves, so only the
+		// differences are copied.
+		Set<E> additions = null;
+		for (E newElement : newSet) {
+			if (!oldSet.contains(newElement)) {
+				if (additions == null) {
+					additions = new HashSet<E>();
+				}
+				additions.add(newElement);
+			}
+		}
+
+		Set<E> removals = null;
+		for (E oldElement : oldSet) {
+			if (!newSet.contains(oldElement)) {
+				if (removals == null) {
+					removals = new HashSet<E>();
+				}
+				removals.add(oldElement);
+			}
+		}
+
+		return createSetDiff(additions == null ? Collections.<E> emptySet()
+				: additions, removals == null ? Collections.<E> emptySet()
+				: removals);
+	}
+
+	/**
+	 * Returns a {@link SetDiff} describing the change between the specified old
+	 * and new set states, comparing elements with the given equality strategy.
+	 * <p>
+	 * With {@link IElementEquality#EQUALITY}, or with
+	 * {@link IElementEquality#IDENTITY} when both sets are identity sets,
+	 * membership is tested through the sets' own <code>contains</code> method
+	 * and only the differences are copied. With any other strategy the old set
+	 * is indexed once; the elements left in that index after matching the new
+	 * set are the removals.
+	 * 
+	 * @param <E>
+	 * 
+	 * @param oldSet
+	 *            the old set state
+	 * @param newSet
+	 *            the new set state
+	 * @param equality
+	 *            the strategy used to compare elements
+	 * @return a {@link SetDiff} describing the change between the specified old
+	 *         and new set states.
+	 * @since 1.5
+	 */
+	public static <E> SetDiff<E> computeSetDiff(Set<? extends E> oldSet,
+			Set<? extends E> newSet, IElementEquality equality) {
+		if (equality == IElementEquality.EQUALITY
+				|| (equality == IElementEquality.IDENTITY
+						&& oldSet instanceof IdentitySet && newSet instanceof IdentitySet)) {
+			Set<E> additions = null;
+			for (E newElement : newSet) {
+				if (!oldSet.contains(newElement)) {
+					if (additions == null) {
+						additions = new ElementEqualitySet<E>(equality);
+					}
+					additions.add(newElement);
+				}
+			}
+
+			Set<E> removals = null;
+			for (E oldElement : oldSet) {
+				if (!newSet.contains(oldElement)) {
+					if (removals == null) {
+						removals = new ElementEqualitySet<E>(equality);
+					}
+					removals.add(oldElement);
+				}
+			}
+
+			return createSetDiff(additions == null ? Collections.<E> emptySet()
+					: additions, removals == null ? Collections.<E> emptySet()
+					: removals);
+		}
+
+		Set<E> removals = new ElementEqualitySet<E>(equality, oldSet.size());
+		removals.addAll(oldSet);
+		Set<E> additions = null;
+		for (E newElement : newSet) {
+			if (!removals.remove(newElement)) {
+				if (additions == null) {
+					additions = new ElementEqualitySet<E>(equality);
+				}
+				additions.add(newElement);
+			}
+		}
+		return createSetDiff(additions == null ? Collections.<E> emptySet()
+				: additions, removals);
 	}
 
 	/**
@@ -359,56 +548,89 @@ public class Diffs {
 	 */
 	public static <K, V> MapDiff<K, V> computeMapDiff(Map<K, V> oldMap,
 			Map<K, V> newMap) {
-		// starts out with all keys from the new map, we will remove keys from
-		// the old map as we go
-		final Set<K> addedKeys = new HashSet<K>(newMap.keySet());
-		final Set<K> removedKeys = new HashSet<K>();
-		final Set<K> changedKeys = new HashSet<K>();
-		final Map<K, V> oldValues = new HashMap<K, V>();
-		final Map<K, V> newValues = new HashMap<K, V>();
-		for (Iterator<Entry<K, V>> it = oldMap.entrySet().iterator(); it
-				.hasNext();) {
-			Map.Entry<K, V> oldEntry = it.next();
+		return computeMapDiff(oldMap, newMap, IElementEquality.EQUALITY);
+	}
+
+	/**
+	 * Returns a {@link MapDiff} describing the change between the specified old
+	 * and new map states, comparing values with the given equality strategy.
+	 * <p>
+	 * Keys are looked up through the maps themselves, so identity keyed maps
+	 * are diffed by identity. Each map is traversed once and only the
+	 * differences are copied.
+	 * 
+	 * @param <K>
+	 *            the type of keys maintained by this map
+	 * @param <V>
+	 *            the type of mapped values
+	 * @param oldMap
+	 *            the old map state
+	 * @param newMap
+	 *            the new map state
+	 * @param valueEquality
+	 *            the strategy used to decide whether the value of a key that
+	 *            is in both maps has changed
+	 * @return a {@link MapDiff} describing the change between the specified old
+	 *         and new map states.
+	 * @since 1.5
+	 */
+	public static <K, V> MapDiff<K, V> computeMapDiff(Map<K, V> oldMap,
+			Map<K, V> newMap, IElementEquality valueEquality) {
+		Set<K> addedKeys = null;
+		Set<K> removedKeys = null;
+		Set<K> changedKeys = null;
+		Map<K, V> oldValues = null;
+		Map<K, V> newValues = null;
+		for (Map.Entry<K, V> oldEntry : oldMap.entrySet()) {
 			K oldKey = oldEntry.getKey();
-			if (addedKeys.remove(oldKey)) {
-				// potentially changed key since it is in oldMap and newMap
-				V oldValue = oldEntry.getValue();
-				V newValue = newMap.get(oldKey);
-				if (!Util.equals(oldValue, newValue)) {
+			V oldValue = oldEntry.getValue();
+			V newValue = newMap.get(oldKey);
+			if (newValue != null || newMap.containsKey(oldKey)) {
+				if (!valueEquality.equals(oldValue, newValue)) {
+					if (changedKeys == null) {
+						changedKeys = new HashSet<K>();
+					}
 					changedKeys.add(oldKey);
-					oldValues.put(oldKey, oldValue);
-					newValues.put(oldKey, newValue);
+					oldValues = put(oldValues, oldKey, oldValue);
+					newValues = put(newValues, oldKey, newValue);
 				}
 			} else {
+				if (removedKeys == null) {
+					removedKeys = new HashSet<K>();
+				}
 				removedKeys.add(oldKey);
-				oldValues.put(oldKey, oldEntry.getValue());
+				oldValues = put(oldValues, oldKey, oldValue);
 			}
 		}
-		for (Iterator<K> it = addedKeys.iterator(); it.hasNext();) {
-			K newKey = it.next();
-			newValues.put(newKey, newMap.get(newKey));
-		}
-		return new MapDiff<K, V>() {
-			public Set<K> getAddedKeys() {
-				return addedKeys;
-			}
-
-			public Set<K> getChangedKeys() {
-				return changedKeys;
+		for (Map.Entry<K, V> newEntry : newMap.entrySet()) {
+			K newKey = newEntry.getKey();
+			if (!oldMap.containsKey(newKey)) {
+				if (addedKeys == null) {
+					addedKeys = new HashSet<K>();
+				}
+				addedKeys.add(newKey);
+				newValues = put(newValues, newKey, newEntry.getValue());
 			}
+		}
+		return createMapDiff(emptyIfNull(addedKeys), emptyIfNull(removedKeys),
+				emptyIfNull(changedKeys), emptyIfNull(oldValues),
+				emptyIfNull(newValues));
+	}
 
-			public Set<K> getRemovedKeys() {
-				return removedKeys;
-			}
+	private static <K, V> Map<K, V> put(Map<K, V> map, K key, V value) {
+		if (map == null) {
+			map = new HashMap<K, V>();
+		}
+		map.put(key, value);
+		return map;
+	}
 
-			public V getNewValue(Object key) {
-				return newValues.get(key);
-			}
+	private static <E> Set<E> emptyIfNull(Set<E> set) {
+		return set == null ? Collections.<E> emptySet() : set;
+	}
 
-			public V getOldValue(Object key) {
-				return oldValues.get(key);
-			}
-		};
+	private static <K, V> Map<K, V> emptyIfNull(Map<K, V> map) {
+		return map == null ? Collections.<K, V> emptyMap() : map;
 	}
 
 	/**
@@ -435,87 +657,60 @@ public class Diffs {
 	 */
 	public static <K, V> MapDiff<K, V> computeAndCastMapDiff(Map<?, ?> oldMap,
 			Map<?, ?> newMap, Class<K> keyType, Class<V> valueType) {
-		// starts out with all keys from the new map, we will remove keys from
-		// the old map as we go
-		final Set<K> addedKeys = new HashSet<K>();
-		final Set<K> removedKeys = new HashSet<K>();
-		final Set<K> changedKeys = new HashSet<K>();
-		final Map<K, V> oldValues = new HashMap<K, V>();
-		final Map<K, V> newValues = new HashMap<K, V>();
-
-		for (Object newKey : newMap.keySet()) {
-			if (keyType == null) {
-				// Unfortunately we don't always have a class object available
-				// here to do a safe cast. In fact this occurs in one of the
-				// test cases.
-				addedKeys.add((K) newKey);
-			} else {
-				addedKeys.add(keyType.cast(newKey));
-			}
-		}
+		Set<K> addedKeys = null;
+		Set<K> removedKeys = null;
+		Set<K> changedKeys = null;
+		Map<K, V> oldValues = null;
+		Map<K, V> newValues = null;
 
 		for (Map.Entry<?, ?> oldEntry : oldMap.entrySet()) {
-			// Unfortunately we don't always have a class object available
-			// here to do a safe cast. In fact this occurs in one of the
-			// test cases.
-			K oldKey;
-			V oldValue;
-			if (keyType == null) {
-				oldKey = (K) oldEntry.getKey();
-			} else {
-				oldKey = keyType.cast(oldEntry.getKey());
-			}
-			if (valueType == null) {
-				oldValue = (V) oldEntry.getValue();
-			} else {
-				oldValue = valueType.cast(oldEntry.getValue());
-			}
-
-			if (addedKeys.remove(oldKey)) {
+			Object oldKey = oldEntry.getKey();
+			V oldValue = cast(valueType, oldEntry.getValue());
+			Object newValue = newMap.get(oldKey);
+			if (newValue != null || newMap.containsKey(oldKey)) {
 				// potentially changed key since it is in oldMap and newMap
-				V newValue = valueType.cast(newMap.get(oldKey));
 				if (!Util.equals(oldValue, newValue)) {
-					changedKeys.add(oldKey);
-					oldValues.put(oldKey, oldValue);
-					newValues.put(oldKey, newValue);
+					K key = cast(keyType, oldKey);
+					if (changedKeys == null) {
+						changedKeys = new HashSet<K>();
+					}
+					changedKeys.add(key);
+					oldValues = put(oldValues, key, oldValue);
+					newValues = put(newValues, key, cast(valueType, newValue));
 				}
 			} else {
-				removedKeys.add(oldKey);
-				oldValues.put(oldKey, oldValue);
+				K key = cast(keyType, oldKey);
+				if (removedKeys == null) {
+					removedKeys = new HashSet<K>();
+				}
+				removedKeys.add(key);
+				oldValues = put(oldValues, key, oldValue);
 			}
 		}
-		for (Iterator<K> it = addedKeys.iterator(); it.hasNext();) {
-			K newKey = it.next();
-			if (keyType == null) {
-				// Unfortunately we don't always have a class object available
-				// here to do a safe cast. In fact this occurs in one of the
-				// test cases.
-				newValues.put(newKey, (V) newMap.get(newKey));
-			} else {
-				newValues.put(newKey, valueType.cast(newMap.get(newKey)));
+		for (Map.Entry<?, ?> newEntry : newMap.entrySet()) {
+			Object newKey = newEntry.getKey();
+			if (!oldMap.containsKey(newKey)) {
+				K key = cast(keyType, newKey);
+				if (addedKeys == null) {
+					addedKeys = new HashSet<K>();
+				}
+				addedKeys.add(key);
+				newValues = put(newValues, key,
+						cast(valueType, newEntry.getValue()));
 			}
 		}
-		return new MapDiff<K, V>() {
-			public Set<K> getAddedKeys() {
-				return addedKeys;
-			}
-
-			public Set<K> getChangedKeys() {
-				return changedKeys;
-			}
-
-			public Set<K> getRemovedKeys() {
-				return removedKeys;
-			}
-
-			public V getNewValue(Object key) {
-				return newValues.get(key);
-			}
+		return createMapDiff(emptyIfNull(addedKeys), emptyIfNull(removedKeys),
+				emptyIfNull(changedKeys), emptyIfNull(oldValues),
+				emptyIfNull(newValues));
+	}
 
-			public V getOldValue(Object key) {
-				return oldValues.get(key);
-			}
-		};
+	/**
+	 * Unfortunately we don't always have a class object available to do a
+	 * safe cast. In fact this occurs in one of the test cases.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T cast(Class<T> type, Object object) {
+		return type == null ? (T) object : type.cast(object);
 	}
 
 	/**
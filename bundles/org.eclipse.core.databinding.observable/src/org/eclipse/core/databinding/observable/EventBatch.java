@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.map.IObservableMap;
+import org.eclipse.core.databinding.observable.map.MapChangeEvent;
+import org.eclipse.core.databinding.observable.map.MapDiff;
+import org.eclipse.core.databinding.observable.set.IObservableSet;
+import org.eclipse.core.databinding.observable.set.SetChangeEvent;
+import org.eclipse.core.databinding.observable.set.SetDiff;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.internal.databinding.observable.Util;
+
+/**
+ * The events deferred by {@link Realm#runBatched(Runnable)}. Events are
+ * recorded per listener list, so each observable delivers at most one event of
+ * each type when the batch is flushed. Change and stale events are collapsed,
+ * and the diffs of value, list, set and map change events are merged.
+ * <p>
+ * Instances are confined to the thread that opened the batch.
+ *
+ * @since 1.5
+ */
+class EventBatch {
+
+	/**
+	 * The number of batches that are currently open in any realm, so that
+	 * firing events outside of batches does not need to look up the realm.
+	 */
+	private static volatile int openBatches;
+
+	private final Thread thread = Thread.currentThread();
+
+	/**
+	 * The first event recorded for each listener list, followed by the events
+	 * fired later, in the order the lists first fired.
+	 */
+	private final Map<ListenerList<?>, List<ObservableEvent<?, ?>>> pending = new LinkedHashMap<ListenerList<?>, List<ObservableEvent<?, ?>>>();
+
+	boolean isOwnedByCurrentThread() {
+		return thread == Thread.currentThread();
+	}
+
+	static synchronized void opened() {
+		openBatches++;
+	}
+
+	static synchronized void closed() {
+		openBatches--;
+	}
+
+	/**
+	 * Records the given event if a batch is open for the realm of its
+	 * observable on the current thread.
+	 *
+	 * @param listenerList
+	 *            the list the event is fired to
+	 * @param event
+	 *            the event
+	 * @return <code>true</code> if the event was deferred, <code>false</code>
+	 *         if it must be fired now
+	 */
+	static boolean defer(ListenerList<?> listenerList,
+			ObservableEvent<?, ?> event) {
+		if (openBatches == 0 || !isCoalesced(event))
+			return false;
+		Realm realm = event.getObservable().getRealm();
+		EventBatch batch = realm == null ? null : realm.batch;
+		if (batch == null || !batch.isOwnedByCurrentThread())
+			return false;
+		List<ObservableEvent<?, ?>> events = batch.pending.get(listenerList);
+		if (events == null) {
+			events = new ArrayList<ObservableEvent<?, ?>>(2);
+			batch.pending.put(listenerList, events);
+		}
+		events.add(event);
+		return true;
+	}
+
+	private static boolean isCoalesced(ObservableEvent<?, ?> event) {
+		// Dispose events and unknown event types are never deferred
+		return event instanceof ChangeEvent || event instanceof StaleEvent
+				|| event instanceof ValueChangeEvent
+				|| event instanceof ListChangeEvent
+				|| event instanceof SetChangeEvent
+				|| event instanceof MapChangeEvent;
+	}
+
+	/**
+	 * Fires one merged event to each listener list that received events during
+	 * the batch. Events of observables that were disposed during the batch are
+	 * dropped.
+	 */
+	void flush() {
+		try {
+			for (Iterator<Map.Entry<ListenerList<?>, List<ObservableEvent<?, ?>>>> it = pending
+					.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<ListenerList<?>, List<ObservableEvent<?, ?>>> entry = it
+						.next();
+				// Remove the entry first so that a throwing listener cannot
+				// cause its events to be fired again
+				it.remove();
+				List<ObservableEvent<?, ?>> events = entry.getValue();
+				ObservableEvent<?, ?> first = events.get(0);
+				if (first.getObservable().isDisposed())
+					continue;
+				ObservableEvent<?, ?> merged = events.size() == 1 ? first
+						: merge(events);
+				if (merged != null)
+					fireEvent(entry.getKey(), merged);
+			}
+		} finally {
+			pending.clear();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <L extends IObservablesListener<L>> void fireEvent(
+			ListenerList<L> listenerList, ObservableEvent<?, ?> event) {
+		// The event was recorded for this list, so it has the list's type
+		listenerList.fireEvent((ObservableEvent<?, L>) event);
+	}
+
+	private static ObservableEvent<?, ?> merge(
+			List<ObservableEvent<?, ?>> events) {
+		ObservableEvent<?, ?> first = events.get(0);
+		if (first instanceof ValueChangeEvent)
+			return mergeValueEvents(events);
+		if (first instanceof ListChangeEvent)
+			return mergeListEvents(events);
+		if (first instanceof SetChangeEvent)
+			return mergeSetEvents(events);
+		if (first instanceof MapChangeEvent)
+			return mergeMapEvents(events);
+		// Change and stale events carry no data
+		return first;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> ValueChangeEvent<T> mergeValueEvents(
+			List<ObservableEvent<?, ?>> events) {
+		ValueChangeEvent<T> first = (ValueChangeEvent<T>) events.get(0);
+		ValueChangeEvent<T> last = (ValueChangeEvent<T>) events.get(events
+				.size() - 1);
+		T oldValue = first.diff.getOldValue();
+		T newValue = last.diff.getNewValue();
+		// Changes that were reverted during the batch are dropped, like in
+		// the merged set and map events
+		if (Util.equals(oldValue, newValue))
+			return null;
+		return new ValueChangeEvent<T>(
+				(IObservableValue<T>) first.getObservable(), Diffs
+						.createValueDiff(oldValue, newValue));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> ListChangeEvent<E> mergeListEvents(
+			List<ObservableEvent<?, ?>> events) {
+		final List<ListDiff<? extends E>> diffs = new ArrayList<ListDiff<? extends E>>(
+				events.size());
+		for (int i = 0; i < events.size(); i++) {
+			diffs.add(((ListChangeEvent<E>) events.get(i)).diff);
+		}
+		// Entries are processed in order, so the entries of consecutive diffs
+		// can simply be concatenated
+		return new ListChangeEvent<E>(
+				(IObservableList<E>) events.get(0).getObservable(),
+				new ListDiff<E>() {
+					private List<ListDiffEntry<E>> differences;
+
+					public ListDiffEntry<?>[] getDifferences() {
+						List<ListDiffEntry<E>> list = getDifferencesAsList();
+						return list.toArray(new ListDiffEntry[list.size()]);
+					}
+
+					public List<ListDiffEntry<E>> getDifferencesAsList() {
+						if (differences == null) {
+							differences = new ArrayList<ListDiffEntry<E>>();
+							for (int i = 0; i < diffs.size(); i++) {
+								ListDiffEntry<?>[] entries = diffs.get(i)
+										.getDifferences();
+								for (int j = 0; j < entries.length; j++) {
+									differences
+											.add((ListDiffEntry<E>) entries[j]);
+								}
+							}
+						}
+						return differences;
+					}
+				});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> SetChangeEvent<E> mergeSetEvents(
+			List<ObservableEvent<?, ?>> events) {
+		Set<E> additions = new HashSet<E>();
+		Set<E> removals = new HashSet<E>();
+		for (int i = 0; i < events.size(); i++) {
+			SetDiff<? extends E> diff = ((SetChangeEvent<E>) events.get(i)).diff;
+			for (Iterator<? extends E> it = diff.getRemovals().iterator(); it
+					.hasNext();) {
+				E element = it.next();
+				if (!additions.remove(element))
+					removals.add(element);
+			}
+			for (Iterator<? extends E> it = diff.getAdditions().iterator(); it
+					.hasNext();) {
+				E element = it.next();
+				if (!removals.remove(element))
+					additions.add(element);
+			}
+		}
+		if (additions.isEmpty() && removals.isEmpty())
+			return null;
+		return new SetChangeEvent<E>((IObservableSet<E>) events.get(0)
+				.getObservable(), Diffs.createSetDiff(additions, removals));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> MapChangeEvent<K, V> mergeMapEvents(
+			List<ObservableEvent<?, ?>> events) {
+		// For each key, whether it was present before the first and after the
+		// last diff
+		Map<K, Boolean> wasPresent = new LinkedHashMap<K, Boolean>();
+		Set<K> present = new HashSet<K>();
+		Map<K, V> oldValues = new HashMap<K, V>();
+		Map<K, V> newValues = new HashMap<K, V>();
+		for (int i = 0; i < events.size(); i++) {
+			MapDiff<K, V> diff = (MapDiff<K, V>) ((MapChangeEvent<K, V>) events
+					.get(i)).diff;
+			for (Iterator<K> it = diff.getRemovedKeys().iterator(); it
+					.hasNext();) {
+				K key = it.next();
+				if (!wasPresent.containsKey(key)) {
+					wasPresent.put(key, Boolean.TRUE);
+					oldValues.put(key, diff.getOldValue(key));
+				}
+				present.remove(key);
+				newValues.remove(key);
+			}
+			for (Iterator<K> it = diff.getChangedKeys().iterator(); it
+					.hasNext();) {
+				K key = it.next();
+				if (!wasPresent.containsKey(key)) {
+					wasPresent.put(key, Boolean.TRUE);
+					oldValues.put(key, diff.getOldValue(key));
+				}
+				present.add(key);
+				newValues.put(key, diff.getNewValue(key));
+			}
+			for (Iterator<K> it = diff.getAddedKeys().iterator(); it
+					.hasNext();) {
+				K key = it.next();
+				if (!wasPresent.containsKey(key))
+					wasPresent.put(key, Boolean.FALSE);
+				present.add(key);
+				newValues.put(key, diff.getNewValue(key));
+			}
+		}
+
+		Set<K> addedKeys = new LinkedHashSet<K>();
+		Set<K> removedKeys = new LinkedHashSet<K>();
+		Set<K> changedKeys = new LinkedHashSet<K>();
+		for (Iterator<Map.Entry<K, Boolean>> it = wasPresent.entrySet()
+				.iterator(); it.hasNext();) {
+			Map.Entry<K, Boolean> entry = it.next();
+			K key = entry.getKey();
+			boolean before = entry.getValue().booleanValue();
+			boolean after = present.contains(key);
+			if (before && after) {
+				if (!Util.equals(oldValues.get(key), newValues.get(key)))
+					changedKeys.add(key);
+			} else if (before) {
+				removedKeys.add(key);
+			} else if (after) {
+				addedKeys.add(key);
+			}
+		}
+		if (addedKeys.isEmpty() && removedKeys.isEmpty()
+				&& changedKeys.isEmpty())
+			return null;
+		return new MapChangeEvent<K, V>((IObservableMap<K, V>) events.get(0)
+				.getObservable(), Diffs.createMapDiff(addedKeys, removedKeys,
+				changedKeys, oldValues, newValues));
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A realm whose runnables are executed one at a time by an {@link Executor}
+ * that may be shared with any number of other realms. No thread is dedicated
+ * to the realm: a thread of the executor enters the realm only while runnables
+ * are pending, so many realms, for example one per document of a headless
+ * service, can be served by a small pool of threads.
+ * <p>
+ * Runnables are executed in the order they were submitted, and never
+ * concurrently with each other. To be fair to the other realms of the
+ * executor, a thread leaves the realm after a bounded number of runnables and
+ * resubmits the rest. While a runnable is executed, this realm is the current
+ * and the default realm of the executing thread.
+ * </p>
+ * <p>
+ * Blocking within a runnable, for example by calling {@link #syncExec} of
+ * another realm of the same executor, occupies a thread of the executor and
+ * may lead to deadlock once all of its threads are blocked.
+ * </p>
+ *
+ * @since 1.5
+ */
+public class ExecutorRealm extends Realm {
+
+	/**
+	 * The maximum number of runnables executed before the thread leaves the
+	 * realm.
+	 */
+	private static final int DRAIN_BATCH_SIZE = 64;
+
+	private final Executor executor;
+
+	private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<Runnable>();
+
+	/**
+	 * Whether a drain of the queue was submitted to the executor and has not
+	 * finished yet. At most one drain is pending at any time.
+	 */
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	private volatile Thread currentThread;
+
+	private final Runnable drain = new Runnable() {
+		public void run() {
+			drain();
+		}
+	};
+
+	/**
+	 * Creates a realm executed by a daemon thread pool shared by all realms
+	 * created with this constructor. The pool has one thread per processor.
+	 */
+	public ExecutorRealm() {
+		this(RealmExecutors.getPool());
+	}
+
+	/**
+	 * Creates a realm executed by the given executor.
+	 *
+	 * @param executor
+	 *            the executor, which may run other tasks as well
+	 */
+	public ExecutorRealm(Executor executor) {
+		if (executor == null)
+			throw new NullPointerException();
+		this.executor = executor;
+	}
+
+	public boolean isCurrent() {
+		return Thread.currentThread() == currentThread;
+	}
+
+	/**
+	 * Causes the <code>run()</code> method of the runnable to be invoked from
+	 * within this realm at the next reasonable opportunity. This method never
+	 * blocks.
+	 *
+	 * @param runnable
+	 * @throws java.util.concurrent.RejectedExecutionException
+	 *             if the executor does not accept the task executing the
+	 *             runnable
+	 */
+	public void asyncExec(Runnable runnable) {
+		if (runnable == null)
+			throw new NullPointerException();
+		queue.offer(runnable);
+		schedule();
+	}
+
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				executor.execute(drain);
+			} catch (RuntimeException e) {
+				scheduled.set(false);
+				throw e;
+			}
+		}
+	}
+
+	private void drain() {
+		Thread thread = Thread.currentThread();
+		Realm oldDefault = setDefault(this);
+		currentThread = thread;
+		try {
+			Runnable runnable;
+			for (int i = 0; i < DRAIN_BATCH_SIZE
+					&& (runnable = queue.poll()) != null; i++) {
+				safeRun(runnable);
+			}
+		} finally {
+			currentThread = null;
+			setDefault(oldDefault);
+			scheduled.set(false);
+		}
+		// Check again, a runnable may have been added before the flag was
+		// cleared, or the batch size was reached
+		if (!queue.isEmpty())
+			schedule();
+	}
+
+	/**
+	 * Runs the runnable directly if called from within this realm, otherwise
+	 * queues it and parks the calling thread until it has been executed.
+	 */
+	protected void syncExec(Runnable runnable) {
+		if (isCurrent()) {
+			safeRun(runnable);
+		} else {
+			super.syncExec(runnable);
+		}
+	}
+
+	/**
+	 * Causes the <code>run()</code> method of the runnable to be invoked from
+	 * within this realm after the specified number of milliseconds have
+	 * elapsed. The delay is measured on a timer thread shared by all realms,
+	 * after which the runnable is queued like {@link #asyncExec(Runnable)}.
+	 *
+	 * @param milliseconds
+	 * @param runnable
+	 */
+	public void timerExec(int milliseconds, final Runnable runnable) {
+		if (milliseconds < 0) {
+			return;
+		} else if (milliseconds == 0) {
+			asyncExec(runnable);
+		} else {
+			RealmExecutors.getTimer().schedule(new Runnable() {
+				public void run() {
+					asyncExec(runnable);
+				}
+			}, milliseconds, TimeUnit.MILLISECONDS);
+		}
+	}
+}
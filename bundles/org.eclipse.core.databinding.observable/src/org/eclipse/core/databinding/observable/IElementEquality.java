@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import org.eclipse.core.internal.databinding.observable.Util;
+
+/**
+ * Strategy for comparing elements for equality and computing their hash
+ * codes. This mirrors the JFace <code>IElementComparer</code> interface, so
+ * viewer comparers can be adapted trivially.
+ * <p>
+ * Implementations must be consistent: elements that are equal according to
+ * {@link #equals(Object, Object)} must have the same
+ * {@link #hashCode(Object)}. Both methods must accept <code>null</code>.
+ *
+ * @see Diffs#computeSetDiff(java.util.Set, java.util.Set, IElementEquality)
+ * @see Diffs#computeMapDiff(java.util.Map, java.util.Map, IElementEquality)
+ * @since 1.5
+ */
+public interface IElementEquality {
+
+	/**
+	 * Compares elements using {@link Object#equals(Object)} and
+	 * {@link Object#hashCode()}.
+	 */
+	public static final IElementEquality EQUALITY = new IElementEquality() {
+		public boolean equals(Object a, Object b) {
+			return Util.equals(a, b);
+		}
+
+		public int hashCode(Object element) {
+			return element == null ? 0 : element.hashCode();
+		}
+	};
+
+	/**
+	 * Compares elements using <code>==</code> and
+	 * {@link System#identityHashCode(Object)}.
+	 */
+	public static final IElementEquality IDENTITY = new IElementEquality() {
+		public boolean equals(Object a, Object b) {
+			return a == b;
+		}
+
+		public int hashCode(Object element) {
+			return System.identityHashCode(element);
+		}
+	};
+
+	/**
+	 * Returns whether the given elements are equal.
+	 *
+	 * @param a
+	 *            the first element, may be <code>null</code>
+	 * @param b
+	 *            the second element, may be <code>null</code>
+	 * @return <code>true</code> if the elements are equal
+	 */
+	public boolean equals(Object a, Object b);
+
+	/**
+	 * Returns the hash code for the given element.
+	 *
+	 * @param element
+	 *            the element, may be <code>null</code>
+	 * @return the hash code
+	 */
+	public int hashCode(Object element);
+}
@@ -1,9 +1,11 @@
 package org.eclipse.core.databinding.observable;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.core.internal.databinding.observable.ElementEqualitySet;
+
 /**
  * This class is a thread safe list that is designed for storing lists of
  * listeners. The implementation is optimized for minimal memory footprint,
@@ -11,6 +13,8 @@ import java.util.List;
  * synchronized and relatively expensive, while accessing the listeners is very
  * fast. Readers are given access to the underlying array data structure for
  * reading, with the trust that they will not modify the underlying array.
+ * Once a list holds many listeners, they are also kept in a hash index so that
+ * duplicates are detected in constant time.
  * <p>
  * <a name="same">A listener list handles the <i>same</i> listener being added
  * multiple times, and tolerates removal of listeners that are the same as other
@@ -52,6 +56,14 @@ public class ListenerList<L extends IObservablesListener<L>> {
 	 */
 	public static final int IDENTITY = 1;
 
+	private static final Object[] EMPTY_ARRAY = new Object[0];
+
+	/**
+	 * Lists with more listeners than this use {@link #index} to check for
+	 * duplicates.
+	 */
+	private static final int INDEX_THRESHOLD = 16;
+
 	/**
 	 * Indicates the comparison mode used to determine if two listeners are
 	 * equivalent
@@ -59,11 +71,17 @@ public class ListenerList<L extends IObservablesListener<L>> {
 	private final boolean identity;
 
 	/**
-	 * The list of listeners. Initially empty but initialized to an array of
-	 * size capacity the first time a listener is added. Maintains invariant:
-	 * listeners != null
+	 * The array of listeners. Replaced, never modified, whenever a listener is
+	 * added or removed. Maintains invariant: listeners != null
 	 */
-	private volatile List<L> listeners = Collections.emptyList();
+	private volatile Object[] listeners = EMPTY_ARRAY;
+
+	/**
+	 * The listeners hashed according to the comparison mode, or
+	 * <code>null</code> while the list is small. Only accessed while
+	 * synchronized.
+	 */
+	private ElementEqualitySet<Object> index;
 
 	/**
 	 * Creates a listener list in which listeners are compared using equality.
@@ -100,19 +118,38 @@ public class ListenerList<L extends IObservablesListener<L>> {
 		if (listener == null)
 			throw new IllegalArgumentException();
 		// check for duplicates
-		final int oldSize = listeners.size();
-		for (L listener2 : listeners) {
-			if (identity ? listener == listener2 : listener.equals(listener2))
+		final Object[] oldListeners = listeners;
+		final int oldSize = oldListeners.length;
+		if (index != null) {
+			if (!index.add(listener))
 				return;
+		} else {
+			if (indexOf(oldListeners, listener) != -1)
+				return;
+			if (oldSize == INDEX_THRESHOLD) {
+				index = new ElementEqualitySet<Object>(
+						identity ? IElementEquality.IDENTITY
+								: IElementEquality.EQUALITY, oldSize * 2);
+				index.addAll(Arrays.asList(oldListeners));
+				index.add(listener);
+			}
 		}
 		// Thread safety: create new array to avoid affecting concurrent readers
-		List<L> newListeners = new ArrayList<L>(oldSize + 1);
-		newListeners.addAll(listeners);
-		newListeners.add(listener);
+		Object[] newListeners = new Object[oldSize + 1];
+		System.arraycopy(oldListeners, 0, newListeners, 0, oldSize);
+		newListeners[oldSize] = listener;
 		// atomic assignment
 		this.listeners = newListeners;
 	}
 
+	private int indexOf(Object[] array, L listener) {
+		for (int i = 0; i < array.length; i++) {
+			if (identity ? listener == array[i] : listener.equals(array[i]))
+				return i;
+		}
+		return -1;
+	}
+
 	/**
 	 * Returns an array containing all the registered listeners. The resulting
 	 * array is unaffected by subsequent adds or removes. If there are no
@@ -124,16 +161,28 @@ public class ListenerList<L extends IObservablesListener<L>> {
 	 * 
 	 * @return the list of registered listeners
 	 */
+	@SuppressWarnings("unchecked")
 	public List<L> getListeners() {
-		return listeners;
+		Object[] snapshot = listeners;
+		if (snapshot.length == 0)
+			return Collections.emptyList();
+		return (List<L>) Collections.unmodifiableList(Arrays.asList(snapshot));
 	}
 
 	/**
 	 * @param event
 	 */
 	public void fireEvent(ObservableEvent<?, L> event) {
-		for (L listener : listeners) {
-			event.dispatch(listener);
+		if (EventBatch.defer(this, event))
+			return;
+		fireEvent(listeners, event);
+	}
+
+	@SuppressWarnings("unchecked")
+	static <L extends IObservablesListener<L>> void fireEvent(
+			Object[] listeners, ObservableEvent<?, L> event) {
+		for (int i = 0; i < listeners.length; i++) {
+			event.dispatch((L) listeners[i]);
 		}
 	}
 
@@ -144,7 +193,7 @@ public class ListenerList<L extends IObservablesListener<L>> {
 	 *         <code>false</code> otherwise
 	 */
 	public boolean isEmpty() {
-		return listeners.isEmpty();
+		return listeners.length == 0;
 	}
 
 	/**
@@ -165,34 +214,27 @@ public class ListenerList<L extends IObservablesListener<L>> {
 			throw new IllegalArgumentException();
 		}
 
-		int oldSize = listeners.size();
-		if (oldSize == 0) {
+		final Object[] oldListeners = listeners;
+		final int oldSize = oldListeners.length;
+		if (index != null && !index.remove(listener))
 			return;
-		} else if (oldSize == 1) {
-			L listener2 = listeners.get(0);
-			if (identity ? listener == listener2 : listener.equals(listener2)) {
-				listeners = Collections.emptyList();
-			}
+		int i = indexOf(oldListeners, listener);
+		if (i == -1)
+			return;
+		if (oldSize == 1) {
+			listeners = EMPTY_ARRAY;
 		} else {
 			// Thread safety: create new array to avoid affecting
 			// concurrent readers
-			List<L> newListeners = new ArrayList<L>(oldSize - 1);
-
-			boolean match = false;
-			for (L listener2 : listeners) {
-				if (identity ? listener == listener2 : listener
-						.equals(listener2)) {
-					match = true;
-				} else {
-					newListeners.add(listener2);
-				}
-			}
-
-			if (match) {
-				// atomic assignment
-				this.listeners = newListeners;
-			}
+			Object[] newListeners = new Object[oldSize - 1];
+			System.arraycopy(oldListeners, 0, newListeners, 0, i);
+			System.arraycopy(oldListeners, i + 1, newListeners, i, oldSize
+					- i - 1);
+			// atomic assignment
+			this.listeners = newListeners;
 		}
+		if (index != null && index.size() <= INDEX_THRESHOLD / 2)
+			index = null;
 	}
 
 	/**
@@ -201,14 +243,15 @@ public class ListenerList<L extends IObservablesListener<L>> {
 	 * @return the number of registered listeners
 	 */
 	public int size() {
-		return listeners.size();
+		return listeners.length;
 	}
 
 	/**
 	 * Removes all listeners from this list.
 	 */
 	public synchronized void clear() {
-		listeners = Collections.emptyList();
+		listeners = EMPTY_ARRAY;
+		index = null;
 	}
 
 	/**
@@ -216,7 +259,7 @@ public class ListenerList<L extends IObservablesListener<L>> {
 	 *         listeners
 	 */
 	public boolean hasListeners() {
-		return !isEmpty();
+		return listeners.length != 0;
 	}
 
 	/**
@@ -229,7 +272,7 @@ public class ListenerList<L extends IObservablesListener<L>> {
 	 * @return an immutable listener list
 	 */
 	public ListenerListCopy<L> getReadOnlyCopy() {
-		return new ListenerListCopy<L>(listeners);
+		return new ListenerListCopy<L>(this, listeners);
 	}
 
 	/**
@@ -243,7 +286,7 @@ public class ListenerList<L extends IObservablesListener<L>> {
 	 *            the copy taken at the time getReadOnlyCopy was called
 	 * @return true if <code>copy</code> is still the current list
 	 */
-	boolean isListStillCurrent(List<L> copy) {
+	boolean isListStillCurrent(Object[] copy) {
 		return listeners == copy;
 	}
 }
@@ -37,7 +37,9 @@ import java.util.List;
  */
 public class ListenerListCopy<L extends IObservablesListener<L>> {
 
-	private final List<L> listeners;
+	private final ListenerList<L> listenerList;
+
+	private final Object[] listeners;
 
 	/**
 	 * The listener list passed to this class must never be changed by anyone,
@@ -50,16 +52,25 @@ public class ListenerListCopy<L extends IObservablesListener<L>> {
 	 *            further changes to the list will not affect this class
 	 */
 	public ListenerListCopy(List<L> listeners) {
+		this(null, listeners.toArray());
+	}
+
+	ListenerListCopy(ListenerList<L> listenerList, Object[] listeners) {
+		this.listenerList = listenerList;
 		this.listeners = listeners;
 	}
 
 	/**
+	 * Fires the event to the listeners in this copy. If the event is deferred
+	 * by {@link Realm#runBatched(Runnable)}, it is fired to the listeners
+	 * registered when the batch completes instead.
+	 * 
 	 * @param event
 	 */
 	public void fireEvent(ObservableEvent<?, L> event) {
-		for (L listener : listeners) {
-			event.dispatch(listener);
-		}
+		if (listenerList != null && EventBatch.defer(listenerList, event))
+			return;
+		ListenerList.fireEvent(listeners, event);
 	}
 
 	/**
@@ -11,10 +11,11 @@
  *******************************************************************************/
 package org.eclipse.core.databinding.observable;
 
+import java.util.Arrays;
 import java.util.Set;
 
 import org.eclipse.core.databinding.util.Policy;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
+import org.eclipse.core.internal.databinding.observable.ElementEqualitySet;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -60,20 +61,141 @@ import org.eclipse.core.runtime.Status;
 public class ObservableTracker {
 
 	/**
-	 * Threadlocal storage pointing to the current Set of IObservables, or null
-	 * if none. Note that this is actually the top of a stack. Whenever a method
-	 * changes the current value, it remembers the old value as a local variable
-	 * and restores the old value when the method exits.
+	 * Threadlocal storage pointing to the tracking state of the current thread.
+	 * The frames it points to are actually the top of a stack. Whenever a
+	 * method changes the current frame, it remembers the old frame as a local
+	 * variable and restores the old frame when the method exits.
 	 */
-	private static ThreadLocal<IChangeListener> currentChangeListener = new ThreadLocal<IChangeListener>();
+	private static ThreadLocal<TrackingContext> currentContext = new ThreadLocal<TrackingContext>() {
+		protected TrackingContext initialValue() {
+			return new TrackingContext();
+		}
+	};
+
+	private static final IObservable[] EMPTY_ARRAY = new IObservable[0];
+
+	/**
+	 * The tracking state of a single thread.
+	 */
+	private static final class TrackingContext {
+		/**
+		 * The frame collecting the observables read by the innermost
+		 * runAndMonitor() invocation, or null if none.
+		 */
+		Frame getterCalledFrame;
+
+		/**
+		 * The frame collecting the observables created by the innermost
+		 * runAndCollect() invocation, or null if none.
+		 */
+		Frame observableCreatedFrame;
 
-	private static ThreadLocal<IStaleListener> currentStaleListener = new ThreadLocal<IStaleListener>();
+		int ignoreCount;
 
-	private static ThreadLocal<Set<IObservable>> currentGetterCalledSet = new ThreadLocal<Set<IObservable>>();
+		/**
+		 * Frames that are not in use, linked through {@link Frame#next}.
+		 */
+		private Frame pool;
 
-	private static ThreadLocal<Set<IObservable>> currentObservableCreatedSet = new ThreadLocal<Set<IObservable>>();
+		Frame obtainFrame(IChangeListener changeListener,
+				IStaleListener staleListener) {
+			Frame frame = pool;
+			if (frame == null) {
+				frame = new Frame();
+			} else {
+				pool = frame.next;
+				frame.next = null;
+			}
+			frame.changeListener = changeListener;
+			frame.staleListener = staleListener;
+			return frame;
+		}
 
-	private static ThreadLocal<Integer> currentIgnoreCount = new ThreadLocal<Integer>();
+		void releaseFrame(Frame frame) {
+			frame.reset();
+			frame.next = pool;
+			pool = frame;
+		}
+	}
+
+	/**
+	 * An insertion ordered identity set of observables, reused across
+	 * invocations of runAndMonitor() and runAndCollect().
+	 */
+	private static final class Frame {
+		/**
+		 * Frames with up to this many observables are searched linearly,
+		 * larger ones are indexed.
+		 */
+		private static final int INDEX_THRESHOLD = 8;
+
+		/**
+		 * Frames that grew beyond this size do not keep their storage when
+		 * they are returned to the pool.
+		 */
+		private static final int MAX_RETAINED_SIZE = 256;
+
+		IChangeListener changeListener;
+
+		IStaleListener staleListener;
+
+		Frame next;
+
+		private IObservable[] observables = new IObservable[INDEX_THRESHOLD];
+
+		private int size;
+
+		private ElementEqualitySet<IObservable> index;
+
+		boolean add(IObservable observable) {
+			if (index != null) {
+				if (!index.add(observable))
+					return false;
+			} else {
+				for (int i = 0; i < size; i++) {
+					if (observables[i] == observable)
+						return false;
+				}
+				if (size == INDEX_THRESHOLD) {
+					index = new ElementEqualitySet<IObservable>(
+							IElementEquality.IDENTITY, INDEX_THRESHOLD * 2);
+					for (int i = 0; i < size; i++) {
+						index.add(observables[i]);
+					}
+					index.add(observable);
+				}
+			}
+			if (size == observables.length) {
+				IObservable[] grown = new IObservable[size * 2];
+				System.arraycopy(observables, 0, grown, 0, size);
+				observables = grown;
+			}
+			observables[size++] = observable;
+			return true;
+		}
+
+		IObservable[] toArray() {
+			if (size == 0)
+				return EMPTY_ARRAY;
+			IObservable[] result = new IObservable[size];
+			System.arraycopy(observables, 0, result, 0, size);
+			return result;
+		}
+
+		void reset() {
+			if (observables.length > MAX_RETAINED_SIZE) {
+				observables = new IObservable[INDEX_THRESHOLD];
+				index = null;
+			} else {
+				Arrays.fill(observables, 0, size, null);
+				if (index != null)
+					index.clear();
+			}
+			size = 0;
+			changeListener = null;
+			staleListener = null;
+		}
+	}
 
 	/**
 	 * Invokes the given runnable, and returns the set of IObservables that were
@@ -92,31 +214,104 @@ public class ObservableTracker {
 	 */
 	public static IObservable[] runAndMonitor(Runnable runnable,
 			IChangeListener changeListener, IStaleListener staleListener) {
-		// Remember the previous value in the listener stack
-		Set<IObservable> lastObservableSet = currentGetterCalledSet.get();
-		IChangeListener lastChangeListener = currentChangeListener.get();
-		IStaleListener lastStaleListener = currentStaleListener.get();
-		Integer lastIgnore = currentIgnoreCount.get();
-
-		Set<IObservable> observableSet = new IdentitySet<IObservable>();
-		// Push the new listeners to the top of the stack
-		currentGetterCalledSet.set(observableSet);
-		currentChangeListener.set(changeListener);
-		currentStaleListener.set(staleListener);
-		currentIgnoreCount.set(null);
+		TrackingContext context = currentContext.get();
+		// Remember the previous frame in the stack
+		Frame lastFrame = context.getterCalledFrame;
+		int lastIgnore = context.ignoreCount;
+
+		Frame frame = context.obtainFrame(changeListener, staleListener);
+		// Push the new frame to the top of the stack
+		context.getterCalledFrame = frame;
+		context.ignoreCount = 0;
 		try {
 			runnable.run();
+			return frame.toArray();
 		} finally {
-			// Pop the new listener off the top of the stack (by restoring the
-			// previous listener)
-			currentGetterCalledSet.set(lastObservableSet);
-			currentChangeListener.set(lastChangeListener);
-			currentStaleListener.set(lastStaleListener);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			// Pop the new frame off the top of the stack (by restoring the
+			// previous frame)
+			context.getterCalledFrame = lastFrame;
+			checkUnmatchedIgnore(context, runnable);
+			context.ignoreCount = lastIgnore;
+			context.releaseFrame(frame);
+		}
+	}
+
+	/**
+	 * Invokes the given runnable, and returns the set of IObservables that were
+	 * read by the runnable. Unlike
+	 * {@link #runAndMonitor(Runnable, IChangeListener, IStaleListener)}, the
+	 * listeners are assumed to be registered already with the observables in
+	 * <code>previousDependencies</code>. The listeners are added only to the
+	 * observables that were not previously depended upon, and removed only from
+	 * the previous dependencies that were not read this time, so clients that
+	 * recompute repeatedly keep their subscriptions across recomputes.
+	 * 
+	 * @param runnable
+	 *            runnable to execute
+	 * @param previousDependencies
+	 *            the result of the previous invocation for the same listeners,
+	 *            or <code>null</code> if the listeners are not registered with
+	 *            any observable
+	 * @param changeListener
+	 *            listener to register with all accessed observables
+	 * @param staleListener
+	 *            listener to register with all accessed observables, or
+	 *            <code>null</code> if no stale listener is to be registered
+	 * @return an array of unique observable objects
+	 * @since 1.5
+	 */
+	public static IObservable[] runAndMonitor(Runnable runnable,
+			IObservable[] previousDependencies, IChangeListener changeListener,
+			IStaleListener staleListener) {
+		IObservable[] dependencies = runAndMonitor(runnable, null, null);
+		updateListeners(previousDependencies, dependencies, changeListener,
+				staleListener);
+		return dependencies;
+	}
+
+	private static void updateListeners(IObservable[] oldDependencies,
+			IObservable[] newDependencies, IChangeListener changeListener,
+			IStaleListener staleListener) {
+		if (oldDependencies == null || oldDependencies.length == 0) {
+			for (int i = 0; i < newDependencies.length; i++) {
+				addListeners(newDependencies[i], changeListener, staleListener);
+			}
+			return;
 		}
 
-		return observableSet.toArray(new IObservable[observableSet.size()]);
+		// Recomputes usually read the same observables in the same order
+		if (oldDependencies.length == newDependencies.length) {
+			int i = 0;
+			while (i < oldDependencies.length
+					&& oldDependencies[i] == newDependencies[i]) {
+				i++;
+			}
+			if (i == oldDependencies.length)
+				return;
+		}
+
+		Set<IObservable> remaining = new ElementEqualitySet<IObservable>(
+				IElementEquality.IDENTITY, oldDependencies.length);
+		for (int i = 0; i < oldDependencies.length; i++) {
+			remaining.add(oldDependencies[i]);
+		}
+		for (int i = 0; i < newDependencies.length; i++) {
+			IObservable observable = newDependencies[i];
+			if (!remaining.remove(observable))
+				addListeners(observable, changeListener, staleListener);
+		}
+		for (IObservable observable : remaining) {
+			observable.removeChangeListener(changeListener);
+			if (staleListener != null)
+				observable.removeStaleListener(staleListener);
+		}
+	}
+
+	private static void addListeners(IObservable observable,
+			IChangeListener changeListener, IStaleListener staleListener) {
+		observable.addChangeListener(changeListener);
+		if (staleListener != null)
+			observable.addStaleListener(staleListener);
 	}
 
 	/**
@@ -136,35 +331,36 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static IObservable[] runAndCollect(Runnable runnable) {
-		Set<IObservable> lastObservableCreatedSet = currentObservableCreatedSet
-				.get();
-		Integer lastIgnore = currentIgnoreCount.get();
-
-		Set<IObservable> observableSet = new IdentitySet<IObservable>();
-		// Push the new listeners to the top of the stack
-		currentObservableCreatedSet.set(observableSet);
-		currentIgnoreCount.set(null);
+		TrackingContext context = currentContext.get();
+		Frame lastFrame = context.observableCreatedFrame;
+		int lastIgnore = context.ignoreCount;
+
+		Frame frame = context.obtainFrame(null, null);
+		// Push the new frame to the top of the stack
+		context.observableCreatedFrame = frame;
+		context.ignoreCount = 0;
 		try {
 			runnable.run();
+			return frame.toArray();
 		} finally {
-			// Pop the new listener off the top of the stack (by restoring the
-			// previous listener)
-			currentObservableCreatedSet.set(lastObservableCreatedSet);
-			checkUnmatchedIgnore(runnable);
-			currentIgnoreCount.set(lastIgnore);
+			// Pop the new frame off the top of the stack (by restoring the
+			// previous frame)
+			context.observableCreatedFrame = lastFrame;
+			checkUnmatchedIgnore(context, runnable);
+			context.ignoreCount = lastIgnore;
+			context.releaseFrame(frame);
 		}
-
-		return observableSet.toArray(new IObservable[observableSet.size()]);
 	}
 
-	private static void checkUnmatchedIgnore(Runnable runnable) {
-		if (isIgnore()) {
+	private static void checkUnmatchedIgnore(TrackingContext context,
+			Runnable runnable) {
+		if (context.ignoreCount != 0) {
 			Policy.getLog()
 					.log(new Status(
 							IStatus.ERROR,
 							Policy.JFACE_DATABINDING,
 							"There were " //$NON-NLS-1$
-									+ currentIgnoreCount.get()
+									+ context.ignoreCount
 									+ " unmatched setIgnore(true) invocations in runnable " //$NON-NLS-1$
 									+ runnable));
 		}
@@ -191,15 +387,14 @@ public class ObservableTracker {
 	 * @since 1.3
 	 */
 	public static void setIgnore(boolean ignore) {
-		Integer lastCount = currentIgnoreCount.get();
+		TrackingContext context = currentContext.get();
 
-		int newCount = (lastCount == null ? 0 : lastCount.intValue())
-				+ (ignore ? 1 : -1);
+		int newCount = context.ignoreCount + (ignore ? 1 : -1);
 
 		if (newCount < 0)
 			throw new IllegalStateException("Ignore count is already zero"); //$NON-NLS-1$
 
-		currentIgnoreCount.set(newCount == 0 ? null : new Integer(newCount));
+		context.ignoreCount = newCount;
 	}
 
 	/**
@@ -228,10 +423,6 @@ public class ObservableTracker {
 				+ Integer.toHexString(System.identityHashCode(observable));
 	}
 
-	private static boolean isIgnore() {
-		return currentIgnoreCount.get() != null;
-	}
-
 	/**
 	 * Notifies the ObservableTracker that an observable was read from. The
 	 * JavaDoc for methods that invoke this method should include the following
@@ -239,28 +430,36 @@ public class ObservableTracker {
 	 * receiver has been read from". This lets callers know that they can rely
 	 * on automatic updates from the object without explicitly attaching a
 	 * listener.
+	 * <p>
+	 * Unless {@link Policy#DEBUG_TRACKED_GETTERS} is turned off, this method
+	 * also asserts that the observable is not disposed and that it is accessed
+	 * from within its realm.
 	 * 
 	 * @param observable
 	 */
 	public static void getterCalled(IObservable observable) {
-		if (observable.isDisposed())
-			Assert.isTrue(false, "Getter called on disposed observable " //$NON-NLS-1$
-					+ toString(observable));
-		Realm realm = observable.getRealm();
-		if (!realm.isCurrent())
-			Assert.isTrue(false, "Getter called outside realm of observable " //$NON-NLS-1$
-					+ toString(observable));
-
-		if (isIgnore())
+		if (Policy.DEBUG_TRACKED_GETTERS) {
+			if (observable.isDisposed())
+				Assert.isTrue(false, "Getter called on disposed observable " //$NON-NLS-1$
+						+ toString(observable));
+			Realm realm = observable.getRealm();
+			if (!realm.isCurrent())
+				Assert.isTrue(false,
+						"Getter called outside realm of observable " //$NON-NLS-1$
+								+ toString(observable));
+		}
+
+		TrackingContext context = currentContext.get();
+		if (context.ignoreCount != 0)
 			return;
 
-		Set<IObservable> getterCalledSet = currentGetterCalledSet.get();
-		if (getterCalledSet != null && getterCalledSet.add(observable)) {
+		Frame frame = context.getterCalledFrame;
+		if (frame != null && frame.add(observable)) {
 			// If anyone is listening for observable usage...
-			IChangeListener changeListener = currentChangeListener.get();
+			IChangeListener changeListener = frame.changeListener;
 			if (changeListener != null)
 				observable.addChangeListener(changeListener);
-			IStaleListener staleListener = currentStaleListener.get();
+			IStaleListener staleListener = frame.staleListener;
 			if (staleListener != null)
 				observable.addStaleListener(staleListener);
 		}
@@ -274,12 +473,12 @@ public class ObservableTracker {
 	 * @since 1.2
 	 */
 	public static void observableCreated(IObservable observable) {
-		if (isIgnore())
+		TrackingContext context = currentContext.get();
+		if (context.ignoreCount != 0)
 			return;
-		Set<IObservable> observableCreatedSet = currentObservableCreatedSet
-				.get();
-		if (observableCreatedSet != null) {
-			observableCreatedSet.add(observable);
+		Frame frame = context.observableCreatedFrame;
+		if (frame != null) {
+			frame.add(observable);
 		}
 	}
 }
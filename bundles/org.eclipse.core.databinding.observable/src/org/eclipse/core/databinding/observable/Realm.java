@@ -15,9 +15,11 @@ package org.eclipse.core.databinding.observable;
 
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.locks.LockSupport;
 
 import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.observable.Queue;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.SafeRunner;
@@ -120,6 +122,12 @@ public abstract class Realm {
 
 	Queue workQueue = new Queue();
 
+	/**
+	 * The batch opened by {@link #runBatched(Runnable)}, or <code>null</code>
+	 * if no batch is open. Only accessed from within this realm.
+	 */
+	EventBatch batch;
+
 	/**
 	 * Runs the given runnable. If an exception occurs within the runnable, it
 	 * is logged and not re-thrown. If the runnable implements
@@ -196,6 +204,51 @@ public abstract class Realm {
 		}
 	}
 
+	/**
+	 * Runs the given runnable, deferring the change events fired by observables
+	 * of this realm until it returns. Each observable then fires at most one
+	 * event per event type, carrying the combined diff of all changes made
+	 * during the batch. This is useful when many changes are made at once, for
+	 * example when a model is reloaded, so that dependent computed
+	 * observables, bindings and viewers are updated only once.
+	 * <p>
+	 * Nested invocations join the outermost batch, whose events are fired when
+	 * it completes, even if the runnable throws an exception. Dispose events
+	 * are not deferred, and deferred events of observables that were disposed
+	 * during the batch are dropped. Listeners receive merged events, so they
+	 * must not rely on observing intermediate states. In particular, computed
+	 * observables are only notified of changes to their dependencies when the
+	 * batch completes.
+	 * </p>
+	 * <p>
+	 * This method must be invoked from within this realm.
+	 * </p>
+	 * 
+	 * @param runnable
+	 *            the runnable making the changes
+	 * @since 1.5
+	 */
+	public void runBatched(Runnable runnable) {
+		Assert.isTrue(isCurrent(),
+				"This operation must be run within the realm"); //$NON-NLS-1$
+		if (batch != null && batch.isOwnedByCurrentThread()) {
+			runnable.run();
+			return;
+		}
+
+		EventBatch outerBatch = batch;
+		EventBatch newBatch = new EventBatch();
+		batch = newBatch;
+		EventBatch.opened();
+		try {
+			runnable.run();
+		} finally {
+			batch = outerBatch;
+			EventBatch.closed();
+			newBatch.flush();
+		}
+	}
+
 	/**
 	 * Causes the <code>run()</code> method of the runnable to be invoked from
 	 * within this realm after the specified number of milliseconds have
@@ -284,21 +337,20 @@ public abstract class Realm {
 	protected void syncExec(Runnable runnable) {
 		SyncRunnable syncRunnable = new SyncRunnable(runnable);
 		asyncExec(syncRunnable);
-		synchronized (syncRunnable) {
-			while (!syncRunnable.hasRun) {
-				try {
-					syncRunnable.wait();
-				} catch (InterruptedException e) {
-					Thread.currentThread().interrupt();
-				}
-			}
-		}
+		syncRunnable.await();
 	}
 
+	/**
+	 * Wraps a runnable passed to {@link Realm#syncExec(Runnable)}. The caller
+	 * is parked rather than waiting on a monitor, so that no lock is held
+	 * while it is blocked and the realm never contends for one to wake it.
+	 */
 	static class SyncRunnable implements Runnable {
-		boolean hasRun = false;
+		volatile boolean hasRun = false;
 
-		private Runnable runnable;
+		private final Runnable runnable;
+
+		private final Thread caller = Thread.currentThread();
 
 		SyncRunnable(Runnable runnable) {
 			this.runnable = runnable;
@@ -308,11 +360,22 @@ public abstract class Realm {
 			try {
 				safeRun(runnable);
 			} finally {
-				synchronized (this) {
-					hasRun = true;
-					this.notifyAll();
-				}
+				hasRun = true;
+				LockSupport.unpark(caller);
+			}
+		}
+
+		void await() {
+			boolean interrupted = false;
+			while (!hasRun) {
+				LockSupport.park();
+				// Parking returns immediately while the interrupt flag is set,
+				// so clear it until the runnable has run
+				if (Thread.interrupted())
+					interrupted = true;
 			}
+			if (interrupted)
+				Thread.currentThread().interrupt();
 		}
 	}
 
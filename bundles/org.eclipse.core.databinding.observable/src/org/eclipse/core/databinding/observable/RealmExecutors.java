@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The daemon threads shared by {@link WorkerRealm} and {@link ExecutorRealm}.
+ * The executors are created when first used.
+ *
+ * @since 1.5
+ */
+class RealmExecutors {
+
+	private static ScheduledExecutorService timer;
+
+	private static ExecutorService pool;
+
+	/**
+	 * @return the executor on which delayed runnables wait before they are
+	 *         handed to their realm
+	 */
+	static synchronized ScheduledExecutorService getTimer() {
+		if (timer == null) {
+			timer = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory(
+					"Realm timer")); //$NON-NLS-1$
+		}
+		return timer;
+	}
+
+	/**
+	 * @return the executor running {@link ExecutorRealm}s that were not given
+	 *         an executor of their own, with one thread per processor
+	 */
+	static synchronized Executor getPool() {
+		if (pool == null) {
+			pool = Executors.newFixedThreadPool(Runtime.getRuntime()
+					.availableProcessors(), new DaemonThreadFactory(
+					"Realm executor")); //$NON-NLS-1$
+		}
+		return pool;
+	}
+
+	private static class DaemonThreadFactory implements ThreadFactory {
+		private final String name;
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		DaemonThreadFactory(String name) {
+			this.name = name;
+		}
+
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, name + " " + count.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,399 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.observable;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A realm whose runnables are executed by a single dedicated worker thread.
+ * This realm is intended for headless applications that push a high volume of
+ * asynchronous work through realms that are not tied to a UI thread.
+ * <p>
+ * Runnables passed to {@link #asyncExec(Runnable)} are appended to a lock-free
+ * queue and executed in the order they were submitted. The worker thread
+ * drains the queue in batches and parks while it is empty, so producers never
+ * block each other and hand their runnables over only once. Runnables passed
+ * to {@link #timerExec(int, Runnable)} are scheduled on a timer thread shared
+ * by all worker realms.
+ * </p>
+ * <p>
+ * The queue is bounded. The back-pressure policy given to the constructor
+ * determines what happens when a runnable is submitted while the queue is
+ * full. The worker thread is started when the first runnable is submitted and
+ * runs until {@link #shutdown()} is called.
+ * </p>
+ *
+ * @since 1.5
+ */
+public class WorkerRealm extends Realm {
+
+	/**
+	 * Back-pressure policy constant (value 0) indicating that
+	 * {@link #asyncExec(Runnable)} waits until the queue has room for the
+	 * runnable.
+	 */
+	public static final int BLOCK = 0;
+
+	/**
+	 * Back-pressure policy constant (value 1) indicating that
+	 * {@link #asyncExec(Runnable)} throws a
+	 * {@link RejectedExecutionException} when the queue is full.
+	 */
+	public static final int REJECT = 1;
+
+	/**
+	 * Back-pressure policy constant (value 2) indicating that
+	 * {@link #asyncExec(Runnable)} silently discards the runnable when the
+	 * queue is full.
+	 */
+	public static final int DISCARD = 2;
+
+	/**
+	 * The default capacity of the queue.
+	 */
+	public static final int DEFAULT_CAPACITY = 65536;
+
+	/**
+	 * The maximum number of runnables taken from the queue at once.
+	 */
+	private static final int DRAIN_BATCH_SIZE = 256;
+
+	private final String name;
+
+	private final int capacity;
+
+	private final int policy;
+
+	private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue<Runnable>();
+
+	/**
+	 * The number of runnables that were submitted but not yet taken by the
+	 * worker thread. Producers reserve a slot before adding to the queue.
+	 */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * The number of producers waiting for room in the queue.
+	 */
+	private final AtomicInteger blockedProducers = new AtomicInteger();
+
+	private final Object notFull = new Object();
+
+	private final Object lifecycleLock = new Object();
+
+	private volatile Thread workerThread;
+
+	/**
+	 * Set by the worker thread before it parks, cleared by the producer that
+	 * wakes it up.
+	 */
+	private volatile boolean workerParked;
+
+	private volatile boolean shutdown;
+
+	private volatile boolean terminated;
+
+	/**
+	 * Creates a worker realm with the default capacity, which blocks producers
+	 * while its queue is full.
+	 *
+	 * @param name
+	 *            the name of the worker thread
+	 */
+	public WorkerRealm(String name) {
+		this(name, DEFAULT_CAPACITY, BLOCK);
+	}
+
+	/**
+	 * Creates a worker realm.
+	 *
+	 * @param name
+	 *            the name of the worker thread
+	 * @param capacity
+	 *            the maximum number of runnables waiting to be executed
+	 * @param policy
+	 *            the back-pressure policy, one of {@link #BLOCK},
+	 *            {@link #REJECT} or {@link #DISCARD}
+	 */
+	public WorkerRealm(String name, int capacity, int policy) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be positive"); //$NON-NLS-1$
+		if (policy != BLOCK && policy != REJECT && policy != DISCARD)
+			throw new IllegalArgumentException();
+		this.name = name;
+		this.capacity = capacity;
+		this.policy = policy;
+	}
+
+	public boolean isCurrent() {
+		return Thread.currentThread() == workerThread;
+	}
+
+	/**
+	 * Causes the <code>run()</code> method of the runnable to be invoked from
+	 * within this realm at the next reasonable opportunity. When the queue is
+	 * full, or this realm has been shut down, the runnable is handled according
+	 * to the back-pressure policy of this realm, except that producers are not
+	 * blocked after shutdown.
+	 *
+	 * @param runnable
+	 * @throws RejectedExecutionException
+	 *             if the runnable cannot be accepted and the policy is
+	 *             {@link #REJECT}, or if the realm has been shut down and the
+	 *             policy is not {@link #DISCARD}
+	 */
+	public void asyncExec(Runnable runnable) {
+		if (runnable == null)
+			throw new NullPointerException();
+		if (!reserveSlot())
+			return;
+		queue.offer(runnable);
+		if (workerThread == null)
+			startWorker();
+		if (workerParked) {
+			workerParked = false;
+			LockSupport.unpark(workerThread);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if a slot was reserved, <code>false</code> if
+	 *         the runnable is to be discarded
+	 */
+	private boolean reserveSlot() {
+		while (true) {
+			if (shutdown) {
+				if (policy == DISCARD)
+					return false;
+				throw new RejectedExecutionException(
+						"Realm has been shut down"); //$NON-NLS-1$
+			}
+			if (size.incrementAndGet() <= capacity) {
+				// Check again, the worker may have terminated after seeing an
+				// empty queue
+				if (!shutdown)
+					return true;
+				size.decrementAndGet();
+				continue;
+			}
+			size.decrementAndGet();
+
+			if (policy == DISCARD)
+				return false;
+			if (policy == REJECT)
+				throw new RejectedExecutionException("Realm queue is full"); //$NON-NLS-1$
+			if (isCurrent())
+				// Waiting would deadlock, the worker is the only consumer
+				throw new RejectedExecutionException(
+						"Realm queue is full and cannot block its own worker"); //$NON-NLS-1$
+			awaitNotFull();
+		}
+	}
+
+	private void awaitNotFull() {
+		blockedProducers.incrementAndGet();
+		try {
+			synchronized (notFull) {
+				while (size.get() >= capacity && !shutdown) {
+					try {
+						notFull.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new RejectedExecutionException(e);
+					}
+				}
+			}
+		} finally {
+			blockedProducers.decrementAndGet();
+		}
+	}
+
+	private void signalNotFull() {
+		if (blockedProducers.get() > 0) {
+			synchronized (notFull) {
+				notFull.notifyAll();
+			}
+		}
+	}
+
+	private void startWorker() {
+		synchronized (lifecycleLock) {
+			if (workerThread != null || terminated)
+				return;
+			Thread thread = new Thread(name) {
+				public void run() {
+					Realm.setDefault(WorkerRealm.this);
+					try {
+						work();
+					} finally {
+						synchronized (lifecycleLock) {
+							terminated = true;
+							lifecycleLock.notifyAll();
+						}
+					}
+				}
+			};
+			thread.setDaemon(true);
+			workerThread = thread;
+			thread.start();
+		}
+	}
+
+	private void work() {
+		Runnable[] batch = new Runnable[DRAIN_BATCH_SIZE];
+		while (true) {
+			int count = 0;
+			Runnable runnable;
+			while (count < batch.length && (runnable = queue.poll()) != null) {
+				batch[count++] = runnable;
+			}
+
+			if (count == 0) {
+				// Slots are reserved before runnables are queued, so the queue
+				// is only known to stay empty once the size is zero
+				if (shutdown && size.get() == 0)
+					return;
+				workerParked = true;
+				// Check again, a producer may have added a runnable before it
+				// could see the flag
+				if (queue.isEmpty() && !(shutdown && size.get() == 0))
+					LockSupport.park();
+				workerParked = false;
+				continue;
+			}
+
+			size.addAndGet(-count);
+			signalNotFull();
+			for (int i = 0; i < count; i++) {
+				runnable = batch[i];
+				batch[i] = null;
+				safeRun(runnable);
+			}
+		}
+	}
+
+	/**
+	 * Runs the runnable directly if called from within this realm, otherwise
+	 * queues it and waits until it has been executed.
+	 */
+	protected void syncExec(Runnable runnable) {
+		if (isCurrent()) {
+			safeRun(runnable);
+		} else {
+			super.syncExec(runnable);
+		}
+	}
+
+	/**
+	 * Causes the <code>run()</code> method of the runnable to be invoked from
+	 * within this realm after the specified number of milliseconds have
+	 * elapsed. The delay is measured on a timer thread shared by all
+	 * realms, after which the runnable is queued like
+	 * {@link #asyncExec(Runnable)}. Runnables that are due after this realm
+	 * has been shut down are discarded.
+	 *
+	 * @param milliseconds
+	 * @param runnable
+	 */
+	public void timerExec(int milliseconds, final Runnable runnable) {
+		if (milliseconds < 0) {
+			return;
+		} else if (milliseconds == 0) {
+			asyncExec(runnable);
+		} else {
+			RealmExecutors.getTimer().schedule(new Runnable() {
+				public void run() {
+					if (!shutdown)
+						asyncExec(runnable);
+				}
+			}, milliseconds, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns the number of runnables waiting to be executed.
+	 *
+	 * @return the number of queued runnables
+	 */
+	public int getQueueSize() {
+		return size.get();
+	}
+
+	/**
+	 * Initiates an orderly shutdown. Runnables that were already queued are
+	 * still executed, after which the worker thread terminates. New runnables
+	 * are no longer accepted. Has no effect if this realm is already shut
+	 * down.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		synchronized (notFull) {
+			notFull.notifyAll();
+		}
+		synchronized (lifecycleLock) {
+			if (workerThread == null) {
+				// A producer may have reserved a slot before the shutdown and
+				// not started the worker yet, its runnable is still executed
+				if (size.get() > 0) {
+					startWorker();
+				} else {
+					terminated = true;
+					lifecycleLock.notifyAll();
+				}
+				return;
+			}
+		}
+		LockSupport.unpark(workerThread);
+	}
+
+	/**
+	 * Returns whether {@link #shutdown()} has been called.
+	 *
+	 * @return whether this realm has been shut down
+	 */
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	/**
+	 * Waits until the worker thread has executed all queued runnables and
+	 * terminated after a shutdown, or until the timeout elapses.
+	 *
+	 * @param milliseconds
+	 *            the maximum time to wait
+	 * @return <code>true</code> if the worker thread terminated,
+	 *         <code>false</code> if the timeout elapsed first
+	 * @throws InterruptedException
+	 *             if the calling thread is interrupted while waiting
+	 */
+	public boolean awaitTermination(long milliseconds)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + milliseconds;
+		synchronized (lifecycleLock) {
+			while (!terminated) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0)
+					return false;
+				lifecycleLock.wait(remaining);
+			}
+			return true;
+		}
+	}
+
+	public String toString() {
+		return "WorkerRealm [" + name + "]"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -86,6 +86,11 @@ public abstract class AbstractObservableList<E> extends AbstractList<E>
 					.hasListeners()) || super.hasListeners();
 		}
 
+		boolean hasListChangeListeners() {
+			return listChangeListenerList != null
+					&& listChangeListenerList.hasListeners();
+		}
+
 		/**
 		 * @param listChangeEvent
 		 */
@@ -150,7 +155,9 @@ public abstract class AbstractObservableList<E> extends AbstractList<E>
 	protected void fireListChange(ListDiff<? extends E> diff) {
 		// fire general change event first
 		fireChange();
-		changeSupport.fireListChange(new ListChangeEvent<E>(this, diff));
+		if (changeSupport.hasListChangeListeners()) {
+			changeSupport.fireListChange(new ListChangeEvent<E>(this, diff));
+		}
 	}
 
 	public synchronized void addChangeListener(IChangeListener listener) {
@@ -200,7 +207,9 @@ public abstract class AbstractObservableList<E> extends AbstractList<E>
 	 */
 	protected void fireChange() {
 		checkRealm();
-		changeSupport.fireEvent(new ChangeEvent(this));
+		if (changeSupport.hasChangeListeners()) {
+			changeSupport.fireEvent(new ChangeEvent(this));
+		}
 	}
 
 	/**
@@ -208,7 +217,9 @@ public abstract class AbstractObservableList<E> extends AbstractList<E>
 	 */
 	protected void fireStale() {
 		checkRealm();
-		changeSupport.fireEvent(new StaleEvent(this));
+		if (changeSupport.hasStaleListeners()) {
+			changeSupport.fireEvent(new StaleEvent(this));
+		}
 	}
 
 	/**
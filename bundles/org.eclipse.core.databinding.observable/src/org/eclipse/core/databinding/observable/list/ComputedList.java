@@ -198,8 +198,11 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
+			// - Attach our listeners to new dependencies and detach them from
+			// dependencies that are no longer used
 			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-					privateRunnableInterface, privateChangeInterface, null);
+					privateRunnableInterface, dependencies,
+					privateChangeInterface, privateStaleInterface);
 
 			// If any dependencies are stale, a stale event will be fired here
 			// even if we were already stale before recomputing. This is in case
@@ -212,12 +215,6 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 				}
 			}
 
-			if (!stale) {
-				for (int i = 0; i < newDependencies.length; i++) {
-					newDependencies[i].addStaleListener(privateStaleInterface);
-				}
-			}
-
 			dependencies = newDependencies;
 
 			dirty = false;
@@ -246,7 +243,8 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 
 			makeStale();
 
-			stopListening();
+			// Keep listening to the dependencies, doGetList() only updates
+			// the listeners of dependencies that were added or removed
 
 			// copy the old list
 			final List<E> oldList = new ArrayList<E>(cachedList);
@@ -329,8 +327,9 @@ public abstract class ComputedList<E> extends AbstractObservableList<E> {
 		// notifications.
 		getRealm().exec(new Runnable() {
 			public void run() {
-				if (dependencies == null) {
-					// We are not currently listening.
+				if (dependencies == null || dirty) {
+					// We are not currently listening, or a dependency changed
+					// while nobody was listening and we have not recomputed.
 					// But someone is listening for changes. Call getValue()
 					// to make sure we start listening to the observables we
 					// depend on.
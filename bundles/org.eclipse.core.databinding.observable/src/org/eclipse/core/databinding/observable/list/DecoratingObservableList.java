@@ -80,7 +80,8 @@ public class DecoratingObservableList<E> extends
 	protected void fireListChange(ListDiff<? extends E> diff) {
 		// fire general change event first
 		super.fireChange();
-		if (listChangeListenerList != null) {
+		if (listChangeListenerList != null
+				&& listChangeListenerList.hasListeners()) {
 			listChangeListenerList
 					.fireEvent(new ListChangeEvent<E>(this, diff));
 		}
@@ -141,7 +141,8 @@ public abstract class ObservableList<E> extends AbstractObservable implements
 	protected void fireListChange(ListDiff<? extends E> diff) {
 		// fire general change event first
 		super.fireChange();
-		if (listChangeListenerList != null) {
+		if (listChangeListenerList != null
+				&& listChangeListenerList.hasListeners()) {
 			listChangeListenerList
 					.fireEvent(new ListChangeEvent<E>(this, diff));
 		}
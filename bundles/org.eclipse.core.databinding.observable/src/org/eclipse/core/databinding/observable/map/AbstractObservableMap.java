@@ -85,6 +85,11 @@ public abstract class AbstractObservableMap<K, V> extends AbstractMap<K, V>
 					.hasListeners()) || super.hasListeners();
 		}
 
+		boolean hasMapChangeListeners() {
+			return mapChangeListenerList != null
+					&& mapChangeListenerList.hasListeners();
+		}
+
 		/**
 		 * @param mapChangeEvent
 		 */
@@ -253,7 +258,9 @@ public abstract class AbstractObservableMap<K, V> extends AbstractMap<K, V>
 	 */
 	protected void fireStale() {
 		checkRealm();
-		changeSupport.fireEvent(new StaleEvent(this));
+		if (changeSupport.hasStaleListeners()) {
+			changeSupport.fireEvent(new StaleEvent(this));
+		}
 	}
 
 	/**
@@ -261,7 +268,9 @@ public abstract class AbstractObservableMap<K, V> extends AbstractMap<K, V>
 	 */
 	protected void fireChange() {
 		checkRealm();
-		changeSupport.fireEvent(new ChangeEvent(this));
+		if (changeSupport.hasChangeListeners()) {
+			changeSupport.fireEvent(new ChangeEvent(this));
+		}
 	}
 
 	/**
@@ -272,7 +281,9 @@ public abstract class AbstractObservableMap<K, V> extends AbstractMap<K, V>
 	protected void fireMapChange(MapDiff<? extends K, ? extends V> diff) {
 		checkRealm();
 		fireChange();
-		changeSupport.fireMapChange(new MapChangeEvent<K, V>(this, diff));
+		if (changeSupport.hasMapChangeListeners()) {
+			changeSupport.fireMapChange(new MapChangeEvent<K, V>(this, diff));
+		}
 	}
 
 	/**
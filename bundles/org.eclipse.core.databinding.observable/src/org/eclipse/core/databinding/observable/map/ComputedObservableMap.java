@@ -15,10 +15,12 @@
 package org.eclipse.core.databinding.observable.map;
 
 import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -31,7 +33,7 @@ import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.set.IObservableSet;
 import org.eclipse.core.databinding.observable.set.ISetChangeListener;
 import org.eclipse.core.databinding.observable.set.SetChangeEvent;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
+import org.eclipse.core.internal.databinding.identity.CompactIdentitySet;
 
 /**
  * Maps objects to one of their attributes. Tracks changes to the underlying
@@ -53,33 +55,43 @@ public abstract class ComputedObservableMap<K, V> extends
 
 	private ISetChangeListener<K> setChangeListener = new ISetChangeListener<K>() {
 		public void handleSetChange(SetChangeEvent<K> event) {
-			Set<K> addedKeys = new HashSet<K>(event.diff.getAdditions());
-			Set<K> removedKeys = new HashSet<K>(event.diff.getRemovals());
+			// The diff is already the delta of the key set, so only the
+			// listeners of the added and removed keys need to be updated
+			Set<? extends K> addedKeys = event.diff.getAdditions();
+			Set<? extends K> removedKeys = event.diff.getRemovals();
 			Map<K, V> oldValues = new HashMap<K, V>();
 			Map<K, V> newValues = new HashMap<K, V>();
-			for (Iterator<K> it = removedKeys.iterator(); it.hasNext();) {
+			List<K> unhookedKeys = new ArrayList<K>(removedKeys.size());
+			for (Iterator<? extends K> it = removedKeys.iterator(); it
+					.hasNext();) {
 				K removedKey = it.next();
 				V oldValue = null;
 				if (removedKey != null) {
-					oldValue = doGet(removedKey);
-					unhookListener(removedKey);
-					knownKeys.remove(removedKey);
+					oldValue = doGetForKeySetChange(removedKey);
+					if (knownKeys.remove(removedKey))
+						unhookedKeys.add(removedKey);
 				}
 				oldValues.put(removedKey, oldValue);
 			}
-			for (Iterator<K> it = addedKeys.iterator(); it.hasNext();) {
+			if (!unhookedKeys.isEmpty())
+				unhookListeners(unhookedKeys);
+			List<K> hookedKeys = new ArrayList<K>(addedKeys.size());
+			for (Iterator<? extends K> it = addedKeys.iterator(); it
+					.hasNext();) {
 				K addedKey = it.next();
 				V newValue = null;
 				if (addedKey != null) {
-					newValue = doGet(addedKey);
-					hookListener(addedKey);
-					knownKeys.add(addedKey);
+					newValue = doGetForKeySetChange(addedKey);
+					if (knownKeys.add(addedKey))
+						hookedKeys.add(addedKey);
 				}
 				newValues.put(addedKey, newValue);
 			}
+			if (!hookedKeys.isEmpty())
+				hookListeners(hookedKeys);
 			Set<K> changedKeys = Collections.emptySet();
-			fireMapChange(Diffs.createMapDiff(addedKeys, removedKeys,
-					changedKeys, oldValues, newValues));
+			fireMapChange(Diffs.createMapDiff(newValues.keySet(),
+					oldValues.keySet(), changedKeys, oldValues, newValues));
 		}
 	};
 
@@ -176,14 +188,12 @@ public abstract class ComputedObservableMap<K, V> extends
 
 	private void hookListeners() {
 		if (keySet != null) {
-			knownKeys = new IdentitySet<K>();
+			knownKeys = new CompactIdentitySet<K>();
 			keySet.addSetChangeListener(setChangeListener);
 			keySet.addStaleListener(staleListener);
-			for (Iterator<K> it = this.keySet.iterator(); it.hasNext();) {
-				K key = it.next();
-				hookListener(key);
-				knownKeys.add(key);
-			}
+			knownKeys.addAll(keySet);
+			if (!knownKeys.isEmpty())
+				hookListeners(Collections.unmodifiableSet(knownKeys));
 		}
 	}
 
@@ -193,10 +203,8 @@ public abstract class ComputedObservableMap<K, V> extends
 			keySet.removeStaleListener(staleListener);
 		}
 		if (knownKeys != null) {
-			Set<K> immutableKnownKeys = Collections.unmodifiableSet(knownKeys);
-			for (K key : immutableKnownKeys) {
-				unhookListener(key);
-			}
+			if (!knownKeys.isEmpty())
+				unhookListeners(Collections.unmodifiableSet(knownKeys));
 			knownKeys.clear();
 			knownKeys = null;
 		}
@@ -276,6 +284,36 @@ public abstract class ComputedObservableMap<K, V> extends
 	 */
 	protected abstract void hookListener(K addedKey);
 
+	/**
+	 * Unhooks the listeners of the given keys, which have been removed from
+	 * the key set. The default implementation calls
+	 * {@link #unhookListener(Object)} for each key. Subclasses may override to
+	 * unhook the listeners of many keys at once more efficiently.
+	 * 
+	 * @param removedKeys
+	 *            the removed keys
+	 * @since 1.5
+	 */
+	protected void unhookListeners(Collection<K> removedKeys) {
+		for (Iterator<K> it = removedKeys.iterator(); it.hasNext();)
+			unhookListener(it.next());
+	}
+
+	/**
+	 * Hooks the listeners of the given keys, which have been added to the key
+	 * set. The default implementation calls {@link #hookListener(Object)} for
+	 * each key. Subclasses may override to hook the listeners of many keys at
+	 * once more efficiently.
+	 * 
+	 * @param addedKeys
+	 *            the added keys
+	 * @since 1.5
+	 */
+	protected void hookListeners(Collection<K> addedKeys) {
+		for (Iterator<K> it = addedKeys.iterator(); it.hasNext();)
+			hookListener(it.next());
+	}
+
 	/**
 	 * @param key
 	 * @return the value for the given key
@@ -289,6 +327,20 @@ public abstract class ComputedObservableMap<K, V> extends
 	 */
 	protected abstract V doPut(K key, V value);
 
+	/**
+	 * Returns the value of a key which is being added to or removed from the
+	 * key set, for the fired map change. The default implementation calls
+	 * {@link #doGet(Object)}. Subclasses may override if {@link #doGet(Object)}
+	 * does more than computing the value, e.g. starts tracking the key.
+	 * 
+	 * @param key
+	 * @return the value for the given key
+	 * @since 1.5
+	 */
+	protected V doGetForKeySetChange(K key) {
+		return doGet(key);
+	}
+
 	public boolean isStale() {
 		return super.isStale() || keySet.isStale();
 	}
@@ -90,7 +90,7 @@ public class DecoratingObservableMap<K, V> extends DecoratingObservable
 		// fire general change event first
 		super.fireChange();
 
-		if (mapListenerList != null) {
+		if (mapListenerList != null && mapListenerList.hasListeners()) {
 			mapListenerList.fireEvent(new MapChangeEvent<K, V>(this, diff));
 		}
 	}
@@ -114,7 +114,8 @@ public class ObservableMap<K, V> extends AbstractObservable implements
 
 		// fire general change event first
 		super.fireChange();
-		if (mapChangeListenerList != null) {
+		if (mapChangeListenerList != null
+				&& mapChangeListenerList.hasListeners()) {
 			mapChangeListenerList
 					.fireEvent(new MapChangeEvent<K, V>(this, diff));
 		}
@@ -82,7 +82,8 @@ public abstract class AbstractObservableSet<E> extends AbstractObservable
 		// fire general change event first
 		super.fireChange();
 
-		if (setChangeListenerList != null) {
+		if (setChangeListenerList != null
+				&& setChangeListenerList.hasListeners()) {
 			setChangeListenerList.fireEvent(new SetChangeEvent<E>(this, diff));
 		}
 	}
@@ -76,7 +76,8 @@ public class DecoratingObservableSet<E> extends
 	protected void fireSetChange(SetDiff<? extends E> diff) {
 		// fire general change event first
 		super.fireChange();
-		if (setChangeListenerList != null) {
+		if (setChangeListenerList != null
+				&& setChangeListenerList.hasListeners()) {
 			setChangeListenerList.fireEvent(new SetChangeEvent<E>(this, diff));
 		}
 	}
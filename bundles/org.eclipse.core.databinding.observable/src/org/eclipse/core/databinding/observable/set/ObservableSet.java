@@ -145,7 +145,8 @@ public abstract class ObservableSet<E> extends AbstractObservable implements
 		// fire general change event first
 		super.fireChange();
 
-		if (setChangeListenerList != null) {
+		if (setChangeListenerList != null
+				&& setChangeListenerList.hasListeners()) {
 			setChangeListenerList.fireEvent(new SetChangeEvent<E>(this, diff));
 		}
 	}
@@ -98,7 +98,7 @@ abstract public class AbstractObservableValue<T> extends AbstractObservable
 	protected void fireValueChange(ValueDiff<T> diff) {
 		// fire general change event first
 		super.fireChange();
-		if (valueListenerList != null) {
+		if (valueListenerList != null && valueListenerList.hasListeners()) {
 			valueListenerList.fireEvent(new ValueChangeEvent<T>(this, diff));
 		}
 	}
@@ -163,17 +163,17 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 			// - Run the calculate method
 			// - While doing so, add any observable that is touched to the
 			// dependencies list
+			// - Attach our listeners to new dependencies and detach them from
+			// dependencies that are no longer used
 			IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-					privateRunnableInterface, privateChangeInterface, null);
+					privateRunnableInterface, dependencies,
+					privateChangeInterface, privateStaleInterface);
 
 			stale = false;
 			for (int i = 0; i < newDependencies.length; i++) {
-				IObservable observable = newDependencies[i];
-				// Add a change listener to the new dependency.
-				if (observable.isStale()) {
+				if (newDependencies[i].isStale()) {
 					stale = true;
-				} else {
-					observable.addStaleListener(privateStaleInterface);
+					break;
 				}
 			}
 
@@ -199,7 +199,8 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 		if (!dirty) {
 			dirty = true;
 
-			stopListening();
+			// Keep listening to the dependencies, doGetValue() only updates
+			// the listeners of dependencies that were added or removed
 
 			// copy the old value
 			final T oldValue = cachedValue;
@@ -269,8 +270,9 @@ public abstract class ComputedValue<T> extends AbstractObservableValue<T> {
 	private void computeValueForListeners() {
 		getRealm().exec(new Runnable() {
 			public void run() {
-				if (dependencies == null) {
-					// We are not currently listening.
+				if (dependencies == null || dirty) {
+					// We are not currently listening, or a dependency changed
+					// while nobody was listening and we have not recomputed.
 					if (hasListeners()) {
 						// But someone is listening for changes. Call getValue()
 						// to make sure we start listening to the observables we
@@ -73,7 +73,8 @@ public class DecoratingObservableValue<T> extends DecoratingObservable
 	protected void fireValueChange(ValueDiff<T> diff) {
 		// fire general change event first
 		super.fireChange();
-		if (valueChangeListenerList != null) {
+		if (valueChangeListenerList != null
+				&& valueChangeListenerList.hasListeners()) {
 			valueChangeListenerList.fireEvent(new ValueChangeEvent<T>(this,
 					diff));
 		}
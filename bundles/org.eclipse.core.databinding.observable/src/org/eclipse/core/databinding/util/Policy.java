@@ -29,6 +29,16 @@ public class Policy {
 	 */
 	public static final boolean DEFAULT = false;
 
+	/**
+	 * Whether {@link org.eclipse.core.databinding.observable.ObservableTracker}
+	 * asserts that tracked getters are only called on observables that are not
+	 * disposed, from within their realm. Applications that have been verified
+	 * may turn these checks off to make getter tracking cheaper.
+	 * 
+	 * @since 1.5
+	 */
+	public static boolean DEBUG_TRACKED_GETTERS = true;
+
 	/**
 	 * The unique identifier of the JFace plug-in.
 	 */
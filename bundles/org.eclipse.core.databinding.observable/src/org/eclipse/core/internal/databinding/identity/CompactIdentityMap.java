@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.identity;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.internal.databinding.observable.Util;
+
+/**
+ * A {@link Map} whose keys are added, removed and compared by identity, like
+ * {@link IdentityMap}, but stored in an open addressing hash table instead of
+ * being wrapped in {@link IdentityWrapper}s. Each value is stored in the slot
+ * following its key, so adding, looking up and removing keys does not
+ * allocate any objects.
+ * <p>
+ * This class is <i>not</i> a strict implementation the {@link Map} interface.
+ * It intentionally violates the {@link Map} contract, which requires the use of
+ * {@link #equals(Object)} when comparing keys.
+ * </p>
+ *
+ * @param <K>
+ * @param <V>
+ * @since 1.5
+ */
+public class CompactIdentityMap<K, V> extends AbstractMap<K, V> {
+	private final IdentityHashTable table;
+
+	private Set<K> keySet;
+
+	private Collection<V> values;
+
+	private Set<Map.Entry<K, V>> entrySet;
+
+	/**
+	 * Constructs an empty CompactIdentityMap.
+	 */
+	public CompactIdentityMap() {
+		this(0);
+	}
+
+	/**
+	 * Constructs an empty CompactIdentityMap which can hold the given number
+	 * of keys without being resized.
+	 *
+	 * @param expectedSize
+	 */
+	public CompactIdentityMap(int expectedSize) {
+		table = new IdentityHashTable(2, expectedSize);
+	}
+
+	public void clear() {
+		table.clear();
+	}
+
+	public boolean containsKey(Object key) {
+		return table.indexOf(key) >= 0;
+	}
+
+	public boolean containsValue(Object value) {
+		Object[] tab = table.table;
+		for (int i = 0; i < tab.length; i += 2)
+			if (tab[i] != null && Util.equals(tab[i + 1], value))
+				return true;
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		int index = table.indexOf(key);
+		return index < 0 ? null : (V) table.table[index + 1];
+	}
+
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		int index = table.add(key);
+		if (index < 0) {
+			table.table[-index] = value;
+			return null;
+		}
+		V oldValue = (V) table.table[index + 1];
+		table.table[index + 1] = value;
+		return oldValue;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		int index = table.indexOf(key);
+		if (index < 0)
+			return null;
+		V oldValue = (V) table.table[index + 1];
+		table.removeAt(index, null);
+		return oldValue;
+	}
+
+	public int size() {
+		return table.size();
+	}
+
+	public boolean isEmpty() {
+		return table.size() == 0;
+	}
+
+	public Set<K> keySet() {
+		if (keySet == null) {
+			keySet = new AbstractSet<K>() {
+				public Iterator<K> iterator() {
+					return new IdentityHashTable.TableIterator<K>(table) {
+						@SuppressWarnings("unchecked")
+						K get(int index) {
+							return (K) IdentityHashTable
+									.unmaskNull(table.table[index]);
+						}
+					};
+				}
+
+				public int size() {
+					return table.size();
+				}
+
+				public boolean contains(Object o) {
+					return containsKey(o);
+				}
+
+				public boolean remove(Object o) {
+					int index = table.indexOf(o);
+					if (index < 0)
+						return false;
+					table.removeAt(index, null);
+					return true;
+				}
+
+				public void clear() {
+					table.clear();
+				}
+			};
+		}
+		return keySet;
+	}
+
+	public Collection<V> values() {
+		if (values == null) {
+			values = new AbstractCollection<V>() {
+				public Iterator<V> iterator() {
+					return new IdentityHashTable.TableIterator<V>(table) {
+						@SuppressWarnings("unchecked")
+						V get(int index) {
+							return (V) table.table[index + 1];
+						}
+					};
+				}
+
+				public int size() {
+					return table.size();
+				}
+
+				public boolean contains(Object o) {
+					return containsValue(o);
+				}
+
+				public void clear() {
+					table.clear();
+				}
+			};
+		}
+		return values;
+	}
+
+	public Set<Map.Entry<K, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<Map.Entry<K, V>>() {
+				public Iterator<Map.Entry<K, V>> iterator() {
+					return new IdentityHashTable.TableIterator<Map.Entry<K, V>>(
+							table) {
+						Map.Entry<K, V> get(int index) {
+							return new Entry(index);
+						}
+					};
+				}
+
+				public int size() {
+					return table.size();
+				}
+
+				public boolean contains(Object o) {
+					if (!(o instanceof Map.Entry))
+						return false;
+					Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+					int index = table.indexOf(entry.getKey());
+					return index >= 0
+							&& Util.equals(table.table[index + 1],
+									entry.getValue());
+				}
+
+				public boolean remove(Object o) {
+					if (!contains(o))
+						return false;
+					table.removeAt(table.indexOf(((Map.Entry<?, ?>) o)
+							.getKey()), null);
+					return true;
+				}
+
+				public void clear() {
+					table.clear();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		if (obj == null || !(obj instanceof Map))
+			return false;
+		Map<?, ?> that = (Map<?, ?>) obj;
+		return this.entrySet().equals(that.entrySet());
+	}
+
+	public int hashCode() {
+		int hash = 0;
+		Object[] tab = table.table;
+		for (int i = 0; i < tab.length; i += 2) {
+			if (tab[i] != null) {
+				Object value = tab[i + 1];
+				hash += System.identityHashCode(IdentityHashTable
+						.unmaskNull(tab[i]))
+						^ (value == null ? 0 : value.hashCode());
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * An entry reading and writing the slots of its key, which stays valid
+	 * until the next structural modification of the map.
+	 */
+	private final class Entry implements Map.Entry<K, V> {
+		private final int index;
+
+		Entry(int index) {
+			this.index = index;
+		}
+
+		@SuppressWarnings("unchecked")
+		public K getKey() {
+			return (K) IdentityHashTable.unmaskNull(table.table[index]);
+		}
+
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			return (V) table.table[index + 1];
+		}
+
+		public V setValue(V value) {
+			V oldValue = getValue();
+			table.table[index + 1] = value;
+			return oldValue;
+		}
+
+		public boolean equals(Object obj) {
+			if (obj == this)
+				return true;
+			if (obj == null || !(obj instanceof Map.Entry))
+				return false;
+			Map.Entry<?, ?> that = (Map.Entry<?, ?>) obj;
+			return this.getKey() == that.getKey()
+					&& Util.equals(this.getValue(), that.getValue());
+		}
+
+		public int hashCode() {
+			Object value = getValue();
+			return System.identityHashCode(getKey())
+					^ (value == null ? 0 : value.hashCode());
+		}
+
+		public String toString() {
+			return getKey() + "=" + getValue(); //$NON-NLS-1$
+		}
+	}
+}
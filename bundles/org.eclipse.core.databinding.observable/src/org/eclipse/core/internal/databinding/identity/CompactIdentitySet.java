@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.identity;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A {@link Set} whose elements are added, removed and compared by identity,
+ * like {@link IdentitySet}, but stored in an open addressing hash table
+ * instead of being wrapped in {@link IdentityWrapper}s. Adding, looking up and
+ * removing elements does not allocate any objects.
+ * <p>
+ * This class is <i>not</i> a strict implementation the {@link Set} interface.
+ * It intentionally violates the {@link Set} contract, which requires the use of
+ * {@link #equals(Object)} when comparing elements.
+ * </p>
+ *
+ * @param <E>
+ * @since 1.5
+ */
+public class CompactIdentitySet<E> extends AbstractSet<E> {
+	private final IdentityHashTable table;
+
+	/**
+	 * Constructs an empty CompactIdentitySet.
+	 */
+	public CompactIdentitySet() {
+		this(0);
+	}
+
+	/**
+	 * Constructs an empty CompactIdentitySet which can hold the given number
+	 * of elements without being resized.
+	 *
+	 * @param expectedSize
+	 */
+	public CompactIdentitySet(int expectedSize) {
+		table = new IdentityHashTable(1, expectedSize);
+	}
+
+	/**
+	 * Constructs a CompactIdentitySet containing all the elements in the
+	 * specified collection.
+	 *
+	 * @param collection
+	 *            the collection whose elements are to be added to this set.
+	 */
+	public CompactIdentitySet(Collection<? extends E> collection) {
+		this(collection.size());
+		addAll(collection);
+	}
+
+	public boolean add(E o) {
+		return table.add(o) < 0;
+	}
+
+	public boolean addAll(Collection<? extends E> c) {
+		boolean changed = false;
+		for (Iterator<? extends E> iterator = c.iterator(); iterator.hasNext();)
+			changed |= table.add(iterator.next()) < 0;
+		return changed;
+	}
+
+	public void clear() {
+		table.clear();
+	}
+
+	public boolean contains(Object o) {
+		return table.indexOf(o) >= 0;
+	}
+
+	public Iterator<E> iterator() {
+		return new IdentityHashTable.TableIterator<E>(table) {
+			@SuppressWarnings("unchecked")
+			E get(int index) {
+				return (E) IdentityHashTable.unmaskNull(table.table[index]);
+			}
+		};
+	}
+
+	public boolean remove(Object o) {
+		int index = table.indexOf(o);
+		if (index < 0)
+			return false;
+		table.removeAt(index, null);
+		return true;
+	}
+
+	public boolean removeAll(Collection<?> c) {
+		boolean changed = false;
+		for (Iterator<?> iterator = c.iterator(); iterator.hasNext();)
+			changed |= remove(iterator.next());
+		return changed;
+	}
+
+	/**
+	 * Retains the elements which are contained in the given collection. The
+	 * collection is queried with {@link Collection#contains(Object)} if it is
+	 * an identity set, otherwise its elements are compared by identity.
+	 */
+	public boolean retainAll(Collection<?> c) {
+		Collection<?> toRetain = c;
+		if (!(c instanceof CompactIdentitySet) && !(c instanceof IdentitySet))
+			toRetain = new CompactIdentitySet<Object>(c);
+		boolean changed = false;
+		for (Iterator<E> iterator = iterator(); iterator.hasNext();) {
+			if (!toRetain.contains(iterator.next())) {
+				iterator.remove();
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	public int size() {
+		return table.size();
+	}
+
+	public boolean equals(Object obj) {
+		if (obj == this)
+			return true;
+		if (obj == null || !(obj instanceof Set))
+			return false;
+		Set<?> that = (Set<?>) obj;
+		return this.size() == that.size() && containsAll(that);
+	}
+
+	public int hashCode() {
+		int hash = 0;
+		for (Iterator<E> iterator = iterator(); iterator.hasNext();)
+			hash += System.identityHashCode(iterator.next());
+		return hash;
+	}
+}
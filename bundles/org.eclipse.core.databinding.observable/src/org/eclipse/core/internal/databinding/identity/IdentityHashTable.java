@@ -0,0 +1,301 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.identity;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An open addressing hash table of keys compared by identity, shared by
+ * {@link CompactIdentityMap} and {@link CompactIdentitySet}.
+ * <p>
+ * The keys are stored directly in one array and collisions are resolved by
+ * linear probing, so no wrapper or entry objects are allocated per key. Each
+ * key occupies <code>stride</code> consecutive slots of the array, the first
+ * one holding the key and the others holding data of the owner, e.g. the
+ * value of a map. Removed keys are not marked with tombstones, the keys
+ * following them in their probe sequence are moved back instead.
+ * </p>
+ *
+ * @since 1.5
+ */
+final class IdentityHashTable {
+	/**
+	 * Stands in for the <code>null</code> key, as <code>null</code> marks
+	 * free slots.
+	 */
+	private static final Object NULL_KEY = new Object();
+
+	private static final int MINIMUM_CAPACITY = 8;
+
+	private final int stride;
+
+	/**
+	 * The base 2 logarithm of the stride, which is 1 or 2.
+	 */
+	private final int strideShift;
+
+	Object[] table;
+
+	/**
+	 * The number of keys the table has room for, minus one.
+	 */
+	private int mask;
+
+	private int size;
+
+	/**
+	 * The number of keys the table can hold before it is resized, which keeps
+	 * at least one third of the slots free.
+	 */
+	private int threshold;
+
+	int modCount;
+
+	/**
+	 * @param stride
+	 *            the number of slots per key, 1 or 2
+	 * @param expectedSize
+	 *            the number of keys the table should hold without resizing
+	 */
+	IdentityHashTable(int stride, int expectedSize) {
+		this.stride = stride;
+		this.strideShift = stride == 1 ? 0 : 1;
+		allocate(capacityFor(expectedSize));
+	}
+
+	private static int capacityFor(int expectedSize) {
+		int capacity = MINIMUM_CAPACITY;
+		while (capacity * 2 / 3 < expectedSize)
+			capacity <<= 1;
+		return capacity;
+	}
+
+	private void allocate(int capacity) {
+		table = new Object[capacity * stride];
+		mask = capacity - 1;
+		threshold = capacity * 2 / 3;
+	}
+
+	static Object maskNull(Object key) {
+		return key == null ? NULL_KEY : key;
+	}
+
+	static Object unmaskNull(Object key) {
+		return key == NULL_KEY ? null : key;
+	}
+
+	/**
+	 * @return the index of the first slot to probe for the given masked key
+	 */
+	private int hash(Object key) {
+		int h = System.identityHashCode(key) * 0x9E3779B9;
+		h ^= h >>> 16;
+		return (h & mask) << strideShift;
+	}
+
+	private int next(int index, int length) {
+		index += stride;
+		return index < length ? index : 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return the index of the slot holding the given key, or -1 if the table
+	 *         does not contain the key
+	 */
+	int indexOf(Object key) {
+		Object k = maskNull(key);
+		Object[] tab = table;
+		int length = tab.length;
+		for (int i = hash(k);; i = next(i, length)) {
+			Object item = tab[i];
+			if (item == k)
+				return i;
+			if (item == null)
+				return -1;
+		}
+	}
+
+	/**
+	 * Adds the given key if the table does not contain it yet.
+	 *
+	 * @return the index of the slot holding the key if the table already
+	 *         contained it, otherwise <code>-(index + 1)</code> where
+	 *         <code>index</code> is the slot the key was added to
+	 */
+	int add(Object key) {
+		Object k = maskNull(key);
+		while (true) {
+			Object[] tab = table;
+			int length = tab.length;
+			int i = hash(k);
+			for (Object item; (item = tab[i]) != null; i = next(i, length))
+				if (item == k)
+					return i;
+			if (size < threshold) {
+				tab[i] = k;
+				size++;
+				modCount++;
+				return -(i + 1);
+			}
+			resize();
+		}
+	}
+
+	private void resize() {
+		Object[] oldTable = table;
+		allocate(oldTable.length / stride * 2);
+		Object[] tab = table;
+		int length = tab.length;
+		for (int j = 0; j < oldTable.length; j += stride) {
+			Object key = oldTable[j];
+			if (key != null) {
+				int i = hash(key);
+				while (tab[i] != null)
+					i = next(i, length);
+				tab[i] = key;
+				if (stride == 2)
+					tab[i + 1] = oldTable[j + 1];
+			}
+		}
+	}
+
+	/**
+	 * Removes the key at the given slot.
+	 *
+	 * @param index
+	 *            the slot of the key
+	 * @param iterator
+	 *            the iterator removing the key, or <code>null</code>
+	 */
+	void removeAt(int index, TableIterator<?> iterator) {
+		Object[] tab = table;
+		int length = tab.length;
+		size--;
+		modCount++;
+
+		// Move back the keys which would not be found after the hole
+		int hole = index;
+		for (int i = next(index, length); tab[i] != null; i = next(i, length)) {
+			int home = hash(tab[i]);
+			// The key stays if its home slot lies cyclically in (hole, i]
+			boolean stays = hole < i ? hole < home && home <= i
+					: hole < home || home <= i;
+			if (!stays) {
+				if (iterator != null && i < index && hole >= index)
+					// The key moves from the unvisited to the visited slots
+					iterator.displaced(tab[i]);
+				tab[hole] = tab[i];
+				if (stride == 2)
+					tab[hole + 1] = tab[i + 1];
+				hole = i;
+			}
+		}
+		tab[hole] = null;
+		if (stride == 2)
+			tab[hole + 1] = null;
+	}
+
+	void clear() {
+		if (size > 0) {
+			Object[] tab = table;
+			for (int i = 0; i < tab.length; i++)
+				tab[i] = null;
+			size = 0;
+			modCount++;
+		}
+	}
+
+	/**
+	 * Iterates over the keys of a table from the last slot to the first.
+	 * Removing a key only moves keys into its slot from slots with higher
+	 * indices, which have been visited already, except when the probe
+	 * sequence wraps around. Keys moved from the unvisited start of the table
+	 * to its visited end are remembered and returned at the end.
+	 *
+	 * @param <T>
+	 *            type of the returned elements
+	 */
+	static abstract class TableIterator<T> implements Iterator<T> {
+		private final IdentityHashTable hashTable;
+
+		private int index;
+
+		private int lastIndex = -1;
+
+		private List<Object> displaced;
+
+		private int displacedIndex;
+
+		private int expectedModCount;
+
+		TableIterator(IdentityHashTable hashTable) {
+			this.hashTable = hashTable;
+			this.index = hashTable.table.length;
+			this.expectedModCount = hashTable.modCount;
+		}
+
+		public boolean hasNext() {
+			Object[] tab = hashTable.table;
+			int stride = hashTable.stride;
+			while (index > 0 && tab[index - stride] == null)
+				index -= stride;
+			return index > 0 || displaced != null
+					&& displacedIndex < displaced.size();
+		}
+
+		public T next() {
+			if (hashTable.modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			if (!hasNext())
+				throw new NoSuchElementException();
+			if (index > 0) {
+				index -= hashTable.stride;
+				lastIndex = index;
+			} else {
+				lastIndex = hashTable.indexOf(unmaskNull(displaced
+						.get(displacedIndex++)));
+			}
+			return get(lastIndex);
+		}
+
+		public void remove() {
+			if (lastIndex < 0)
+				throw new IllegalStateException();
+			if (hashTable.modCount != expectedModCount)
+				throw new ConcurrentModificationException();
+			hashTable.removeAt(lastIndex, index > 0 ? this : null);
+			lastIndex = -1;
+			expectedModCount = hashTable.modCount;
+		}
+
+		void displaced(Object key) {
+			if (displaced == null)
+				displaced = new ArrayList<Object>(4);
+			displaced.add(key);
+		}
+
+		/**
+		 * @param index
+		 *            the index of the slot holding the key
+		 * @return the element for the key at the given slot
+		 */
+		abstract T get(int index);
+	}
+}
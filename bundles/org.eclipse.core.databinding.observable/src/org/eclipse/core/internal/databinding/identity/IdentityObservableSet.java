@@ -63,7 +63,7 @@ public class IdentityObservableSet<E> extends AbstractObservableSet<E> {
 	public IdentityObservableSet(Realm realm, Object elementType) {
 		super(realm);
 
-		this.wrappedSet = new IdentitySet<E>();
+		this.wrappedSet = new CompactIdentitySet<E>();
 		this.elementType = elementType;
 		if (elementType instanceof Class) {
 			this.elementClass = (Class<E>) elementType;
@@ -85,7 +85,7 @@ public class IdentityObservableSet<E> extends AbstractObservableSet<E> {
 	public IdentityObservableSet(Realm realm, Class<E> elementType) {
 		super(realm);
 
-		this.wrappedSet = new IdentitySet<E>();
+		this.wrappedSet = new CompactIdentitySet<E>();
 		this.elementType = elementType;
 		this.elementClass = elementType;
 	}
@@ -147,7 +147,7 @@ public class IdentityObservableSet<E> extends AbstractObservableSet<E> {
 
 	public boolean addAll(Collection<? extends E> c) {
 		getterCalled();
-		Set<E> additions = new IdentitySet<E>();
+		Set<E> additions = new CompactIdentitySet<E>();
 		for (Iterator<? extends E> iterator = c.iterator(); iterator.hasNext();) {
 			E element = iterator.next();
 			if (wrappedSet.add(element))
@@ -174,7 +174,7 @@ public class IdentityObservableSet<E> extends AbstractObservableSet<E> {
 
 	public boolean removeAll(Collection<?> c) {
 		getterCalled();
-		Set<E> removals = new IdentitySet<E>();
+		Set<E> removals = new CompactIdentitySet<E>();
 		for (Iterator<?> iterator = c.iterator(); iterator.hasNext();) {
 			Object element = iterator.next();
 			if (wrappedSet.remove(element)) {
@@ -191,19 +191,18 @@ public class IdentityObservableSet<E> extends AbstractObservableSet<E> {
 
 	public boolean retainAll(Collection<?> c) {
 		getterCalled();
-		Set<E> removals = new IdentitySet<E>();
-		Object[] toRetain = c.toArray();
-		outer: for (Iterator<E> iterator = wrappedSet.iterator(); iterator
-				.hasNext();) {
+		Set<E> removals = new CompactIdentitySet<E>();
+		// Cannot rely on c.contains(element) unless c compares elements by
+		// identity too.
+		Collection<?> toRetain = c;
+		if (!(c instanceof CompactIdentitySet) && !(c instanceof IdentitySet))
+			toRetain = new CompactIdentitySet<Object>(c);
+		for (Iterator<E> iterator = wrappedSet.iterator(); iterator.hasNext();) {
 			E element = iterator.next();
-			// Cannot rely on c.contains(element) because we must compare
-			// elements using IElementComparer.
-			for (int i = 0; i < toRetain.length; i++) {
-				if (element == toRetain[i])
-					continue outer;
+			if (!toRetain.contains(element)) {
+				iterator.remove();
+				removals.add(element);
 			}
-			iterator.remove();
-			removals.add(element);
 		}
 		boolean changed = !removals.isEmpty();
 		if (changed) {
@@ -217,7 +216,7 @@ public class IdentityObservableSet<E> extends AbstractObservableSet<E> {
 		getterCalled();
 		if (!wrappedSet.isEmpty()) {
 			Set<E> removals = wrappedSet;
-			wrappedSet = new IdentitySet<E>();
+			wrappedSet = new CompactIdentitySet<E>();
 			Set<E> additions = Collections.emptySet();
 			fireSetChange(Diffs.createSetDiff(additions, removals));
 		}
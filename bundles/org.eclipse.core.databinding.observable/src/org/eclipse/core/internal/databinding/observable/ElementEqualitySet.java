@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.core.databinding.observable.IElementEquality;
+
+/**
+ * A set whose elements are compared and hashed using an
+ * {@link IElementEquality}. The elements are stored directly in an open
+ * addressing table with linear probing, so no entry or wrapper object is
+ * allocated per element.
+ * <p>
+ * This class is <i>not</i> a strict implementation of the
+ * {@link java.util.Set} interface when the equality is not
+ * {@link IElementEquality#EQUALITY}. Iterators do not support removal.
+ *
+ * @param <E>
+ * @since 1.5
+ */
+public class ElementEqualitySet<E> extends AbstractSet<E> {
+
+	private static final Object NULL = new Object();
+
+	private static final int MIN_CAPACITY = 8;
+
+	private final IElementEquality equality;
+
+	private Object[] table;
+
+	private int size;
+
+	private int modCount;
+
+	/**
+	 * @param equality
+	 *            the strategy used to compare and hash elements
+	 */
+	public ElementEqualitySet(IElementEquality equality) {
+		this(equality, MIN_CAPACITY);
+	}
+
+	/**
+	 * @param equality
+	 *            the strategy used to compare and hash elements
+	 * @param expectedSize
+	 *            the number of elements the set should hold without growing
+	 */
+	public ElementEqualitySet(IElementEquality equality, int expectedSize) {
+		this.equality = equality;
+		int capacity = MIN_CAPACITY;
+		while (capacity < expectedSize * 2) {
+			capacity <<= 1;
+		}
+		this.table = new Object[capacity];
+	}
+
+	public boolean add(E element) {
+		Object key = element == null ? NULL : element;
+		int mask = table.length - 1;
+		for (int i = indexFor(element, mask);; i = (i + 1) & mask) {
+			Object candidate = table[i];
+			if (candidate == null) {
+				table[i] = key;
+				modCount++;
+				if (++size * 2 > table.length) {
+					resize(table.length << 1);
+				}
+				return true;
+			}
+			if (equality.equals(unmask(candidate), element)) {
+				return false;
+			}
+		}
+	}
+
+	public boolean contains(Object o) {
+		return find(o) != -1;
+	}
+
+	public boolean remove(Object o) {
+		int i = find(o);
+		if (i == -1) {
+			return false;
+		}
+		deleteSlot(i);
+		return true;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		if (size > 0) {
+			// Keep the table, so a cleared set can be reused without
+			// allocating
+			Arrays.fill(table, null);
+			size = 0;
+			modCount++;
+		}
+	}
+
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			private int next = advance(0);
+			private final int expectedModCount = modCount;
+
+			private int advance(int i) {
+				while (i < table.length && table[i] == null) {
+					i++;
+				}
+				return i;
+			}
+
+			public boolean hasNext() {
+				return next < table.length;
+			}
+
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (next >= table.length) {
+					throw new NoSuchElementException();
+				}
+				Object result = table[next];
+				next = advance(next + 1);
+				return (E) unmask(result);
+			}
+
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private int find(Object element) {
+		int mask = table.length - 1;
+		for (int i = indexFor(element, mask);; i = (i + 1) & mask) {
+			Object candidate = table[i];
+			if (candidate == null) {
+				return -1;
+			}
+			if (equality.equals(unmask(candidate), element)) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * Removes the element at the given slot, shifting back any following
+	 * elements of the same probe sequence so that lookups need no tombstones.
+	 */
+	private void deleteSlot(int i) {
+		int mask = table.length - 1;
+		table[i] = null;
+		size--;
+		modCount++;
+		for (int j = (i + 1) & mask; table[j] != null; j = (j + 1) & mask) {
+			Object moved = table[j];
+			int home = indexFor(unmask(moved), mask);
+			// Move the element back if its home slot is not cyclically
+			// within (i, j]
+			if (i <= j ? (home <= i || home > j) : (home <= i && home > j)) {
+				table[i] = moved;
+				table[j] = null;
+				i = j;
+			}
+		}
+	}
+
+	private void resize(int capacity) {
+		Object[] oldTable = table;
+		table = new Object[capacity];
+		int mask = capacity - 1;
+		for (int j = 0; j < oldTable.length; j++) {
+			Object key = oldTable[j];
+			if (key != null) {
+				int i = indexFor(unmask(key), mask);
+				while (table[i] != null) {
+					i = (i + 1) & mask;
+				}
+				table[i] = key;
+			}
+		}
+	}
+
+	private int indexFor(Object element, int mask) {
+		int h = equality.hashCode(element);
+		// Spread the bits, as the identity hash code and many user hash codes
+		// have poor low order bits
+		h ^= (h >>> 16);
+		h *= 0x85ebca6b;
+		h ^= (h >>> 13);
+		return h & mask;
+	}
+
+	private static Object unmask(Object key) {
+		return key == NULL ? null : key;
+	}
+}
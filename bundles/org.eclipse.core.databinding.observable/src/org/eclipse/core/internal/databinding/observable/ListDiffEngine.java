@@ -0,0 +1,571 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+
+/**
+ * Computes the differences between two lists using the O((N+M)D) algorithm
+ * described in Eugene W. Myers, "An O(ND) Difference Algorithm and Its
+ * Variations", with the linear space refinement and the cost-limiting
+ * heuristic used by GNU diff.
+ * <p>
+ * Elements are first mapped to integer ids through a hash table, so each
+ * comparison in the inner loop is a single <code>int</code> comparison.
+ * Deletions and insertions of equal elements are paired up and reported as
+ * adjacent remove/add entries, which
+ * {@link org.eclipse.core.databinding.observable.list.ListDiffVisitor} clients
+ * see as moves.
+ * <p>
+ * The running time is linear in the size of the lists plus the product of
+ * their size and the number of differences. In non-minimal mode the number of
+ * differences examined per partition is capped, which bounds the running time
+ * at the cost of a possibly longer (but still correct) edit script.
+ *
+ * @param <E>
+ *            the type of the list elements
+ * @since 1.5
+ */
+public class ListDiffEngine<E> {
+
+	/**
+	 * The minimum number of edit steps tried before the search for a
+	 * partition gives up in non-minimal mode.
+	 */
+	private static final int MIN_COST_LIMIT = 256;
+
+	private static final int DELETE = 1;
+
+	private static final int INSERT = 2;
+
+	private final Object[] oldElements;
+
+	private final Object[] newElements;
+
+	private final boolean minimal;
+
+	/*
+	 * The fields below are only valid during a call to computeDifferences.
+	 */
+
+	private int[] oldIds;
+
+	private int[] newIds;
+
+	private boolean[] deleted;
+
+	private boolean[] inserted;
+
+	private int[] forwardDiagonals;
+
+	private int[] backwardDiagonals;
+
+	private int diagonalOffset;
+
+	private int costLimit;
+
+	private int[] marks;
+
+	private int mark;
+
+	private int partitionX;
+
+	private int partitionY;
+
+	private boolean lowMinimal;
+
+	private boolean highMinimal;
+
+	/**
+	 * @param oldList
+	 *            the old list state
+	 * @param newList
+	 *            the new list state
+	 * @param minimal
+	 *            <code>true</code> if the shortest edit script must be found,
+	 *            <code>false</code> if a longer script may be returned when
+	 *            finding the shortest one would be too expensive
+	 */
+	public ListDiffEngine(List<? extends E> oldList, List<? extends E> newList,
+			boolean minimal) {
+		this.oldElements = oldList.toArray();
+		this.newElements = newList.toArray();
+		this.minimal = minimal;
+	}
+
+	/**
+	 * Computes the list diff entries which, applied in order, transform the
+	 * old list into the new list.
+	 *
+	 * @return the list diff entries
+	 */
+	public List<ListDiffEntry<E>> computeDifferences() {
+		int oldSize = oldElements.length;
+		int newSize = newElements.length;
+
+		// Strip the common prefix and suffix, which is all that is needed for
+		// the common case of a few elements being added or removed.
+		int prefix = 0;
+		while (prefix < oldSize && prefix < newSize
+				&& Util.equals(oldElements[prefix], newElements[prefix])) {
+			prefix++;
+		}
+		int oldEnd = oldSize;
+		int newEnd = newSize;
+		while (oldEnd > prefix && newEnd > prefix
+				&& Util.equals(oldElements[oldEnd - 1], newElements[newEnd - 1])) {
+			oldEnd--;
+			newEnd--;
+		}
+
+		if (oldEnd == prefix && newEnd == prefix) {
+			return Collections.emptyList();
+		}
+
+		int n = oldEnd - prefix;
+		int m = newEnd - prefix;
+		assignIds(prefix, n, m);
+
+		deleted = new boolean[n];
+		inserted = new boolean[m];
+		if (n > 0 && m > 0) {
+			forwardDiagonals = new int[n + m + 3];
+			backwardDiagonals = new int[n + m + 3];
+			diagonalOffset = m + 1;
+			// Roughly the square root of the number of diagonals
+			costLimit = 1;
+			for (int diagonals = n + m + 3; diagonals != 0; diagonals >>= 2) {
+				costLimit <<= 1;
+			}
+			costLimit = Math.max(MIN_COST_LIMIT, costLimit);
+			compareSequences(0, n, 0, m, minimal);
+		} else {
+			for (int i = 0; i < n; i++) {
+				deleted[i] = true;
+			}
+			for (int j = 0; j < m; j++) {
+				inserted[j] = true;
+			}
+		}
+
+		List<ListDiffEntry<E>> result = createEntries(prefix, n, m);
+
+		oldIds = null;
+		newIds = null;
+		deleted = null;
+		inserted = null;
+		forwardDiagonals = null;
+		backwardDiagonals = null;
+		marks = null;
+
+		return result;
+	}
+
+	/**
+	 * Maps the elements in the middle section of both lists to integer ids,
+	 * such that two elements have the same id if and only if they are equal.
+	 */
+	private void assignIds(int offset, int n, int m) {
+		Map<Object, Integer> ids = new HashMap<Object, Integer>();
+		oldIds = new int[n];
+		for (int i = 0; i < n; i++) {
+			oldIds[i] = idOf(ids, oldElements[offset + i]);
+		}
+		newIds = new int[m];
+		for (int j = 0; j < m; j++) {
+			newIds[j] = idOf(ids, newElements[offset + j]);
+		}
+		marks = new int[ids.size()];
+	}
+
+	private static int idOf(Map<Object, Integer> ids, Object element) {
+		Integer id = ids.get(element);
+		if (id == null) {
+			id = Integer.valueOf(ids.size());
+			ids.put(element, id);
+		}
+		return id.intValue();
+	}
+
+	/**
+	 * Marks the deletions and insertions needed to turn
+	 * <code>oldIds[xoff..xlim)</code> into <code>newIds[yoff..ylim)</code>.
+	 * <p>
+	 * The smaller of the two partitions is handled recursively and the larger
+	 * one iteratively, which keeps the recursion depth logarithmic.
+	 */
+	private void compareSequences(int xoff, int xlim, int yoff, int ylim,
+			boolean findMinimal) {
+		while (true) {
+			while (xoff < xlim && yoff < ylim && oldIds[xoff] == newIds[yoff]) {
+				xoff++;
+				yoff++;
+			}
+			while (xoff < xlim && yoff < ylim
+					&& oldIds[xlim - 1] == newIds[ylim - 1]) {
+				xlim--;
+				ylim--;
+			}
+
+			if (xoff == xlim || yoff == ylim || !haveCommonElement(xoff, xlim,
+					yoff, ylim)) {
+				for (int x = xoff; x < xlim; x++) {
+					deleted[x] = true;
+				}
+				for (int y = yoff; y < ylim; y++) {
+					inserted[y] = true;
+				}
+				return;
+			}
+
+			findPartition(xoff, xlim, yoff, ylim, findMinimal);
+			int xmid = partitionX;
+			int ymid = partitionY;
+			boolean lowMin = lowMinimal;
+			boolean highMin = highMinimal;
+
+			if ((xmid - xoff) + (ymid - yoff) < (xlim - xmid) + (ylim - ymid)) {
+				compareSequences(xoff, xmid, yoff, ymid, lowMin);
+				xoff = xmid;
+				yoff = ymid;
+				findMinimal = highMin;
+			} else {
+				compareSequences(xmid, xlim, ymid, ylim, highMin);
+				xlim = xmid;
+				ylim = ymid;
+				findMinimal = lowMin;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the two ranges have at least one element in common. When
+	 * they do not, the only edit script is to delete one range and insert the
+	 * other, and searching for it would cost O((N+M)^2).
+	 */
+	private boolean haveCommonElement(int xoff, int xlim, int yoff, int ylim) {
+		if (++mark == 0) {
+			for (int i = 0; i < marks.length; i++) {
+				marks[i] = 0;
+			}
+			mark = 1;
+		}
+		for (int x = xoff; x < xlim; x++) {
+			marks[oldIds[x]] = mark;
+		}
+		for (int y = yoff; y < ylim; y++) {
+			if (marks[newIds[y]] == mark) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Finds the midpoint of the shortest edit script for the given ranges, or
+	 * an approximation of it when the search becomes too expensive and a
+	 * minimal result is not required. The result is stored in
+	 * {@link #partitionX}, {@link #partitionY}, {@link #lowMinimal} and
+	 * {@link #highMinimal}.
+	 */
+	private void findPartition(int xoff, int xlim, int yoff, int ylim,
+			boolean findMinimal) {
+		final int[] fd = forwardDiagonals;
+		final int[] bd = backwardDiagonals;
+		final int[] xv = oldIds;
+		final int[] yv = newIds;
+		final int o = diagonalOffset;
+
+		final int dmin = xoff - ylim;
+		final int dmax = xlim - yoff;
+		final int fmid = xoff - yoff;
+		final int bmid = xlim - ylim;
+		int fmin = fmid;
+		int fmax = fmid;
+		int bmin = bmid;
+		int bmax = bmid;
+		final boolean odd = ((fmid - bmid) & 1) != 0;
+
+		fd[o + fmid] = xoff;
+		bd[o + bmid] = xlim;
+
+		for (int c = 1;; ++c) {
+			// Extend the top-down search by an edit step in each diagonal.
+			if (fmin > dmin) {
+				fd[o + --fmin - 1] = -1;
+			} else {
+				++fmin;
+			}
+			if (fmax < dmax) {
+				fd[o + ++fmax + 1] = -1;
+			} else {
+				--fmax;
+			}
+			for (int d = fmax; d >= fmin; d -= 2) {
+				int tlo = fd[o + d - 1];
+				int thi = fd[o + d + 1];
+				int x = tlo < thi ? thi : tlo + 1;
+				int y = x - d;
+				while (x < xlim && y < ylim && xv[x] == yv[y]) {
+					x++;
+					y++;
+				}
+				fd[o + d] = x;
+				if (odd && bmin <= d && d <= bmax && bd[o + d] <= x) {
+					setPartition(x, y, true, true);
+					return;
+				}
+			}
+
+			// Similarly extend the bottom-up search.
+			if (bmin > dmin) {
+				bd[o + --bmin - 1] = Integer.MAX_VALUE;
+			} else {
+				++bmin;
+			}
+			if (bmax < dmax) {
+				bd[o + ++bmax + 1] = Integer.MAX_VALUE;
+			} else {
+				--bmax;
+			}
+			for (int d = bmax; d >= bmin; d -= 2) {
+				int tlo = bd[o + d - 1];
+				int thi = bd[o + d + 1];
+				int x = tlo < thi ? tlo : thi - 1;
+				int y = x - d;
+				while (xoff < x && yoff < y && xv[x - 1] == yv[y - 1]) {
+					x--;
+					y--;
+				}
+				bd[o + d] = x;
+				if (!odd && fmin <= d && d <= fmax && x <= fd[o + d]) {
+					setPartition(x, y, true, true);
+					return;
+				}
+			}
+
+			if (findMinimal || c < costLimit) {
+				continue;
+			}
+
+			// We have gone well beyond the call of duty; give up and report
+			// the better of the furthest forward and backward points so far.
+			int fxybest = -1;
+			int fxbest = 0;
+			for (int d = fmax; d >= fmin; d -= 2) {
+				int x = Math.min(fd[o + d], xlim);
+				int y = x - d;
+				if (ylim < y) {
+					x = ylim + d;
+					y = ylim;
+				}
+				if (fxybest < x + y) {
+					fxybest = x + y;
+					fxbest = x;
+				}
+			}
+
+			int bxybest = Integer.MAX_VALUE;
+			int bxbest = 0;
+			for (int d = bmax; d >= bmin; d -= 2) {
+				int x = Math.max(xoff, bd[o + d]);
+				int y = x - d;
+				if (y < yoff) {
+					x = yoff + d;
+					y = yoff;
+				}
+				if (x + y < bxybest) {
+					bxybest = x + y;
+					bxbest = x;
+				}
+			}
+
+			if ((xlim + ylim) - bxybest < fxybest - (xoff + yoff)) {
+				setPartition(fxbest, fxybest - fxbest, true, false);
+			} else {
+				setPartition(bxbest, bxybest - bxbest, false, true);
+			}
+			return;
+		}
+	}
+
+	private void setPartition(int x, int y, boolean lowMin, boolean highMin) {
+		partitionX = x;
+		partitionY = y;
+		lowMinimal = lowMin;
+		highMinimal = highMin;
+	}
+
+	/**
+	 * Converts the deletions and insertions marked in {@link #deleted} and
+	 * {@link #inserted} into list diff entries.
+	 * <p>
+	 * The edit script is first laid out as a single sequence of operations
+	 * which is consistent with the order of both lists. A deletion and an
+	 * insertion of equal elements are then emitted together, as a move, when
+	 * the first of the two is reached. Because a move may remove an element
+	 * that lies ahead of the current position, the positions are computed
+	 * with a Fenwick tree counting the elements present before each
+	 * operation.
+	 */
+	private List<ListDiffEntry<E>> createEntries(int offset, int n, int m) {
+		int size = 0;
+		for (int i = 0; i < n; i++) {
+			if (deleted[i]) {
+				size++;
+			}
+		}
+		for (int j = 0; j < m; j++) {
+			if (inserted[j]) {
+				size++;
+			}
+		}
+
+		// Lay out the operations, including the unchanged elements, in an
+		// order consistent with both lists.
+		int total = n + m - (n - size + m) / 2;
+		int[] kinds = new int[total];
+		int[] indexes = new int[total];
+		int t = 0;
+		for (int i = 0, j = 0; i < n || j < m; t++) {
+			if (i < n && deleted[i]) {
+				kinds[t] = DELETE;
+				indexes[t] = i++;
+			} else if (j < m && inserted[j]) {
+				kinds[t] = INSERT;
+				indexes[t] = j++;
+			} else {
+				i++;
+				j++;
+			}
+		}
+
+		// Pair each insertion with the first unpaired deletion of an equal
+		// element.
+		int[] partners = new int[total];
+		int[] firstDeletion = new int[marks.length];
+		int[] nextDeletion = new int[total];
+		for (int i = 0; i < firstDeletion.length; i++) {
+			firstDeletion[i] = -1;
+		}
+		for (t = total - 1; t >= 0; t--) {
+			partners[t] = -1;
+			if (kinds[t] == DELETE) {
+				int id = oldIds[indexes[t]];
+				nextDeletion[t] = firstDeletion[id];
+				firstDeletion[id] = t;
+			}
+		}
+		boolean moves = false;
+		for (t = 0; t < total; t++) {
+			if (kinds[t] == INSERT) {
+				int id = newIds[indexes[t]];
+				int partner = firstDeletion[id];
+				if (partner != -1) {
+					firstDeletion[id] = nextDeletion[partner];
+					partners[t] = partner;
+					partners[partner] = t;
+					moves = true;
+				}
+			}
+		}
+
+		// Fenwick tree over the operations; an entry is 1 while the
+		// corresponding element is present in the list.
+		int[] tree = null;
+		if (moves) {
+			tree = new int[total + 1];
+			for (t = 0; t < total; t++) {
+				if (kinds[t] != INSERT) {
+					adjust(tree, t, 1);
+				}
+			}
+		}
+
+		List<ListDiffEntry<E>> entries = new ArrayList<ListDiffEntry<E>>(size);
+		int position = offset;
+		for (t = 0; t < total; t++) {
+			int kind = kinds[t];
+			int partner = partners[t];
+			if (partner == -1) {
+				if (kind == DELETE) {
+					entries.add(Diffs.createListDiffEntry(position, false,
+							oldElement(offset, indexes[t])));
+					if (moves) {
+						adjust(tree, t, -1);
+					}
+				} else if (kind == INSERT) {
+					entries.add(Diffs.createListDiffEntry(position, true,
+							newElement(offset, indexes[t])));
+					if (moves) {
+						adjust(tree, t, 1);
+					}
+					position++;
+				} else {
+					position++;
+				}
+			} else if (partner > t) {
+				int removal = kind == DELETE ? t : partner;
+				int addition = kind == DELETE ? partner : t;
+				entries.add(Diffs.createListDiffEntry(
+						offset + count(tree, removal), false,
+						oldElement(offset, indexes[removal])));
+				adjust(tree, removal, -1);
+				entries.add(Diffs.createListDiffEntry(
+						offset + count(tree, addition), true,
+						newElement(offset, indexes[addition])));
+				adjust(tree, addition, 1);
+				if (kind == INSERT) {
+					position++;
+				}
+			} else if (kind == INSERT) {
+				// Inserted earlier as the second half of a move
+				position++;
+			}
+		}
+		return entries;
+	}
+
+	@SuppressWarnings("unchecked")
+	private E oldElement(int offset, int index) {
+		return (E) oldElements[offset + index];
+	}
+
+	@SuppressWarnings("unchecked")
+	private E newElement(int offset, int index) {
+		return (E) newElements[offset + index];
+	}
+
+	private static void adjust(int[] tree, int index, int delta) {
+		for (int i = index + 1; i < tree.length; i += i & -i) {
+			tree[i] += delta;
+		}
+	}
+
+	/**
+	 * @return the number of elements present before the given operation
+	 */
+	private static int count(int[] tree, int index) {
+		int sum = 0;
+		for (int i = index; i > 0; i -= i & -i) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+}
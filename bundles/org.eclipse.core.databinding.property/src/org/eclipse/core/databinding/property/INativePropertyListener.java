@@ -22,6 +22,12 @@ import org.eclipse.core.databinding.property.value.SimpleValueProperty;
  * object using the source's "native" listener API. Events received from the
  * source objects are parlayed to the {@link ISimplePropertyListener} provided
  * to the method that constructed this native listener instance.
+ * <p>
+ * Implementations extending {@link NativePropertyListener} may also add or
+ * remove themselves on many sources at once, see
+ * {@link NativePropertyListener#addTo(java.util.Collection)} and
+ * {@link NativePropertyListener#removeFrom(java.util.Collection)}.
+ * </p>
  * 
  * @param <S>
  *            type of the source object
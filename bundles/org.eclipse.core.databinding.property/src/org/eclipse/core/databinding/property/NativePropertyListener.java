@@ -11,6 +11,10 @@
 
 package org.eclipse.core.databinding.property;
 
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.eclipse.core.databinding.observable.IDiff;
 
 /**
@@ -27,6 +31,18 @@ public abstract class NativePropertyListener<S, D extends IDiff> implements
 	private final IProperty property;
 	private final ISimplePropertyListener<D> listener;
 
+	/**
+	 * The reusable change event without a diff, or <code>null</code> if
+	 * events are not reused. Empty while the event is being handled.
+	 */
+	private volatile AtomicReference<SimplePropertyEvent<D>> changeEvent;
+
+	/**
+	 * The reusable stale event, or <code>null</code> if events are not
+	 * reused. Empty while the event is being handled.
+	 */
+	private volatile AtomicReference<SimplePropertyEvent<D>> staleEvent;
+
 	/**
 	 * Constructs a NativePropertyListener with the specified arguments
 	 * 
@@ -55,6 +71,66 @@ public abstract class NativePropertyListener<S, D extends IDiff> implements
 
 	protected abstract void doRemoveFrom(S source);
 
+	/**
+	 * Adds the receiver as a listener for property events on each of the
+	 * specified property sources. The default implementation calls
+	 * {@link #addTo(Object)} for each source. Subclasses may override to
+	 * register with many sources at once more efficiently.
+	 * 
+	 * @param sources
+	 *            the property sources, <code>null</code> elements are skipped
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 1.5
+	 */
+	public void addTo(Collection<? extends S> sources) {
+		for (Iterator<? extends S> it = sources.iterator(); it.hasNext();)
+			addTo(it.next());
+	}
+
+	/**
+	 * Removes the receiver as a listener for property events from each of the
+	 * specified property sources. The default implementation calls
+	 * {@link #removeFrom(Object)} for each source. Subclasses may override to
+	 * unregister from many sources at once more efficiently.
+	 * 
+	 * @param sources
+	 *            the property sources, <code>null</code> elements are skipped
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 1.5
+	 */
+	public void removeFrom(Collection<? extends S> sources) {
+		for (Iterator<? extends S> it = sources.iterator(); it.hasNext();)
+			removeFrom(it.next());
+	}
+
+	/**
+	 * Sets whether the events passed to the listener may be reused. If
+	 * enabled, stale events and change events without a diff are not
+	 * allocated for each notification, instead the same event object is
+	 * passed to the listener again with a different source.
+	 * <p>
+	 * A reused event is only valid while the listener's
+	 * {@link ISimplePropertyListener#handleEvent(SimplePropertyEvent)} method
+	 * runs. The listener must neither retain the event nor read it from
+	 * another thread later, e.g. from a runnable passed to a realm, but copy
+	 * the parts of the event it needs instead.
+	 * </p>
+	 * 
+	 * @param reuseEvents
+	 *            whether events may be reused
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 1.5
+	 */
+	public void setReuseEvents(boolean reuseEvents) {
+		if (reuseEvents && changeEvent == null) {
+			changeEvent = new AtomicReference<SimplePropertyEvent<D>>();
+			staleEvent = new AtomicReference<SimplePropertyEvent<D>>();
+		} else if (!reuseEvents) {
+			changeEvent = null;
+			staleEvent = null;
+		}
+	}
+
 	/**
 	 * Notifies the listener that a property change occured on the source
 	 * object.
@@ -65,8 +141,12 @@ public abstract class NativePropertyListener<S, D extends IDiff> implements
 	 *            a diff describing the change in state
 	 */
 	protected void fireChange(Object source, D diff) {
-		listener.handleEvent(new SimplePropertyEvent<D>(
-				SimplePropertyEvent.CHANGE, source, property, diff));
+		AtomicReference<SimplePropertyEvent<D>> pool = changeEvent;
+		if (diff == null && pool != null)
+			fireReused(pool, SimplePropertyEvent.CHANGE, source);
+		else
+			listener.handleEvent(new SimplePropertyEvent<D>(
+					SimplePropertyEvent.CHANGE, source, property, diff));
 	}
 
 	/**
@@ -77,7 +157,31 @@ public abstract class NativePropertyListener<S, D extends IDiff> implements
 	 *            the source object whose property became stale
 	 */
 	protected void fireStale(Object source) {
-		listener.handleEvent(new SimplePropertyEvent<D>(
-				SimplePropertyEvent.STALE, source, property, null));
+		AtomicReference<SimplePropertyEvent<D>> pool = staleEvent;
+		if (pool != null)
+			fireReused(pool, SimplePropertyEvent.STALE, source);
+		else
+			listener.handleEvent(new SimplePropertyEvent<D>(
+					SimplePropertyEvent.STALE, source, property, null));
+	}
+
+	/**
+	 * Passes the pooled event to the listener, or a new event if the pooled
+	 * one is being handled by a nested or concurrent notification.
+	 */
+	private void fireReused(AtomicReference<SimplePropertyEvent<D>> pool,
+			int type, Object source) {
+		SimplePropertyEvent<D> event = pool.getAndSet(null);
+		if (event == null)
+			event = new SimplePropertyEvent<D>(type, source, property, null);
+		else
+			event.setSource(source);
+		try {
+			listener.handleEvent(event);
+		} finally {
+			// Do not keep the source reachable until the next notification
+			event.setSource(null);
+			pool.set(event);
+		}
 	}
 }
@@ -26,6 +26,7 @@ import org.eclipse.core.databinding.property.list.IListProperty;
 import org.eclipse.core.databinding.property.map.IMapProperty;
 import org.eclipse.core.databinding.property.set.ISetProperty;
 import org.eclipse.core.databinding.property.value.IValueProperty;
+import org.eclipse.core.databinding.property.value.ValueProperty;
 import org.eclipse.core.internal.databinding.property.list.SelfListProperty;
 import org.eclipse.core.internal.databinding.property.map.SelfMapProperty;
 import org.eclipse.core.internal.databinding.property.set.SelfSetProperty;
@@ -136,6 +137,67 @@ public class Properties {
 		return maps;
 	}
 
+	/**
+	 * Returns an observable map of the values of the given property on the
+	 * elements of the given master set, which only reads and listens to the
+	 * values of the elements whose values are requested through
+	 * {@link IObservableMap#get(Object)}, e.g. the visible rows of a virtual
+	 * table. At most <code>maximumObservedKeys</code> elements are observed at
+	 * a time. When more values are requested, the least recently requested
+	 * elements are no longer observed.
+	 * <p>
+	 * If the property does not support lazy observation, all elements are
+	 * observed, like {@link IValueProperty#observeDetail(IObservableSet)}.
+	 * </p>
+	 * 
+	 * @param property
+	 *            the value property to observe on the elements
+	 * @param master
+	 *            the master set
+	 * @param maximumObservedKeys
+	 *            the maximum number of observed elements, greater than 0
+	 * @return an observable map of the values of the given property on the
+	 *         elements of the given master set
+	 * @see ValueProperty#observeDetailLazily(IObservableSet, int)
+	 * @since 1.5
+	 */
+	public static <S, T, M extends S> IObservableMap<M, T> observeDetailLazily(
+			IValueProperty<S, T> property, IObservableSet<M> master,
+			int maximumObservedKeys) {
+		if (property instanceof ValueProperty)
+			return ((ValueProperty<S, T>) property).observeDetailLazily(
+					master, maximumObservedKeys);
+		return property.observeDetail(master);
+	}
+
+	/**
+	 * Returns an observable map of the values of the given property on the
+	 * values of the given master map, which only reads and listens to the
+	 * values of the master values whose keys are requested through
+	 * {@link IObservableMap#get(Object)}. At most
+	 * <code>maximumObservedKeys</code> master values are observed at a time,
+	 * like {@link #observeDetailLazily(IValueProperty, IObservableSet, int)}.
+	 * 
+	 * @param property
+	 *            the value property to observe on the master values
+	 * @param master
+	 *            the master map
+	 * @param maximumObservedKeys
+	 *            the maximum number of observed master values, greater than 0
+	 * @return an observable map of the values of the given property on the
+	 *         values of the given master map
+	 * @see ValueProperty#observeDetailLazily(IObservableMap, int)
+	 * @since 1.5
+	 */
+	public static <S, T, K, M extends S> IObservableMap<K, T> observeDetailLazily(
+			IValueProperty<S, T> property, IObservableMap<K, M> master,
+			int maximumObservedKeys) {
+		if (property instanceof ValueProperty)
+			return ((ValueProperty<S, T>) property).observeDetailLazily(
+					master, maximumObservedKeys);
+		return property.observeDetail(master);
+	}
+
 	/**
 	 * Returns a value property which takes the source object itself as the
 	 * property value. This property may be used to wrap an object in an
@@ -19,6 +19,11 @@ import org.eclipse.core.internal.databinding.property.Util;
 
 /**
  * Event object events in the properties API
+ * <p>
+ * Events passed by a {@link NativePropertyListener} which reuses its events
+ * are only valid while the listener handles them, see
+ * {@link NativePropertyListener#setReuseEvents(boolean)}.
+ * </p>
  * 
  * @param <D>
  *            type of the diff handled by this event
@@ -78,6 +83,13 @@ public final class SimplePropertyEvent<D extends IDiff> extends EventObject {
 		this.diff = diff;
 	}
 
+	/**
+	 * Changes the source of a reused event.
+	 */
+	void setSource(Object source) {
+		this.source = source;
+	}
+
 	public boolean equals(Object obj) {
 		if (obj == this)
 			return true;
@@ -24,6 +24,7 @@ import org.eclipse.core.internal.databinding.property.value.ListSimpleValueObser
 import org.eclipse.core.internal.databinding.property.value.MapSimpleValueObservableMap;
 import org.eclipse.core.internal.databinding.property.value.SetSimpleValueObservableMap;
 import org.eclipse.core.internal.databinding.property.value.SimplePropertyObservableValue;
+import org.eclipse.core.runtime.Assert;
 
 /**
  * Simplified abstract implementation of IValueProperty. This class takes care
@@ -89,4 +90,26 @@ public abstract class SimpleValueProperty<S, T> extends ValueProperty<S, T> {
 			IObservableMap<K, V> master) {
 		return new MapSimpleValueObservableMap<S, K, V, T>(master, this);
 	}
+
+	/**
+	 * @since 1.5
+	 */
+	public <U extends S> IObservableMap<U, T> observeDetailLazily(
+			IObservableSet<U> master, int maximumObservedKeys) {
+		Assert.isLegal(maximumObservedKeys > 0,
+				"maximumObservedKeys must be positive"); //$NON-NLS-1$
+		return new SetSimpleValueObservableMap<S, U, T>(master, this,
+				maximumObservedKeys);
+	}
+
+	/**
+	 * @since 1.5
+	 */
+	public <K, V extends S> IObservableMap<K, T> observeDetailLazily(
+			IObservableMap<K, V> master, int maximumObservedKeys) {
+		Assert.isLegal(maximumObservedKeys > 0,
+				"maximumObservedKeys must be positive"); //$NON-NLS-1$
+		return new MapSimpleValueObservableMap<S, K, V, T>(master, this,
+				maximumObservedKeys);
+	}
 }
\ No newline at end of file
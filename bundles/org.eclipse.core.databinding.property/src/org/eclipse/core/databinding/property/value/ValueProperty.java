@@ -27,6 +27,7 @@ import org.eclipse.core.internal.databinding.property.ValuePropertyDetailList;
 import org.eclipse.core.internal.databinding.property.ValuePropertyDetailMap;
 import org.eclipse.core.internal.databinding.property.ValuePropertyDetailSet;
 import org.eclipse.core.internal.databinding.property.ValuePropertyDetailValue;
+import org.eclipse.core.runtime.Assert;
 
 /**
  * Abstract implementation of IValueProperty
@@ -160,6 +161,64 @@ public abstract class ValueProperty<S, T> implements IValueProperty<S, T> {
 				valueFactory(master.getRealm()), getValueType());
 	}
 
+	/**
+	 * Returns an observable map of the values of this property on the elements
+	 * of the given master set, which only reads and listens to the values of
+	 * the elements whose values are requested through
+	 * {@link IObservableMap#get(Object)}. At most
+	 * <code>maximumObservedKeys</code> elements are observed at a time. When
+	 * more values are requested, the least recently requested elements are no
+	 * longer observed, and changes of their values are no longer reported until
+	 * their values are requested again.
+	 * <p>
+	 * The default implementation observes all elements, like
+	 * {@link #observeDetail(IObservableSet)}.
+	 * </p>
+	 * 
+	 * @param master
+	 *            the master set
+	 * @param maximumObservedKeys
+	 *            the maximum number of observed elements, greater than 0
+	 * @return an observable map of the values of this property on the elements
+	 *         of the given master set
+	 * @see org.eclipse.core.databinding.property.Properties#observeDetailLazily(IValueProperty, IObservableSet, int)
+	 * @since 1.5
+	 */
+	public <V extends S> IObservableMap<V, T> observeDetailLazily(
+			IObservableSet<V> master, int maximumObservedKeys) {
+		Assert.isLegal(maximumObservedKeys > 0,
+				"maximumObservedKeys must be positive"); //$NON-NLS-1$
+		return observeDetail(master);
+	}
+
+	/**
+	 * Returns an observable map of the values of this property on the values
+	 * of the given master map, which only reads and listens to the values of
+	 * the master values whose keys are requested through
+	 * {@link IObservableMap#get(Object)}. At most
+	 * <code>maximumObservedKeys</code> master values are observed at a time,
+	 * like {@link #observeDetailLazily(IObservableSet, int)}.
+	 * <p>
+	 * The default implementation observes all master values, like
+	 * {@link #observeDetail(IObservableMap)}.
+	 * </p>
+	 * 
+	 * @param master
+	 *            the master map
+	 * @param maximumObservedKeys
+	 *            the maximum number of observed master values, greater than 0
+	 * @return an observable map of the values of this property on the values
+	 *         of the given master map
+	 * @see org.eclipse.core.databinding.property.Properties#observeDetailLazily(IValueProperty, IObservableMap, int)
+	 * @since 1.5
+	 */
+	public <K, V extends S> IObservableMap<K, T> observeDetailLazily(
+			IObservableMap<K, V> master, int maximumObservedKeys) {
+		Assert.isLegal(maximumObservedKeys > 0,
+				"maximumObservedKeys must be positive"); //$NON-NLS-1$
+		return observeDetail(master);
+	}
+
 	public final <U> IValueProperty<S, U> value(
 			IValueProperty<? super T, U> detailValue) {
 		return new ValuePropertyDetailValue<S, T, U>(this, detailValue);
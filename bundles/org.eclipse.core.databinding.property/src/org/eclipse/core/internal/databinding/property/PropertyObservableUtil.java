@@ -12,9 +12,21 @@
 
 package org.eclipse.core.internal.databinding.property;
 
+import java.util.Collection;
+import java.util.Iterator;
+
 import org.eclipse.core.databinding.observable.DisposeEvent;
+import org.eclipse.core.databinding.observable.IDiff;
 import org.eclipse.core.databinding.observable.IDisposeListener;
 import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.property.INativePropertyListener;
+import org.eclipse.core.databinding.property.ISimplePropertyListener;
+import org.eclipse.core.databinding.property.NativePropertyListener;
+import org.eclipse.core.databinding.property.SimplePropertyEvent;
+import org.eclipse.core.databinding.util.Policy;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
 
 /**
  * @since 3.3
@@ -38,4 +50,108 @@ public class PropertyObservableUtil {
 			}
 		});
 	}
+
+	/**
+	 * Adds the native listener to each of the given sources, at once if the
+	 * listener is a {@link NativePropertyListener}.
+	 * 
+	 * @param listener
+	 *            the native listener, may be <code>null</code>
+	 * @param sources
+	 *            the property sources
+	 * @since 1.5
+	 */
+	public static <S> void addListenerTo(INativePropertyListener<S> listener,
+			Collection<? extends S> sources) {
+		if (listener == null || sources.isEmpty())
+			return;
+		if (listener instanceof NativePropertyListener) {
+			// NativePropertyListener<S, D> implements INativePropertyListener<S>
+			@SuppressWarnings("unchecked")
+			NativePropertyListener<S, ?> nativeListener = (NativePropertyListener<S, ?>) listener;
+			nativeListener.addTo(sources);
+		} else {
+			for (Iterator<? extends S> it = sources.iterator(); it.hasNext();)
+				listener.addTo(it.next());
+		}
+	}
+
+	/**
+	 * Removes the native listener from each of the given sources, at once if
+	 * the listener is a {@link NativePropertyListener}.
+	 * 
+	 * @param listener
+	 *            the native listener, may be <code>null</code>
+	 * @param sources
+	 *            the property sources
+	 * @since 1.5
+	 */
+	public static <S> void removeListenerFrom(
+			INativePropertyListener<S> listener, Collection<? extends S> sources) {
+		if (listener == null || sources.isEmpty())
+			return;
+		if (listener instanceof NativePropertyListener) {
+			// NativePropertyListener<S, D> implements INativePropertyListener<S>
+			@SuppressWarnings("unchecked")
+			NativePropertyListener<S, ?> nativeListener = (NativePropertyListener<S, ?>) listener;
+			nativeListener.removeFrom(sources);
+		} else {
+			for (Iterator<? extends S> it = sources.iterator(); it.hasNext();)
+				listener.removeFrom(it.next());
+		}
+	}
+
+	/**
+	 * Lets the native listener reuse its events, if it is a
+	 * {@link NativePropertyListener}. The events must be passed to the
+	 * observable with {@link #dispatch(Realm, SimplePropertyEvent,
+	 * ISimplePropertyListener)}.
+	 * 
+	 * @param listener
+	 *            the native listener, may be <code>null</code>
+	 * @since 1.5
+	 */
+	public static void reuseEvents(INativePropertyListener<?> listener) {
+		if (listener instanceof NativePropertyListener)
+			((NativePropertyListener<?, ?>) listener).setReuseEvents(true);
+	}
+
+	/**
+	 * Passes a property event to the handler within the given realm. If the
+	 * realm is current, the handler is called directly, otherwise a copy of
+	 * the event is passed to the handler from a runnable executed in the
+	 * realm, as the event may be reused once this method returns. As with
+	 * {@link Realm#exec(Runnable)}, exceptions thrown by the handler are
+	 * logged.
+	 * 
+	 * @param realm
+	 *            the realm of the observable
+	 * @param event
+	 *            the event received from the native listener
+	 * @param handler
+	 *            the handler of the observable
+	 * @since 1.5
+	 */
+	public static <D extends IDiff> void dispatch(Realm realm,
+			SimplePropertyEvent<D> event,
+			final ISimplePropertyListener<D> handler) {
+		if (realm.isCurrent()) {
+			try {
+				handler.handleEvent(event);
+			} catch (RuntimeException e) {
+				Policy.getLog().log(
+						new Status(IStatus.ERROR, Policy.JFACE_DATABINDING,
+								IStatus.OK, "Unhandled exception: " //$NON-NLS-1$
+										+ e.getMessage(), e));
+			}
+		} else {
+			final SimplePropertyEvent<D> copy = new SimplePropertyEvent<D>(
+					event.type, event.getSource(), event.property, event.diff);
+			realm.exec(new Runnable() {
+				public void run() {
+					handler.handleEvent(copy);
+				}
+			});
+		}
+	}
 }
@@ -31,6 +31,7 @@ import org.eclipse.core.databinding.property.IPropertyObservable;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.SimplePropertyEvent;
 import org.eclipse.core.databinding.property.list.SimpleListProperty;
+import org.eclipse.core.internal.databinding.property.PropertyObservableUtil;
 
 /**
  * @param <S>
@@ -70,26 +71,29 @@ public class SimplePropertyObservableList<S, E> extends
 	protected void firstListenerAdded() {
 		if (!isDisposed()) {
 			if (listener == null) {
+				final ISimplePropertyListener<ListDiff<E>> handler = new ISimplePropertyListener<ListDiff<E>>() {
+					public void handleEvent(
+							SimplePropertyEvent<ListDiff<E>> event) {
+						if (event.type == SimplePropertyEvent.CHANGE) {
+							modCount++;
+							notifyIfChanged(event.diff);
+						} else if (event.type == SimplePropertyEvent.STALE
+								&& !stale) {
+							stale = true;
+							fireStale();
+						}
+					}
+				};
 				listener = property
 						.adaptListener(new ISimplePropertyListener<ListDiff<E>>() {
 							public void handleEvent(
-									final SimplePropertyEvent<ListDiff<E>> event) {
-								if (!isDisposed() && !updating) {
-									getRealm().exec(new Runnable() {
-										public void run() {
-											if (event.type == SimplePropertyEvent.CHANGE) {
-												modCount++;
-												notifyIfChanged(event.diff);
-											} else if (event.type == SimplePropertyEvent.STALE
-													&& !stale) {
-												stale = true;
-												fireStale();
-											}
-										}
-									});
-								}
+									SimplePropertyEvent<ListDiff<E>> event) {
+								if (!isDisposed() && !updating)
+									PropertyObservableUtil.dispatch(getRealm(),
+											event, handler);
 							}
 						});
+				PropertyObservableUtil.reuseEvents(listener);
 			}
 
 			getRealm().exec(new Runnable() {
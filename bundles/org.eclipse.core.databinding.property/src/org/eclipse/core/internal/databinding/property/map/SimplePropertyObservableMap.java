@@ -33,6 +33,7 @@ import org.eclipse.core.databinding.property.IPropertyObservable;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.SimplePropertyEvent;
 import org.eclipse.core.databinding.property.map.SimpleMapProperty;
+import org.eclipse.core.internal.databinding.property.PropertyObservableUtil;
 
 /**
  * @param <S>
@@ -85,26 +86,29 @@ public class SimplePropertyObservableMap<S, K, V> extends
 	protected void firstListenerAdded() {
 		if (!isDisposed()) {
 			if (listener == null) {
+				final ISimplePropertyListener<MapDiff<K, V>> handler = new ISimplePropertyListener<MapDiff<K, V>>() {
+					public void handleEvent(
+							SimplePropertyEvent<MapDiff<K, V>> event) {
+						if (event.type == SimplePropertyEvent.CHANGE) {
+							modCount++;
+							notifyIfChanged(event.diff);
+						} else if (event.type == SimplePropertyEvent.STALE
+								&& !stale) {
+							stale = true;
+							fireStale();
+						}
+					}
+				};
 				listener = property
 						.adaptListener(new ISimplePropertyListener<MapDiff<K, V>>() {
 							public void handleEvent(
-									final SimplePropertyEvent<MapDiff<K, V>> event) {
-								if (!isDisposed() && !updating) {
-									getRealm().exec(new Runnable() {
-										public void run() {
-											if (event.type == SimplePropertyEvent.CHANGE) {
-												modCount++;
-												notifyIfChanged(event.diff);
-											} else if (event.type == SimplePropertyEvent.STALE
-													&& !stale) {
-												stale = true;
-												fireStale();
-											}
-										}
-									});
-								}
+									SimplePropertyEvent<MapDiff<K, V>> event) {
+								if (!isDisposed() && !updating)
+									PropertyObservableUtil.dispatch(getRealm(),
+											event, handler);
 							}
 						});
+				PropertyObservableUtil.reuseEvents(listener);
 			}
 
 			getRealm().exec(new Runnable() {
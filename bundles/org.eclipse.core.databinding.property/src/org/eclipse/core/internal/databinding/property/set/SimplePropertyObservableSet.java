@@ -28,6 +28,7 @@ import org.eclipse.core.databinding.property.IPropertyObservable;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.SimplePropertyEvent;
 import org.eclipse.core.databinding.property.set.SimpleSetProperty;
+import org.eclipse.core.internal.databinding.property.PropertyObservableUtil;
 
 /**
  * @param <S>
@@ -66,26 +67,29 @@ public class SimplePropertyObservableSet<S, E> extends AbstractObservableSet<E>
 	protected void firstListenerAdded() {
 		if (!isDisposed()) {
 			if (listener == null) {
+				final ISimplePropertyListener<SetDiff<E>> handler = new ISimplePropertyListener<SetDiff<E>>() {
+					public void handleEvent(
+							SimplePropertyEvent<SetDiff<E>> event) {
+						if (event.type == SimplePropertyEvent.CHANGE) {
+							modCount++;
+							notifyIfChanged(event.diff);
+						} else if (event.type == SimplePropertyEvent.STALE
+								&& !stale) {
+							stale = true;
+							fireStale();
+						}
+					}
+				};
 				listener = property
 						.adaptListener(new ISimplePropertyListener<SetDiff<E>>() {
 							public void handleEvent(
-									final SimplePropertyEvent<SetDiff<E>> event) {
-								if (!isDisposed() && !updating) {
-									getRealm().exec(new Runnable() {
-										public void run() {
-											if (event.type == SimplePropertyEvent.CHANGE) {
-												modCount++;
-												notifyIfChanged(event.diff);
-											} else if (event.type == SimplePropertyEvent.STALE
-													&& !stale) {
-												stale = true;
-												fireStale();
-											}
-										}
-									});
-								}
+									SimplePropertyEvent<SetDiff<E>> event) {
+								if (!isDisposed() && !updating)
+									PropertyObservableUtil.dispatch(getRealm(),
+											event, handler);
 							}
 						});
+				PropertyObservableUtil.reuseEvents(listener);
 			}
 
 			getRealm().exec(new Runnable() {
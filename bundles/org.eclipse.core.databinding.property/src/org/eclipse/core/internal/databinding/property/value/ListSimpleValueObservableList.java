@@ -40,9 +40,10 @@ import org.eclipse.core.databinding.property.IPropertyObservable;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.SimplePropertyEvent;
 import org.eclipse.core.databinding.property.value.SimpleValueProperty;
-import org.eclipse.core.internal.databinding.identity.IdentityMap;
+import org.eclipse.core.internal.databinding.identity.CompactIdentityMap;
+import org.eclipse.core.internal.databinding.identity.CompactIdentitySet;
 import org.eclipse.core.internal.databinding.identity.IdentityObservableSet;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
+import org.eclipse.core.internal.databinding.property.PropertyObservableUtil;
 import org.eclipse.core.internal.databinding.property.Util;
 
 /**
@@ -76,7 +77,7 @@ public class ListSimpleValueObservableList<S, M extends S, T> extends
 		}
 
 		private void updateKnownElements() {
-			Set<M> identityKnownElements = new IdentitySet<M>(masterList);
+			Set<M> identityKnownElements = new CompactIdentitySet<M>(masterList);
 			knownMasterElements.retainAll(identityKnownElements);
 			knownMasterElements.addAll(identityKnownElements);
 		}
@@ -116,28 +117,28 @@ public class ListSimpleValueObservableList<S, M extends S, T> extends
 		this.masterList = masterList;
 		this.detailProperty = valueProperty;
 
-		ISimplePropertyListener<ValueDiff<T>> listener = new ISimplePropertyListener<ValueDiff<T>>() {
-			public void handleEvent(
-					final SimplePropertyEvent<ValueDiff<T>> event) {
-				if (!isDisposed() && !updating) {
-					getRealm().exec(new Runnable() {
-						public void run() {
-							@SuppressWarnings("unchecked")
-							M source = (M) event.getSource();
-							if (event.type == SimplePropertyEvent.CHANGE) {
-								notifyIfChanged(source);
-							} else if (event.type == SimplePropertyEvent.STALE) {
-								boolean wasStale = !staleElements.isEmpty();
-								staleElements.add(source);
-								if (!wasStale)
-									fireStale();
-							}
-						}
-					});
+		final ISimplePropertyListener<ValueDiff<T>> handler = new ISimplePropertyListener<ValueDiff<T>>() {
+			public void handleEvent(SimplePropertyEvent<ValueDiff<T>> event) {
+				@SuppressWarnings("unchecked")
+				M source = (M) event.getSource();
+				if (event.type == SimplePropertyEvent.CHANGE) {
+					notifyIfChanged(source);
+				} else if (event.type == SimplePropertyEvent.STALE) {
+					boolean wasStale = !staleElements.isEmpty();
+					staleElements.add(source);
+					if (!wasStale)
+						fireStale();
 				}
 			}
 		};
+		ISimplePropertyListener<ValueDiff<T>> listener = new ISimplePropertyListener<ValueDiff<T>>() {
+			public void handleEvent(SimplePropertyEvent<ValueDiff<T>> event) {
+				if (!isDisposed() && !updating)
+					PropertyObservableUtil.dispatch(getRealm(), event, handler);
+			}
+		};
 		this.detailListener = detailProperty.adaptListener(listener);
+		PropertyObservableUtil.reuseEvents(detailListener);
 	}
 
 	protected void firstListenerAdded() {
@@ -148,25 +149,26 @@ public class ListSimpleValueObservableList<S, M extends S, T> extends
 			ObservableTracker.setIgnore(false);
 		}
 
-		cachedValues = new IdentityMap<M, T>();
-		staleElements = new IdentitySet<M>();
+		cachedValues = new CompactIdentityMap<M, T>();
+		staleElements = new CompactIdentitySet<M>();
 		knownMasterElements.addSetChangeListener(new ISetChangeListener<M>() {
 			public void handleSetChange(SetChangeEvent<M> event) {
-				for (Iterator<? extends M> it = event.diff.getRemovals()
-						.iterator(); it.hasNext();) {
+				Set<? extends M> removals = event.diff.getRemovals();
+				PropertyObservableUtil.removeListenerFrom(detailListener,
+						removals);
+				for (Iterator<? extends M> it = removals.iterator(); it
+						.hasNext();) {
 					M key = it.next();
-					if (detailListener != null)
-						detailListener.removeFrom(key);
 					cachedValues.remove(key);
 					staleElements.remove(key);
 				}
-				for (Iterator<? extends M> it = event.diff.getAdditions()
-						.iterator(); it.hasNext();) {
+				Set<? extends M> additions = event.diff.getAdditions();
+				for (Iterator<? extends M> it = additions.iterator(); it
+						.hasNext();) {
 					M key = it.next();
 					cachedValues.put(key, detailProperty.getValue(key));
-					if (detailListener != null)
-						detailListener.addTo(key);
 				}
+				PropertyObservableUtil.addListenerTo(detailListener, additions);
 			}
 		});
 		getRealm().exec(new Runnable() {
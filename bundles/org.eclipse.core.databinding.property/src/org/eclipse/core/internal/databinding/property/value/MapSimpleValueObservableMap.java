@@ -14,9 +14,10 @@
 package org.eclipse.core.internal.databinding.property.value;
 
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,9 +39,10 @@ import org.eclipse.core.databinding.property.IPropertyObservable;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.SimplePropertyEvent;
 import org.eclipse.core.databinding.property.value.SimpleValueProperty;
-import org.eclipse.core.internal.databinding.identity.IdentityMap;
+import org.eclipse.core.internal.databinding.identity.CompactIdentityMap;
+import org.eclipse.core.internal.databinding.identity.CompactIdentitySet;
 import org.eclipse.core.internal.databinding.identity.IdentityObservableSet;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
+import org.eclipse.core.internal.databinding.property.PropertyObservableUtil;
 import org.eclipse.core.internal.databinding.property.Util;
 
 /**
@@ -65,6 +67,18 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 	private Map<I, V> cachedValues;
 	private Set<I> staleMasterValues;
 
+	/**
+	 * The maximum number of observed master values in lazy mode, or 0 if all
+	 * master values are observed.
+	 */
+	private final int maximumObservedKeys;
+
+	/**
+	 * The master values observed in lazy mode, replacing
+	 * {@link #cachedValues}.
+	 */
+	private ObservedKeyCache<I, V> observedKeys;
+
 	private boolean updating = false;
 
 	private IMapChangeListener<K, I> masterListener = new IMapChangeListener<K, I>() {
@@ -77,48 +91,39 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 		}
 
 		private void updateKnownValues() {
-			Set<I> knownValues = new IdentitySet<I>(masterMap.values());
+			Set<I> knownValues = new CompactIdentitySet<I>(masterMap.values());
 			knownMasterValues.retainAll(knownValues);
 			knownMasterValues.addAll(knownValues);
 		}
 
 		private MapDiff<K, V> convertDiff(MapDiff<? extends K, ? extends I> diff) {
-			Map<K, V> oldValues = new IdentityMap<K, V>();
-			Map<K, V> newValues = new IdentityMap<K, V>();
-
-			Set<K> addedKeys = new HashSet<K>();
-			for (Iterator<? extends K> it = diff.getAddedKeys().iterator(); it
-					.hasNext();) {
-				K key = it.next();
-				I newSource = diff.getNewValue(key);
-				V newValue = detailProperty.getValue(newSource);
-				newValues.put(key, newValue);
-				addedKeys.add(key);
-			}
-
-			Set<K> removedKeys = new HashSet<K>();
-			for (Iterator<? extends K> it = diff.getRemovedKeys().iterator(); it
-					.hasNext();) {
-				K key = it.next();
-				I oldSource = diff.getOldValue(key);
-				V oldValue = detailProperty.getValue(oldSource);
-				oldValues.put(key, oldValue);
-				removedKeys.add(key);
-			}
-
-			Set<K> changedKeys = new IdentitySet<K>(diff.getChangedKeys());
-			for (Iterator<K> it = changedKeys.iterator(); it.hasNext();) {
-				K key = it.next();
-
-				I oldSource = diff.getOldValue(key);
-				I newSource = diff.getNewValue(key);
-
-				V oldValue = detailProperty.getValue(oldSource);
-				V newValue = detailProperty.getValue(newSource);
-
-				if (Util.equals(oldValue, newValue)) {
-					it.remove();
-				} else {
+			// The added and removed keys are the same as in the master diff,
+			// only the values and the changed keys need to be computed
+			Set<K> addedKeys = Collections.unmodifiableSet(diff.getAddedKeys());
+			Set<K> removedKeys = Collections.unmodifiableSet(diff
+					.getRemovedKeys());
+			Set<? extends K> masterChangedKeys = diff.getChangedKeys();
+
+			Map<K, V> oldValues = new CompactIdentityMap<K, V>(
+					removedKeys.size() + masterChangedKeys.size());
+			Map<K, V> newValues = new CompactIdentityMap<K, V>(
+					addedKeys.size() + masterChangedKeys.size());
+			Set<K> changedKeys = new CompactIdentitySet<K>(
+					masterChangedKeys.size());
+
+			for (K key : addedKeys)
+				newValues.put(key,
+						detailProperty.getValue(diff.getNewValue(key)));
+
+			for (K key : removedKeys)
+				oldValues.put(key,
+						detailProperty.getValue(diff.getOldValue(key)));
+
+			for (K key : masterChangedKeys) {
+				V oldValue = detailProperty.getValue(diff.getOldValue(key));
+				V newValue = detailProperty.getValue(diff.getNewValue(key));
+				if (!Util.equals(oldValue, newValue)) {
+					changedKeys.add(key);
 					oldValues.put(key, oldValue);
 					newValues.put(key, newValue);
 				}
@@ -143,33 +148,54 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 	 */
 	public MapSimpleValueObservableMap(IObservableMap<K, I> map,
 			SimpleValueProperty<S, V> valueProperty) {
+		this(map, valueProperty, 0);
+	}
+
+	/**
+	 * Constructs a map which, if <code>maximumObservedKeys</code> is
+	 * positive, reads the detail value of a master value and listens to its
+	 * changes only once the value of one of its keys is requested through
+	 * {@link #get(Object)}. At most <code>maximumObservedKeys</code> master
+	 * values are observed, the least recently read ones are no longer observed
+	 * when more values are read.
+	 * 
+	 * @param map
+	 * @param valueProperty
+	 * @param maximumObservedKeys
+	 *            the maximum number of observed master values, or 0 to observe
+	 *            all master values
+	 * @since 1.5
+	 */
+	public MapSimpleValueObservableMap(IObservableMap<K, I> map,
+			SimpleValueProperty<S, V> valueProperty, int maximumObservedKeys) {
 		super(map.getRealm());
 		this.masterMap = map;
 		this.detailProperty = valueProperty;
-
-		ISimplePropertyListener<ValueDiff<V>> listener = new ISimplePropertyListener<ValueDiff<V>>() {
-			public void handleEvent(
-					final SimplePropertyEvent<ValueDiff<V>> event) {
-				if (!isDisposed() && !updating) {
-					getRealm().exec(new Runnable() {
-						public void run() {
-							// TODO should we type the source, too?
-							@SuppressWarnings("unchecked")
-							I source = (I) event.getSource();
-							if (event.type == SimplePropertyEvent.CHANGE) {
-								notifyIfChanged(source);
-							} else if (event.type == SimplePropertyEvent.STALE) {
-								boolean wasStale = !staleMasterValues.isEmpty();
-								staleMasterValues.add(source);
-								if (!wasStale)
-									fireStale();
-							}
-						}
-					});
+		this.maximumObservedKeys = maximumObservedKeys;
+
+		final ISimplePropertyListener<ValueDiff<V>> handler = new ISimplePropertyListener<ValueDiff<V>>() {
+			public void handleEvent(SimplePropertyEvent<ValueDiff<V>> event) {
+				// TODO should we type the source, too?
+				@SuppressWarnings("unchecked")
+				I source = (I) event.getSource();
+				if (event.type == SimplePropertyEvent.CHANGE) {
+					notifyIfChanged(source);
+				} else if (event.type == SimplePropertyEvent.STALE) {
+					boolean wasStale = !staleMasterValues.isEmpty();
+					staleMasterValues.add(source);
+					if (!wasStale)
+						fireStale();
 				}
 			}
 		};
+		ISimplePropertyListener<ValueDiff<V>> listener = new ISimplePropertyListener<ValueDiff<V>>() {
+			public void handleEvent(SimplePropertyEvent<ValueDiff<V>> event) {
+				if (!isDisposed() && !updating)
+					PropertyObservableUtil.dispatch(getRealm(), event, handler);
+			}
+		};
 		this.detailListener = detailProperty.adaptListener(listener);
+		PropertyObservableUtil.reuseEvents(detailListener);
 	}
 
 	public Object getKeyType() {
@@ -188,25 +214,44 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 			ObservableTracker.setIgnore(false);
 		}
 
-		cachedValues = new IdentityMap<I, V>();
-		staleMasterValues = new IdentitySet<I>();
+		if (maximumObservedKeys > 0)
+			observedKeys = new ObservedKeyCache<I, V>(maximumObservedKeys);
+		else
+			cachedValues = new CompactIdentityMap<I, V>();
+		staleMasterValues = new CompactIdentitySet<I>();
 		knownMasterValues.addSetChangeListener(new ISetChangeListener<I>() {
 			public void handleSetChange(SetChangeEvent<I> event) {
-				for (Iterator<? extends I> it = event.diff.getRemovals()
-						.iterator(); it.hasNext();) {
+				Set<? extends I> removals = event.diff.getRemovals();
+				if (observedKeys != null) {
+					List<I> unobservedValues = new ArrayList<I>();
+					for (Iterator<? extends I> it = removals.iterator(); it
+							.hasNext();) {
+						I key = it.next();
+						if (observedKeys.remove(key)) {
+							unobservedValues.add(key);
+							staleMasterValues.remove(key);
+						}
+					}
+					PropertyObservableUtil.removeListenerFrom(detailListener,
+							unobservedValues);
+					// In lazy mode master values are observed once read
+					return;
+				}
+				PropertyObservableUtil.removeListenerFrom(detailListener,
+						removals);
+				for (Iterator<? extends I> it = removals.iterator(); it
+						.hasNext();) {
 					I key = it.next();
-					if (detailListener != null)
-						detailListener.removeFrom(key);
 					cachedValues.remove(key);
 					staleMasterValues.remove(key);
 				}
-				for (Iterator<? extends I> it = event.diff.getAdditions()
-						.iterator(); it.hasNext();) {
+				Set<? extends I> additions = event.diff.getAdditions();
+				for (Iterator<? extends I> it = additions.iterator(); it
+						.hasNext();) {
 					I key = it.next();
 					cachedValues.put(key, detailProperty.getValue(key));
-					if (detailListener != null)
-						detailListener.addTo(key);
 				}
+				PropertyObservableUtil.addListenerTo(detailListener, additions);
 			}
 		});
 
@@ -227,8 +272,14 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 			knownMasterValues.dispose();
 			knownMasterValues = null;
 		}
-		cachedValues.clear();
-		cachedValues = null;
+		if (cachedValues != null) {
+			cachedValues.clear();
+			cachedValues = null;
+		}
+		if (observedKeys != null) {
+			observedKeys.clear();
+			observedKeys = null;
+		}
 		staleMasterValues.clear();
 		staleMasterValues = null;
 	}
@@ -302,7 +353,7 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 				updating = false;
 			}
 
-			notifyIfChanged(source);
+			notifyIfChanged(source, oldValue);
 
 			return oldValue;
 		}
@@ -337,7 +388,29 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 	public V get(Object key) {
 		getterCalled();
 
-		return detailProperty.getValue(masterMap.get(key));
+		I masterValue = masterMap.get(key);
+		V value = detailProperty.getValue(masterValue);
+		if (observedKeys != null && masterMap.containsKey(key))
+			observe(masterValue, value);
+		return value;
+	}
+
+	/**
+	 * Starts observing the given master value in lazy mode, or marks it as the
+	 * most recently read one if it is already observed.
+	 */
+	private void observe(I masterValue, V value) {
+		if (observedKeys.touch(masterValue))
+			return;
+		ObservedKeyCache.Node<I, V> evicted = observedKeys.add(masterValue,
+				value);
+		if (detailListener != null)
+			detailListener.addTo(masterValue);
+		if (evicted != null) {
+			if (detailListener != null)
+				detailListener.removeFrom(evicted.key);
+			staleMasterValues.remove(evicted.key);
+		}
 	}
 
 	public V put(K key, V value) {
@@ -346,7 +419,7 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 		I masterValue = masterMap.get(key);
 		V oldValue = detailProperty.getValue(masterValue);
 		detailProperty.setValue(masterValue, value);
-		notifyIfChanged(masterValue);
+		notifyIfChanged(masterValue, oldValue);
 		return oldValue;
 	}
 
@@ -362,43 +435,69 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 	}
 
 	private void notifyIfChanged(I masterValue) {
-		if (cachedValues != null) {
-			final Set<K> keys = keysFor(masterValue);
+		V oldValue;
+		if (cachedValues != null)
+			oldValue = cachedValues.get(masterValue);
+		else if (observedKeys != null && observedKeys.contains(masterValue))
+			oldValue = observedKeys.get(masterValue);
+		else
+			return;
+
+		V newValue = detailProperty.getValue(masterValue);
+
+		if (!Util.equals(oldValue, newValue)
+				|| staleMasterValues.contains(masterValue)) {
+			if (cachedValues != null)
+				cachedValues.put(masterValue, newValue);
+			else
+				observedKeys.set(masterValue, newValue);
+			staleMasterValues.remove(masterValue);
+			fireChange(masterValue, oldValue, newValue);
+		}
+	}
 
-			final V oldValue = cachedValues.get(masterValue);
-			final V newValue = detailProperty.getValue(masterValue);
+	/**
+	 * Notifies the change of a detail value set through this map. In lazy
+	 * mode, the old value of a master value which is not observed is not
+	 * cached, so the given old value is compared instead.
+	 */
+	private void notifyIfChanged(I masterValue, V oldValue) {
+		if (observedKeys != null && !observedKeys.contains(masterValue)) {
+			V newValue = detailProperty.getValue(masterValue);
+			if (!Util.equals(oldValue, newValue))
+				fireChange(masterValue, oldValue, newValue);
+		} else {
+			notifyIfChanged(masterValue);
+		}
+	}
 
-			if (!Util.equals(oldValue, newValue)
-					|| staleMasterValues.contains(masterValue)) {
-				cachedValues.put(masterValue, newValue);
-				staleMasterValues.remove(masterValue);
-				fireMapChange(new MapDiff<K, V>() {
-					public Set<K> getAddedKeys() {
-						return Collections.emptySet();
-					}
+	private void fireChange(I masterValue, final V oldValue, final V newValue) {
+		final Set<K> keys = keysFor(masterValue);
+		fireMapChange(new MapDiff<K, V>() {
+			public Set<K> getAddedKeys() {
+				return Collections.emptySet();
+			}
 
-					public Set<K> getChangedKeys() {
-						return keys;
-					}
+			public Set<K> getChangedKeys() {
+				return keys;
+			}
 
-					public Set<K> getRemovedKeys() {
-						return Collections.emptySet();
-					}
+			public Set<K> getRemovedKeys() {
+				return Collections.emptySet();
+			}
 
-					public V getNewValue(Object key) {
-						return newValue;
-					}
+			public V getNewValue(Object key) {
+				return newValue;
+			}
 
-					public V getOldValue(Object key) {
-						return oldValue;
-					}
-				});
+			public V getOldValue(Object key) {
+				return oldValue;
 			}
-		}
+		});
 	}
 
 	private Set<K> keysFor(I value) {
-		Set<K> keys = new IdentitySet<K>();
+		Set<K> keys = new CompactIdentitySet<K>();
 
 		for (Map.Entry<K, I> entry : masterMap.entrySet()) {
 			if (entry.getValue() == value) {
@@ -442,6 +541,7 @@ public class MapSimpleValueObservableMap<S, K, I extends S, V> extends
 		detailListener = null;
 		detailProperty = null;
 		cachedValues = null;
+		observedKeys = null;
 		staleMasterValues = null;
 
 		super.dispose();
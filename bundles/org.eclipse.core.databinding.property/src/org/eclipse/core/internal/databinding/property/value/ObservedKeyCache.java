@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.internal.databinding.property.value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.internal.databinding.identity.CompactIdentityMap;
+
+/**
+ * The cached detail values of the keys observed by a lazy detail map, in the
+ * order they were last read. Keys are compared by identity. When more than the
+ * maximum number of keys are added, the least recently read key is evicted.
+ *
+ * @param <K>
+ *            type of the keys
+ * @param <V>
+ *            type of the cached values
+ * @since 1.5
+ */
+class ObservedKeyCache<K, V> {
+	private final int maximumSize;
+
+	private final CompactIdentityMap<K, Node<K, V>> nodes;
+
+	/**
+	 * The most recently read key, whose node links to the less recently read
+	 * ones.
+	 */
+	private Node<K, V> head;
+
+	private Node<K, V> tail;
+
+	/**
+	 * @param maximumSize
+	 *            the maximum number of observed keys
+	 */
+	ObservedKeyCache(int maximumSize) {
+		this.maximumSize = maximumSize;
+		this.nodes = new CompactIdentityMap<K, Node<K, V>>(Math.min(
+				maximumSize, 1024));
+	}
+
+	boolean contains(K key) {
+		return nodes.containsKey(key);
+	}
+
+	/**
+	 * Marks the given key as the most recently read one.
+	 *
+	 * @return whether the key is observed
+	 */
+	boolean touch(K key) {
+		Node<K, V> node = nodes.get(key);
+		if (node == null)
+			return false;
+		if (node != head) {
+			unlink(node);
+			linkFirst(node);
+		}
+		return true;
+	}
+
+	/**
+	 * @return the cached value of the given key, or <code>null</code> if the
+	 *         key is not observed
+	 */
+	V get(K key) {
+		Node<K, V> node = nodes.get(key);
+		return node == null ? null : node.value;
+	}
+
+	/**
+	 * Updates the cached value of an observed key.
+	 */
+	void set(K key, V value) {
+		Node<K, V> node = nodes.get(key);
+		if (node != null)
+			node.value = value;
+	}
+
+	/**
+	 * Adds the given key as the most recently read one.
+	 *
+	 * @return the evicted key, or <code>null</code> if no key was evicted
+	 */
+	Node<K, V> add(K key, V value) {
+		Node<K, V> node = new Node<K, V>(key, value);
+		nodes.put(key, node);
+		linkFirst(node);
+		if (nodes.size() <= maximumSize)
+			return null;
+		Node<K, V> eldest = tail;
+		unlink(eldest);
+		nodes.remove(eldest.key);
+		return eldest;
+	}
+
+	/**
+	 * @return whether the key was observed
+	 */
+	boolean remove(K key) {
+		Node<K, V> node = nodes.remove(key);
+		if (node == null)
+			return false;
+		unlink(node);
+		return true;
+	}
+
+	int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * @return the observed keys, from the most to the least recently read one
+	 */
+	List<K> keys() {
+		List<K> keys = new ArrayList<K>(nodes.size());
+		for (Node<K, V> node = head; node != null; node = node.next)
+			keys.add(node.key);
+		return keys;
+	}
+
+	void clear() {
+		nodes.clear();
+		head = tail = null;
+	}
+
+	private void linkFirst(Node<K, V> node) {
+		node.previous = null;
+		node.next = head;
+		if (head != null)
+			head.previous = node;
+		head = node;
+		if (tail == null)
+			tail = node;
+	}
+
+	private void unlink(Node<K, V> node) {
+		if (node.previous != null)
+			node.previous.next = node.next;
+		else
+			head = node.next;
+		if (node.next != null)
+			node.next.previous = node.previous;
+		else
+			tail = node.previous;
+		node.previous = node.next = null;
+	}
+
+	static final class Node<K, V> {
+		final K key;
+
+		V value;
+
+		Node<K, V> previous;
+
+		Node<K, V> next;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+}
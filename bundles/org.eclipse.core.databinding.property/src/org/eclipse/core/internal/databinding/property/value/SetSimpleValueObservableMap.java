@@ -13,6 +13,10 @@
 
 package org.eclipse.core.internal.databinding.property.value;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,8 +29,9 @@ import org.eclipse.core.databinding.property.IPropertyObservable;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.SimplePropertyEvent;
 import org.eclipse.core.databinding.property.value.SimpleValueProperty;
-import org.eclipse.core.internal.databinding.identity.IdentityMap;
-import org.eclipse.core.internal.databinding.identity.IdentitySet;
+import org.eclipse.core.internal.databinding.identity.CompactIdentityMap;
+import org.eclipse.core.internal.databinding.identity.CompactIdentitySet;
+import org.eclipse.core.internal.databinding.property.PropertyObservableUtil;
 import org.eclipse.core.internal.databinding.property.Util;
 
 /**
@@ -48,6 +53,17 @@ public class SetSimpleValueObservableMap<S, K extends S, V> extends
 	private Map<K, V> cachedValues;
 	private Set<K> staleKeys;
 
+	/**
+	 * The maximum number of observed keys in lazy mode, or 0 if all keys are
+	 * observed.
+	 */
+	private final int maximumObservedKeys;
+
+	/**
+	 * The keys observed in lazy mode, replacing {@link #cachedValues}.
+	 */
+	private ObservedKeyCache<K, V> observedKeys;
+
 	private boolean updating;
 
 	/**
@@ -56,52 +72,81 @@ public class SetSimpleValueObservableMap<S, K extends S, V> extends
 	 */
 	public SetSimpleValueObservableMap(IObservableSet<K> keySet,
 			SimpleValueProperty<S, V> valueProperty) {
+		this(keySet, valueProperty, 0);
+	}
+
+	/**
+	 * Constructs a map which, if <code>maximumObservedKeys</code> is
+	 * positive, reads the value of a key and listens to its changes only once
+	 * the value is requested through {@link #get(Object)}. At most
+	 * <code>maximumObservedKeys</code> keys are observed, the least recently
+	 * read keys are no longer observed when more keys are read.
+	 * 
+	 * @param keySet
+	 * @param valueProperty
+	 * @param maximumObservedKeys
+	 *            the maximum number of observed keys, or 0 to observe all keys
+	 * @since 1.5
+	 */
+	public SetSimpleValueObservableMap(IObservableSet<K> keySet,
+			SimpleValueProperty<S, V> valueProperty, int maximumObservedKeys) {
 		super(keySet, valueProperty.getValueType());
 		this.detailProperty = valueProperty;
+		this.maximumObservedKeys = maximumObservedKeys;
 	}
 
 	protected void firstListenerAdded() {
 		if (listener == null) {
+			final ISimplePropertyListener<ValueDiff<V>> handler = new ISimplePropertyListener<ValueDiff<V>>() {
+				public void handleEvent(SimplePropertyEvent<ValueDiff<V>> event) {
+					// TODO do we need to type the source as well?
+					@SuppressWarnings("unchecked")
+					K source = (K) event.getSource();
+					if (event.type == SimplePropertyEvent.CHANGE) {
+						notifyIfChanged(source);
+					} else if (event.type == SimplePropertyEvent.STALE) {
+						boolean wasStale = !staleKeys.isEmpty();
+						staleKeys.add(source);
+						if (!wasStale)
+							fireStale();
+					}
+				}
+			};
 			listener = detailProperty
 					.adaptListener(new ISimplePropertyListener<ValueDiff<V>>() {
 						public void handleEvent(
-								final SimplePropertyEvent<ValueDiff<V>> event) {
-							if (!isDisposed() && !updating) {
-								getRealm().exec(new Runnable() {
-									public void run() {
-										// TODO do we need to type the source as
-										// well?
-										@SuppressWarnings("unchecked")
-										K source = (K) event.getSource();
-										if (event.type == SimplePropertyEvent.CHANGE) {
-											notifyIfChanged(source);
-										} else if (event.type == SimplePropertyEvent.STALE) {
-											boolean wasStale = !staleKeys
-													.isEmpty();
-											staleKeys.add(source);
-											if (!wasStale)
-												fireStale();
-										}
-									}
-								});
-							}
+								SimplePropertyEvent<ValueDiff<V>> event) {
+							if (!isDisposed() && !updating)
+								PropertyObservableUtil.dispatch(getRealm(),
+										event, handler);
 						}
 					});
+			PropertyObservableUtil.reuseEvents(listener);
 		}
-		cachedValues = new IdentityMap<K, V>();
-		staleKeys = new IdentitySet<K>();
+		if (maximumObservedKeys > 0)
+			observedKeys = new ObservedKeyCache<K, V>(maximumObservedKeys);
+		else
+			cachedValues = new CompactIdentityMap<K, V>();
+		staleKeys = new CompactIdentitySet<K>();
 		super.firstListenerAdded();
 	}
 
 	protected void lastListenerRemoved() {
 		super.lastListenerRemoved();
-		cachedValues.clear();
-		cachedValues = null;
+		if (cachedValues != null) {
+			cachedValues.clear();
+			cachedValues = null;
+		}
+		if (observedKeys != null) {
+			observedKeys.clear();
+			observedKeys = null;
+		}
 		staleKeys.clear();
 		staleKeys = null;
 	}
 
 	protected void hookListener(K addedKey) {
+		// In lazy mode keys are observed once their value is read
 		if (cachedValues != null) {
 			cachedValues.put(addedKey, detailProperty.getValue(addedKey));
 			if (listener != null)
@@ -115,6 +160,42 @@ public class SetSimpleValueObservableMap<S, K extends S, V> extends
 				listener.removeFrom(removedKey);
 			cachedValues.remove(removedKey);
 			staleKeys.remove(removedKey);
+		} else if (observedKeys != null && observedKeys.remove(removedKey)) {
+			if (listener != null)
+				listener.removeFrom(removedKey);
+			staleKeys.remove(removedKey);
+		}
+	}
+
+	protected void hookListeners(Collection<K> addedKeys) {
+		if (cachedValues != null) {
+			for (Iterator<K> it = addedKeys.iterator(); it.hasNext();) {
+				K addedKey = it.next();
+				cachedValues.put(addedKey, detailProperty.getValue(addedKey));
+			}
+			PropertyObservableUtil.addListenerTo(listener, addedKeys);
+		}
+	}
+
+	protected void unhookListeners(Collection<K> removedKeys) {
+		if (cachedValues != null) {
+			PropertyObservableUtil.removeListenerFrom(listener, removedKeys);
+			for (Iterator<K> it = removedKeys.iterator(); it.hasNext();) {
+				K removedKey = it.next();
+				cachedValues.remove(removedKey);
+				staleKeys.remove(removedKey);
+			}
+		} else if (observedKeys != null) {
+			List<K> unobservedKeys = new ArrayList<K>();
+			for (Iterator<K> it = removedKeys.iterator(); it.hasNext();) {
+				K removedKey = it.next();
+				if (observedKeys.remove(removedKey)) {
+					unobservedKeys.add(removedKey);
+					staleKeys.remove(removedKey);
+				}
+			}
+			PropertyObservableUtil
+					.removeListenerFrom(listener, unobservedKeys);
 		}
 	}
 
@@ -123,7 +204,33 @@ public class SetSimpleValueObservableMap<S, K extends S, V> extends
 		// NOTE/TODO: This is unsafe and may cause ClassCastExceptions in later
 		// code
 		// if this map is queried with keys that are not of type S
-		return detailProperty.getValue((S) key);
+		V value = detailProperty.getValue((S) key);
+		if (observedKeys != null)
+			observe((K) key, value);
+		return value;
+	}
+
+	protected V doGetForKeySetChange(K key) {
+		if (observedKeys != null && observedKeys.contains(key))
+			return observedKeys.get(key);
+		return detailProperty.getValue(key);
+	}
+
+	/**
+	 * Starts observing the given key in lazy mode, or marks it as the most
+	 * recently read key if it is already observed.
+	 */
+	private void observe(K key, V value) {
+		if (observedKeys.touch(key))
+			return;
+		ObservedKeyCache.Node<K, V> evicted = observedKeys.add(key, value);
+		if (listener != null)
+			listener.addTo(key);
+		if (evicted != null) {
+			if (listener != null)
+				listener.removeFrom(evicted.key);
+			staleKeys.remove(evicted.key);
+		}
 	}
 
 	protected V doPut(K key, V value) {
@@ -136,21 +243,45 @@ public class SetSimpleValueObservableMap<S, K extends S, V> extends
 			updating = false;
 		}
 
-		notifyIfChanged(key);
+		notifyIfChanged(key, oldValue);
 
 		return oldValue;
 	}
 
 	private void notifyIfChanged(K key) {
-		if (cachedValues != null) {
-			V oldValue = cachedValues.get(key);
-			V newValue = detailProperty.getValue(key);
-			if (!Util.equals(oldValue, newValue) || staleKeys.contains(key)) {
+		V oldValue;
+		if (cachedValues != null)
+			oldValue = cachedValues.get(key);
+		else if (observedKeys != null && observedKeys.contains(key))
+			oldValue = observedKeys.get(key);
+		else
+			return;
+
+		V newValue = detailProperty.getValue(key);
+		if (!Util.equals(oldValue, newValue) || staleKeys.contains(key)) {
+			if (cachedValues != null)
 				cachedValues.put(key, newValue);
-				staleKeys.remove(key);
+			else
+				observedKeys.set(key, newValue);
+			staleKeys.remove(key);
+			fireMapChange(Diffs.createMapDiffSingleChange(key, oldValue,
+					newValue));
+		}
+	}
+
+	/**
+	 * Notifies the change of a value set through this map. In lazy mode, the
+	 * old value of a key which is not observed is not cached, so the given old
+	 * value is compared instead.
+	 */
+	private void notifyIfChanged(K key, V oldValue) {
+		if (observedKeys != null && !observedKeys.contains(key)) {
+			V newValue = detailProperty.getValue(key);
+			if (!Util.equals(oldValue, newValue))
 				fireMapChange(Diffs.createMapDiffSingleChange(key, oldValue,
 						newValue));
-			}
+		} else {
+			notifyIfChanged(key);
 		}
 	}
 
@@ -171,6 +302,10 @@ public class SetSimpleValueObservableMap<S, K extends S, V> extends
 			cachedValues.clear();
 			cachedValues = null;
 		}
+		if (observedKeys != null) {
+			observedKeys.clear();
+			observedKeys = null;
+		}
 
 		listener = null;
 		detailProperty = null;
@@ -22,6 +22,7 @@ import org.eclipse.core.databinding.property.IPropertyObservable;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.SimplePropertyEvent;
 import org.eclipse.core.databinding.property.value.SimpleValueProperty;
+import org.eclipse.core.internal.databinding.property.PropertyObservableUtil;
 import org.eclipse.core.internal.databinding.property.Util;
 
 /**
@@ -59,25 +60,28 @@ public class SimplePropertyObservableValue<S, T> extends
 	protected void firstListenerAdded() {
 		if (!isDisposed()) {
 			if (listener == null) {
+				final ISimplePropertyListener<ValueDiff<T>> handler = new ISimplePropertyListener<ValueDiff<T>>() {
+					public void handleEvent(
+							SimplePropertyEvent<ValueDiff<T>> event) {
+						if (event.type == SimplePropertyEvent.CHANGE) {
+							notifyIfChanged(event.diff);
+						} else if (event.type == SimplePropertyEvent.STALE
+								&& !stale) {
+							stale = true;
+							fireStale();
+						}
+					}
+				};
 				listener = property
 						.adaptListener(new ISimplePropertyListener<ValueDiff<T>>() {
 							public void handleEvent(
-									final SimplePropertyEvent<ValueDiff<T>> event) {
-								if (!isDisposed() && !updating) {
-									getRealm().exec(new Runnable() {
-										public void run() {
-											if (event.type == SimplePropertyEvent.CHANGE) {
-												notifyIfChanged(event.diff);
-											} else if (event.type == SimplePropertyEvent.STALE
-													&& !stale) {
-												stale = true;
-												fireStale();
-											}
-										}
-									});
-								}
+									SimplePropertyEvent<ValueDiff<T>> event) {
+								if (!isDisposed() && !updating)
+									PropertyObservableUtil.dispatch(getRealm(),
+											event, handler);
 							}
 						});
+				PropertyObservableUtil.reuseEvents(listener);
 			}
 			getRealm().exec(new Runnable() {
 				public void run() {
@@ -21,10 +21,8 @@ import java.util.List;
 import org.eclipse.core.databinding.observable.IObservableCollection;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.value.ComputedValue;
-import org.eclipse.core.databinding.util.Policy;
-import org.eclipse.core.internal.databinding.BindingMessages;
+import org.eclipse.core.internal.databinding.ValidationStatusAggregator;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 
 /**
@@ -58,7 +56,7 @@ public final class AggregateValidationStatus extends ComputedValue<IStatus> {
 	public static final int MAX_SEVERITY = 2;
 
 	private int strategy;
-	private IObservableCollection<? extends ValidationStatusProvider> validationStatusProviders;
+	private ValidationStatusAggregator aggregator;
 
 	/**
 	 * Creates a new aggregate validation status observable for the given data
@@ -108,20 +106,34 @@ public final class AggregateValidationStatus extends ComputedValue<IStatus> {
 			final IObservableCollection<? extends ValidationStatusProvider> validationStatusProviders,
 			int strategy) {
 		super(realm, IStatus.class);
-		this.validationStatusProviders = validationStatusProviders;
+		this.aggregator = new ValidationStatusAggregator(realm,
+				validationStatusProviders);
 		this.strategy = strategy;
 	}
 
 	protected IStatus calculate() {
+		// The aggregator is the only dependency, and updates the statuses of
+		// the providers incrementally while this value is observed
 		IStatus result;
 		if (strategy == MERGED) {
-			result = getStatusMerged(validationStatusProviders);
+			result = aggregator.getStatusMerged();
 		} else {
-			result = getStatusMaxSeverity(validationStatusProviders);
+			result = aggregator.getStatusMaxSeverity();
 		}
 		return result;
 	}
 
+	/**
+	 * @since 1.5
+	 */
+	public synchronized void dispose() {
+		super.dispose();
+		if (aggregator != null) {
+			aggregator.dispose();
+			aggregator = null;
+		}
+	}
+
 	/**
 	 * Returns a status object that merges multiple non-OK status objects in a
 	 * {@link MultiStatus}. Returns an OK status result if all statuses from the
@@ -144,20 +156,7 @@ public final class AggregateValidationStatus extends ComputedValue<IStatus> {
 				statuses.add(status);
 			}
 		}
-		if (statuses.size() == 1) {
-			return statuses.get(0);
-		}
-		if (!statuses.isEmpty()) {
-			MultiStatus result = new MultiStatus(Policy.JFACE_DATABINDING, 0,
-					BindingMessages
-							.getString(BindingMessages.MULTIPLE_PROBLEMS), null);
-			for (Iterator<IStatus> it = statuses.iterator(); it.hasNext();) {
-				IStatus status = it.next();
-				result.merge(status);
-			}
-			return result;
-		}
-		return Status.OK_STATUS;
+		return ValidationStatusAggregator.merge(statuses);
 	}
 
 	/**
@@ -12,7 +12,9 @@
 
 package org.eclipse.core.databinding;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.core.databinding.observable.Diffs;
 import org.eclipse.core.databinding.observable.ObservableTracker;
@@ -20,6 +22,7 @@ import org.eclipse.core.databinding.observable.list.IListChangeListener;
 import org.eclipse.core.databinding.observable.list.IObservableList;
 import org.eclipse.core.databinding.observable.list.ListChangeEvent;
 import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
 import org.eclipse.core.databinding.observable.list.ListDiffVisitor;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
 import org.eclipse.core.databinding.observable.value.WritableValue;
@@ -45,19 +48,28 @@ public class ListBinding<M, T> extends
 	private boolean updatingTarget;
 	private boolean updatingModel;
 
+	private PendingUpdate<T, M> pendingModelUpdate;
+	private PendingUpdate<M, T> pendingTargetUpdate;
+
 	private IListChangeListener<T> targetChangeListener = new IListChangeListener<T>() {
 		public void handleListChange(ListChangeEvent<T> event) {
 			if (!updatingTarget) {
-				doUpdate(getTarget(), getModel(), event.diff, targetToModel,
-						false, false);
+				if (pendingModelUpdate != null)
+					pendingModelUpdate.add(event.diff);
+				else
+					doUpdate(getTarget(), getModel(), event.diff,
+							targetToModel, false, false);
 			}
 		}
 	};
 	private IListChangeListener<M> modelChangeListener = new IListChangeListener<M>() {
 		public void handleListChange(ListChangeEvent<M> event) {
 			if (!updatingModel) {
-				doUpdate(getModel(), getTarget(), event.diff, modelToTarget,
-						false, false);
+				if (pendingTargetUpdate != null)
+					pendingTargetUpdate.add(event.diff);
+				else
+					doUpdate(getModel(), getTarget(), event.diff,
+							modelToTarget, false, false);
 			}
 		}
 	};
@@ -75,11 +87,15 @@ public class ListBinding<M, T> extends
 		this.targetToModel = targetToModelStrategy;
 		this.modelToTarget = modelToTargetStrategy;
 		if ((targetToModel.getUpdatePolicy() & UpdateListStrategy.POLICY_UPDATE) != 0) {
+			pendingModelUpdate = createPendingUpdate(target, model,
+					targetToModel);
 			target.addListChangeListener(targetChangeListener);
 		} else {
 			targetChangeListener = null;
 		}
 		if ((modelToTarget.getUpdatePolicy() & UpdateListStrategy.POLICY_UPDATE) != 0) {
+			pendingTargetUpdate = createPendingUpdate(model, target,
+					modelToTarget);
 			model.addListChangeListener(modelChangeListener);
 		} else {
 			modelChangeListener = null;
@@ -114,6 +130,8 @@ public class ListBinding<M, T> extends
 		final IObservableList<M> modelList = getModel();
 		modelList.getRealm().exec(new Runnable() {
 			public void run() {
+				if (pendingTargetUpdate != null)
+					pendingTargetUpdate.cancel();
 				ListDiff<M> diff = Diffs.computeListDiff(
 						Collections.<M> emptyList(), modelList);
 				doUpdate(modelList, getTarget(), diff, modelToTarget, true,
@@ -126,6 +144,8 @@ public class ListBinding<M, T> extends
 		final IObservableList<T> targetList = getTarget();
 		targetList.getRealm().exec(new Runnable() {
 			public void run() {
+				if (pendingModelUpdate != null)
+					pendingModelUpdate.cancel();
 				ListDiff<T> diff = Diffs.computeListDiff(
 						Collections.<T> emptyList(), targetList);
 				doUpdate(targetList, getModel(), diff, targetToModel, true,
@@ -164,62 +184,26 @@ public class ListBinding<M, T> extends
 						final MultiStatus multiStatus = BindingStatus.ok();
 
 						try {
-							if (clearDestination) {
-								destination.clear();
-							}
-							diff.accept(new ListDiffVisitor<S>() {
-								boolean useMoveAndReplace = updateListStrategy
-										.useMoveAndReplace();
-
-								public void handleAdd(int index, S element) {
-									IStatus setterStatus = updateListStrategy
-											.doAdd(destination,
-													updateListStrategy
-															.convert(element),
-													index);
-
-									mergeStatus(multiStatus, setterStatus);
-								}
-
-								public void handleRemove(int index, S element) {
-									IStatus setterStatus = updateListStrategy
-											.doRemove(destination, index);
-
-									mergeStatus(multiStatus, setterStatus);
-								}
-
-								public void handleMove(int oldIndex,
-										int newIndex, S element) {
-									if (useMoveAndReplace) {
-										IStatus setterStatus = updateListStrategy
-												.doMove(destination, oldIndex,
-														newIndex);
-
-										mergeStatus(multiStatus, setterStatus);
-									} else {
-										super.handleMove(oldIndex, newIndex,
-												element);
-									}
-								}
-
-								public void handleReplace(int index,
-										S oldElement, S newElement) {
-									if (useMoveAndReplace) {
-										// TODO Code change to be reviewed
-										IStatus setterStatus = updateListStrategy
-												.doReplace(
-														destination,
-														index,
-														updateListStrategy
-																.convert(newElement));
-
-										mergeStatus(multiStatus, setterStatus);
-									} else {
-										super.handleReplace(index, oldElement,
-												newElement);
-									}
+							if (updateListStrategy.useBulkUpdates()) {
+								// Fire a single list change event on the
+								// destination for the whole diff
+								destination.getRealm().runBatched(
+										new Runnable() {
+											public void run() {
+												doBulkUpdate(destination,
+														diff,
+														updateListStrategy,
+														clearDestination,
+														multiStatus);
+											}
+										});
+							} else {
+								if (clearDestination) {
+									destination.clear();
 								}
-							});
+								diff.accept(createUpdateVisitor(destination,
+										updateListStrategy, multiStatus));
+							}
 							// TODO - at this point, the two lists will be out
 							// of sync if an error occurred...
 						} finally {
@@ -237,6 +221,178 @@ public class ListBinding<M, T> extends
 		}
 	}
 
+	/**
+	 * Applies the given diff to the destination list, adding consecutive
+	 * elements and removing adjacent elements with one call each. The elements
+	 * of a run of additions are converted before any of them is added. The
+	 * remaining differences are applied one by one.
+	 */
+	private <S, D, E extends S> void doBulkUpdate(
+			IObservableList<D> destination, ListDiff<E> diff,
+			UpdateListStrategy<S, D> updateListStrategy,
+			boolean clearDestination, MultiStatus multiStatus) {
+		if (clearDestination && !destination.isEmpty()) {
+			mergeStatus(multiStatus, updateListStrategy.doRemoveRange(
+					destination, 0, destination.size()));
+		}
+
+		ListDiffVisitor<S> visitor = createUpdateVisitor(destination,
+				updateListStrategy, multiStatus);
+		List<ListDiffEntry<E>> differences = diff.getDifferencesAsList();
+		List<ListDiffEntry<E>> singles = new ArrayList<ListDiffEntry<E>>();
+		int size = differences.size();
+		for (int i = 0; i < size;) {
+			ListDiffEntry<E> entry = differences.get(i);
+			boolean addition = entry.isAddition();
+			int position = entry.getPosition();
+			int end = i + 1;
+			while (end < size) {
+				ListDiffEntry<E> next = differences.get(end);
+				// Added elements follow each other, removed elements are
+				// removed from the same position
+				int expected = addition ? position + end - i : position;
+				if (next.isAddition() != addition
+						|| next.getPosition() != expected)
+					break;
+				end++;
+			}
+
+			if (end - i == 1) {
+				singles.add(entry);
+				i++;
+				continue;
+			}
+
+			if (!singles.isEmpty()) {
+				Diffs.createListDiff(singles).accept(visitor);
+				singles = new ArrayList<ListDiffEntry<E>>();
+			}
+			if (addition) {
+				List<D> elements = new ArrayList<D>(end - i);
+				for (int j = i; j < end; j++)
+					elements.add(updateListStrategy.convert(differences.get(j)
+							.getElement()));
+				mergeStatus(multiStatus, updateListStrategy.doAddAll(
+						destination, elements, position));
+			} else {
+				mergeStatus(multiStatus, updateListStrategy.doRemoveRange(
+						destination, position, position + end - i));
+			}
+			i = end;
+		}
+		if (!singles.isEmpty()) {
+			Diffs.createListDiff(singles).accept(visitor);
+		}
+	}
+
+	private <S, D> ListDiffVisitor<S> createUpdateVisitor(
+			final IObservableList<D> destination,
+			final UpdateListStrategy<S, D> updateListStrategy,
+			final MultiStatus multiStatus) {
+		return new ListDiffVisitor<S>() {
+			boolean useMoveAndReplace = updateListStrategy.useMoveAndReplace();
+
+			public void handleAdd(int index, S element) {
+				IStatus setterStatus = updateListStrategy.doAdd(destination,
+						updateListStrategy.convert(element), index);
+
+				mergeStatus(multiStatus, setterStatus);
+			}
+
+			public void handleRemove(int index, S element) {
+				IStatus setterStatus = updateListStrategy.doRemove(
+						destination, index);
+
+				mergeStatus(multiStatus, setterStatus);
+			}
+
+			public void handleMove(int oldIndex, int newIndex, S element) {
+				if (useMoveAndReplace) {
+					IStatus setterStatus = updateListStrategy.doMove(
+							destination, oldIndex, newIndex);
+
+					mergeStatus(multiStatus, setterStatus);
+				} else {
+					super.handleMove(oldIndex, newIndex, element);
+				}
+			}
+
+			public void handleReplace(int index, S oldElement, S newElement) {
+				if (useMoveAndReplace) {
+					// TODO Code change to be reviewed
+					IStatus setterStatus = updateListStrategy.doReplace(
+							destination, index,
+							updateListStrategy.convert(newElement));
+
+					mergeStatus(multiStatus, setterStatus);
+				} else {
+					super.handleReplace(index, oldElement, newElement);
+				}
+			}
+		};
+	}
+
+	private <S, D> PendingUpdate<S, D> createPendingUpdate(
+			IObservableList<S> source, IObservableList<D> destination,
+			UpdateListStrategy<S, D> updateListStrategy) {
+		PendingUpdate<S, D> pendingUpdate = new PendingUpdate<S, D>(source,
+				destination, updateListStrategy);
+		pendingUpdate.scheduledUpdate = updateListStrategy
+				.createScheduledUpdate(source.getRealm(), pendingUpdate);
+		return pendingUpdate.scheduledUpdate == null ? null : pendingUpdate;
+	}
+
+	/**
+	 * The changes of a source list not applied to the destination yet, while
+	 * automatic updates are delayed by the timing of the strategy.
+	 */
+	private class PendingUpdate<S, D> implements Runnable {
+		private final IObservableList<S> source;
+		private final IObservableList<D> destination;
+		private final UpdateListStrategy<S, D> updateListStrategy;
+		ScheduledUpdate scheduledUpdate;
+		private List<ListDiffEntry<S>> differences = new ArrayList<ListDiffEntry<S>>();
+
+		PendingUpdate(IObservableList<S> source,
+				IObservableList<D> destination,
+				UpdateListStrategy<S, D> updateListStrategy) {
+			this.source = source;
+			this.destination = destination;
+			this.updateListStrategy = updateListStrategy;
+		}
+
+		@SuppressWarnings("unchecked")
+		void add(ListDiff<? extends S> diff) {
+			// Entries only return their element, so they can be widened
+			differences.addAll((List<ListDiffEntry<S>>) (List<?>) diff
+					.getDifferencesAsList());
+			scheduledUpdate.schedule();
+		}
+
+		void cancel() {
+			scheduledUpdate.cancel();
+			differences.clear();
+		}
+
+		public void run() {
+			if (isDisposed() || differences.isEmpty())
+				return;
+			List<ListDiffEntry<S>> diff = differences;
+			differences = new ArrayList<ListDiffEntry<S>>();
+			doUpdate(source, destination, Diffs.createListDiff(diff),
+					updateListStrategy, false, false);
+		}
+	}
+
+	private void cancelPendingUpdate(
+			final PendingUpdate<?, ?> pendingUpdate, IObservableList<?> source) {
+		source.getRealm().exec(new Runnable() {
+			public void run() {
+				pendingUpdate.cancel();
+			}
+		});
+	}
+
 	/**
 	 * Merges the provided <code>newStatus</code> into the
 	 * <code>multiStatus</code>.
@@ -251,6 +407,14 @@ public class ListBinding<M, T> extends
 	}
 
 	public void dispose() {
+		if (pendingModelUpdate != null) {
+			cancelPendingUpdate(pendingModelUpdate, getTarget());
+			pendingModelUpdate = null;
+		}
+		if (pendingTargetUpdate != null) {
+			cancelPendingUpdate(pendingTargetUpdate, getModel());
+			pendingTargetUpdate = null;
+		}
 		if (targetChangeListener != null) {
 			getTarget().removeListChangeListener(targetChangeListener);
 			targetChangeListener = null;
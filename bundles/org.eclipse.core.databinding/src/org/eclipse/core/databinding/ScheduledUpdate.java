@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Runs the automatic updates of a binding in one direction according to the
+ * timing of its update strategy, using {@link Realm#timerExec(int, Runnable)}
+ * of the source realm. Updates read the source when they run, so changes
+ * made while an update is scheduled are coalesced into it.
+ * <p>
+ * Instances are confined to the source realm.
+ * </p>
+ *
+ * @since 1.5
+ */
+/* package */class ScheduledUpdate {
+	/**
+	 * Timing constant denoting that each change is applied immediately.
+	 */
+	static final int IMMEDIATE = 0;
+
+	/**
+	 * Timing constant denoting that the update runs once the source has not
+	 * changed for the delay.
+	 */
+	static final int DEBOUNCE = 1;
+
+	/**
+	 * Timing constant denoting that the update runs at most once per delay.
+	 */
+	static final int THROTTLE = 2;
+
+	private final Realm realm;
+
+	private final int timing;
+
+	private final int delay;
+
+	private final Runnable update;
+
+	private Task task;
+
+	/**
+	 * The time in nanoseconds the update last ran, only valid if
+	 * {@link #ran} is <code>true</code>.
+	 */
+	private long lastRun;
+
+	private boolean ran;
+
+	/**
+	 * @param realm
+	 *            the source realm
+	 * @param timing
+	 *            {@link #DEBOUNCE} or {@link #THROTTLE}
+	 * @param delay
+	 *            the delay in milliseconds
+	 * @param update
+	 *            the update to run
+	 */
+	ScheduledUpdate(Realm realm, int timing, int delay, Runnable update) {
+		this.realm = realm;
+		this.timing = timing;
+		this.delay = delay;
+		this.update = update;
+	}
+
+	/**
+	 * Notes a change of the source, and runs or schedules the update.
+	 */
+	void schedule() {
+		if (timing == DEBOUNCE) {
+			cancel();
+			task = new Task();
+			realm.timerExec(delay, task);
+			return;
+		}
+
+		if (task != null) {
+			// The scheduled update will read the latest source
+			return;
+		}
+		long elapsed = ran ? (System.nanoTime() - lastRun) / 1000000 : delay;
+		if (elapsed >= delay) {
+			run();
+		} else {
+			task = new Task();
+			realm.timerExec((int) (delay - elapsed), task);
+		}
+	}
+
+	/**
+	 * Cancels the scheduled update, if any.
+	 */
+	void cancel() {
+		if (task != null) {
+			task.cancelled = true;
+			task = null;
+		}
+	}
+
+	private void run() {
+		lastRun = System.nanoTime();
+		ran = true;
+		update.run();
+	}
+
+	private class Task implements Runnable {
+		boolean cancelled;
+
+		public void run() {
+			if (cancelled)
+				return;
+			task = null;
+			ScheduledUpdate.this.run();
+		}
+	}
+}
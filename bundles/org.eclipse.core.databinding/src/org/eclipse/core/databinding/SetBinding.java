@@ -13,8 +13,11 @@
 
 package org.eclipse.core.databinding;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.databinding.observable.Diffs;
 import org.eclipse.core.databinding.observable.ObservableTracker;
@@ -163,35 +166,47 @@ public class SetBinding<M, T> extends
 				} else {
 					updatingModel = true;
 				}
-				MultiStatus multiStatus = BindingStatus.ok();
+				final MultiStatus multiStatus = BindingStatus.ok();
 
 				try {
-					if (clearDestination) {
-						destination.clear();
-					}
+					if (updateSetStrategy.useBulkUpdates()) {
+						// Fire a single set change event on the destination
+						// for the whole diff
+						destination.getRealm().runBatched(new Runnable() {
+							public void run() {
+								doBulkUpdate(destination, diff,
+										updateSetStrategy, clearDestination,
+										multiStatus);
+							}
+						});
+					} else {
+						if (clearDestination) {
+							destination.clear();
+						}
 
-					for (Iterator<? extends S> iterator = diff.getRemovals()
-							.iterator(); iterator.hasNext();) {
-						IStatus setterStatus = updateSetStrategy.doRemove(
-								destination,
-								updateSetStrategy.convert(iterator.next()));
+						for (Iterator<? extends S> iterator = diff
+								.getRemovals().iterator(); iterator.hasNext();) {
+							IStatus setterStatus = updateSetStrategy
+									.doRemove(destination, updateSetStrategy
+											.convert(iterator.next()));
 
-						mergeStatus(multiStatus, setterStatus);
-						// TODO - at this point, the two sets
-						// will be out of sync if an error
-						// occurred...
-					}
+							mergeStatus(multiStatus, setterStatus);
+							// TODO - at this point, the two sets
+							// will be out of sync if an error
+							// occurred...
+						}
 
-					for (Iterator<? extends S> iterator = diff.getAdditions()
-							.iterator(); iterator.hasNext();) {
-						IStatus setterStatus = updateSetStrategy.doAdd(
-								destination,
-								updateSetStrategy.convert(iterator.next()));
+						for (Iterator<? extends S> iterator = diff
+								.getAdditions().iterator(); iterator.hasNext();) {
+							IStatus setterStatus = updateSetStrategy.doAdd(
+									destination, updateSetStrategy
+											.convert(iterator.next()));
 
-						mergeStatus(multiStatus, setterStatus);
-						// TODO - at this point, the two sets
-						// will be out of sync if an error
-						// occurred...
+							mergeStatus(multiStatus, setterStatus);
+							// TODO - at this point, the two sets
+							// will be out of sync if an error
+							// occurred...
+						}
 					}
 				} finally {
 					validationStatusObservable.setValue(multiStatus);
@@ -206,6 +221,38 @@ public class SetBinding<M, T> extends
 		});
 	}
 
+	/**
+	 * Converts the removed and added elements of the given diff in one pass
+	 * each, and removes and adds them with one call each.
+	 */
+	private <S, D> void doBulkUpdate(IObservableSet<D> destination,
+			SetDiff<? extends S> diff, UpdateSetStrategy<S, D> updateSetStrategy,
+			boolean clearDestination, MultiStatus multiStatus) {
+		if (clearDestination) {
+			destination.clear();
+		}
+
+		Set<? extends S> removals = diff.getRemovals();
+		if (!removals.isEmpty()) {
+			List<D> elements = new ArrayList<D>(removals.size());
+			for (Iterator<? extends S> iterator = removals.iterator(); iterator
+					.hasNext();)
+				elements.add(updateSetStrategy.convert(iterator.next()));
+			mergeStatus(multiStatus, updateSetStrategy.doRemoveAll(
+					destination, elements));
+		}
+
+		Set<? extends S> additions = diff.getAdditions();
+		if (!additions.isEmpty()) {
+			List<D> elements = new ArrayList<D>(additions.size());
+			for (Iterator<? extends S> iterator = additions.iterator(); iterator
+					.hasNext();)
+				elements.add(updateSetStrategy.convert(iterator.next()));
+			mergeStatus(multiStatus, updateSetStrategy.doAddAll(destination,
+					elements));
+		}
+	}
+
 	/**
 	 * Merges the provided <code>newStatus</code> into the
 	 * <code>multiStatus</code>.
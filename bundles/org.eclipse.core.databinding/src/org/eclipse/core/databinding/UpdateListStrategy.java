@@ -13,6 +13,8 @@
 
 package org.eclipse.core.databinding;
 
+import java.util.List;
+
 import org.eclipse.core.databinding.conversion.IConverter;
 import org.eclipse.core.databinding.observable.list.IObservableList;
 import org.eclipse.core.databinding.validation.ValidationStatus;
@@ -198,6 +200,43 @@ public class UpdateListStrategy<S, D> extends UpdateStrategy {
 		return this;
 	}
 
+	/**
+	 * Delays automatic updates of the destination until the source has not
+	 * changed for the given number of milliseconds, then updates the
+	 * destination once, applying all changes of the source at once. A delay
+	 * of 0 coalesces the changes made within one turn of the source realm.
+	 * Updates are scheduled with
+	 * {@link org.eclipse.core.databinding.observable.Realm#timerExec(int, Runnable)}
+	 * of the source realm. Explicit updates are not delayed.
+	 * 
+	 * @param delay
+	 *            the delay in milliseconds
+	 * @return the receiver, to enable method call chaining
+	 * @since 1.5
+	 */
+	public UpdateListStrategy<S, D> setDebounce(int delay) {
+		setTiming(ScheduledUpdate.DEBOUNCE, delay);
+		return this;
+	}
+
+	/**
+	 * Limits automatic updates of the destination to at most one per given
+	 * interval. The first change is applied immediately, and the changes made
+	 * during the rest of the interval are applied together when it ends.
+	 * Updates are scheduled with
+	 * {@link org.eclipse.core.databinding.observable.Realm#timerExec(int, Runnable)}
+	 * of the source realm. Explicit updates are not delayed.
+	 * 
+	 * @param interval
+	 *            the minimum time between two updates in milliseconds
+	 * @return the receiver, to enable method call chaining
+	 * @since 1.5
+	 */
+	public UpdateListStrategy<S, D> setThrottle(int interval) {
+		setTiming(ScheduledUpdate.THROTTLE, interval);
+		return this;
+	}
+
 	/**
 	 * Adds the given element at the given index to the given observable list.
 	 * Clients may extend but must call the super implementation.
@@ -315,4 +354,78 @@ public class UpdateListStrategy<S, D> extends UpdateStrategy {
 		}
 		return Status.OK_STATUS;
 	}
+
+	/**
+	 * Returns whether ListBinding should apply the differences of a list change
+	 * in bulk, calling {@link #doAddAll(IObservableList, List, int)} for
+	 * consecutive added elements and
+	 * {@link #doRemoveRange(IObservableList, int, int)} for adjacent removed
+	 * elements, and firing one list change event on the destination for the
+	 * whole change. The default implementation returns true for this class and
+	 * false for subclasses.
+	 * <p>
+	 * As with {@link #useMoveAndReplace()}, this ensures that subclasses which
+	 * extend {@link #doAdd(IObservableList, Object, int)} and
+	 * {@link #doRemove(IObservableList, int)} keep seeing every element. To
+	 * enable bulk updates in subclasses, override this method to return true.
+	 * 
+	 * @return whether ListBinding should apply list changes in bulk
+	 * @since 1.5
+	 */
+	protected boolean useBulkUpdates() {
+		return getClass() == UpdateListStrategy.class;
+	}
+
+	/**
+	 * Adds the given elements at the given index to the given observable list.
+	 * Clients may extend but must call the super implementation.
+	 * 
+	 * @param observableList
+	 * @param elements
+	 * @param index
+	 * @return a status
+	 * @since 1.5
+	 */
+	protected IStatus doAddAll(IObservableList<D> observableList,
+			List<D> elements, int index) {
+		try {
+			observableList.addAll(index, elements);
+		} catch (Exception ex) {
+			return ValidationStatus
+					.error(BindingMessages
+							.getString(BindingMessages.VALUEBINDING_ERROR_WHILE_SETTING_VALUE),
+							ex);
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Removes the elements from <code>fromIndex</code>, inclusive, to
+	 * <code>toIndex</code>, exclusive, from the given observable list. Clients
+	 * may extend but must call the super implementation.
+	 * 
+	 * @param observableList
+	 * @param fromIndex
+	 * @param toIndex
+	 * @return a status
+	 * @since 1.5
+	 */
+	protected IStatus doRemoveRange(IObservableList<D> observableList,
+			int fromIndex, int toIndex) {
+		try {
+			if (fromIndex == 0 && toIndex == observableList.size()) {
+				observableList.clear();
+			} else {
+				// Removing from the end shifts the fewest elements
+				for (int i = toIndex - 1; i >= fromIndex; i--)
+					observableList.remove(i);
+			}
+		} catch (Exception ex) {
+			return ValidationStatus
+					.error(BindingMessages
+							.getString(BindingMessages.VALUEBINDING_ERROR_WHILE_SETTING_VALUE),
+							ex);
+		}
+		return Status.OK_STATUS;
+	}
 }
@@ -13,6 +13,8 @@
 
 package org.eclipse.core.databinding;
 
+import java.util.Collection;
+
 import org.eclipse.core.databinding.conversion.IConverter;
 import org.eclipse.core.databinding.observable.set.IObservableSet;
 import org.eclipse.core.databinding.validation.ValidationStatus;
@@ -236,4 +238,64 @@ public class UpdateSetStrategy<S, D> extends UpdateStrategy {
 		}
 		return Status.OK_STATUS;
 	}
+
+	/**
+	 * Returns whether SetBinding should apply the additions and removals of a
+	 * set change in bulk, calling
+	 * {@link #doRemoveAll(IObservableSet, Collection)} and
+	 * {@link #doAddAll(IObservableSet, Collection)} once each and firing one
+	 * set change event on the destination for the whole change. The default
+	 * implementation returns true for this class and false for subclasses, so
+	 * that subclasses which extend {@link #doAdd(IObservableSet, Object)} and
+	 * {@link #doRemove(IObservableSet, Object)} keep seeing every element. To
+	 * enable bulk updates in subclasses, override this method to return true.
+	 * 
+	 * @return whether SetBinding should apply set changes in bulk
+	 * @since 1.5
+	 */
+	protected boolean useBulkUpdates() {
+		return getClass() == UpdateSetStrategy.class;
+	}
+
+	/**
+	 * Adds the given elements to the given observable set. Clients may extend
+	 * but must call the super implementation.
+	 * 
+	 * @param observableSet
+	 * @param elements
+	 * @return a status
+	 * @since 1.5
+	 */
+	protected <E> IStatus doAddAll(IObservableSet<E> observableSet,
+			Collection<? extends E> elements) {
+		try {
+			observableSet.addAll(elements);
+		} catch (Exception ex) {
+			return ValidationStatus.error(BindingMessages
+					.getString("ValueBinding_ErrorWhileSettingValue"), //$NON-NLS-1$
+					ex);
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Removes the given elements from the given observable set. Clients may
+	 * extend but must call the super implementation.
+	 * 
+	 * @param observableSet
+	 * @param elements
+	 * @return a status
+	 * @since 1.5
+	 */
+	protected <E> IStatus doRemoveAll(IObservableSet<E> observableSet,
+			Collection<?> elements) {
+		try {
+			observableSet.removeAll(elements);
+		} catch (Exception ex) {
+			return ValidationStatus.error(BindingMessages
+					.getString("ValueBinding_ErrorWhileSettingValue"), //$NON-NLS-1$
+					ex);
+		}
+		return Status.OK_STATUS;
+	}
 }
@@ -21,6 +21,7 @@ import java.util.Map;
 import org.eclipse.core.databinding.conversion.IConverter;
 import org.eclipse.core.databinding.conversion.NumberToStringConverter;
 import org.eclipse.core.databinding.conversion.StringToNumberConverter;
+import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.ClassLookupSupport;
 import org.eclipse.core.internal.databinding.Pair;
@@ -39,6 +40,7 @@ import org.eclipse.core.internal.databinding.conversion.ObjectToStringConverter;
 import org.eclipse.core.internal.databinding.conversion.StringToByteConverter;
 import org.eclipse.core.internal.databinding.conversion.StringToCharacterConverter;
 import org.eclipse.core.internal.databinding.conversion.StringToShortConverter;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 
@@ -68,6 +70,17 @@ import com.ibm.icu.text.NumberFormat;
 
 	private static Map<Pair, Object> converterMap;
 
+	/**
+	 * The timing of automatic updates, one of the constants of
+	 * {@link ScheduledUpdate}.
+	 */
+	int timing = ScheduledUpdate.IMMEDIATE;
+
+	/**
+	 * The delay of automatic updates in milliseconds.
+	 */
+	int timingDelay;
+
 	private static Class<?> autoboxed(Class<?> clazz) {
 		if (clazz == Float.TYPE)
 			return Float.class;
@@ -608,6 +621,40 @@ import com.ibm.icu.text.NumberFormat;
 		return null;
 	}
 
+	/**
+	 * Sets when automatic updates are applied, used by the debounce and
+	 * throttle setters of the subclasses.
+	 * 
+	 * @param timing
+	 *            {@link ScheduledUpdate#IMMEDIATE},
+	 *            {@link ScheduledUpdate#DEBOUNCE} or
+	 *            {@link ScheduledUpdate#THROTTLE}
+	 * @param delay
+	 *            the delay in milliseconds, not negative
+	 */
+	void setTiming(int timing, int delay) {
+		Assert.isTrue(delay >= 0, "The delay must not be negative"); //$NON-NLS-1$
+		this.timing = timing;
+		this.timingDelay = delay;
+	}
+
+	/**
+	 * Creates the scheduler of the automatic updates of a binding in one
+	 * direction, according to the timing of this strategy.
+	 * 
+	 * @param realm
+	 *            the source realm
+	 * @param update
+	 *            the update of the destination
+	 * @return the scheduler of automatic updates, or <code>null</code> if they
+	 *         are applied immediately
+	 */
+	ScheduledUpdate createScheduledUpdate(Realm realm, Runnable update) {
+		if (timing == ScheduledUpdate.IMMEDIATE)
+			return null;
+		return new ScheduledUpdate(realm, timing, timingDelay, update);
+	}
+
 	/*
 	 * Default converter implementation, does not perform any conversion.
 	 */
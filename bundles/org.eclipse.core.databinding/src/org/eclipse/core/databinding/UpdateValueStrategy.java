@@ -17,9 +17,11 @@ package org.eclipse.core.databinding;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.eclipse.core.databinding.conversion.IConverter;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.validation.IAsyncValidator;
 import org.eclipse.core.databinding.validation.IValidator;
 import org.eclipse.core.databinding.validation.ValidationStatus;
 import org.eclipse.core.internal.databinding.BindingMessages;
@@ -52,6 +54,7 @@ import org.eclipse.core.internal.databinding.validation.StringToFloatValidator;
 import org.eclipse.core.internal.databinding.validation.StringToIntegerValidator;
 import org.eclipse.core.internal.databinding.validation.StringToLongValidator;
 import org.eclipse.core.internal.databinding.validation.StringToShortValidator;
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 
@@ -161,6 +164,16 @@ public class UpdateValueStrategy<S, D> extends UpdateStrategy {
 	protected IValidator<D> beforeSetValidator;
 	protected IConverter<S, D> converter;
 
+	/**
+	 * @since 1.5
+	 */
+	protected IAsyncValidator<D> asyncValidator;
+
+	/**
+	 * @since 1.5
+	 */
+	protected Executor asyncValidatorExecutor;
+
 	private int updatePolicy;
 
 	private static ValidatorRegistry validatorRegistry = new ValidatorRegistry();
@@ -427,6 +440,68 @@ public class UpdateValueStrategy<S, D> extends UpdateStrategy {
 		return this;
 	}
 
+	/**
+	 * Sets the validator to be invoked on the given executor after the
+	 * converted value has passed the other validators. The binding sets the
+	 * value on the destination and updates its validation status only once the
+	 * asynchronous validation completes, and cancels the validation if the
+	 * source value changes again in the meantime. Validations of different
+	 * bindings run in parallel if the executor provides several threads.
+	 * 
+	 * @param validator
+	 *            the validator, or <code>null</code> to validate synchronously
+	 *            only
+	 * @param executor
+	 *            the executor running the validator
+	 * @return the receiver, to enable method call chaining
+	 * @since 1.5
+	 */
+	public UpdateValueStrategy<S, D> setAsyncValidator(
+			IAsyncValidator<D> validator, Executor executor) {
+		Assert.isTrue(validator == null || executor != null,
+				"An executor is required to run the validator"); //$NON-NLS-1$
+		this.asyncValidator = validator;
+		this.asyncValidatorExecutor = executor;
+		return this;
+	}
+
+	/**
+	 * Delays automatic updates of the destination until the source has not
+	 * changed for the given number of milliseconds, then updates the
+	 * destination once with the latest source value. A delay of 0 coalesces
+	 * the changes made within one turn of the source realm. Updates are
+	 * scheduled with
+	 * {@link org.eclipse.core.databinding.observable.Realm#timerExec(int, Runnable)}
+	 * of the source realm. Explicit updates are not delayed.
+	 * 
+	 * @param delay
+	 *            the delay in milliseconds
+	 * @return the receiver, to enable method call chaining
+	 * @since 1.5
+	 */
+	public UpdateValueStrategy<S, D> setDebounce(int delay) {
+		setTiming(ScheduledUpdate.DEBOUNCE, delay);
+		return this;
+	}
+
+	/**
+	 * Limits automatic updates of the destination to at most one per given
+	 * interval. The first change is applied immediately, and the changes made
+	 * during the rest of the interval are applied together when it ends, with
+	 * the latest source value. Updates are scheduled with
+	 * {@link org.eclipse.core.databinding.observable.Realm#timerExec(int, Runnable)}
+	 * of the source realm. Explicit updates are not delayed.
+	 * 
+	 * @param interval
+	 *            the minimum time between two updates in milliseconds
+	 * @return the receiver, to enable method call chaining
+	 * @since 1.5
+	 */
+	public UpdateValueStrategy<S, D> setThrottle(int interval) {
+		setTiming(ScheduledUpdate.THROTTLE, interval);
+		return this;
+	}
+
 	/**
 	 * Sets the converter to be invoked when converting from the source type to
 	 * the destination type.
@@ -12,6 +12,10 @@
 
 package org.eclipse.core.databinding;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
 import org.eclipse.core.databinding.observable.value.IValueChangeListener;
@@ -38,12 +42,21 @@ class ValueBinding<M, T> extends
 
 	private boolean updatingTarget;
 	private boolean updatingModel;
+	private DeferredSet<T> deferredTargetSet;
+	private DeferredSet<M> deferredModelSet;
+	private AsyncValidation<T> pendingTargetValidation;
+	private AsyncValidation<M> pendingModelValidation;
+	private ScheduledUpdate scheduledModelUpdate;
+	private ScheduledUpdate scheduledTargetUpdate;
 	private IValueChangeListener<T> targetChangeListener = new IValueChangeListener<T>() {
 		public void handleValueChange(ValueChangeEvent<T> event) {
 			if (!updatingTarget
 					&& !Util.equals(event.diff.getOldValue(),
 							event.diff.getNewValue())) {
-				doUpdate(target, model, targetToModel, false, false);
+				if (scheduledModelUpdate != null)
+					scheduledModelUpdate.schedule();
+				else
+					doUpdate(target, model, targetToModel, false, false);
 			}
 		}
 	};
@@ -52,7 +65,10 @@ class ValueBinding<M, T> extends
 			if (!updatingModel
 					&& !Util.equals(event.diff.getOldValue(),
 							event.diff.getNewValue())) {
-				doUpdate(model, target, modelToTarget, false, false);
+				if (scheduledTargetUpdate != null)
+					scheduledTargetUpdate.schedule();
+				else
+					doUpdate(model, target, modelToTarget, false, false);
 			}
 		}
 	};
@@ -73,11 +89,29 @@ class ValueBinding<M, T> extends
 		this.targetToModel = targetToModel;
 		this.modelToTarget = modelToTarget;
 		if ((targetToModel.getUpdatePolicy() & (UpdateValueStrategy.POLICY_CONVERT | UpdateValueStrategy.POLICY_UPDATE)) != 0) {
+			scheduledModelUpdate = targetToModel.createScheduledUpdate(
+					target.getRealm(), new Runnable() {
+						public void run() {
+							if (!isDisposed())
+								doUpdate(target, model,
+										ValueBinding.this.targetToModel,
+										false, false);
+						}
+					});
 			target.addValueChangeListener(targetChangeListener);
 		} else {
 			targetChangeListener = null;
 		}
 		if ((modelToTarget.getUpdatePolicy() & (UpdateValueStrategy.POLICY_CONVERT | UpdateValueStrategy.POLICY_UPDATE)) != 0) {
+			scheduledTargetUpdate = modelToTarget.createScheduledUpdate(
+					model.getRealm(), new Runnable() {
+						public void run() {
+							if (!isDisposed())
+								doUpdate(model, target,
+										ValueBinding.this.modelToTarget,
+										false, false);
+						}
+					});
 			model.addValueChangeListener(modelChangeListener);
 		} else {
 			modelChangeListener = null;
@@ -112,27 +146,28 @@ class ValueBinding<M, T> extends
 	}
 
 	public void updateTargetToModel() {
+		cancelScheduledUpdate(scheduledModelUpdate, target);
 		doUpdate(target, model, targetToModel, true, false);
 	}
 
 	public void updateModelToTarget() {
+		cancelScheduledUpdate(scheduledTargetUpdate, model);
 		doUpdate(model, target, modelToTarget, true, false);
 	}
 
 	/**
-	 * Incorporates the provided <code>newStats</code> into the
-	 * <code>multieStatus</code>.
-	 * 
-	 * @param multiStatus
-	 * @param newStatus
-	 * @return <code>true</code> if the update should proceed
+	 * Cancels the scheduled automatic update, which an explicit update
+	 * supersedes, within the source realm.
 	 */
-	/* package */boolean mergeStatus(MultiStatus multiStatus, IStatus newStatus) {
-		if (!newStatus.isOK()) {
-			multiStatus.add(newStatus);
-			return multiStatus.getSeverity() < IStatus.ERROR;
+	private static void cancelScheduledUpdate(
+			final ScheduledUpdate scheduledUpdate, IObservableValue<?> source) {
+		if (scheduledUpdate != null) {
+			source.getRealm().exec(new Runnable() {
+				public void run() {
+					scheduledUpdate.cancel();
+				}
+			});
 		}
-		return true;
 	}
 
 	/*
@@ -151,81 +186,352 @@ class ValueBinding<M, T> extends
 		if (policy == UpdateValueStrategy.POLICY_ON_REQUEST && !explicit)
 			return;
 
-		source.getRealm().exec(new Runnable() {
-			public void run() {
-				boolean destinationRealmReached = false;
-				final MultiStatus multiStatus = BindingStatus.ok();
-				try {
-					// Get value
-					S value = source.getValue();
-
-					// Validate after get
-					IStatus status = updateValueStrategy
-							.validateAfterGet(value);
-					if (!mergeStatus(multiStatus, status))
-						return;
+		if (source.getRealm().isCurrent()) {
+			// Avoid allocating a runnable for every change
+			doUpdateInSourceRealm(source, destination, updateValueStrategy,
+					policy, explicit, validateOnly);
+		} else {
+			source.getRealm().exec(new Runnable() {
+				public void run() {
+					doUpdateInSourceRealm(source, destination,
+							updateValueStrategy, policy, explicit,
+							validateOnly);
+				}
+			});
+		}
+	}
 
-					// Convert value
-					final D convertedValue = updateValueStrategy.convert(value);
+	/**
+	 * Gets, validates and converts the source value, then sets it directly if
+	 * the destination realm is current, or else defers setting it to the
+	 * destination realm. The status is only allocated once a validation
+	 * returns a status that is not OK, so updates within a single realm that
+	 * pass validation allocate nothing here. If the strategy has an
+	 * asynchronous validator, the value is set and the status is updated once
+	 * it completes.
+	 */
+	private <S, D> void doUpdateInSourceRealm(IObservableValue<S> source,
+			IObservableValue<D> destination,
+			UpdateValueStrategy<S, D> updateValueStrategy, int policy,
+			boolean explicit, boolean validateOnly) {
+		boolean statusDeferred = false;
+		MultiStatus multiStatus = null;
+		if (updateValueStrategy.asyncValidator != null) {
+			// The value changed, so a pending validation is superseded
+			cancelAsyncValidation(destination);
+		}
+		try {
+			// Get value
+			S value = source.getValue();
 
-					// Validate after convert
-					status = updateValueStrategy
-							.validateAfterConvert(convertedValue);
-					if (!mergeStatus(multiStatus, status))
-						return;
-					if (policy == UpdateValueStrategy.POLICY_CONVERT
-							&& !explicit)
-						return;
+			// Validate after get
+			IStatus status = updateValueStrategy.validateAfterGet(value);
+			if (!status.isOK()) {
+				multiStatus = addStatus(multiStatus, status);
+				if (multiStatus.getSeverity() >= IStatus.ERROR)
+					return;
+			}
 
-					// Validate before set
-					status = updateValueStrategy
-							.validateBeforeSet(convertedValue);
-					if (!mergeStatus(multiStatus, status))
-						return;
-					if (validateOnly)
+			// Convert value
+			D convertedValue = updateValueStrategy.convert(value);
+
+			// Validate after convert
+			status = updateValueStrategy.validateAfterConvert(convertedValue);
+			if (!status.isOK()) {
+				multiStatus = addStatus(multiStatus, status);
+				if (multiStatus.getSeverity() >= IStatus.ERROR)
+					return;
+			}
+			boolean convertOnly = policy == UpdateValueStrategy.POLICY_CONVERT
+					&& !explicit;
+
+			if (!convertOnly) {
+				// Validate before set
+				status = updateValueStrategy.validateBeforeSet(convertedValue);
+				if (!status.isOK()) {
+					multiStatus = addStatus(multiStatus, status);
+					if (multiStatus.getSeverity() >= IStatus.ERROR)
 						return;
+				}
+			}
 
-					// Set value
-					destinationRealmReached = true;
-					destination.getRealm().exec(new Runnable() {
-						public void run() {
-							if (destination == target) {
-								updatingTarget = true;
-							} else {
-								updatingModel = true;
-							}
-							try {
-								IStatus setterStatus = updateValueStrategy
-										.doSet(destination, convertedValue);
-
-								mergeStatus(multiStatus, setterStatus);
-							} finally {
-								if (destination == target) {
-									updatingTarget = false;
-								} else {
-									updatingModel = false;
-								}
-								setValidationStatus(multiStatus);
-							}
-						}
-					});
-				} catch (Exception ex) {
-					// This check is necessary as in 3.2.2 Status
-					// doesn't accept a null message (bug 177264).
-					String message = (ex.getMessage() != null) ? ex
-							.getMessage() : ""; //$NON-NLS-1$
-
-					mergeStatus(multiStatus, new Status(IStatus.ERROR,
-							Policy.JFACE_DATABINDING, IStatus.ERROR, message,
-							ex));
-				} finally {
-					if (!destinationRealmReached) {
-						setValidationStatus(multiStatus);
-					}
+			// Validate asynchronously
+			if (updateValueStrategy.asyncValidator != null) {
+				statusDeferred = true;
+				startAsyncValidation(destination, updateValueStrategy,
+						convertedValue, multiStatus, !convertOnly
+								&& !validateOnly);
+				return;
+			}
+			if (convertOnly || validateOnly)
+				return;
+
+			// Set value
+			if (destination.getRealm().isCurrent()) {
+				multiStatus = doSet(destination, updateValueStrategy,
+						convertedValue, multiStatus);
+			} else {
+				statusDeferred = true;
+				DeferredSet<D> deferredSet = getDeferredSet(destination);
+				deferredSet.schedule(convertedValue, multiStatus);
+			}
+		} catch (Exception ex) {
+			statusDeferred = false;
+			multiStatus = addStatus(multiStatus, exceptionStatus(ex));
+		} finally {
+			if (!statusDeferred) {
+				setValidationStatus(multiStatus);
+			}
+		}
+	}
 
+	/**
+	 * @return an error status for the given exception
+	 */
+	private static IStatus exceptionStatus(Throwable ex) {
+		// This check is necessary as in 3.2.2 Status
+		// doesn't accept a null message (bug 177264).
+		String message = (ex.getMessage() != null) ? ex.getMessage() : ""; //$NON-NLS-1$
+
+		return new Status(IStatus.ERROR, Policy.JFACE_DATABINDING,
+				IStatus.ERROR, message, ex);
+	}
+
+	/**
+	 * Sets the value within the destination realm.
+	 * 
+	 * @return the given status with the status of the setter merged into it
+	 */
+	private <D> MultiStatus doSet(IObservableValue<D> destination,
+			UpdateValueStrategy<?, D> updateValueStrategy, D convertedValue,
+			MultiStatus multiStatus) {
+		if (destination == target) {
+			updatingTarget = true;
+		} else {
+			updatingModel = true;
+		}
+		try {
+			IStatus setterStatus = updateValueStrategy.doSet(destination,
+					convertedValue);
+			if (!setterStatus.isOK())
+				multiStatus = addStatus(multiStatus, setterStatus);
+			return multiStatus;
+		} finally {
+			if (destination == target) {
+				updatingTarget = false;
+			} else {
+				updatingModel = false;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <D> DeferredSet<D> getDeferredSet(IObservableValue<D> destination) {
+		synchronized (this) {
+			if (destination == target) {
+				if (deferredTargetSet == null)
+					deferredTargetSet = new DeferredSet<T>(target,
+							modelToTarget);
+				return (DeferredSet<D>) deferredTargetSet;
+			}
+			if (deferredModelSet == null)
+				deferredModelSet = new DeferredSet<M>(model, targetToModel);
+			return (DeferredSet<D>) deferredModelSet;
+		}
+	}
+
+	/**
+	 * Sets values in a realm other than the source realm. While an update is
+	 * queued in the destination realm, later updates replace its value rather
+	 * than queueing another runnable, so a burst of changes results in a
+	 * single set of the latest value.
+	 */
+	private class DeferredSet<D> implements Runnable {
+		private final IObservableValue<D> destination;
+		private final UpdateValueStrategy<?, D> updateValueStrategy;
+
+		private boolean scheduled;
+		private D value;
+		private MultiStatus status;
+
+		DeferredSet(IObservableValue<D> destination,
+				UpdateValueStrategy<?, D> updateValueStrategy) {
+			this.destination = destination;
+			this.updateValueStrategy = updateValueStrategy;
+		}
+
+		void schedule(D value, MultiStatus status) {
+			synchronized (this) {
+				this.value = value;
+				this.status = status;
+				if (scheduled)
+					return;
+				scheduled = true;
+			}
+			destination.getRealm().asyncExec(this);
+		}
+
+		public void run() {
+			D value;
+			MultiStatus status;
+			synchronized (this) {
+				value = this.value;
+				status = this.status;
+				this.value = null;
+				this.status = null;
+				scheduled = false;
+			}
+			if (isDisposed())
+				return;
+			try {
+				status = doSet(destination, updateValueStrategy, value, status);
+			} finally {
+				setValidationStatus(status);
+			}
+		}
+	}
+
+	/**
+	 * Runs the asynchronous validator of the strategy on its executor,
+	 * superseding the pending validation for the destination.
+	 */
+	@SuppressWarnings("unchecked")
+	private <D> void startAsyncValidation(IObservableValue<D> destination,
+			UpdateValueStrategy<?, D> updateValueStrategy, D value,
+			MultiStatus status, boolean set) {
+		AsyncValidation<D> validation = new AsyncValidation<D>(destination,
+				updateValueStrategy, value, status, set);
+		AsyncValidation<?> superseded;
+		synchronized (this) {
+			if (destination == target) {
+				superseded = pendingTargetValidation;
+				pendingTargetValidation = (AsyncValidation<T>) validation;
+			} else {
+				superseded = pendingModelValidation;
+				pendingModelValidation = (AsyncValidation<M>) validation;
+			}
+		}
+		if (superseded != null)
+			superseded.cancel(true);
+		updateValueStrategy.asyncValidatorExecutor.execute(validation);
+	}
+
+	private void cancelAsyncValidation(IObservableValue<?> destination) {
+		AsyncValidation<?> superseded;
+		synchronized (this) {
+			if (destination == target) {
+				superseded = pendingTargetValidation;
+				pendingTargetValidation = null;
+			} else {
+				superseded = pendingModelValidation;
+				pendingModelValidation = null;
+			}
+		}
+		if (superseded != null)
+			superseded.cancel(true);
+	}
+
+	/**
+	 * @return whether the given validation is the pending one of its
+	 *         destination
+	 */
+	private synchronized boolean isPending(AsyncValidation<?> validation) {
+		return validation == pendingTargetValidation
+				|| validation == pendingModelValidation;
+	}
+
+	/**
+	 * Ends the given validation if it is the pending one of its destination.
+	 * 
+	 * @return whether the validation was pending
+	 */
+	private synchronized boolean endPending(AsyncValidation<?> validation) {
+		if (validation == pendingTargetValidation) {
+			pendingTargetValidation = null;
+			return true;
+		}
+		if (validation == pendingModelValidation) {
+			pendingModelValidation = null;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Validates a converted value on the executor of the strategy, then
+	 * completes the update within the destination realm unless a later update
+	 * of the same destination superseded it.
+	 */
+	private class AsyncValidation<D> extends FutureTask<IStatus> {
+		private final IObservableValue<D> destination;
+		private final UpdateValueStrategy<?, D> updateValueStrategy;
+		private final D value;
+		private final MultiStatus status;
+		private final boolean set;
+
+		AsyncValidation(IObservableValue<D> destination,
+				final UpdateValueStrategy<?, D> updateValueStrategy,
+				final D value, MultiStatus status, boolean set) {
+			super(new Callable<IStatus>() {
+				public IStatus call() throws Exception {
+					return updateValueStrategy.asyncValidator.validate(value);
+				}
+			});
+			this.destination = destination;
+			this.updateValueStrategy = updateValueStrategy;
+			this.value = value;
+			this.status = status;
+			this.set = set;
+		}
+
+		protected void done() {
+			if (isCancelled() || !isPending(this))
+				return;
+			destination.getRealm().asyncExec(new Runnable() {
+				public void run() {
+					complete();
+				}
+			});
+		}
+
+		private void complete() {
+			if (isDisposed() || !endPending(this))
+				return;
+			MultiStatus multiStatus = status;
+			try {
+				IStatus validationStatus = get();
+				if (!validationStatus.isOK()) {
+					multiStatus = addStatus(multiStatus, validationStatus);
+					if (multiStatus.getSeverity() >= IStatus.ERROR)
+						return;
 				}
+				if (set)
+					multiStatus = doSet(destination, updateValueStrategy,
+							value, multiStatus);
+			} catch (ExecutionException e) {
+				multiStatus = addStatus(multiStatus, exceptionStatus(e
+						.getCause()));
+			} catch (InterruptedException e) {
+				// The validation is done, so this should not happen; report it
+				// rather than setting an unvalidated value
+				Thread.currentThread().interrupt();
+				multiStatus = addStatus(multiStatus, exceptionStatus(e));
+			} finally {
+				setValidationStatus(multiStatus);
 			}
-		});
+		}
+	}
+
+	/**
+	 * Adds the status to the given multi status, creating it first if it is
+	 * <code>null</code>.
+	 */
+	private static MultiStatus addStatus(MultiStatus multiStatus,
+			IStatus newStatus) {
+		if (multiStatus == null)
+			multiStatus = BindingStatus.ok();
+		multiStatus.add(newStatus);
+		return multiStatus;
 	}
 
 	public void validateModelToTarget() {
@@ -236,15 +542,44 @@ class ValueBinding<M, T> extends
 		doUpdate(target, model, targetToModel, true, true);
 	}
 
-	private void setValidationStatus(final IStatus status) {
+	/**
+	 * @param status
+	 *            the status, or <code>null</code> if all steps of the update
+	 *            returned an OK status
+	 */
+	private void setValidationStatus(MultiStatus status) {
+		if (validationStatusObservable.getRealm().isCurrent()) {
+			// An OK status carries no information, so keep the current one
+			if (status != null
+					|| !isUnchangedOK(validationStatusObservable.getValue()))
+				validationStatusObservable.setValue(status == null ? BindingStatus
+						.ok() : status);
+			return;
+		}
+		final IStatus newStatus = status == null ? BindingStatus.ok() : status;
 		validationStatusObservable.getRealm().exec(new Runnable() {
 			public void run() {
-				validationStatusObservable.setValue(status);
+				validationStatusObservable.setValue(newStatus);
 			}
 		});
 	}
 
+	private static boolean isUnchangedOK(IStatus status) {
+		return status != null && status.getClass() == BindingStatus.class
+				&& status.isOK() && status.getChildren().length == 0;
+	}
+
 	public void dispose() {
+		cancelAsyncValidation(target);
+		cancelAsyncValidation(model);
+		if (scheduledModelUpdate != null) {
+			cancelScheduledUpdate(scheduledModelUpdate, target);
+			scheduledModelUpdate = null;
+		}
+		if (scheduledTargetUpdate != null) {
+			cancelScheduledUpdate(scheduledTargetUpdate, model);
+			scheduledTargetUpdate = null;
+		}
 		if (targetChangeListener != null) {
 			target.removeValueChangeListener(targetChangeListener);
 			targetChangeListener = null;
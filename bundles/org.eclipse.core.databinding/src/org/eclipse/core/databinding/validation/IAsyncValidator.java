@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.databinding.validation;
+
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * A validator which is too expensive to run within a realm, for example
+ * because it matches complex patterns or looks values up in an index. The
+ * binding calls {@link #validate(Object)} on a thread of the executor passed
+ * to
+ * {@link org.eclipse.core.databinding.UpdateValueStrategy#setAsyncValidator(IAsyncValidator, java.util.concurrent.Executor)}
+ * and delivers the returned status back to the binding once the validation
+ * completes. The value is only set on the destination if the status is less
+ * severe than {@link IStatus#ERROR}.
+ * <p>
+ * Implementations must be thread safe and must not access observables. When
+ * the source value changes again before the validation completes, the
+ * validation is cancelled by interrupting its thread, and its result is
+ * ignored. Long running implementations should check
+ * {@link Thread#isInterrupted()} and return early.
+ * </p>
+ *
+ * @param <T>
+ *            type of object being validated
+ * @since 1.5
+ */
+public interface IAsyncValidator<T> extends IValidator<T> {
+
+	/**
+	 * Determines if the given value is valid. This method is called on a
+	 * thread of the executor, outside of any realm.
+	 *
+	 * @param value
+	 *            the value to validate
+	 * @return a status object indicating whether the validation succeeded
+	 *         {@link IStatus#isOK()} or not. Never null.
+	 */
+	public IStatus validate(T value);
+
+}
@@ -0,0 +1,491 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.internal.databinding;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.core.databinding.AggregateValidationStatus;
+import org.eclipse.core.databinding.ValidationStatusProvider;
+import org.eclipse.core.databinding.observable.AbstractObservable;
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.IObservableCollection;
+import org.eclipse.core.databinding.observable.IStaleListener;
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.StaleEvent;
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.set.IObservableSet;
+import org.eclipse.core.databinding.observable.set.ISetChangeListener;
+import org.eclipse.core.databinding.observable.set.SetChangeEvent;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.util.Policy;
+import org.eclipse.core.internal.databinding.identity.CompactIdentityMap;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Status;
+
+/**
+ * Aggregates the validation statuses of an observable collection of
+ * validation status providers incrementally. While this observable has
+ * listeners, it listens to the additions and removals of providers and to the
+ * status of each provider, and keeps the providers with a non-OK status
+ * ordered as in the collection, in total and per severity. A status change
+ * then updates the aggregate in logarithmic time instead of iterating all
+ * providers.
+ * <p>
+ * A change event is fired whenever a non-OK status is added, removed or
+ * replaced. Without listeners, the statuses are aggregated from all providers
+ * on each request.
+ * </p>
+ * <p>
+ * Providers are ordered by the time they were added, which is the order of
+ * the collection as long as providers are only appended to a list. Other
+ * changes of a list reorder all providers. A provider contained more than once
+ * is aggregated once.
+ * </p>
+ *
+ * @since 1.5
+ */
+public class ValidationStatusAggregator extends AbstractObservable {
+	/**
+	 * The number of non-OK severities: info, warning, error and cancel.
+	 */
+	private static final int SEVERITIES = 4;
+
+	private IObservableCollection<? extends ValidationStatusProvider> validationStatusProviders;
+
+	/**
+	 * The entries of the providers, or <code>null</code> if this observable is
+	 * not listening to the providers.
+	 */
+	private Map<ValidationStatusProvider, Entry> entries;
+
+	/**
+	 * The entries with a non-OK status, by their order.
+	 */
+	private TreeMap<Long, Entry> nonOKEntries;
+
+	/**
+	 * The entries with a non-OK status by their order, per severity from info
+	 * to cancel.
+	 */
+	private List<TreeMap<Long, Entry>> entriesBySeverity;
+
+	/**
+	 * The number of elements of the provider collection, counting providers
+	 * contained more than once repeatedly.
+	 */
+	private int size;
+
+	private long nextOrder;
+
+	private int staleCount;
+
+	private IListChangeListener<ValidationStatusProvider> listChangeListener = new IListChangeListener<ValidationStatusProvider>() {
+		public void handleListChange(
+				ListChangeEvent<ValidationStatusProvider> event) {
+			boolean changed = false;
+			for (ListDiffEntry<? extends ValidationStatusProvider> difference : event.diff
+					.getDifferencesAsList()) {
+				if (!difference.isAddition()) {
+					changed |= remove(difference.getElement());
+				} else if (difference.getPosition() == size) {
+					changed |= add(difference.getElement());
+				} else {
+					rebuild();
+					changed = true;
+					break;
+				}
+			}
+			if (changed)
+				fireChange();
+		}
+	};
+
+	private ISetChangeListener<ValidationStatusProvider> setChangeListener = new ISetChangeListener<ValidationStatusProvider>() {
+		public void handleSetChange(SetChangeEvent<ValidationStatusProvider> event) {
+			boolean changed = false;
+			for (Iterator<? extends ValidationStatusProvider> it = event.diff
+					.getRemovals().iterator(); it.hasNext();)
+				changed |= remove(it.next());
+			for (Iterator<? extends ValidationStatusProvider> it = event.diff
+					.getAdditions().iterator(); it.hasNext();)
+				changed |= add(it.next());
+			if (changed)
+				fireChange();
+		}
+	};
+
+	private IChangeListener changeListener = new IChangeListener() {
+		public void handleChange(ChangeEvent event) {
+			rebuild();
+			fireChange();
+		}
+	};
+
+	private IStaleListener staleListener = new IStaleListener() {
+		public void handleStale(StaleEvent staleEvent) {
+			fireStale();
+		}
+	};
+
+	/**
+	 * @param realm
+	 * @param validationStatusProviders
+	 *            an observable collection containing elements of type
+	 *            {@link ValidationStatusProvider}
+	 */
+	public ValidationStatusAggregator(
+			Realm realm,
+			IObservableCollection<? extends ValidationStatusProvider> validationStatusProviders) {
+		super(realm);
+		this.validationStatusProviders = validationStatusProviders;
+	}
+
+	/**
+	 * @return the merged status of the providers, as returned by
+	 *         {@link AggregateValidationStatus#getStatusMerged(java.util.Collection)}
+	 */
+	public IStatus getStatusMerged() {
+		getterCalled();
+		if (entries == null) {
+			ObservableTracker.setIgnore(true);
+			try {
+				return AggregateValidationStatus
+						.getStatusMerged(validationStatusProviders);
+			} finally {
+				ObservableTracker.setIgnore(false);
+			}
+		}
+		List<IStatus> statuses = new ArrayList<IStatus>(nonOKEntries.size());
+		for (Iterator<Entry> it = nonOKEntries.values().iterator(); it
+				.hasNext();)
+			statuses.add(it.next().status);
+		return merge(statuses);
+	}
+
+	/**
+	 * @return the most severe status of the providers, as returned by
+	 *         {@link AggregateValidationStatus#getStatusMaxSeverity(java.util.Collection)}
+	 */
+	public IStatus getStatusMaxSeverity() {
+		getterCalled();
+		if (entries == null) {
+			ObservableTracker.setIgnore(true);
+			try {
+				return AggregateValidationStatus
+						.getStatusMaxSeverity(validationStatusProviders);
+			} finally {
+				ObservableTracker.setIgnore(false);
+			}
+		}
+		for (int i = SEVERITIES - 1; i >= 0; i--) {
+			TreeMap<Long, Entry> severityEntries = entriesBySeverity.get(i);
+			if (!severityEntries.isEmpty())
+				return severityEntries.get(severityEntries.firstKey()).status;
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Merges the given non-OK statuses into a single status.
+	 *
+	 * @param statuses
+	 *            the non-OK statuses
+	 * @return an OK status if the list is empty, the only status if the list
+	 *         contains one status, otherwise a {@link MultiStatus} containing
+	 *         the statuses
+	 */
+	public static IStatus merge(List<IStatus> statuses) {
+		if (statuses.size() == 1) {
+			return statuses.get(0);
+		}
+		if (!statuses.isEmpty()) {
+			MultiStatus result = new MultiStatus(Policy.JFACE_DATABINDING, 0,
+					BindingMessages
+							.getString(BindingMessages.MULTIPLE_PROBLEMS), null);
+			for (Iterator<IStatus> it = statuses.iterator(); it.hasNext();) {
+				IStatus status = it.next();
+				result.merge(status);
+			}
+			return result;
+		}
+		return Status.OK_STATUS;
+	}
+
+	public boolean isStale() {
+		getterCalled();
+		if (validationStatusProviders.isStale())
+			return true;
+		if (entries != null)
+			return staleCount > 0;
+		ObservableTracker.setIgnore(true);
+		try {
+			for (Iterator<? extends ValidationStatusProvider> it = validationStatusProviders
+					.iterator(); it.hasNext();) {
+				if (it.next().getValidationStatus().isStale())
+					return true;
+			}
+		} finally {
+			ObservableTracker.setIgnore(false);
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected void firstListenerAdded() {
+		if (validationStatusProviders == null)
+			return;
+		entries = new CompactIdentityMap<ValidationStatusProvider, Entry>(
+				validationStatusProviders.size());
+		nonOKEntries = new TreeMap<Long, Entry>();
+		entriesBySeverity = new ArrayList<TreeMap<Long, Entry>>(SEVERITIES);
+		for (int i = 0; i < SEVERITIES; i++)
+			entriesBySeverity.add(new TreeMap<Long, Entry>());
+
+		// The listeners only read the elements of the collection
+		if (validationStatusProviders instanceof IObservableList)
+			((IObservableList<ValidationStatusProvider>) validationStatusProviders)
+					.addListChangeListener(listChangeListener);
+		else if (validationStatusProviders instanceof IObservableSet)
+			((IObservableSet<ValidationStatusProvider>) validationStatusProviders)
+					.addSetChangeListener(setChangeListener);
+		else
+			validationStatusProviders.addChangeListener(changeListener);
+		validationStatusProviders.addStaleListener(staleListener);
+
+		ObservableTracker.setIgnore(true);
+		try {
+			for (Iterator<? extends ValidationStatusProvider> it = validationStatusProviders
+					.iterator(); it.hasNext();)
+				add(it.next());
+		} finally {
+			ObservableTracker.setIgnore(false);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	protected void lastListenerRemoved() {
+		if (entries == null)
+			return;
+		if (validationStatusProviders instanceof IObservableList)
+			((IObservableList<ValidationStatusProvider>) validationStatusProviders)
+					.removeListChangeListener(listChangeListener);
+		else if (validationStatusProviders instanceof IObservableSet)
+			((IObservableSet<ValidationStatusProvider>) validationStatusProviders)
+					.removeSetChangeListener(setChangeListener);
+		else
+			validationStatusProviders.removeChangeListener(changeListener);
+		validationStatusProviders.removeStaleListener(staleListener);
+
+		for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();)
+			it.next().dispose();
+		entries = null;
+		nonOKEntries = null;
+		entriesBySeverity = null;
+		size = 0;
+		nextOrder = 0;
+		staleCount = 0;
+	}
+
+	/**
+	 * Adds a provider appended to the collection.
+	 *
+	 * @return whether a non-OK status was added
+	 */
+	private boolean add(ValidationStatusProvider provider) {
+		size++;
+		Entry entry = entries.get(provider);
+		if (entry != null) {
+			entry.count++;
+			return false;
+		}
+		entry = new Entry(provider);
+		entry.order = nextOrder++;
+		entries.put(provider, entry);
+		index(entry);
+		if (entry.stale)
+			staleCount++;
+		return !isOK(entry.status);
+	}
+
+	/**
+	 * Removes a provider removed from the collection.
+	 *
+	 * @return whether a non-OK status was removed
+	 */
+	private boolean remove(ValidationStatusProvider provider) {
+		Entry entry = entries.get(provider);
+		if (entry == null)
+			return false;
+		size--;
+		if (--entry.count > 0)
+			return false;
+		entries.remove(provider);
+		unindex(entry);
+		if (entry.stale)
+			staleCount--;
+		entry.dispose();
+		return !isOK(entry.status);
+	}
+
+	/**
+	 * Orders all providers as in the collection again, keeping the entries of
+	 * the providers which are still contained.
+	 */
+	private void rebuild() {
+		Map<ValidationStatusProvider, Entry> oldEntries = entries;
+		entries = new CompactIdentityMap<ValidationStatusProvider, Entry>(
+				validationStatusProviders.size());
+		nonOKEntries.clear();
+		for (int i = 0; i < SEVERITIES; i++)
+			entriesBySeverity.get(i).clear();
+		size = 0;
+		nextOrder = 0;
+		staleCount = 0;
+
+		ObservableTracker.setIgnore(true);
+		try {
+			for (Iterator<? extends ValidationStatusProvider> it = validationStatusProviders
+					.iterator(); it.hasNext();) {
+				ValidationStatusProvider provider = it.next();
+				Entry entry = oldEntries.remove(provider);
+				if (entry == null) {
+					add(provider);
+				} else {
+					size++;
+					entry.count = 1;
+					entry.order = nextOrder++;
+					entries.put(provider, entry);
+					index(entry);
+					if (entry.stale)
+						staleCount++;
+				}
+			}
+		} finally {
+			ObservableTracker.setIgnore(false);
+		}
+
+		for (Iterator<Entry> it = oldEntries.values().iterator(); it.hasNext();)
+			it.next().dispose();
+	}
+
+	private void index(Entry entry) {
+		if (!isOK(entry.status)) {
+			Long order = Long.valueOf(entry.order);
+			nonOKEntries.put(order, entry);
+			entriesBySeverity.get(severityIndex(entry.status)).put(order,
+					entry);
+		}
+	}
+
+	private void unindex(Entry entry) {
+		if (!isOK(entry.status)) {
+			Long order = Long.valueOf(entry.order);
+			nonOKEntries.remove(order);
+			entriesBySeverity.get(severityIndex(entry.status)).remove(order);
+		}
+	}
+
+	private static boolean isOK(IStatus status) {
+		return status == null || status.isOK();
+	}
+
+	/**
+	 * @return the index of the highest severity bit of the non-OK status
+	 */
+	private static int severityIndex(IStatus status) {
+		int index = 31 - Integer.numberOfLeadingZeros(status.getSeverity());
+		return Math.min(index, SEVERITIES - 1);
+	}
+
+	private void getterCalled() {
+		ObservableTracker.getterCalled(this);
+	}
+
+	public synchronized void dispose() {
+		if (!isDisposed())
+			lastListenerRemoved();
+		validationStatusProviders = null;
+		listChangeListener = null;
+		setChangeListener = null;
+		changeListener = null;
+		staleListener = null;
+		super.dispose();
+	}
+
+	/**
+	 * The status of a provider, listening to the provider's validation
+	 * status observable.
+	 */
+	private class Entry implements IValueChangeListener<IStatus> {
+		private final IObservableValue<IStatus> validationStatus;
+
+		private final IStaleListener staleListener = new IStaleListener() {
+			public void handleStale(StaleEvent staleEvent) {
+				if (!stale) {
+					stale = true;
+					staleCount++;
+				}
+				fireStale();
+			}
+		};
+
+		IStatus status;
+
+		long order;
+
+		/**
+		 * The number of times the provider is contained in the collection.
+		 */
+		int count = 1;
+
+		boolean stale;
+
+		Entry(ValidationStatusProvider provider) {
+			validationStatus = provider.getValidationStatus();
+			status = validationStatus.getValue();
+			stale = validationStatus.isStale();
+			validationStatus.addValueChangeListener(this);
+			validationStatus.addStaleListener(staleListener);
+		}
+
+		public void handleValueChange(ValueChangeEvent<IStatus> event) {
+			boolean wasStale = stale;
+			stale = validationStatus.isStale();
+			if (stale != wasStale)
+				staleCount += stale ? 1 : -1;
+
+			IStatus oldStatus = status;
+			unindex(this);
+			status = event.diff.getNewValue();
+			index(this);
+			if (!isOK(oldStatus) || !isOK(status))
+				fireChange();
+		}
+
+		void dispose() {
+			validationStatus.removeValueChangeListener(this);
+			validationStatus.removeStaleListener(staleListener);
+		}
+	}
+}
@@ -12,40 +12,53 @@
 
 package org.eclipse.core.internal.databinding;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.eclipse.core.databinding.Binding;
-import org.eclipse.core.databinding.observable.ChangeEvent;
 import org.eclipse.core.databinding.observable.Diffs;
 import org.eclipse.core.databinding.observable.IChangeListener;
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
 import org.eclipse.core.databinding.observable.list.WritableList;
 import org.eclipse.core.databinding.observable.map.IMapChangeListener;
-import org.eclipse.core.databinding.observable.map.MapDiff;
 import org.eclipse.core.databinding.observable.map.ObservableMap;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
 import org.eclipse.core.runtime.IStatus;
 
 /**
+ * Maps the bindings of a data binding context to their validation statuses.
+ * Once read or observed, the map listens to the bindings list and to the
+ * validation status of each binding, and updates the entry of a binding in
+ * place when it is added, removed or its status changes.
+ * 
  * @since 1.0
  * 
  */
 public class ValidationStatusMap extends ObservableMap<Binding<?, ?>, IStatus> {
 
-	private boolean isDirty = true;
-
 	private final WritableList<Binding<?, ?>> bindings;
 
-	private List<IObservableValue<IStatus>> dependencies = new ArrayList<IObservableValue<IStatus>>();
-
-	private IChangeListener markDirtyChangeListener = new IChangeListener() {
-		public void handleChange(ChangeEvent event) {
-			markDirty();
+	/**
+	 * The listeners to the validation statuses of the bindings, or
+	 * <code>null</code> if the map has not been computed yet.
+	 */
+	private Map<Binding<?, ?>, StatusListener> statusListeners;
+
+	private IListChangeListener<Binding<?, ?>> bindingsListener = new IListChangeListener<Binding<?, ?>>() {
+		public void handleListChange(ListChangeEvent<Binding<?, ?>> event) {
+			for (ListDiffEntry<? extends Binding<?, ?>> difference : event.diff
+					.getDifferencesAsList()) {
+				if (difference.isAddition())
+					add(difference.getElement());
+				else
+					remove(difference.getElement());
+			}
 		}
 	};
 
@@ -56,7 +69,6 @@ public class ValidationStatusMap extends ObservableMap<Binding<?, ?>, IStatus> {
 	public ValidationStatusMap(Realm realm, WritableList<Binding<?, ?>> bindings) {
 		super(realm, new HashMap<Binding<?, ?>, IStatus>());
 		this.bindings = bindings;
-		bindings.addChangeListener(markDirtyChangeListener);
 	}
 
 	public Object getKeyType() {
@@ -68,70 +80,53 @@ public class ValidationStatusMap extends ObservableMap<Binding<?, ?>, IStatus> {
 	}
 
 	protected void getterCalled() {
-		recompute();
+		compute();
 		super.getterCalled();
 	}
 
-	private void markDirty() {
-		// since we are dirty, we don't need to listen anymore
-		removeElementChangeListener();
-		final Map<Binding<?, ?>, IStatus> oldMap = wrappedMap;
-		// lazy computation of diff
-		MapDiff<Binding<?, ?>, IStatus> mapDiff = new MapDiff<Binding<?, ?>, IStatus>() {
-			private MapDiff<Binding<?, ?>, IStatus> cachedDiff = null;
-
-			private void ensureCached() {
-				if (cachedDiff == null) {
-					recompute();
-					cachedDiff = Diffs.computeMapDiff(oldMap, wrappedMap);
+	/**
+	 * Reads the statuses of all bindings and starts listening for changes, if
+	 * not done yet.
+	 */
+	private void compute() {
+		if (statusListeners == null && !isDisposed()) {
+			statusListeners = new HashMap<Binding<?, ?>, StatusListener>();
+			bindings.addListChangeListener(bindingsListener);
+			for (Iterator<Binding<?, ?>> it = bindings.iterator(); it.hasNext();) {
+				Binding<?, ?> binding = it.next();
+				StatusListener listener = statusListeners.get(binding);
+				if (listener == null) {
+					listener = new StatusListener(binding);
+					statusListeners.put(binding, listener);
+					wrappedMap.put(binding, listener.validationStatus.getValue());
+				} else {
+					listener.count++;
 				}
 			}
-
-			public Set<Binding<?, ?>> getAddedKeys() {
-				ensureCached();
-				return cachedDiff.getAddedKeys();
-			}
-
-			public Set<Binding<?, ?>> getChangedKeys() {
-				ensureCached();
-				return cachedDiff.getChangedKeys();
-			}
-
-			public IStatus getNewValue(Object key) {
-				ensureCached();
-				return cachedDiff.getNewValue(key);
-			}
-
-			public IStatus getOldValue(Object key) {
-				ensureCached();
-				return cachedDiff.getOldValue(key);
-			}
-
-			public Set<Binding<?, ?>> getRemovedKeys() {
-				ensureCached();
-				return cachedDiff.getRemovedKeys();
-			}
-		};
-		wrappedMap = new HashMap<Binding<?, ?>, IStatus>();
-		isDirty = true;
-		fireMapChange(mapDiff);
+		}
 	}
 
-	private void recompute() {
-		if (isDirty) {
-			Map<Binding<?, ?>, IStatus> newContents = new HashMap<Binding<?, ?>, IStatus>();
-			for (Iterator<Binding<?, ?>> it = bindings.iterator(); it.hasNext();) {
-				Binding<?, ?> binding = it.next();
-				IObservableValue<IStatus> validationError = binding
-						.getValidationStatus();
-				dependencies.add(validationError);
-				validationError.addChangeListener(markDirtyChangeListener);
-				IStatus validationStatusValue = validationError.getValue();
-				newContents.put(binding, validationStatusValue);
-			}
-			wrappedMap.putAll(newContents);
-			isDirty = false;
+	private void add(Binding<?, ?> binding) {
+		StatusListener listener = statusListeners.get(binding);
+		if (listener != null) {
+			listener.count++;
+			return;
 		}
+		listener = new StatusListener(binding);
+		statusListeners.put(binding, listener);
+		IStatus status = listener.validationStatus.getValue();
+		wrappedMap.put(binding, status);
+		fireMapChange(Diffs.createMapDiffSingleAdd(binding, status));
+	}
+
+	private void remove(Binding<?, ?> binding) {
+		StatusListener listener = statusListeners.get(binding);
+		if (listener == null || --listener.count > 0)
+			return;
+		statusListeners.remove(binding);
+		listener.dispose();
+		IStatus oldStatus = wrappedMap.remove(binding);
+		fireMapChange(Diffs.createMapDiffSingleRemove(binding, oldStatus));
 	}
 
 	/*
@@ -141,30 +136,57 @@ public class ValidationStatusMap extends ObservableMap<Binding<?, ?>, IStatus> {
 	 * org.eclipse.core.databinding.observable.list.ObservableList#dispose()
 	 */
 	public synchronized void dispose() {
-		bindings.removeChangeListener(markDirtyChangeListener);
-		removeElementChangeListener();
-		super.dispose();
-	}
-
-	private void removeElementChangeListener() {
-		for (Iterator<IObservableValue<IStatus>> it = dependencies.iterator(); it
-				.hasNext();) {
-			IObservableValue<IStatus> observableValue = it.next();
-			observableValue.removeChangeListener(markDirtyChangeListener);
+		if (statusListeners != null) {
+			bindings.removeListChangeListener(bindingsListener);
+			for (Iterator<StatusListener> it = statusListeners.values()
+					.iterator(); it.hasNext();)
+				it.next().dispose();
+			statusListeners = null;
 		}
+		super.dispose();
 	}
 
 	public synchronized void addChangeListener(IChangeListener listener) {
 		// this ensures that the next change will be seen by the new listener.
-		recompute();
+		compute();
 		super.addChangeListener(listener);
 	}
 
 	public synchronized void addMapChangeListener(
 			IMapChangeListener<Binding<?, ?>, IStatus> listener) {
 		// this ensures that the next change will be seen by the new listener.
-		recompute();
+		compute();
 		super.addMapChangeListener(listener);
 	}
 
+	/**
+	 * Updates the entry of a binding when its validation status changes.
+	 */
+	private class StatusListener implements IValueChangeListener<IStatus> {
+		final Binding<?, ?> binding;
+
+		final IObservableValue<IStatus> validationStatus;
+
+		/**
+		 * The number of times the binding is contained in the bindings list.
+		 */
+		int count = 1;
+
+		StatusListener(Binding<?, ?> binding) {
+			this.binding = binding;
+			this.validationStatus = binding.getValidationStatus();
+			validationStatus.addValueChangeListener(this);
+		}
+
+		public void handleValueChange(ValueChangeEvent<IStatus> event) {
+			IStatus newStatus = event.diff.getNewValue();
+			IStatus oldStatus = wrappedMap.put(binding, newStatus);
+			fireMapChange(Diffs.createMapDiffSingleChange(binding, oldStatus,
+					newStatus));
+		}
+
+		void dispose() {
+			validationStatus.removeValueChangeListener(this);
+		}
+	}
 }
@@ -230,7 +230,10 @@ public abstract class UpdatingComposite extends Composite {
 		if (!dirty) {
 			dirty = true;
 
-			stopListening();
+			/*
+			 * Keep listening to the dependencies. Re-creating the controls only
+			 * updates the listeners of dependencies that were added or removed.
+			 */
 
 			/*
 			 * Start the runnable asynchronously, so it runs after all the
@@ -275,11 +278,14 @@ public abstract class UpdatingComposite extends Composite {
 	 * <LI>Run the <code>createControls</code> method</LI>
 	 * <LI>While doing so, add any observable that is touched to the
 	 * dependencies list</LI>
+	 * <LI>Attach our listener to new dependencies and detach it from
+	 * dependencies that are no longer used</LI>
 	 * </UL>
 	 */
 	protected void createAndTrackControls() {
 		IObservable[] newDependencies = ObservableTracker.runAndMonitor(
-				privateRunnableInterface, privateChangeInterface, null);
+				privateRunnableInterface, dependencies, privateChangeInterface,
+				null);
 
 		dependencies = newDependencies;
 
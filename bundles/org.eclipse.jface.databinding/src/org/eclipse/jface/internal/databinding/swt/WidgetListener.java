@@ -13,11 +13,20 @@
 
 package org.eclipse.jface.internal.databinding.swt;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.core.databinding.observable.IDiff;
 import org.eclipse.core.databinding.property.IProperty;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.NativePropertyListener;
+import org.eclipse.jface.databinding.swt.SWTObservables;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Widget;
@@ -104,4 +113,81 @@ public class WidgetListener<S, D extends IDiff> extends
 			}
 		}
 	}
+
+	/**
+	 * Adds the receiver directly to the widgets of the current display, and
+	 * to the widgets of any other display in a single runnable per display.
+	 */
+	public void addTo(Collection<? extends S> sources) {
+		updateWidgets(sources, true);
+	}
+
+	/**
+	 * Removes the receiver directly from the widgets of the current display,
+	 * and from the widgets of any other display in a single runnable per
+	 * display.
+	 */
+	public void removeFrom(Collection<? extends S> sources) {
+		updateWidgets(sources, false);
+	}
+
+	private void updateWidgets(Collection<? extends S> sources,
+			final boolean add) {
+		Display current = Display.getCurrent();
+		Map<Display, List<Widget>> otherDisplays = null;
+		for (Iterator<? extends S> it = sources.iterator(); it.hasNext();) {
+			Widget widget = (Widget) it.next();
+			if (widget == null || widget.isDisposed())
+				continue;
+			Display display = widget.getDisplay();
+			if (display == current) {
+				updateWidget(widget, add);
+			} else {
+				if (otherDisplays == null)
+					otherDisplays = new HashMap<Display, List<Widget>>();
+				List<Widget> widgets = otherDisplays.get(display);
+				if (widgets == null) {
+					widgets = new ArrayList<Widget>();
+					otherDisplays.put(display, widgets);
+				}
+				widgets.add(widget);
+			}
+		}
+		if (otherDisplays == null)
+			return;
+		for (Iterator<Map.Entry<Display, List<Widget>>> it = otherDisplays
+				.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<Display, List<Widget>> entry = it.next();
+			final List<Widget> widgets = entry.getValue();
+			SWTObservables.getRealm(entry.getKey()).exec(new Runnable() {
+				public void run() {
+					for (Iterator<Widget> iter = widgets.iterator(); iter
+							.hasNext();) {
+						Widget widget = iter.next();
+						if (!widget.isDisposed())
+							updateWidget(widget, add);
+					}
+				}
+			});
+		}
+	}
+
+	private void updateWidget(Widget widget, boolean add) {
+		updateEvents(widget, changeEvents, add);
+		updateEvents(widget, staleEvents, add);
+	}
+
+	private void updateEvents(Widget widget, int[] events, boolean add) {
+		if (events != null) {
+			for (int i = 0; i < events.length; i++) {
+				int event = events[i];
+				if (event != SWT.None) {
+					if (add)
+						widget.addListener(event, this);
+					else
+						widget.removeListener(event, this);
+				}
+			}
+		}
+	}
 }
\ No newline at end of file
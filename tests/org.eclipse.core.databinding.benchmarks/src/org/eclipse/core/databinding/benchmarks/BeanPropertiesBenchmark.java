@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.beans.BeanProperties;
+import org.eclipse.core.databinding.beans.IBeanValueProperty;
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.map.IMapChangeListener;
+import org.eclipse.core.databinding.observable.map.IObservableMap;
+import org.eclipse.core.databinding.observable.map.MapChangeEvent;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.property.Properties;
+import org.eclipse.core.databinding.property.value.IValueProperty;
+
+/**
+ * Benchmarks observing and accessing Java bean properties.
+ */
+public class BeanPropertiesBenchmark extends Benchmark {
+	private IBeanValueProperty<Person, String> nameProperty;
+	private Person person;
+	private IObservableValue<String> observedName;
+	private String[] names;
+	private List<Person> people;
+	private Row row;
+	private List<IObservableValue<String>> columns;
+	private IValueProperty<Object, Object> anonymousNameProperty;
+	private WritableList<Person> masterList;
+	private IObservableList<String> detailList;
+
+	protected void setUp() throws Exception {
+		nameProperty = BeanProperties.value(Person.class, "name", String.class); //$NON-NLS-1$
+		person = new Person();
+		observedName = nameProperty.observe(person);
+		names = new String[100];
+		for (int i = 0; i < names.length; i++)
+			names[i] = String.valueOf(i);
+		people = new ArrayList<Person>();
+		for (int i = 0; i < 1000; i++)
+			people.add(new Person());
+		anonymousNameProperty = BeanProperties.value("name"); //$NON-NLS-1$
+		masterList = new WritableList<Person>(new ArrayList<Person>(people),
+				Person.class);
+		detailList = nameProperty.observeDetail(masterList);
+		detailList.addListChangeListener(new IListChangeListener<String>() {
+			public void handleListChange(ListChangeEvent<String> event) {
+			}
+		});
+		row = new Row();
+		columns = new ArrayList<IObservableValue<String>>();
+		IValueChangeListener<String> listener = new IValueChangeListener<String>() {
+			public void handleValueChange(ValueChangeEvent<String> event) {
+			}
+		};
+		for (int i = 0; i < Row.COLUMNS; i++) {
+			IObservableValue<String> column = BeanProperties.value(Row.class,
+					"column" + i, String.class).observe(row); //$NON-NLS-1$
+			column.addValueChangeListener(listener);
+			columns.add(column);
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		observedName.dispose();
+		detailList.dispose();
+		masterList.dispose();
+		for (int i = 0; i < columns.size(); i++)
+			columns.get(i).dispose();
+	}
+
+	public void benchGetSet(int count) {
+		for (int i = 0; i < count; i++) {
+			observedName.setValue(names[i % names.length]);
+			consume(observedName.getValue());
+		}
+	}
+
+	public void benchObserve(int count) {
+		Realm realm = Realm.getDefault();
+		for (int i = 0; i < count; i++) {
+			IObservableValue<String> value = nameProperty.observe(realm,
+					person);
+			consume(value.getValue());
+			value.dispose();
+		}
+	}
+
+	/**
+	 * Attaches and detaches the detail listeners of 1000 master elements.
+	 * 
+	 * @param count
+	 */
+	public void benchObserveDetailMap(int count) {
+		IMapChangeListener<Person, String> listener = new IMapChangeListener<Person, String>() {
+			public void handleMapChange(MapChangeEvent<Person, String> event) {
+			}
+		};
+		for (int i = 0; i < count; i++) {
+			WritableSet<Person> masters = new WritableSet<Person>(people,
+					Person.class);
+			IObservableMap<Person, String> map = nameProperty
+					.observeDetail(masters);
+			map.addMapChangeListener(listener);
+			consume(map.size());
+			map.dispose();
+			masters.dispose();
+		}
+	}
+
+	/**
+	 * Attaches a lazy detail map to 1000 master elements and reads the values
+	 * of 40 of them, like a virtual table showing one page of rows.
+	 * 
+	 * @param count
+	 */
+	public void benchObserveDetailMapLazily(int count) {
+		IMapChangeListener<Person, String> listener = new IMapChangeListener<Person, String>() {
+			public void handleMapChange(MapChangeEvent<Person, String> event) {
+			}
+		};
+		for (int i = 0; i < count; i++) {
+			WritableSet<Person> masters = new WritableSet<Person>(people,
+					Person.class);
+			IObservableMap<Person, String> map = Properties
+					.observeDetailLazily(nameProperty, masters, 100);
+			map.addMapChangeListener(listener);
+			for (int j = 0; j < 40; j++)
+				consume(map.get(people.get(j)));
+			map.dispose();
+			masters.dispose();
+		}
+	}
+
+	/**
+	 * Adds and removes an element of an observed master list of 1000
+	 * elements.
+	 * 
+	 * @param count
+	 */
+	public void benchDetailListMasterChange(int count) {
+		for (int i = 0; i < count; i++) {
+			masterList.add(person);
+			masterList.remove(masterList.size() - 1);
+		}
+	}
+
+	/**
+	 * Changes one property of a bean whose properties are all observed.
+	 * 
+	 * @param count
+	 */
+	public void benchWideBeanChange(int count) {
+		for (int i = 0; i < count; i++)
+			row.setColumn0(names[i % names.length]);
+	}
+
+	/**
+	 * Reads a property of beans whose class is not known up front.
+	 * 
+	 * @param count
+	 */
+	public void benchAnonymousGetValue(int count) {
+		for (int i = 0; i < count; i++)
+			consume(anonymousNameProperty.getValue(people.get(i
+					% people.size())));
+	}
+
+	public void benchLookup(int count) {
+		for (int i = 0; i < count; i++)
+			consume(BeanProperties.value(Person.class, "name", String.class)); //$NON-NLS-1$
+	}
+
+	/**
+	 * A bean with a bound property.
+	 */
+	public static class Person {
+		private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(
+				this);
+		private String name;
+
+		public void addPropertyChangeListener(PropertyChangeListener listener) {
+			changeSupport.addPropertyChangeListener(listener);
+		}
+
+		public void removePropertyChangeListener(
+				PropertyChangeListener listener) {
+			changeSupport.removePropertyChangeListener(listener);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			changeSupport.firePropertyChange("name", this.name, this.name = name); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * A bean with many bound properties, like a row of a wide table.
+	 */
+	public static class Row {
+		static final int COLUMNS = 12;
+
+		private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(
+				this);
+		private String column0;
+		private String column1;
+		private String column2;
+		private String column3;
+		private String column4;
+		private String column5;
+		private String column6;
+		private String column7;
+		private String column8;
+		private String column9;
+		private String column10;
+		private String column11;
+
+		public void addPropertyChangeListener(PropertyChangeListener listener) {
+			changeSupport.addPropertyChangeListener(listener);
+		}
+
+		public void removePropertyChangeListener(
+				PropertyChangeListener listener) {
+			changeSupport.removePropertyChangeListener(listener);
+		}
+
+		public String getColumn0() {
+			return column0;
+		}
+
+		public void setColumn0(String value) {
+			changeSupport.firePropertyChange("column0", column0, column0 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn1() {
+			return column1;
+		}
+
+		public void setColumn1(String value) {
+			changeSupport.firePropertyChange("column1", column1, column1 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn2() {
+			return column2;
+		}
+
+		public void setColumn2(String value) {
+			changeSupport.firePropertyChange("column2", column2, column2 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn3() {
+			return column3;
+		}
+
+		public void setColumn3(String value) {
+			changeSupport.firePropertyChange("column3", column3, column3 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn4() {
+			return column4;
+		}
+
+		public void setColumn4(String value) {
+			changeSupport.firePropertyChange("column4", column4, column4 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn5() {
+			return column5;
+		}
+
+		public void setColumn5(String value) {
+			changeSupport.firePropertyChange("column5", column5, column5 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn6() {
+			return column6;
+		}
+
+		public void setColumn6(String value) {
+			changeSupport.firePropertyChange("column6", column6, column6 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn7() {
+			return column7;
+		}
+
+		public void setColumn7(String value) {
+			changeSupport.firePropertyChange("column7", column7, column7 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn8() {
+			return column8;
+		}
+
+		public void setColumn8(String value) {
+			changeSupport.firePropertyChange("column8", column8, column8 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn9() {
+			return column9;
+		}
+
+		public void setColumn9(String value) {
+			changeSupport.firePropertyChange("column9", column9, column9 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn10() {
+			return column10;
+		}
+
+		public void setColumn10(String value) {
+			changeSupport.firePropertyChange("column10", column10, column10 = value); //$NON-NLS-1$
+		}
+
+		public String getColumn11() {
+			return column11;
+		}
+
+		public void setColumn11(String value) {
+			changeSupport.firePropertyChange("column11", column11, column11 = value); //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+/**
+ * Base class of benchmark suites. Each public method whose name starts with
+ * <code>bench</code> and that takes a single <code>int</code> parameter is a
+ * benchmark. It must perform the measured operation as many times as the
+ * parameter says, so that the cost of invoking it reflectively is spread over
+ * many operations.
+ * <p>
+ * {@link #setUp()} and {@link #tearDown()} are called once per benchmark, not
+ * per measured batch, and run within the realm of the benchmark.
+ * </p>
+ */
+public abstract class Benchmark {
+
+	static volatile Object sink;
+
+	static volatile int intSink;
+
+	/**
+	 * Prepares the state used by a benchmark.
+	 *
+	 * @throws Exception
+	 */
+	protected void setUp() throws Exception {
+	}
+
+	/**
+	 * Releases the state used by a benchmark.
+	 *
+	 * @throws Exception
+	 */
+	protected void tearDown() throws Exception {
+	}
+
+	/**
+	 * Publishes a result of the measured code, so that the compiler cannot
+	 * eliminate the code computing it.
+	 *
+	 * @param result
+	 */
+	protected static void consume(Object result) {
+		sink = result;
+	}
+
+	/**
+	 * Publishes a result of the measured code, so that the compiler cannot
+	 * eliminate the code computing it.
+	 *
+	 * @param result
+	 */
+	protected static void consume(int result) {
+		intSink = result;
+	}
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * A realm that is current on the benchmark thread. Runnables passed to
+ * {@link #asyncExec(Runnable)} are run after each measured batch.
+ */
+class BenchmarkRealm extends Realm {
+
+	private final Thread thread = Thread.currentThread();
+
+	private final List<Runnable> queue = new ArrayList<Runnable>();
+
+	public boolean isCurrent() {
+		return Thread.currentThread() == thread;
+	}
+
+	public void asyncExec(Runnable runnable) {
+		synchronized (queue) {
+			queue.add(runnable);
+		}
+	}
+
+	void runQueued() {
+		while (true) {
+			Runnable runnable;
+			synchronized (queue) {
+				if (queue.isEmpty())
+					return;
+				runnable = queue.remove(0);
+			}
+			safeRun(runnable);
+		}
+	}
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.Realm;
+
+/**
+ * Runs the benchmark suites headlessly and reports the average time per
+ * operation of each benchmark. Each benchmark is first run for a number of
+ * warmup iterations, whose results are discarded, and then for a number of
+ * measured iterations of a fixed duration.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * java org.eclipse.core.databinding.benchmarks.BenchmarkRunner
+ *     [-warmup &lt;iterations&gt;] [-iterations &lt;iterations&gt;]
+ *     [-time &lt;milliseconds per iteration&gt;] [-csv &lt;file&gt;]
+ *     [&lt;filter&gt;...]
+ * </pre>
+ *
+ * Only benchmarks whose qualified name, for example
+ * <code>DiffsBenchmark.benchComputeListDiff</code>, contains one of the
+ * filters are run. The CSV file receives one line per benchmark, so that
+ * results can be recorded and compared per commit.
+ * </p>
+ */
+public class BenchmarkRunner {
+
+	private static final Class<?>[] SUITES = new Class[] {
+			DiffsBenchmark.class, ListenerListBenchmark.class,
+			ObservableTrackerBenchmark.class, ComputedValueBenchmark.class,
+			WritableListBenchmark.class, BindingBenchmark.class,
+			BeanPropertiesBenchmark.class, RealmBenchmark.class };
+
+	private int warmupIterations = 5;
+
+	private int iterations = 5;
+
+	private long iterationTime = 500;
+
+	private String csvFile;
+
+	private final List<String> filters = new ArrayList<String>();
+
+	private PrintWriter csv;
+
+	/**
+	 * @param args
+	 *            the command line arguments
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		BenchmarkRunner runner = new BenchmarkRunner();
+		runner.parseArguments(args);
+		runner.run();
+	}
+
+	private void parseArguments(String[] args) {
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if ("-warmup".equals(arg)) { //$NON-NLS-1$
+				warmupIterations = Integer.parseInt(args[++i]);
+			} else if ("-iterations".equals(arg)) { //$NON-NLS-1$
+				iterations = Integer.parseInt(args[++i]);
+			} else if ("-time".equals(arg)) { //$NON-NLS-1$
+				iterationTime = Long.parseLong(args[++i]);
+			} else if ("-csv".equals(arg)) { //$NON-NLS-1$
+				csvFile = args[++i];
+			} else {
+				filters.add(arg);
+			}
+		}
+	}
+
+	private void run() throws IOException {
+		if (csvFile != null) {
+			csv = new PrintWriter(new FileWriter(csvFile));
+			csv.println("benchmark,nsPerOp,error"); //$NON-NLS-1$
+		}
+		try {
+			for (int i = 0; i < SUITES.length; i++) {
+				Method[] methods = SUITES[i].getMethods();
+				// Report in a stable order, so results can be compared
+				Arrays.sort(methods, new Comparator<Method>() {
+					public int compare(Method m1, Method m2) {
+						return m1.getName().compareTo(m2.getName());
+					}
+				});
+				for (int j = 0; j < methods.length; j++) {
+					Method method = methods[j];
+					String name = SUITES[i].getName().substring(
+							SUITES[i].getPackage().getName().length() + 1)
+							+ "." + method.getName(); //$NON-NLS-1$
+					if (isBenchmark(method) && isSelected(name))
+						runBenchmark(SUITES[i], method, name);
+				}
+			}
+		} finally {
+			if (csv != null)
+				csv.close();
+		}
+	}
+
+	private static boolean isBenchmark(Method method) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		return method.getName().startsWith("bench") //$NON-NLS-1$
+				&& !Modifier.isStatic(method.getModifiers())
+				&& parameterTypes.length == 1
+				&& parameterTypes[0] == Integer.TYPE;
+	}
+
+	private boolean isSelected(String name) {
+		if (filters.isEmpty())
+			return true;
+		for (int i = 0; i < filters.size(); i++) {
+			if (name.indexOf(filters.get(i)) != -1)
+				return true;
+		}
+		return false;
+	}
+
+	private void runBenchmark(final Class<?> suiteClass, final Method method,
+			final String name) {
+		final BenchmarkRealm realm = new BenchmarkRealm();
+		final Exception[] failure = new Exception[1];
+		Realm.runWithDefault(realm, new Runnable() {
+			public void run() {
+				try {
+					Benchmark suite = (Benchmark) suiteClass.newInstance();
+					suite.setUp();
+					try {
+						measure(suite, method, name, realm);
+					} finally {
+						suite.tearDown();
+					}
+				} catch (Exception e) {
+					failure[0] = e;
+				}
+			}
+		});
+		if (failure[0] != null) {
+			Throwable cause = failure[0];
+			if (cause instanceof InvocationTargetException)
+				cause = cause.getCause();
+			System.out.println(name + " failed: " + cause); //$NON-NLS-1$
+			cause.printStackTrace();
+		}
+	}
+
+	private void measure(Benchmark suite, Method method, String name,
+			BenchmarkRealm realm) throws Exception {
+		// Grow the batch until invoking it takes long enough to be timed
+		// accurately
+		int batchSize = 1;
+		while (true) {
+			long start = System.nanoTime();
+			invoke(suite, method, batchSize, realm);
+			if (System.nanoTime() - start >= 1000000 || batchSize >= 1 << 24)
+				break;
+			batchSize <<= 1;
+		}
+
+		for (int i = 0; i < warmupIterations; i++) {
+			runIteration(suite, method, batchSize, realm);
+		}
+		double[] results = new double[iterations];
+		double sum = 0;
+		for (int i = 0; i < iterations; i++) {
+			results[i] = runIteration(suite, method, batchSize, realm);
+			sum += results[i];
+		}
+		double mean = sum / iterations;
+		double squares = 0;
+		for (int i = 0; i < iterations; i++) {
+			squares += (results[i] - mean) * (results[i] - mean);
+		}
+		double error = iterations > 1 ? Math.sqrt(squares / (iterations - 1))
+				: 0;
+
+		System.out.println(String.format("%-60s %14.1f ns/op  +- %.1f", //$NON-NLS-1$
+				new Object[] { name, new Double(mean), new Double(error) }));
+		if (csv != null) {
+			csv.println(name + "," + mean + "," + error); //$NON-NLS-1$ //$NON-NLS-2$
+			csv.flush();
+		}
+	}
+
+	/**
+	 * @return the average time per operation in nanoseconds
+	 */
+	private double runIteration(Benchmark suite, Method method, int batchSize,
+			BenchmarkRealm realm) throws Exception {
+		long operations = 0;
+		long start = System.nanoTime();
+		long end = start + iterationTime * 1000000;
+		long now;
+		do {
+			invoke(suite, method, batchSize, realm);
+			operations += batchSize;
+			now = System.nanoTime();
+		} while (now < end);
+		return (double) (now - start) / operations;
+	}
+
+	private static void invoke(Benchmark suite, Method method, int batchSize,
+			BenchmarkRealm realm) throws Exception {
+		method.invoke(suite, new Object[] { new Integer(batchSize) });
+		realm.runQueued();
+	}
+}
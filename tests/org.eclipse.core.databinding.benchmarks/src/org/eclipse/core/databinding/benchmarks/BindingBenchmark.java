@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import org.eclipse.core.databinding.Binding;
+import org.eclipse.core.databinding.DataBindingContext;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+
+/**
+ * Benchmarks propagating changes through value bindings.
+ */
+public class BindingBenchmark extends Benchmark {
+	private DataBindingContext context;
+	private WritableValue<String> target;
+	private WritableValue<String> model;
+	private WritableValue<String> convertedTarget;
+	private WritableValue<Integer> convertedModel;
+	private String[] strings;
+	private Integer[] integers;
+
+	protected void setUp() throws Exception {
+		context = new DataBindingContext();
+		target = new WritableValue<String>(null, String.class);
+		model = new WritableValue<String>(null, String.class);
+		context.bindValue(target, model);
+
+		convertedTarget = new WritableValue<String>(null, String.class);
+		convertedModel = new WritableValue<Integer>(null, Integer.class);
+		context.bindValue(convertedTarget, convertedModel);
+
+		strings = new String[100];
+		integers = new Integer[100];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = String.valueOf(i);
+			integers[i] = new Integer(i);
+		}
+	}
+
+	protected void tearDown() throws Exception {
+		context.dispose();
+	}
+
+	public void benchRoundTrip(int count) {
+		for (int i = 0; i < count; i++) {
+			target.setValue(strings[i % strings.length]);
+			model.setValue(strings[(i + 1) % strings.length]);
+			consume(target.getValue());
+		}
+	}
+
+	public void benchRoundTrip_Converted(int count) {
+		for (int i = 0; i < count; i++) {
+			convertedTarget.setValue(strings[i % strings.length]);
+			convertedModel.setValue(integers[(i + 1) % integers.length]);
+			consume(convertedTarget.getValue());
+		}
+	}
+
+	public void benchBindAndDispose(int count) {
+		for (int i = 0; i < count; i++) {
+			Binding<?, ?> binding = context.bindValue(target, model);
+			binding.dispose();
+		}
+	}
+}
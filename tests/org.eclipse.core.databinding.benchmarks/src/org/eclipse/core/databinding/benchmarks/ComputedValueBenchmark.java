@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import org.eclipse.core.databinding.observable.value.ComputedValue;
+import org.eclipse.core.databinding.observable.value.IValueChangeListener;
+import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+
+/**
+ * Benchmarks recomputing a computed value after one of its dependencies has
+ * changed.
+ */
+public class ComputedValueBenchmark extends Benchmark {
+	private WritableValue<Integer> a;
+	private WritableValue<Integer> b;
+	private WritableValue<Integer> c;
+	private ComputedValue<Integer> sum;
+	private IValueChangeListener<Integer> listener;
+
+	protected void setUp() throws Exception {
+		a = new WritableValue<Integer>(new Integer(0), Integer.class);
+		b = new WritableValue<Integer>(new Integer(0), Integer.class);
+		c = new WritableValue<Integer>(new Integer(0), Integer.class);
+		sum = new ComputedValue<Integer>(Integer.class) {
+			protected Integer calculate() {
+				return new Integer(a.getValue().intValue()
+						+ b.getValue().intValue() + c.getValue().intValue());
+			}
+		};
+		listener = new IValueChangeListener<Integer>() {
+			public void handleValueChange(ValueChangeEvent<Integer> event) {
+				consume(event.diff.getNewValue());
+			}
+		};
+		sum.addValueChangeListener(listener);
+	}
+
+	protected void tearDown() throws Exception {
+		sum.dispose();
+	}
+
+	public void benchRecompute(int count) {
+		for (int i = 0; i < count; i++) {
+			a.setValue(new Integer(i));
+			consume(sum.getValue());
+		}
+	}
+}
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.core.databinding.observable.Diffs;
+
+/**
+ * Benchmarks computing the differences between collections.
+ */
+public class DiffsBenchmark extends Benchmark {
+	private static final int SIZE = 1000;
+
+	private List<Integer> oldList;
+	private List<Integer> newList;
+	private Set<Integer> oldSet;
+	private Set<Integer> newSet;
+
+	protected void setUp() throws Exception {
+		Random random = new Random(0);
+		oldList = new ArrayList<Integer>(SIZE);
+		for (int i = 0; i < SIZE; i++)
+			oldList.add(new Integer(i));
+
+		// Replace, remove and insert a few elements
+		newList = new ArrayList<Integer>(oldList);
+		for (int i = 0; i < SIZE / 20; i++) {
+			newList.set(random.nextInt(newList.size()), new Integer(SIZE + i));
+			newList.remove(random.nextInt(newList.size()));
+			newList.add(random.nextInt(newList.size()), new Integer(2 * SIZE
+					+ i));
+		}
+
+		oldSet = new HashSet<Integer>(oldList);
+		newSet = new HashSet<Integer>(newList);
+	}
+
+	public void benchComputeListDiff(int count) {
+		for (int i = 0; i < count; i++)
+			consume(Diffs.computeListDiff(oldList, newList)
+					.getDifferences().length);
+	}
+
+	public void benchComputeListDiff_Equal(int count) {
+		for (int i = 0; i < count; i++)
+			consume(Diffs.computeListDiff(oldList, oldList)
+					.getDifferences().length);
+	}
+
+	public void benchComputeSetDiff(int count) {
+		for (int i = 0; i < count; i++)
+			consume(Diffs.computeSetDiff(oldSet, newSet).getAdditions().size());
+	}
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.ListenerList;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+
+/**
+ * Benchmarks registering listeners and firing events to them.
+ */
+public class ListenerListBenchmark extends Benchmark {
+	private IChangeListener[] listeners;
+	private ListenerList<IChangeListener> fewListeners;
+	private ListenerList<IChangeListener> manyListeners;
+	private ChangeEvent event;
+
+	protected void setUp() throws Exception {
+		listeners = new IChangeListener[100];
+		for (int i = 0; i < listeners.length; i++) {
+			listeners[i] = new IChangeListener() {
+				int changes;
+
+				public void handleChange(ChangeEvent event) {
+					consume(++changes);
+				}
+			};
+		}
+		fewListeners = createList(3);
+		manyListeners = createList(listeners.length);
+		event = new ChangeEvent(new WritableValue<Object>());
+	}
+
+	private ListenerList<IChangeListener> createList(int size) {
+		ListenerList<IChangeListener> list = new ListenerList<IChangeListener>(
+				ListenerList.IDENTITY);
+		for (int i = 0; i < size; i++)
+			list.add(listeners[i]);
+		return list;
+	}
+
+	public void benchAddRemove(int count) {
+		ListenerList<IChangeListener> list = new ListenerList<IChangeListener>(
+				ListenerList.IDENTITY);
+		for (int i = 0; i < count; i++) {
+			IChangeListener listener = listeners[i % listeners.length];
+			list.add(listener);
+			list.remove(listener);
+		}
+	}
+
+	public void benchAddRemove_ManyListeners(int count) {
+		for (int i = 0; i < count; i++) {
+			IChangeListener listener = listeners[i % listeners.length];
+			manyListeners.remove(listener);
+			manyListeners.add(listener);
+		}
+	}
+
+	public void benchFire(int count) {
+		for (int i = 0; i < count; i++)
+			fewListeners.fireEvent(event);
+	}
+
+	public void benchFire_ManyListeners(int count) {
+		for (int i = 0; i < count; i++)
+			manyListeners.fireEvent(event);
+	}
+}
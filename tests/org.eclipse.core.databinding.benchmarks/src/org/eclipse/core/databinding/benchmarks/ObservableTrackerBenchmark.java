@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import org.eclipse.core.databinding.observable.ObservableTracker;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+
+/**
+ * Benchmarks recording the observables read by a runnable.
+ */
+public class ObservableTrackerBenchmark extends Benchmark {
+	private Runnable fewGetters;
+	private Runnable manyGetters;
+
+	protected void setUp() throws Exception {
+		fewGetters = createRunnable(3);
+		manyGetters = createRunnable(100);
+	}
+
+	private static Runnable createRunnable(int size) {
+		final WritableValue<?>[] values = new WritableValue[size];
+		for (int i = 0; i < size; i++)
+			values[i] = new WritableValue<Object>();
+		return new Runnable() {
+			public void run() {
+				for (int i = 0; i < values.length; i++)
+					consume(values[i].getValue());
+			}
+		};
+	}
+
+	public void benchRunAndMonitor(int count) {
+		for (int i = 0; i < count; i++)
+			consume(ObservableTracker.runAndMonitor(fewGetters, null, null));
+	}
+
+	public void benchRunAndMonitor_ManyGetters(int count) {
+		for (int i = 0; i < count; i++)
+			consume(ObservableTracker.runAndMonitor(manyGetters, null, null));
+	}
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.core.databinding.observable.ExecutorRealm;
+
+/**
+ * Benchmarks dispatching runnables to many realms sharing a few threads.
+ */
+public class RealmBenchmark extends Benchmark {
+	private static final int REALMS = 10000;
+
+	private ExecutorService executor;
+	private ExecutorRealm[] realms;
+
+	protected void setUp() throws Exception {
+		executor = Executors.newFixedThreadPool(Runtime.getRuntime()
+				.availableProcessors());
+		realms = new ExecutorRealm[REALMS];
+		for (int i = 0; i < REALMS; i++)
+			realms[i] = new ExecutorRealm(executor);
+	}
+
+	protected void tearDown() throws Exception {
+		executor.shutdown();
+	}
+
+	/**
+	 * One operation is a runnable queued to and run by each of the realms.
+	 */
+	public void benchAsyncExec_ManyRealms(int count) throws InterruptedException {
+		final CountDownLatch done = new CountDownLatch(count * REALMS);
+		Runnable runnable = new Runnable() {
+			public void run() {
+				done.countDown();
+			}
+		};
+		for (int i = 0; i < count; i++) {
+			for (int j = 0; j < REALMS; j++)
+				realms[j].asyncExec(runnable);
+		}
+		done.await();
+	}
+}
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.databinding.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.WritableList;
+
+/**
+ * Benchmarks adding many elements to an observed list at once.
+ */
+public class WritableListBenchmark extends Benchmark {
+	private static final int SIZE = 1000;
+
+	private List<Integer> elements;
+	private WritableList<Integer> list;
+
+	protected void setUp() throws Exception {
+		elements = new ArrayList<Integer>(SIZE);
+		for (int i = 0; i < SIZE; i++)
+			elements.add(new Integer(i));
+		list = new WritableList<Integer>();
+		list.addListChangeListener(new IListChangeListener<Integer>() {
+			public void handleListChange(ListChangeEvent<Integer> event) {
+				consume(event.diff.getDifferences().length);
+			}
+		});
+	}
+
+	public void benchAddAll(int count) {
+		for (int i = 0; i < count; i++) {
+			list.addAll(elements);
+			list.clear();
+		}
+	}
+}
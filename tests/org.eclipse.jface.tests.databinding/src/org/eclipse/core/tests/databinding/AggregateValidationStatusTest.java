@@ -13,8 +13,19 @@ package org.eclipse.core.tests.databinding;
 
 import org.eclipse.core.databinding.AggregateValidationStatus;
 import org.eclipse.core.databinding.DataBindingContext;
+import org.eclipse.core.databinding.ValidationStatusProvider;
+import org.eclipse.core.databinding.validation.ValidationStatus;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.Observables;
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
 import org.eclipse.jface.tests.databinding.AbstractSWTTestCase;
 
 /**
@@ -34,4 +45,128 @@ public class AggregateValidationStatusTest extends AbstractSWTTestCase {
 				.getBindings(), AggregateValidationStatus.MAX_SEVERITY);
 		assertEquals(Realm.getDefault(), status.getRealm());
 	}
+
+	public void testMaxSeverity_FirstProviderWithMaxSeverity() throws Exception {
+		WritableList<ValidationStatusProvider> providers = new WritableList<ValidationStatusProvider>();
+		AggregateValidationStatus status = new AggregateValidationStatus(
+				providers, AggregateValidationStatus.MAX_SEVERITY);
+		ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(status);
+
+		TestProvider first = new TestProvider(Status.OK_STATUS);
+		TestProvider second = new TestProvider(Status.OK_STATUS);
+		providers.add(first);
+		providers.add(second);
+		assertTrue(status.getValue().isOK());
+
+		IStatus secondError = ValidationStatus.error("second"); //$NON-NLS-1$
+		second.status.setValue(secondError);
+		assertSame(secondError, status.getValue());
+
+		IStatus firstWarning = ValidationStatus.warning("first"); //$NON-NLS-1$
+		first.status.setValue(firstWarning);
+		assertSame(secondError, status.getValue());
+
+		IStatus firstError = ValidationStatus.error("first"); //$NON-NLS-1$
+		first.status.setValue(firstError);
+		assertSame(firstError, status.getValue());
+
+		providers.remove(first);
+		assertSame(secondError, status.getValue());
+
+		second.status.setValue(Status.OK_STATUS);
+		assertTrue(status.getValue().isOK());
+		assertEquals(5, tracker.count);
+	}
+
+	public void testMaxSeverity_OKStatusChangeDoesNotRecompute()
+			throws Exception {
+		WritableList<ValidationStatusProvider> providers = new WritableList<ValidationStatusProvider>();
+		TestProvider provider = new TestProvider(Status.OK_STATUS);
+		providers.add(provider);
+		AggregateValidationStatus status = new AggregateValidationStatus(
+				providers, AggregateValidationStatus.MAX_SEVERITY);
+		ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(status);
+
+		provider.status.setValue(ValidationStatus.ok());
+		assertEquals(0, tracker.count);
+	}
+
+	public void testMerged_KeepsProviderOrder() throws Exception {
+		WritableList<ValidationStatusProvider> providers = new WritableList<ValidationStatusProvider>();
+		AggregateValidationStatus status = new AggregateValidationStatus(
+				providers, AggregateValidationStatus.MERGED);
+		ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(status);
+
+		TestProvider first = new TestProvider(Status.OK_STATUS);
+		TestProvider second = new TestProvider(ValidationStatus
+				.warning("second")); //$NON-NLS-1$
+		providers.add(first);
+		providers.add(second);
+		assertEquals("second", status.getValue().getMessage()); //$NON-NLS-1$
+
+		first.status.setValue(ValidationStatus.error("first")); //$NON-NLS-1$
+		IStatus merged = status.getValue();
+		assertTrue(merged instanceof MultiStatus);
+		assertEquals(IStatus.ERROR, merged.getSeverity());
+		IStatus[] children = merged.getChildren();
+		assertEquals(2, children.length);
+		assertEquals("first", children[0].getMessage()); //$NON-NLS-1$
+		assertEquals("second", children[1].getMessage()); //$NON-NLS-1$
+
+		TestProvider inserted = new TestProvider(ValidationStatus
+				.info("inserted")); //$NON-NLS-1$
+		providers.add(0, inserted);
+		children = status.getValue().getChildren();
+		assertEquals(3, children.length);
+		assertEquals("inserted", children[0].getMessage()); //$NON-NLS-1$
+		assertEquals("first", children[1].getMessage()); //$NON-NLS-1$
+		assertEquals("second", children[2].getMessage()); //$NON-NLS-1$
+		assertEquals(3, tracker.count);
+	}
+
+	public void testDispose_StopsListeningToProviders() throws Exception {
+		WritableList<ValidationStatusProvider> providers = new WritableList<ValidationStatusProvider>();
+		TestProvider provider = new TestProvider(Status.OK_STATUS);
+		providers.add(provider);
+		AggregateValidationStatus status = new AggregateValidationStatus(
+				providers, AggregateValidationStatus.MAX_SEVERITY);
+		ValueChangeEventTracker.observe(status);
+		assertTrue(provider.status.hasListeners());
+
+		status.dispose();
+		assertFalse(provider.status.hasListeners());
+	}
+
+	private static class TestProvider extends ValidationStatusProvider {
+		final StatusValue status;
+
+		TestProvider(IStatus status) {
+			this.status = new StatusValue(status);
+		}
+
+		public IObservableValue<IStatus> getValidationStatus() {
+			return status;
+		}
+
+		public IObservableList<IObservable> getTargets() {
+			return Observables.emptyObservableList();
+		}
+
+		public IObservableList<IObservable> getModels() {
+			return Observables.emptyObservableList();
+		}
+	}
+
+	private static class StatusValue extends WritableValue<IStatus> {
+		StatusValue(IStatus status) {
+			super(status, IStatus.class);
+		}
+
+		public boolean hasListeners() {
+			return super.hasListeners();
+		}
+	}
 }
@@ -13,6 +13,7 @@
 package org.eclipse.core.tests.databinding;
 
 import java.util.ArrayList;
+import java.util.Collections;
 
 import org.eclipse.core.databinding.AggregateValidationStatus;
 import org.eclipse.core.databinding.Binding;
@@ -28,6 +29,7 @@ import org.eclipse.core.databinding.validation.IValidator;
 import org.eclipse.core.databinding.validation.ValidationStatus;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.jface.databinding.conformance.util.ChangeEventTracker;
+import org.eclipse.jface.databinding.conformance.util.MapChangeEventTracker;
 import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 
@@ -124,15 +126,59 @@ public class DatabindingContextTest extends AbstractDefaultRealmTestCase {
 						new UpdateValueStrategy()
 								.setAfterGetValidator(validator), null);
 
+		assertEquals(1, errors.size());
+		int changesAfterBind = errorsCounter.count;
+
 		targetObservable.setValue("");
 		assertFalse(((IStatus) error.getValue()).isOK());
 		assertEquals(errorMessage, ((IStatus) error.getValue()).getMessage());
 		assertEquals(1, errors.size());
-		assertEquals(1, errorsCounter.count);
+		assertEquals(changesAfterBind + 1, errorsCounter.count);
 		assertEquals(1, errorCounter.count);
 		error.dispose();
 	}
 
+	public void testValidationStatusMap_FiresSingleEntryDiffs()
+			throws Exception {
+		WritableValue target = new WritableValue("", String.class);
+		WritableValue model = new WritableValue("", String.class);
+		IValidator validator = new IValidator() {
+			public IStatus validate(Object value) {
+				return "".equals(value) ? ValidationStatus.ok()
+						: ValidationStatus.error("error");
+			}
+		};
+
+		IObservableMap statuses = dbc.getValidationStatusMap();
+		MapChangeEventTracker tracker = MapChangeEventTracker
+				.observe(statuses);
+
+		Binding binding = dbc.bindValue(target, model,
+				new UpdateValueStrategy().setAfterGetValidator(validator),
+				null);
+		assertTrue(tracker.count > 0);
+		assertTrue(statuses.containsKey(binding));
+		assertTrue(((IStatus) statuses.get(binding)).isOK());
+
+		IStatus oldStatus = (IStatus) statuses.get(binding);
+		int count = tracker.count;
+		target.setValue("invalid");
+		assertEquals(count + 1, tracker.count);
+		assertEquals(Collections.singleton(binding), tracker.event.diff
+				.getChangedKeys());
+		assertTrue(tracker.event.diff.getAddedKeys().isEmpty());
+		assertSame(oldStatus, tracker.event.diff.getOldValue(binding));
+		assertSame(binding.getValidationStatus().getValue(),
+				tracker.event.diff.getNewValue(binding));
+		assertSame(binding.getValidationStatus().getValue(), statuses
+				.get(binding));
+
+		binding.dispose();
+		assertEquals(Collections.singleton(binding), tracker.event.diff
+				.getRemovedKeys());
+		assertTrue(statuses.isEmpty());
+	}
+
 	/**
 	 * Asserts that then
 	 * {@link DataBindingContext#bindValue(IObservableValue, IObservableValue, UpdateValueStrategy, UpdateValueStrategy)}
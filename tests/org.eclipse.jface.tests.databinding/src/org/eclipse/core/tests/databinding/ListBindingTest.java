@@ -20,11 +20,14 @@ import java.util.List;
 import org.eclipse.core.databinding.Binding;
 import org.eclipse.core.databinding.DataBindingContext;
 import org.eclipse.core.databinding.UpdateListStrategy;
+import org.eclipse.core.databinding.conversion.Converter;
+import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.list.IObservableList;
 import org.eclipse.core.databinding.observable.list.WritableList;
 import org.eclipse.core.databinding.validation.ValidationStatus;
 import org.eclipse.core.internal.databinding.BindingStatus;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.jface.databinding.conformance.util.ListChangeEventTracker;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 
 /**
@@ -182,4 +185,104 @@ public class ListBindingTest extends AbstractDefaultRealmTestCase {
 		assertTrue(status.isOK());
 		assertEquals(0, status.getChildren().length);
 	}
+
+	public void testBulkUpdate_FiresSingleEventOnTarget() throws Exception {
+		for (int i = 0; i < 100; i++)
+			model.add(Integer.toString(i));
+		dbc.bindList(target, model);
+		assertEquals(model, target);
+		ListChangeEventTracker tracker = ListChangeEventTracker
+				.observe(target);
+
+		// Removes every other element, one diff entry each
+		List retained = new ArrayList();
+		for (int i = 0; i < 100; i += 2)
+			retained.add(Integer.toString(i));
+		model.retainAll(retained);
+
+		assertEquals(model, target);
+		assertEquals(1, tracker.count);
+		assertEquals(50, tracker.event.diff.getDifferences().length);
+	}
+
+	public void testBulkUpdate_ReplacedModelContents() throws Exception {
+		model.addAll(Arrays.asList(new String[] { "1", "2", "3" }));
+		dbc.bindList(target, model);
+		ListChangeEventTracker tracker = ListChangeEventTracker
+				.observe(target);
+
+		model.getRealm().runBatched(new Runnable() {
+			public void run() {
+				model.clear();
+				model.addAll(Arrays.asList(new String[] { "a", "b", "c", "d" }));
+			}
+		});
+
+		assertEquals(model, target);
+		assertEquals(1, tracker.count);
+	}
+
+	public void testBulkUpdate_ConvertsAddedElements() throws Exception {
+		IObservableList integers = new WritableList(new ArrayList(),
+				Integer.class);
+		dbc.bindList(integers, model, new UpdateListStrategy()
+				.setConverter(new Converter(Integer.class, String.class) {
+					public Object convert(Object fromObject) {
+						return fromObject.toString();
+					}
+				}), new UpdateListStrategy()
+				.setConverter(new Converter(String.class, Integer.class) {
+					public Object convert(Object fromObject) {
+						return Integer.valueOf((String) fromObject);
+					}
+				}));
+		ListChangeEventTracker tracker = ListChangeEventTracker
+				.observe(integers);
+
+		model.addAll(Arrays.asList(new String[] { "1", "2", "3" }));
+
+		assertEquals(Arrays.asList(new Integer[] { new Integer(1),
+				new Integer(2), new Integer(3) }), integers);
+		assertEquals(1, tracker.count);
+	}
+
+	public void testDebounce_AppliesAccumulatedChangesOnce() throws Exception {
+		TimerRealm realm = new TimerRealm();
+		IObservableList target = new WritableList(realm, new ArrayList(),
+				String.class);
+		IObservableList model = new WritableList(realm, new ArrayList(),
+				String.class);
+		new DataBindingContext(realm).bindList(target, model,
+				new UpdateListStrategy(), new UpdateListStrategy()
+						.setDebounce(100));
+		ListChangeEventTracker tracker = ListChangeEventTracker
+				.observe(target);
+
+		model.add("1");
+		model.add("2");
+		model.remove(0);
+		model.add(0, "3");
+		assertTrue(target.isEmpty());
+
+		realm.runTimers();
+		assertEquals(model, target);
+		assertEquals(1, tracker.count);
+	}
+
+	private static class TimerRealm extends Realm {
+		List timers = new ArrayList();
+
+		public boolean isCurrent() {
+			return true;
+		}
+
+		public void timerExec(int milliseconds, Runnable runnable) {
+			timers.add(runnable);
+		}
+
+		void runTimers() {
+			while (!timers.isEmpty())
+				((Runnable) timers.remove(0)).run();
+		}
+	}
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.databinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.core.databinding.Binding;
+import org.eclipse.core.databinding.DataBindingContext;
+import org.eclipse.core.databinding.UpdateSetStrategy;
+import org.eclipse.core.databinding.conversion.Converter;
+import org.eclipse.core.databinding.observable.set.IObservableSet;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.jface.databinding.conformance.util.SetChangeEventTracker;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+
+/**
+ * @since 1.5
+ */
+public class SetBindingTest extends AbstractDefaultRealmTestCase {
+	private IObservableSet target;
+	private IObservableSet model;
+	private DataBindingContext dbc;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		target = new WritableSet(new HashSet(), String.class);
+		model = new WritableSet(new HashSet(), String.class);
+		dbc = new DataBindingContext();
+	}
+
+	public void testBulkUpdate_FiresSingleEventOnTargetPerAdd()
+			throws Exception {
+		dbc.bindSet(target, model);
+		SetChangeEventTracker tracker = SetChangeEventTracker.observe(target);
+
+		model.addAll(strings(0, 100));
+
+		assertEquals(model, target);
+		assertEquals(1, tracker.count);
+		assertEquals(100, tracker.event.diff.getAdditions().size());
+	}
+
+	public void testBulkUpdate_FiresSingleEventOnTargetPerRemove()
+			throws Exception {
+		model.addAll(strings(0, 100));
+		dbc.bindSet(target, model);
+		SetChangeEventTracker tracker = SetChangeEventTracker.observe(target);
+
+		model.removeAll(strings(0, 50));
+
+		assertEquals(model, target);
+		assertEquals(1, tracker.count);
+		assertEquals(50, tracker.event.diff.getRemovals().size());
+	}
+
+	public void testBulkUpdate_ConvertsElements() throws Exception {
+		IObservableSet integers = new WritableSet(new HashSet(), Integer.class);
+		dbc.bindSet(integers, model, new UpdateSetStrategy()
+				.setConverter(new Converter(Integer.class, String.class) {
+					public Object convert(Object fromObject) {
+						return fromObject.toString();
+					}
+				}), new UpdateSetStrategy()
+				.setConverter(new Converter(String.class, Integer.class) {
+					public Object convert(Object fromObject) {
+						return Integer.valueOf((String) fromObject);
+					}
+				}));
+		SetChangeEventTracker tracker = SetChangeEventTracker
+				.observe(integers);
+
+		model.addAll(Arrays.asList(new String[] { "1", "2", "3" }));
+		assertEquals(new HashSet(Arrays.asList(new Integer[] {
+				new Integer(1), new Integer(2), new Integer(3) })), integers);
+		assertEquals(1, tracker.count);
+
+		model.remove("2");
+		assertEquals(new HashSet(Arrays.asList(new Integer[] {
+				new Integer(1), new Integer(3) })), integers);
+		assertEquals(2, tracker.count);
+	}
+
+	public void testBulkUpdate_AddAllFailureSetsErrorStatus()
+			throws Exception {
+		final RuntimeException exception = new RuntimeException();
+		IObservableSet failing = new WritableSet(new HashSet(), String.class) {
+			public boolean addAll(Collection c) {
+				throw exception;
+			}
+		};
+		Binding binding = dbc.bindSet(target, failing);
+
+		target.addAll(Arrays.asList(new String[] { "1", "2" }));
+
+		IStatus status = (IStatus) binding.getValidationStatus().getValue();
+		assertEquals(IStatus.ERROR, status.getSeverity());
+		assertTrue(status.isMultiStatus());
+		IStatus[] children = status.getChildren();
+		assertEquals(1, children.length);
+		assertSame(exception, children[0].getException());
+	}
+
+	public void testSubclassedStrategy_AddsEachElement() throws Exception {
+		final List added = new ArrayList();
+		UpdateSetStrategy strategy = new UpdateSetStrategy() {
+			protected IStatus doAdd(IObservableSet observableSet,
+					Object element) {
+				added.add(element);
+				return super.doAdd(observableSet, element);
+			}
+		};
+		dbc.bindSet(target, model, null, strategy);
+		SetChangeEventTracker tracker = SetChangeEventTracker.observe(target);
+
+		model.addAll(strings(0, 3));
+
+		assertEquals(model, target);
+		assertEquals(3, added.size());
+		assertEquals(3, tracker.count);
+	}
+
+	private static List strings(int from, int to) {
+		List strings = new ArrayList();
+		for (int i = from; i < to; i++)
+			strings.add(Integer.toString(i));
+		return strings;
+	}
+}
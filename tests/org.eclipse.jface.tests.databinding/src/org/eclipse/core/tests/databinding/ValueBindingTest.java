@@ -17,6 +17,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.databinding.Binding;
 import org.eclipse.core.databinding.DataBindingContext;
@@ -24,17 +26,20 @@ import org.eclipse.core.databinding.UpdateValueStrategy;
 import org.eclipse.core.databinding.conversion.Converter;
 import org.eclipse.core.databinding.conversion.IConverter;
 import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.value.AbstractObservableValue;
 import org.eclipse.core.databinding.observable.value.IObservableValue;
 import org.eclipse.core.databinding.observable.value.IValueChangeListener;
 import org.eclipse.core.databinding.observable.value.ValueChangeEvent;
 import org.eclipse.core.databinding.observable.value.ValueDiff;
 import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.core.databinding.validation.IAsyncValidator;
 import org.eclipse.core.databinding.validation.IValidator;
 import org.eclipse.core.databinding.validation.ValidationStatus;
 import org.eclipse.core.internal.databinding.BindingStatus;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 
 /**
@@ -238,6 +243,188 @@ public class ValueBindingTest extends AbstractDefaultRealmTestCase {
 		assertEquals("update does not occur", count, strategy.afterGetCount);
 	}
 
+	public void testValidationStatusUnchangedByValidUpdates()
+			throws Exception {
+		Binding binding = dbc.bindValue(target, model);
+		ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(binding.getValidationStatus());
+
+		target.setValue("a");
+		target.setValue("b");
+		assertEquals("b", model.getValue());
+		assertEquals(0, tracker.count);
+		assertTrue(((IStatus) binding.getValidationStatus().getValue()).isOK());
+	}
+
+	public void testCrossRealmUpdatesAreCoalesced() throws Exception {
+		QueueRealm modelRealm = new QueueRealm();
+		final WritableValue model = new WritableValue(modelRealm, null,
+				String.class);
+		dbc.bindValue(target, model, new UpdateValueStrategy(),
+				new UpdateValueStrategy(UpdateValueStrategy.POLICY_ON_REQUEST));
+
+		target.setValue("a");
+		target.setValue("b");
+		target.setValue("c");
+		assertEquals(1, modelRealm.queue.size());
+
+		modelRealm.runQueued();
+		final Object[] value = new Object[1];
+		modelRealm.exec(new Runnable() {
+			public void run() {
+				value[0] = model.getValue();
+			}
+		});
+		modelRealm.runQueued();
+		assertEquals("c", value[0]);
+
+		// A later change is queued again
+		target.setValue("d");
+		assertEquals(1, modelRealm.queue.size());
+	}
+
+	public void testAsyncValidator_SetsValueOnceValidated() throws Exception {
+		QueueRealm modelRealm = new QueueRealm();
+		WritableValue model = new WritableValue(modelRealm, null, String.class);
+		QueueExecutor executor = new QueueExecutor();
+		Binding binding = dbc.bindValue(target, model, new UpdateValueStrategy()
+				.setAsyncValidator(new AsyncValidator(), executor),
+				new UpdateValueStrategy(UpdateValueStrategy.POLICY_ON_REQUEST));
+		executor.runQueued();
+		modelRealm.runQueued();
+
+		target.setValue("a");
+		assertEquals(1, executor.queue.size());
+		assertEquals(0, modelRealm.queue.size());
+		assertNull(getValue(modelRealm, model));
+
+		executor.runQueued();
+		modelRealm.runQueued();
+		assertEquals("a", getValue(modelRealm, model));
+		assertTrue(((IStatus) binding.getValidationStatus().getValue()).isOK());
+	}
+
+	public void testAsyncValidator_ErrorPreventsSet() throws Exception {
+		QueueRealm modelRealm = new QueueRealm();
+		WritableValue model = new WritableValue(modelRealm, null, String.class);
+		QueueExecutor executor = new QueueExecutor();
+		Binding binding = dbc.bindValue(target, model, new UpdateValueStrategy()
+				.setAsyncValidator(new AsyncValidator(), executor),
+				new UpdateValueStrategy(UpdateValueStrategy.POLICY_ON_REQUEST));
+		executor.runQueued();
+		modelRealm.runQueued();
+
+		target.setValue("invalid");
+		executor.runQueued();
+		modelRealm.runQueued();
+		assertNull(getValue(modelRealm, model));
+		IStatus status = (IStatus) binding.getValidationStatus().getValue();
+		assertEquals(IStatus.ERROR, status.getSeverity());
+		assertEquals("invalid", status.getChildren()[0].getMessage());
+	}
+
+	public void testAsyncValidator_SupersededValidationIsCancelled()
+			throws Exception {
+		QueueRealm modelRealm = new QueueRealm();
+		WritableValue model = new WritableValue(modelRealm, null, String.class);
+		QueueExecutor executor = new QueueExecutor();
+		AsyncValidator validator = new AsyncValidator();
+		dbc.bindValue(target, model, new UpdateValueStrategy()
+				.setAsyncValidator(validator, executor),
+				new UpdateValueStrategy(UpdateValueStrategy.POLICY_ON_REQUEST));
+		executor.runQueued();
+		modelRealm.runQueued();
+		validator.validated.clear();
+
+		target.setValue("a");
+		target.setValue("b");
+		assertEquals(2, executor.queue.size());
+		assertTrue(((Future) executor.queue.get(0)).isCancelled());
+		assertFalse(((Future) executor.queue.get(1)).isCancelled());
+
+		executor.runQueued();
+		assertEquals(Collections.singletonList("b"), validator.validated);
+		assertEquals(1, modelRealm.queue.size());
+		modelRealm.runQueued();
+		assertEquals("b", getValue(modelRealm, model));
+	}
+
+	public void testDebounce_UpdatesOnceWithLatestValue() throws Exception {
+		TimerRealm realm = new TimerRealm();
+		WritableValue target = new WritableValue(realm, null, String.class);
+		WritableValue model = new WritableValue(realm, null, String.class);
+		new DataBindingContext(realm).bindValue(target, model,
+				new UpdateValueStrategy(), new UpdateValueStrategy()
+						.setDebounce(100));
+		ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(target);
+
+		model.setValue("a");
+		model.setValue("b");
+		model.setValue("c");
+		assertNull(target.getValue());
+		assertEquals(3, realm.delays.size());
+		assertEquals(new Integer(100), realm.delays.get(2));
+
+		realm.runTimers();
+		assertEquals("c", target.getValue());
+		assertEquals(1, tracker.count);
+	}
+
+	public void testThrottle_CoalescesChangesWithinInterval()
+			throws Exception {
+		TimerRealm realm = new TimerRealm();
+		WritableValue target = new WritableValue(realm, null, String.class);
+		WritableValue model = new WritableValue(realm, null, String.class);
+		new DataBindingContext(realm).bindValue(target, model,
+				new UpdateValueStrategy(), new UpdateValueStrategy()
+						.setThrottle(60000));
+
+		model.setValue("a");
+		assertEquals("a", target.getValue());
+		assertTrue(realm.delays.isEmpty());
+
+		model.setValue("b");
+		model.setValue("c");
+		assertEquals("a", target.getValue());
+		assertEquals(1, realm.delays.size());
+		assertTrue(((Integer) realm.delays.get(0)).intValue() <= 60000);
+
+		realm.runTimers();
+		assertEquals("c", target.getValue());
+	}
+
+	public void testDebounce_ExplicitUpdateCancelsScheduledUpdate()
+			throws Exception {
+		TimerRealm realm = new TimerRealm();
+		WritableValue target = new WritableValue(realm, null, String.class);
+		WritableValue model = new WritableValue(realm, null, String.class);
+		Binding binding = new DataBindingContext(realm).bindValue(target,
+				model, new UpdateValueStrategy(), new UpdateValueStrategy()
+						.setDebounce(100));
+
+		model.setValue("a");
+		binding.updateModelToTarget();
+		assertEquals("a", target.getValue());
+
+		target.setValue("b");
+		realm.runTimers();
+		assertEquals("b", target.getValue());
+		assertEquals("b", model.getValue());
+	}
+
+	private static Object getValue(QueueRealm realm,
+			final IObservableValue observable) {
+		final Object[] value = new Object[1];
+		realm.exec(new Runnable() {
+			public void run() {
+				value[0] = observable.getValue();
+			}
+		});
+		realm.runQueued();
+		return value[0];
+	}
+
 	public void testPostInit_UpdatePolicy_UpdateToTarget_UpdateToModel() {
 		bindLoggingValue(
 				loggingTargetToModelStrategy(UpdateValueStrategy.POLICY_UPDATE),
@@ -416,6 +603,74 @@ public class ValueBindingTest extends AbstractDefaultRealmTestCase {
 		};
 	}
 
+	/**
+	 * A realm that is only current while the runnables it queued are run.
+	 */
+	private static class QueueRealm extends Realm {
+		List queue = new ArrayList();
+		boolean current;
+
+		public boolean isCurrent() {
+			return current;
+		}
+
+		public void asyncExec(Runnable runnable) {
+			queue.add(runnable);
+		}
+
+		void runQueued() {
+			current = true;
+			try {
+				while (!queue.isEmpty())
+					((Runnable) queue.remove(0)).run();
+			} finally {
+				current = false;
+			}
+		}
+	}
+
+	private static class TimerRealm extends Realm {
+		List delays = new ArrayList();
+		List timers = new ArrayList();
+
+		public boolean isCurrent() {
+			return true;
+		}
+
+		public void timerExec(int milliseconds, Runnable runnable) {
+			delays.add(new Integer(milliseconds));
+			timers.add(runnable);
+		}
+
+		void runTimers() {
+			while (!timers.isEmpty())
+				((Runnable) timers.remove(0)).run();
+		}
+	}
+
+	private static class QueueExecutor implements Executor {
+		List queue = new ArrayList();
+
+		public void execute(Runnable command) {
+			queue.add(command);
+		}
+
+		void runQueued() {
+			while (!queue.isEmpty())
+				((Runnable) queue.remove(0)).run();
+		}
+	}
+
+	private static class AsyncValidator implements IAsyncValidator {
+		List validated = new ArrayList();
+
+		public IStatus validate(Object value) {
+			validated.add(value);
+			return "invalid".equals(value) ? ValidationStatus.error("invalid")
+					: ValidationStatus.ok();
+		}
+	}
+
 	private static class ObservableValueStub extends AbstractObservableValue {
 		protected Object doGetValue() {
 			// do nothing
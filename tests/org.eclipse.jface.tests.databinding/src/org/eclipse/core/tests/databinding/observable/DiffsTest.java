@@ -11,10 +11,18 @@
 
 package org.eclipse.core.tests.databinding.observable;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import junit.framework.TestCase;
 
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.IElementEquality;
+import org.eclipse.core.databinding.observable.map.MapDiff;
 import org.eclipse.core.databinding.observable.set.SetDiff;
 import org.eclipse.core.databinding.observable.value.ValueDiff;
 
@@ -68,4 +76,110 @@ public class DiffsTest extends TestCase {
 		}
 	}
 
+	public void testComputeSetDiff() {
+		Set oldSet = new HashSet(Arrays.asList(new Object[] { "a", "b", "c" }));
+		Set newSet = new HashSet(Arrays.asList(new Object[] { "b", "c", "d" }));
+
+		SetDiff diff = Diffs.computeSetDiff(oldSet, newSet);
+		assertEquals(Collections.singleton("d"), diff.getAdditions());
+		assertEquals(Collections.singleton("a"), diff.getRemovals());
+	}
+
+	public void testComputeSetDiff_NoChange() {
+		Set set = new HashSet(Arrays.asList(new Object[] { "a", "b" }));
+
+		SetDiff diff = Diffs.computeSetDiff(set, new HashSet(set));
+		assertTrue(diff.isEmpty());
+	}
+
+	public void testComputeSetDiff_Identity() {
+		String a1 = new String("a");
+		String a2 = new String("a");
+		String b = "b";
+		Set oldSet = new HashSet(Arrays.asList(new Object[] { a1, b }));
+		Set newSet = new HashSet(Arrays.asList(new Object[] { a2, b }));
+
+		SetDiff diff = Diffs.computeSetDiff(oldSet, newSet,
+				IElementEquality.IDENTITY);
+		assertEquals(1, diff.getAdditions().size());
+		assertSame(a2, diff.getAdditions().iterator().next());
+		assertEquals(1, diff.getRemovals().size());
+		assertSame(a1, diff.getRemovals().iterator().next());
+
+		assertTrue(Diffs.computeSetDiff(oldSet, newSet,
+				IElementEquality.EQUALITY).isEmpty());
+	}
+
+	public void testComputeSetDiff_CustomEquality() {
+		IElementEquality caseInsensitive = new IElementEquality() {
+			public boolean equals(Object a, Object b) {
+				return a == null ? b == null : b != null
+						&& ((String) a).equalsIgnoreCase((String) b);
+			}
+
+			public int hashCode(Object element) {
+				return element == null ? 0 : ((String) element).toLowerCase()
+						.hashCode();
+			}
+		};
+		Set oldSet = new HashSet(Arrays.asList(new Object[] { "A", "b", null }));
+		Set newSet = new HashSet(Arrays.asList(new Object[] { "a", "B", "c" }));
+
+		SetDiff diff = Diffs.computeSetDiff(oldSet, newSet, caseInsensitive);
+		assertEquals(Collections.singleton("c"), diff.getAdditions());
+		assertEquals(Collections.singleton(null), diff.getRemovals());
+	}
+
+	public void testComputeMapDiff() {
+		Map oldMap = new HashMap();
+		oldMap.put("removed", "1");
+		oldMap.put("changed", "2");
+		oldMap.put("same", "3");
+		oldMap.put("nullValue", null);
+		Map newMap = new HashMap();
+		newMap.put("added", "4");
+		newMap.put("changed", "5");
+		newMap.put("same", "3");
+		newMap.put("nullValue", null);
+
+		MapDiff diff = Diffs.computeMapDiff(oldMap, newMap);
+		assertEquals(Collections.singleton("added"), diff.getAddedKeys());
+		assertEquals(Collections.singleton("removed"), diff.getRemovedKeys());
+		assertEquals(Collections.singleton("changed"), diff.getChangedKeys());
+		assertEquals("4", diff.getNewValue("added"));
+		assertEquals("1", diff.getOldValue("removed"));
+		assertEquals("2", diff.getOldValue("changed"));
+		assertEquals("5", diff.getNewValue("changed"));
+	}
+
+	public void testComputeMapDiff_IdentityValues() {
+		String value1 = new String("value");
+		String value2 = new String("value");
+		Map oldMap = Collections.singletonMap("key", value1);
+		Map newMap = Collections.singletonMap("key", value2);
+
+		assertTrue(Diffs.computeMapDiff(oldMap, newMap).isEmpty());
+
+		MapDiff diff = Diffs.computeMapDiff(oldMap, newMap,
+				IElementEquality.IDENTITY);
+		assertEquals(Collections.singleton("key"), diff.getChangedKeys());
+		assertSame(value1, diff.getOldValue("key"));
+		assertSame(value2, diff.getNewValue("key"));
+	}
+
+	public void testComputeAndCastMapDiff() {
+		Map oldMap = new HashMap();
+		oldMap.put("a", new Integer(1));
+		oldMap.put("b", new Integer(2));
+		Map newMap = new HashMap();
+		newMap.put("b", new Integer(3));
+		newMap.put("c", new Integer(4));
+
+		MapDiff<String, Integer> diff = Diffs.computeAndCastMapDiff(oldMap,
+				newMap, String.class, Integer.class);
+		assertEquals(Collections.singleton("c"), diff.getAddedKeys());
+		assertEquals(Collections.singleton("a"), diff.getRemovedKeys());
+		assertEquals(Collections.singleton("b"), diff.getChangedKeys());
+		assertEquals(new Integer(3), diff.getNewValue("b"));
+	}
 }
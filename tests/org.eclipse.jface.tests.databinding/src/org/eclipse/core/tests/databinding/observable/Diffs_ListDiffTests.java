@@ -14,7 +14,9 @@ package org.eclipse.core.tests.databinding.observable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import junit.framework.TestCase;
 
@@ -256,8 +258,117 @@ public class Diffs_ListDiffTests extends TestCase {
 				Arrays.asList(new Object[] { "c", "a", "b" }));
 	}
 
+	public void testComputeListDiff_LargeListsAllModes() {
+		Random random = new Random(12345);
+		for (int round = 0; round < 20; round++) {
+			List oldList = randomList(random, 200 + random.nextInt(200), 50);
+			List newList = randomList(random, 200 + random.nextInt(200), 50);
+			checkComputedListDiff(oldList, newList, Diffs.LIST_DIFF_DEFAULT);
+			checkComputedListDiff(oldList, newList, Diffs.LIST_DIFF_MINIMAL);
+			checkComputedListDiff(oldList, newList, Diffs.LIST_DIFF_FAST);
+		}
+	}
+
+	public void testComputeListDiff_LargeListsWithFewChanges() {
+		Random random = new Random(54321);
+		List oldList = randomList(random, 20000, 1000000);
+		List newList = new ArrayList(oldList);
+		for (int i = 0; i < 20; i++) {
+			newList.remove(random.nextInt(newList.size()));
+			newList.add(random.nextInt(newList.size()),
+					new Integer(random.nextInt()));
+			newList.add(random.nextInt(newList.size()),
+					newList.remove(random.nextInt(newList.size())));
+		}
+		checkComputedListDiff(oldList, newList, Diffs.LIST_DIFF_FAST);
+		checkComputedListDiff(oldList, newList, Diffs.LIST_DIFF_MINIMAL);
+	}
+
+	public void testComputeListDiff_LargeReversedList() {
+		List oldList = new ArrayList();
+		for (int i = 0; i < 20000; i++) {
+			oldList.add(new Integer(i));
+		}
+		List newList = new ArrayList(oldList);
+		Collections.reverse(newList);
+		checkComputedListDiff(oldList, newList, Diffs.LIST_DIFF_FAST);
+	}
+
+	public void testComputeListDiff_MinimalMode() {
+		List oldList = Arrays.asList(new Object[] { "a", "b", "c", "a", "b",
+				"b", "a" });
+		List newList = Arrays.asList(new Object[] { "c", "b", "a", "b", "a",
+				"c" });
+		ListDiff diff = checkComputedListDiff(oldList, newList,
+				Diffs.LIST_DIFF_MINIMAL);
+		// The longest common subsequence has length 4
+		assertEquals(5, diff.getDifferences().length);
+	}
+
+	public void testComputeListDiff_ReportsMoves() {
+		List oldList = new ArrayList();
+		for (int i = 0; i < 100; i++) {
+			oldList.add(new Integer(i));
+		}
+		List newList = new ArrayList(oldList);
+		newList.add(80, newList.remove(10));
+
+		final int[] moves = new int[1];
+		ListDiff diff = Diffs.computeListDiff(oldList, newList,
+				Diffs.LIST_DIFF_FAST);
+		diff.accept(new ListDiffVisitor() {
+			public void handleAdd(int index, Object element) {
+				fail("Unexpected add");
+			}
+
+			public void handleRemove(int index, Object element) {
+				fail("Unexpected remove");
+			}
+
+			public void handleMove(int oldIndex, int newIndex, Object element) {
+				assertEquals(10, oldIndex);
+				assertEquals(80, newIndex);
+				assertEquals(new Integer(10), element);
+				moves[0]++;
+			}
+		});
+		assertEquals(1, moves[0]);
+	}
+
+	public void testComputeListDiff_InvalidMode() {
+		try {
+			Diffs.computeListDiff(Collections.EMPTY_LIST,
+					Collections.EMPTY_LIST, -1);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testComputeLazyListDiff_Mode() {
+		List oldList = Arrays.asList(new Object[] { "a", "b", "c" });
+		List newList = Arrays.asList(new Object[] { "c", "a", "d" });
+		ListDiff diff = Diffs.computeLazyListDiff(oldList, newList,
+				Diffs.LIST_DIFF_MINIMAL);
+		List list = new ArrayList(oldList);
+		diff.applyTo(list);
+		assertEquals(newList, list);
+	}
+
+	private static List randomList(Random random, int size, int range) {
+		List list = new ArrayList(size);
+		for (int i = 0; i < size; i++) {
+			list.add(new Integer(random.nextInt(range)));
+		}
+		return list;
+	}
+
 	private static void checkComputedListDiff(List oldList, List newList) {
-		ListDiff diff = Diffs.computeListDiff(oldList, newList);
+		checkComputedListDiff(oldList, newList, Diffs.LIST_DIFF_DEFAULT);
+	}
+
+	private static ListDiff checkComputedListDiff(List oldList, List newList,
+			int mode) {
+		ListDiff diff = Diffs.computeListDiff(oldList, newList, mode);
 
 		final List list = new ArrayList(oldList);
 		diff.accept(new ListDiffVisitor() {
@@ -278,5 +389,6 @@ public class Diffs_ListDiffTests extends TestCase {
 		assertEquals(
 				"Applying diff to old list should make it equal to new list",
 				newList, list);
+		return diff;
 	}
 }
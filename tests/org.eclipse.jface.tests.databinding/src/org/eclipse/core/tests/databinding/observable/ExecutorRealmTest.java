@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.databinding.observable.ExecutorRealm;
+import org.eclipse.core.databinding.observable.Realm;
+
+public class ExecutorRealmTest extends TestCase {
+	private ExecutorService executor;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	protected void tearDown() throws Exception {
+		executor.shutdownNow();
+		super.tearDown();
+	}
+
+	public void testAsyncExec_RunsInOrderWithinRealm() throws Exception {
+		final Realm realm = new ExecutorRealm(executor);
+		final int[] log = new int[1000];
+		final int[] count = new int[1];
+		final boolean[] current = new boolean[] { true };
+		final CountDownLatch done = new CountDownLatch(1);
+		for (int i = 0; i < log.length; i++) {
+			final int value = i;
+			realm.asyncExec(new Runnable() {
+				public void run() {
+					if (!realm.isCurrent() || Realm.getDefault() != realm)
+						current[0] = false;
+					log[count[0]++] = value;
+					if (count[0] == log.length)
+						done.countDown();
+				}
+			});
+		}
+		assertTrue(done.await(5000, TimeUnit.MILLISECONDS));
+
+		assertTrue(current[0]);
+		assertFalse(realm.isCurrent());
+		for (int i = 0; i < log.length; i++)
+			assertEquals(i, log[i]);
+	}
+
+	public void testSyncExec() throws Exception {
+		final boolean[] current = new boolean[1];
+		new SyncExecRealm(executor).syncExec(new Runnable() {
+			public void run() {
+				current[0] = Realm.getDefault().isCurrent();
+			}
+		});
+		assertTrue(current[0]);
+	}
+
+	public void testSyncExec_KeepsInterruptStatus() throws Exception {
+		final boolean[] hasRun = new boolean[1];
+		Thread.currentThread().interrupt();
+		try {
+			new SyncExecRealm(executor).syncExec(new Runnable() {
+				public void run() {
+					hasRun[0] = true;
+				}
+			});
+			assertTrue(hasRun[0]);
+			assertTrue(Thread.currentThread().isInterrupted());
+		} finally {
+			Thread.interrupted();
+		}
+	}
+
+	public void testTimerExec() throws Exception {
+		final Realm realm = new ExecutorRealm(executor);
+		final CountDownLatch done = new CountDownLatch(1);
+		final boolean[] current = new boolean[1];
+		realm.timerExec(50, new Runnable() {
+			public void run() {
+				current[0] = realm.isCurrent();
+				done.countDown();
+			}
+		});
+		assertTrue(done.await(5000, TimeUnit.MILLISECONDS));
+		assertTrue(current[0]);
+	}
+
+	/**
+	 * Many realms sharing a few threads, fed by several producers. Each realm
+	 * must execute its runnables one at a time and in order.
+	 */
+	public void testManyRealms() throws Exception {
+		final int realmCount = 10000;
+		final int runnablesPerProducer = 5;
+		final int producerCount = 4;
+		final ExecutorRealm[] realms = new ExecutorRealm[realmCount];
+		final int[] running = new int[realmCount];
+		final int[] executed = new int[realmCount];
+		final int[][] lastSequence = new int[realmCount][producerCount];
+		final AtomicInteger errors = new AtomicInteger();
+		final CountDownLatch done = new CountDownLatch(realmCount
+				* runnablesPerProducer * producerCount);
+		for (int i = 0; i < realmCount; i++)
+			realms[i] = new ExecutorRealm(executor);
+
+		Thread[] producers = new Thread[producerCount];
+		for (int p = 0; p < producerCount; p++) {
+			final int producer = p;
+			producers[p] = new Thread() {
+				public void run() {
+					for (int j = 1; j <= runnablesPerProducer; j++) {
+						for (int i = 0; i < realmCount; i++) {
+							final int index = i;
+							final int sequence = j;
+							realms[i].asyncExec(new Runnable() {
+								public void run() {
+									// Unsynchronized on purpose, the realm
+									// serializes the runnables
+									if (running[index]++ != 0)
+										errors.incrementAndGet();
+									if (lastSequence[index][producer] != sequence - 1)
+										errors.incrementAndGet();
+									lastSequence[index][producer] = sequence;
+									executed[index]++;
+									running[index]--;
+									done.countDown();
+								}
+							});
+						}
+					}
+				}
+			};
+			producers[p].start();
+		}
+		for (int p = 0; p < producerCount; p++)
+			producers[p].join();
+		assertTrue(done.await(30000, TimeUnit.MILLISECONDS));
+
+		assertEquals(0, errors.get());
+		for (int i = 0; i < realmCount; i++)
+			assertEquals(runnablesPerProducer * producerCount, executed[i]);
+	}
+
+	private static class SyncExecRealm extends ExecutorRealm {
+		SyncExecRealm(ExecutorService executor) {
+			super(executor);
+		}
+
+		public void syncExec(Runnable runnable) {
+			super.syncExec(runnable);
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.IChangeListener;
+import org.eclipse.core.databinding.observable.ListenerList;
+import org.eclipse.core.databinding.observable.ListenerListCopy;
+import org.eclipse.core.tests.databinding.observable.ObservableTrackerTest.ObservableStub;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+
+public class ListenerListTest extends AbstractDefaultRealmTestCase {
+	private List<Integer> log;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		log = new ArrayList<Integer>();
+	}
+
+	public void testAdd_IgnoresDuplicates() {
+		ListenerList<IChangeListener> list = new ListenerList<IChangeListener>();
+		IChangeListener listener = new LoggingListener(0);
+		list.add(listener);
+		list.add(listener);
+		assertEquals(1, list.size());
+	}
+
+	public void testAdd_ManyListeners_IgnoresDuplicates() {
+		ListenerList<IChangeListener> list = new ListenerList<IChangeListener>(
+				ListenerList.IDENTITY);
+		IChangeListener[] listeners = createListeners(100);
+		for (int i = 0; i < listeners.length; i++)
+			list.add(listeners[i]);
+		for (int i = 0; i < listeners.length; i++)
+			list.add(listeners[i]);
+		assertEquals(listeners.length, list.size());
+
+		fire(list);
+		for (int i = 0; i < listeners.length; i++)
+			assertEquals(new Integer(i), log.get(i));
+	}
+
+	public void testAdd_ManyListeners_Equality() {
+		ListenerList<IChangeListener> list = new ListenerList<IChangeListener>();
+		IChangeListener[] listeners = createListeners(100);
+		for (int i = 0; i < listeners.length; i++)
+			list.add(listeners[i]);
+		for (int i = 0; i < listeners.length; i++)
+			list.add(new LoggingListener(i));
+		assertEquals(listeners.length, list.size());
+
+		list.remove(new LoggingListener(50));
+		assertEquals(listeners.length - 1, list.size());
+		assertFalse(list.getListeners().contains(listeners[50]));
+	}
+
+	public void testRemove_ManyListeners() {
+		ListenerList<IChangeListener> list = new ListenerList<IChangeListener>(
+				ListenerList.IDENTITY);
+		IChangeListener[] listeners = createListeners(100);
+		for (int i = 0; i < listeners.length; i++)
+			list.add(listeners[i]);
+		for (int i = 0; i < listeners.length; i += 2)
+			list.remove(listeners[i]);
+		assertEquals(listeners.length / 2, list.size());
+
+		// Removed listeners can be added again, at the end of the list
+		list.add(listeners[0]);
+		fire(list);
+		for (int i = 0; i < listeners.length / 2; i++)
+			assertEquals(new Integer(i * 2 + 1), log.get(i));
+		assertEquals(new Integer(0), log.get(log.size() - 1));
+
+		for (int i = 0; i < listeners.length; i++)
+			list.remove(listeners[i]);
+		assertTrue(list.isEmpty());
+		assertFalse(list.hasListeners());
+	}
+
+	public void testGetReadOnlyCopy() {
+		ListenerList<IChangeListener> list = new ListenerList<IChangeListener>();
+		list.add(new LoggingListener(0));
+		ListenerListCopy<IChangeListener> copy = list.getReadOnlyCopy();
+		assertTrue(copy.isIdenticalTo(list));
+
+		list.add(new LoggingListener(1));
+		assertFalse(copy.isIdenticalTo(list));
+
+		copy.fireEvent(new ChangeEvent(new ObservableStub()));
+		assertEquals(1, log.size());
+	}
+
+	private IChangeListener[] createListeners(int count) {
+		IChangeListener[] listeners = new IChangeListener[count];
+		for (int i = 0; i < count; i++)
+			listeners[i] = new LoggingListener(i);
+		return listeners;
+	}
+
+	private void fire(ListenerList<IChangeListener> list) {
+		list.fireEvent(new ChangeEvent(new ObservableStub()));
+	}
+
+	private class LoggingListener implements IChangeListener {
+		private final int id;
+
+		LoggingListener(int id) {
+			this.id = id;
+		}
+
+		public void handleChange(ChangeEvent event) {
+			log.add(new Integer(id));
+		}
+
+		public boolean equals(Object obj) {
+			return obj instanceof LoggingListener
+					&& ((LoggingListener) obj).id == id;
+		}
+
+		public int hashCode() {
+			return id;
+		}
+	}
+}
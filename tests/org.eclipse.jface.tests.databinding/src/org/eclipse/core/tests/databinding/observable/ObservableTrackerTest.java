@@ -18,6 +18,8 @@ import java.util.List;
 import java.util.Set;
 
 import org.eclipse.core.databinding.observable.AbstractObservable;
+import org.eclipse.core.databinding.observable.ChangeEvent;
+import org.eclipse.core.databinding.observable.IChangeListener;
 import org.eclipse.core.databinding.observable.IObservable;
 import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
@@ -41,6 +43,40 @@ public class ObservableTrackerTest extends AbstractDefaultRealmTestCase {
 		assertSame(observable, result[0]);
 	}
 
+	public void testRunAndMonitor_PreviousDependencies() throws Exception {
+		final ObservableStub kept = new ObservableStub();
+		final ObservableStub dropped = new ObservableStub();
+		final ObservableStub added = new ObservableStub();
+		IChangeListener listener = new IChangeListener() {
+			public void handleChange(ChangeEvent event) {
+			}
+		};
+
+		IObservable[] dependencies = ObservableTracker.runAndMonitor(
+				new Runnable() {
+					public void run() {
+						ObservableTracker.getterCalled(kept);
+						ObservableTracker.getterCalled(dropped);
+					}
+				}, null, listener, null);
+		assertEquals(1, kept.changeListenersAdded);
+		assertEquals(1, dropped.changeListenersAdded);
+
+		dependencies = ObservableTracker.runAndMonitor(new Runnable() {
+			public void run() {
+				ObservableTracker.getterCalled(added);
+				ObservableTracker.getterCalled(kept);
+			}
+		}, dependencies, listener, null);
+
+		assertEquals(2, dependencies.length);
+		assertEquals(1, kept.changeListenersAdded);
+		assertTrue(kept.hasListeners());
+		assertFalse(dropped.hasListeners());
+		assertEquals(1, added.changeListenersAdded);
+		assertTrue(added.hasListeners());
+	}
+
 	public void testGetterCalled_ObservableDisposed() throws Exception {
 		try {
 			IObservable observable = new ObservableStub();
@@ -64,6 +100,55 @@ public class ObservableTrackerTest extends AbstractDefaultRealmTestCase {
 		}
 	}
 
+	public void testRunAndMonitor_ManyObservables() throws Exception {
+		final IObservable[] observables = new IObservable[20];
+		for (int i = 0; i < observables.length; i++)
+			observables[i] = new ObservableStub();
+
+		IObservable[] result = ObservableTracker.runAndMonitor(new Runnable() {
+			public void run() {
+				for (int i = 0; i < observables.length; i++)
+					ObservableTracker.getterCalled(observables[i]);
+				for (int i = observables.length - 1; i >= 0; i--)
+					ObservableTracker.getterCalled(observables[i]);
+			}
+		}, null, null);
+		assertTrue(Arrays.equals(observables, result));
+	}
+
+	public void testRunAndMonitor_Nested() throws Exception {
+		final IObservable outer = new ObservableStub();
+		final IObservable inner = new ObservableStub();
+		final IObservable[][] innerResult = new IObservable[1][];
+
+		IObservable[] result = ObservableTracker.runAndMonitor(new Runnable() {
+			public void run() {
+				ObservableTracker.getterCalled(outer);
+				innerResult[0] = ObservableTracker.runAndMonitor(
+						new Runnable() {
+							public void run() {
+								ObservableTracker.getterCalled(inner);
+							}
+						}, null, null);
+				ObservableTracker.getterCalled(outer);
+			}
+		}, null, null);
+		assertTrue(Arrays.equals(new IObservable[] { outer }, result));
+		assertTrue(Arrays.equals(new IObservable[] { inner }, innerResult[0]));
+	}
+
+	public void testGetterCalled_DebugTrackedGettersDisabled() throws Exception {
+		IObservable observable = new ObservableStub();
+		observable.dispose();
+
+		Policy.DEBUG_TRACKED_GETTERS = false;
+		try {
+			ObservableTracker.getterCalled(observable);
+		} finally {
+			Policy.DEBUG_TRACKED_GETTERS = true;
+		}
+	}
+
 	public void testRunAndCollect() throws Exception {
 		final IObservable[] created = new IObservable[1];
 		IObservable[] collected = ObservableTracker
@@ -231,6 +316,8 @@ public class ObservableTrackerTest extends AbstractDefaultRealmTestCase {
 	}
 
 	public static class ObservableStub extends AbstractObservable {
+		int changeListenersAdded;
+
 		public ObservableStub() {
 			this(Realm.getDefault());
 		}
@@ -242,5 +329,14 @@ public class ObservableTrackerTest extends AbstractDefaultRealmTestCase {
 		public boolean isStale() {
 			return false;
 		}
+
+		public synchronized void addChangeListener(IChangeListener listener) {
+			changeListenersAdded++;
+			super.addChangeListener(listener);
+		}
+
+		protected boolean hasListeners() {
+			return super.hasListeners();
+		}
 	}
 }
@@ -11,11 +11,26 @@
 
 package org.eclipse.core.tests.databinding.observable;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import junit.framework.TestCase;
 
 import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.list.IListChangeListener;
+import org.eclipse.core.databinding.observable.list.ListChangeEvent;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.core.databinding.observable.map.WritableMap;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.core.runtime.AssertionFailedException;
+import org.eclipse.jface.databinding.conformance.util.ChangeEventTracker;
 import org.eclipse.jface.databinding.conformance.util.CurrentRealm;
+import org.eclipse.jface.databinding.conformance.util.ListChangeEventTracker;
+import org.eclipse.jface.databinding.conformance.util.MapChangeEventTracker;
 import org.eclipse.jface.databinding.conformance.util.RealmTester;
+import org.eclipse.jface.databinding.conformance.util.SetChangeEventTracker;
+import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
 
 /**
  * @since 3.2
@@ -34,4 +49,180 @@ public class RealmTest extends TestCase {
 		
 		assertEquals("old realm should have been restored", oldRealm, Realm.getDefault());
 	}
+
+	public void testRunBatched_List() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		final WritableList list = new WritableList(realm);
+		ChangeEventTracker changes = ChangeEventTracker.observe(list);
+		ListChangeEventTracker listChanges = ListChangeEventTracker
+				.observe(list);
+
+		realm.runBatched(new Runnable() {
+			public void run() {
+				for (int i = 0; i < 100; i++)
+					list.add(new Integer(i));
+				list.remove(0);
+			}
+		});
+
+		assertEquals(1, changes.count);
+		assertEquals(1, listChanges.count);
+		assertEquals(list, listChanges.event.diff.simulateOn(Collections
+				.emptyList()));
+	}
+
+	public void testRunBatched_Value() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		final WritableValue value = new WritableValue(realm, "a", String.class);
+		final ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(value);
+
+		realm.runBatched(new Runnable() {
+			public void run() {
+				value.setValue("b");
+				value.setValue("c");
+				assertEquals(0, tracker.count);
+			}
+		});
+
+		assertEquals(1, tracker.count);
+		assertEquals("a", tracker.event.diff.getOldValue());
+		assertEquals("c", tracker.event.diff.getNewValue());
+	}
+
+	public void testRunBatched_ValueChangesCancelOut() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		final WritableValue value = new WritableValue(realm, "a", String.class);
+		ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(value);
+
+		realm.runBatched(new Runnable() {
+			public void run() {
+				value.setValue("b");
+				value.setValue("a");
+			}
+		});
+
+		assertEquals(0, tracker.count);
+	}
+
+	public void testRunBatched_ListenerThrows() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		final WritableList list = new WritableList(realm);
+		final RuntimeException exception = new RuntimeException();
+		IListChangeListener throwing = new IListChangeListener() {
+			public void handleListChange(ListChangeEvent event) {
+				throw exception;
+			}
+		};
+		list.addListChangeListener(throwing);
+		ListChangeEventTracker tracker = ListChangeEventTracker.observe(list);
+
+		try {
+			realm.runBatched(new Runnable() {
+				public void run() {
+					list.add("a");
+				}
+			});
+			fail("Expected the listener's exception");
+		} catch (RuntimeException e) {
+			assertSame(exception, e);
+		}
+
+		list.removeListChangeListener(throwing);
+		realm.runBatched(new Runnable() {
+			public void run() {
+				list.add("b");
+			}
+		});
+
+		assertEquals(1, tracker.count);
+		assertEquals(1, tracker.event.diff.getDifferences().length);
+		assertEquals("b", tracker.event.diff.getDifferences()[0].getElement());
+		assertEquals(Arrays.asList(new Object[] { "a", "b" }), list);
+	}
+
+	public void testRunBatched_SetChangesCancelOut() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		final WritableSet set = new WritableSet(realm);
+		set.add("a");
+		SetChangeEventTracker tracker = SetChangeEventTracker.observe(set);
+
+		realm.runBatched(new Runnable() {
+			public void run() {
+				set.remove("a");
+				set.add("b");
+				set.add("a");
+				set.add("c");
+				set.remove("c");
+			}
+		});
+
+		assertEquals(1, tracker.count);
+		assertEquals(Collections.singleton("b"), tracker.event.diff
+				.getAdditions());
+		assertEquals(Collections.EMPTY_SET, tracker.event.diff.getRemovals());
+	}
+
+	public void testRunBatched_Map() throws Exception {
+		Realm realm = new CurrentRealm(true);
+		final WritableMap map = new WritableMap(realm);
+		map.put("changed", "old");
+		map.put("removed", "old");
+		MapChangeEventTracker tracker = MapChangeEventTracker.observe(map);
+
+		realm.runBatched(new Runnable() {
+			public void run() {
+				map.put("changed", "intermediate");
+				map.put("changed", "new");
+				map.remove("removed");
+				map.put("added", "new");
+				map.put("transient", "new");
+				map.remove("transient");
+			}
+		});
+
+		assertEquals(1, tracker.count);
+		assertEquals(Collections.singleton("added"), tracker.event.diff
+				.getAddedKeys());
+		assertEquals(Collections.singleton("removed"), tracker.event.diff
+				.getRemovedKeys());
+		assertEquals(Collections.singleton("changed"), tracker.event.diff
+				.getChangedKeys());
+		assertEquals("old", tracker.event.diff.getOldValue("changed"));
+		assertEquals("new", tracker.event.diff.getNewValue("changed"));
+	}
+
+	public void testRunBatched_Nested() throws Exception {
+		final Realm realm = new CurrentRealm(true);
+		final WritableList list = new WritableList(realm);
+		ListChangeEventTracker tracker = ListChangeEventTracker.observe(list);
+
+		realm.runBatched(new Runnable() {
+			public void run() {
+				list.add("a");
+				realm.runBatched(new Runnable() {
+					public void run() {
+						list.add("b");
+					}
+				});
+				list.add("c");
+			}
+		});
+
+		assertEquals(1, tracker.count);
+		assertEquals(Arrays.asList(new Object[] { "a", "b", "c" }),
+				tracker.event.diff.simulateOn(Collections.emptyList()));
+	}
+
+	public void testRunBatched_OutsideRealm() throws Exception {
+		try {
+			new CurrentRealm(false).runBatched(new Runnable() {
+				public void run() {
+				}
+			});
+			fail("Expected AssertionFailedException");
+		} catch (AssertionFailedException expected) {
+		}
+	}
 }
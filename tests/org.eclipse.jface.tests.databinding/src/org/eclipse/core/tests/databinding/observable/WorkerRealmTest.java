@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.databinding.observable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.databinding.observable.Realm;
+import org.eclipse.core.databinding.observable.WorkerRealm;
+
+public class WorkerRealmTest extends TestCase {
+	private WorkerRealm realm;
+
+	protected void tearDown() throws Exception {
+		if (realm != null) {
+			realm.shutdown();
+			realm.awaitTermination(5000);
+		}
+		super.tearDown();
+	}
+
+	public void testAsyncExec_RunsInOrderWithinRealm() throws Exception {
+		realm = new WorkerRealm("test"); //$NON-NLS-1$
+		final List<Integer> log = Collections
+				.synchronizedList(new ArrayList<Integer>());
+		final boolean[] current = new boolean[] { true };
+		for (int i = 0; i < 1000; i++) {
+			final int value = i;
+			realm.asyncExec(new Runnable() {
+				public void run() {
+					if (!realm.isCurrent() || Realm.getDefault() != realm)
+						current[0] = false;
+					log.add(new Integer(value));
+				}
+			});
+		}
+		realm.shutdown();
+		assertTrue(realm.awaitTermination(5000));
+
+		assertTrue(current[0]);
+		assertFalse(realm.isCurrent());
+		assertEquals(1000, log.size());
+		for (int i = 0; i < 1000; i++)
+			assertEquals(new Integer(i), log.get(i));
+	}
+
+	public void testAsyncExec_ManyProducers() throws Exception {
+		realm = new WorkerRealm("test", 16, WorkerRealm.BLOCK); //$NON-NLS-1$
+		final int[] count = new int[1];
+		Thread[] producers = new Thread[4];
+		for (int i = 0; i < producers.length; i++) {
+			producers[i] = new Thread() {
+				public void run() {
+					for (int j = 0; j < 1000; j++) {
+						realm.asyncExec(new Runnable() {
+							public void run() {
+								// Only the worker thread updates the count
+								count[0]++;
+							}
+						});
+					}
+				}
+			};
+			producers[i].start();
+		}
+		for (int i = 0; i < producers.length; i++)
+			producers[i].join();
+		realm.shutdown();
+		assertTrue(realm.awaitTermination(5000));
+
+		assertEquals(4000, count[0]);
+		assertEquals(0, realm.getQueueSize());
+	}
+
+	public void testAsyncExec_RejectWhenFull() throws Exception {
+		realm = new WorkerRealm("test", 2, WorkerRealm.REJECT); //$NON-NLS-1$
+		final CountDownLatch release = blockWorker();
+
+		realm.asyncExec(new NullRunnable());
+		realm.asyncExec(new NullRunnable());
+		try {
+			realm.asyncExec(new NullRunnable());
+			fail("Expected RejectedExecutionException"); //$NON-NLS-1$
+		} catch (RejectedExecutionException expected) {
+		}
+		assertEquals(2, realm.getQueueSize());
+		release.countDown();
+	}
+
+	public void testAsyncExec_DiscardWhenFull() throws Exception {
+		realm = new WorkerRealm("test", 1, WorkerRealm.DISCARD); //$NON-NLS-1$
+		final CountDownLatch release = blockWorker();
+		final int[] count = new int[1];
+		Runnable runnable = new Runnable() {
+			public void run() {
+				count[0]++;
+			}
+		};
+
+		realm.asyncExec(runnable);
+		realm.asyncExec(runnable);
+		release.countDown();
+		realm.shutdown();
+		assertTrue(realm.awaitTermination(5000));
+		assertEquals(1, count[0]);
+	}
+
+	public void testAsyncExec_BlockUntilRoom() throws Exception {
+		realm = new WorkerRealm("test", 1, WorkerRealm.BLOCK); //$NON-NLS-1$
+		final CountDownLatch release = blockWorker();
+		realm.asyncExec(new NullRunnable());
+
+		final CountDownLatch submitted = new CountDownLatch(1);
+		Thread producer = new Thread() {
+			public void run() {
+				realm.asyncExec(new NullRunnable());
+				submitted.countDown();
+			}
+		};
+		producer.start();
+		assertFalse(submitted.await(100, TimeUnit.MILLISECONDS));
+
+		release.countDown();
+		assertTrue(submitted.await(5000, TimeUnit.MILLISECONDS));
+	}
+
+	public void testAsyncExec_AfterShutdown() throws Exception {
+		realm = new WorkerRealm("test"); //$NON-NLS-1$
+		realm.shutdown();
+		assertTrue(realm.isShutdown());
+		assertTrue(realm.awaitTermination(0));
+		try {
+			realm.asyncExec(new NullRunnable());
+			fail("Expected RejectedExecutionException"); //$NON-NLS-1$
+		} catch (RejectedExecutionException expected) {
+		}
+	}
+
+	public void testShutdown_RunsQueuedRunnables() throws Exception {
+		realm = new WorkerRealm("test"); //$NON-NLS-1$
+		final CountDownLatch release = blockWorker();
+		final int[] count = new int[1];
+		for (int i = 0; i < 10; i++) {
+			realm.asyncExec(new Runnable() {
+				public void run() {
+					count[0]++;
+				}
+			});
+		}
+		realm.shutdown();
+		assertFalse(realm.awaitTermination(50));
+
+		release.countDown();
+		assertTrue(realm.awaitTermination(5000));
+		assertEquals(10, count[0]);
+	}
+
+	public void testShutdown_RacingFirstAsyncExec() throws Exception {
+		for (int i = 0; i < 2000; i++) {
+			realm = new WorkerRealm("test"); //$NON-NLS-1$
+			final CyclicBarrier start = new CyclicBarrier(2);
+			final AtomicInteger count = new AtomicInteger();
+			final AtomicInteger accepted = new AtomicInteger();
+			Thread producer = new Thread() {
+				public void run() {
+					try {
+						start.await();
+						realm.asyncExec(new Runnable() {
+							public void run() {
+								count.incrementAndGet();
+							}
+						});
+						accepted.incrementAndGet();
+					} catch (RejectedExecutionException e) {
+					} catch (Exception e) {
+					}
+				}
+			};
+			producer.start();
+			start.await();
+			realm.shutdown();
+			producer.join();
+
+			assertTrue(realm.awaitTermination(5000));
+			assertEquals(0, realm.getQueueSize());
+			assertEquals(accepted.get(), count.get());
+		}
+	}
+
+	public void testTimerExec() throws Exception {
+		realm = new WorkerRealm("test"); //$NON-NLS-1$
+		final CountDownLatch done = new CountDownLatch(1);
+		final boolean[] current = new boolean[1];
+		long start = System.currentTimeMillis();
+		realm.timerExec(50, new Runnable() {
+			public void run() {
+				current[0] = realm.isCurrent();
+				done.countDown();
+			}
+		});
+		assertTrue(done.await(5000, TimeUnit.MILLISECONDS));
+		assertTrue(System.currentTimeMillis() - start >= 40);
+		assertTrue(current[0]);
+	}
+
+	/**
+	 * Occupies the worker thread until the returned latch is released.
+	 */
+	private CountDownLatch blockWorker() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		realm.asyncExec(new Runnable() {
+			public void run() {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+				}
+			}
+		});
+		assertTrue(started.await(5000, TimeUnit.MILLISECONDS));
+		return release;
+	}
+
+	private static class NullRunnable implements Runnable {
+		public void run() {
+		}
+	}
+}
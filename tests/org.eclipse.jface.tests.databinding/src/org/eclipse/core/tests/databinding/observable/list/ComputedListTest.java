@@ -89,6 +89,17 @@ public class ComputedListTest extends AbstractDefaultRealmTestCase {
 				2, tracker.count);
 	}
 
+	public void testDependency_ListChangeEventFiresWhenListenerAddedWhileDirty() {
+		// make the list dirty while nobody is listening
+		list.dependency.fireChange();
+
+		ListChangeEventTracker tracker = ListChangeEventTracker.observe(list);
+		list.dependency.fireChange();
+		assertEquals(
+				"ComputedList should fire list change event when its dependency changes",
+				1, tracker.count);
+	}
+
 	static class ComputedListStub extends ComputedList {
 		List nextComputation = new ArrayList();
 		ObservableStub dependency;
@@ -14,6 +14,8 @@ package org.eclipse.core.tests.databinding.observable.map;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.Collection;
 
 import org.eclipse.core.databinding.observable.ChangeEvent;
 import org.eclipse.core.databinding.observable.IChangeListener;
@@ -83,6 +85,20 @@ public class ComputedObservableMapTest extends AbstractDefaultRealmTestCase {
 		assertFalse(bean.hasListeners(propertyName));
 	}
 
+	public void testAddAllToKeySet_HooksAddedKeysAtOnce() {
+		ChangeEventTracker.observe(map);
+		Bean other = new Bean("b");
+		keySet.addAll(Arrays.asList(new Bean[] { bean, other }));
+		assertEquals(1, map.hookListenersCount);
+		assertTrue(bean.hasListeners(propertyName));
+		assertTrue(other.hasListeners(propertyName));
+
+		keySet.removeAll(Arrays.asList(new Bean[] { bean, other }));
+		assertEquals(1, map.unhookListenersCount);
+		assertFalse(bean.hasListeners(propertyName));
+		assertFalse(other.hasListeners(propertyName));
+	}
+
 	public void testRemoveLastListener_DoNotDiscardKeySet() {
 		IChangeListener listener = new IChangeListener() {
 			public void handleChange(ChangeEvent event) {
@@ -125,6 +141,10 @@ public class ComputedObservableMapTest extends AbstractDefaultRealmTestCase {
 			}
 		};
 
+		int hookListenersCount;
+
+		int unhookListenersCount;
+
 		ComputedObservableMapStub(IObservableSet keySet) {
 			super(keySet);
 		}
@@ -146,5 +166,15 @@ public class ComputedObservableMapTest extends AbstractDefaultRealmTestCase {
 		protected void unhookListener(Object removedKey) {
 			((Bean) removedKey).removePropertyChangeListener(listener);
 		}
+
+		protected void hookListeners(Collection addedKeys) {
+			hookListenersCount++;
+			super.hookListeners(addedKeys);
+		}
+
+		protected void unhookListeners(Collection removedKeys) {
+			unhookListenersCount++;
+			super.unhookListeners(removedKeys);
+		}
 	}
 }
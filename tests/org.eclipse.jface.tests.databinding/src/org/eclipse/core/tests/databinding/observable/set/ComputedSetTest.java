@@ -26,6 +26,8 @@ import org.eclipse.core.databinding.observable.ObservableTracker;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.databinding.observable.StaleEvent;
 import org.eclipse.core.databinding.observable.set.ComputedSet;
+import org.eclipse.core.databinding.observable.set.SetDiff;
+import org.eclipse.core.databinding.observable.value.WritableValue;
 import org.eclipse.jface.databinding.conformance.ObservableCollectionContractTest;
 import org.eclipse.jface.databinding.conformance.delegate.AbstractObservableCollectionContractDelegate;
 import org.eclipse.jface.databinding.conformance.util.SetChangeEventTracker;
@@ -87,6 +89,41 @@ public class ComputedSetTest extends AbstractDefaultRealmTestCase {
 				2, tracker.count);
 	}
 
+	public void testDependency_ViewOverChangingStateFiresDiff() {
+		final WritableValue value = new WritableValue(new Integer(1),
+				Integer.class);
+		final Set backing = new HashSet();
+		ComputedSet view = new ComputedSet() {
+			protected Set calculate() {
+				backing.clear();
+				backing.add(value.getValue());
+				return Collections.unmodifiableSet(backing);
+			}
+		};
+		SetChangeEventTracker tracker = SetChangeEventTracker.observe(view);
+		view.size(); // Force set to compute
+
+		value.setValue(new Integer(2));
+
+		assertEquals(1, tracker.count);
+		SetDiff diff = tracker.event.diff;
+		assertEquals(Collections.singleton(new Integer(2)), diff
+				.getAdditions());
+		assertEquals(Collections.singleton(new Integer(1)), diff
+				.getRemovals());
+	}
+
+	public void testDependency_SetChangeEventFiresWhenListenerAddedWhileDirty() {
+		// make the set dirty while nobody is listening
+		set.dependency.fireChange();
+
+		SetChangeEventTracker tracker = SetChangeEventTracker.observe(set);
+		set.dependency.fireChange();
+		assertEquals(
+				"ComputedSet should fire set change event when its dependency changes",
+				1, tracker.count);
+	}
+
 	static class ComputedSetStub extends ComputedSet {
 		Set nextComputation = new HashSet();
 		ObservableStub dependency;
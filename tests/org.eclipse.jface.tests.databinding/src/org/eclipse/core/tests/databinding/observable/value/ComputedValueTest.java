@@ -17,8 +17,10 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import org.eclipse.core.databinding.observable.IChangeListener;
 import org.eclipse.core.databinding.observable.value.ComputedValue;
 import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 
 /**
@@ -118,6 +120,48 @@ public class ComputedValueTest extends AbstractDefaultRealmTestCase {
         assertFalse("because value2 is not a part of the calculation the listeners should have been removed", value2.hasListeners());
     }
     
+    public void testListenersKeptAcrossRecomputes() throws Exception {
+        final int[] listenersAdded = new int[1];
+        final WritableValue value = new WritableValue(new Integer(1), Integer.TYPE) {
+            public synchronized void addChangeListener(IChangeListener listener) {
+                listenersAdded[0]++;
+                super.addChangeListener(listener);
+            }
+        };
+
+        ComputedValue cv = new ComputedValue() {
+            protected Object calculate() {
+                return value.getValue();
+            }
+        };
+
+        cv.getValue();
+        value.setValue(new Integer(2));
+        assertEquals(new Integer(2), cv.getValue());
+        value.setValue(new Integer(3));
+        assertEquals(new Integer(3), cv.getValue());
+        assertEquals("listener should only be attached once", 1, listenersAdded[0]);
+    }
+
+    public void testDirtyWithoutListeners_RecomputesWhenListenerAdded() throws Exception {
+        final WritableValue value = new WritableValue(new Integer(1), Integer.TYPE);
+
+        ComputedValue cv = new ComputedValue() {
+            protected Object calculate() {
+                return value.getValue();
+            }
+        };
+
+        cv.getValue();
+        // make the computed value dirty while nobody is listening
+        value.setValue(new Integer(2));
+
+        ValueChangeEventTracker tracker = ValueChangeEventTracker.observe(cv);
+        value.setValue(new Integer(3));
+        assertEquals("ComputedValue should fire a value change event when its dependency changes", 1, tracker.count);
+        assertEquals(new Integer(3), cv.getValue());
+    }
+
     public void testSetValueUnsupportedOperationException() throws Exception {
         ComputedValue cv = new ComputedValue() {
             protected Object calculate() {
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.internal.databinding;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.internal.databinding.identity.CompactIdentityMap;
+
+public class CompactIdentityMapTest extends TestCase {
+	private CompactIdentityMap<Object, Object> map;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		map = new CompactIdentityMap<Object, Object>();
+	}
+
+	public void testPut_ComparesKeysByIdentity() {
+		String key = new String("key");
+		String equalKey = new String("key");
+		map.put(key, "value");
+		assertTrue(map.containsKey(key));
+		assertFalse(map.containsKey(equalKey));
+		assertNull(map.get(equalKey));
+		assertEquals("value", map.put(key, "other"));
+		assertEquals("other", map.get(key));
+		assertEquals(1, map.size());
+	}
+
+	public void testPut_NullKey() {
+		assertNull(map.put(null, "value"));
+		assertTrue(map.containsKey(null));
+		assertEquals("value", map.get(null));
+		assertEquals(null, map.keySet().iterator().next());
+		assertEquals("value", map.remove(null));
+		assertTrue(map.isEmpty());
+	}
+
+	public void testEntrySetValue_WritesThrough() {
+		Object key = new Object();
+		map.put(key, "value");
+		Map.Entry<Object, Object> entry = map.entrySet().iterator().next();
+		assertSame(key, entry.getKey());
+		assertEquals("value", entry.setValue("other"));
+		assertEquals("other", map.get(key));
+	}
+
+	public void testRemove_MatchesIdentityHashMap() {
+		Random random = new Random(1);
+		Map<Object, Object> expected = new IdentityHashMap<Object, Object>();
+		List<Object> keys = new ArrayList<Object>();
+		for (int i = 0; i < 500; i++)
+			keys.add(new Object());
+		for (int i = 0; i < 20000; i++) {
+			Object key = keys.get(random.nextInt(keys.size()));
+			if (random.nextBoolean()) {
+				Integer value = new Integer(i);
+				assertEquals(expected.put(key, value), map.put(key, value));
+			} else {
+				assertEquals(expected.remove(key), map.remove(key));
+			}
+			assertEquals(expected.size(), map.size());
+		}
+		for (Iterator<Object> it = keys.iterator(); it.hasNext();) {
+			Object key = it.next();
+			assertEquals(expected.get(key), map.get(key));
+		}
+	}
+
+	public void testIteratorRemove_VisitsEachKeyOnce() {
+		Random random = new Random(2);
+		for (int round = 0; round < 50; round++) {
+			map.clear();
+			int size = 1 + random.nextInt(200);
+			for (int i = 0; i < size; i++)
+				map.put(new Object(), new Integer(i));
+
+			Map<Object, Object> visited = new IdentityHashMap<Object, Object>();
+			int removed = 0;
+			for (Iterator<Map.Entry<Object, Object>> it = map.entrySet()
+					.iterator(); it.hasNext();) {
+				Map.Entry<Object, Object> entry = it.next();
+				assertNull(visited.put(entry.getKey(), entry.getValue()));
+				if (random.nextBoolean()) {
+					it.remove();
+					removed++;
+				}
+			}
+			assertEquals(size, visited.size());
+			assertEquals(size - removed, map.size());
+			for (Iterator<Map.Entry<Object, Object>> it = map.entrySet()
+					.iterator(); it.hasNext();) {
+				Map.Entry<Object, Object> entry = it.next();
+				assertSame(visited.get(entry.getKey()), entry.getValue());
+			}
+		}
+	}
+
+	public void testEquals_IdentityMap() {
+		Object key = new Object();
+		map.put(key, "value");
+		Map<Object, Object> expected = new IdentityHashMap<Object, Object>();
+		expected.put(key, "value");
+		assertEquals(expected, map);
+		assertEquals(map, expected);
+	}
+}
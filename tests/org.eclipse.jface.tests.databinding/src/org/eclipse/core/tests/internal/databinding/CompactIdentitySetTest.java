@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.internal.databinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.internal.databinding.identity.CompactIdentitySet;
+
+public class CompactIdentitySetTest extends TestCase {
+	private CompactIdentitySet<Object> set;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		set = new CompactIdentitySet<Object>();
+	}
+
+	public void testAdd_ComparesElementsByIdentity() {
+		String element = new String("element");
+		assertTrue(set.add(element));
+		assertFalse(set.add(element));
+		assertTrue(set.add(new String("element")));
+		assertEquals(2, set.size());
+		assertTrue(set.contains(element));
+		assertFalse(set.contains(new String("element")));
+	}
+
+	public void testAdd_GrowsTable() {
+		List<Object> elements = new ArrayList<Object>();
+		for (int i = 0; i < 1000; i++) {
+			Object element = new Object();
+			elements.add(element);
+			set.add(element);
+		}
+		assertEquals(1000, set.size());
+		assertTrue(set.containsAll(elements));
+	}
+
+	public void testRemove() {
+		Object element = new Object();
+		set.add(element);
+		assertFalse(set.remove(new Object()));
+		assertTrue(set.remove(element));
+		assertFalse(set.contains(element));
+		assertTrue(set.isEmpty());
+	}
+
+	public void testRetainAll_ComparesElementsByIdentity() {
+		String kept = new String("kept");
+		String dropped = new String("dropped");
+		set.add(kept);
+		set.add(dropped);
+		assertTrue(set.retainAll(Arrays.asList(new Object[] { kept,
+				new String("dropped") })));
+		assertEquals(1, set.size());
+		assertTrue(set.contains(kept));
+	}
+
+	public void testIteratorRemove_All() {
+		for (int i = 0; i < 100; i++)
+			set.add(new Object());
+		int count = 0;
+		for (Iterator<Object> it = set.iterator(); it.hasNext();) {
+			it.next();
+			it.remove();
+			count++;
+		}
+		assertEquals(100, count);
+		assertTrue(set.isEmpty());
+	}
+}
@@ -0,0 +1,246 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.internal.databinding.beans;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+
+import org.eclipse.core.databinding.beans.BeanProperties;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.tests.databinding.observable.ThreadRealm;
+import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+
+public class BeanPropertyChangeMultiplexerTest extends
+		AbstractDefaultRealmTestCase {
+
+	public void testSingleListenerPerBean() throws Exception {
+		GenericBean bean = new GenericBean();
+		IObservableValue<?> first = BeanProperties.value("first").observe(bean);
+		IObservableValue<?> second = BeanProperties.value("second").observe(
+				bean);
+		IObservableValue<?> first2 = BeanProperties.value("first")
+				.observe(bean);
+		ValueChangeEventTracker firstTracker = ValueChangeEventTracker
+				.observe(first);
+		ValueChangeEventTracker secondTracker = ValueChangeEventTracker
+				.observe(second);
+		ValueChangeEventTracker first2Tracker = ValueChangeEventTracker
+				.observe(first2);
+
+		assertEquals(1, bean.changeSupport.getPropertyChangeListeners().length);
+
+		bean.setFirst("1");
+		assertEquals(1, firstTracker.count);
+		assertEquals(0, secondTracker.count);
+		assertEquals(1, first2Tracker.count);
+		assertEquals("1", firstTracker.event.diff.getNewValue());
+
+		bean.setSecond("2");
+		assertEquals(1, firstTracker.count);
+		assertEquals(1, secondTracker.count);
+		assertEquals(1, first2Tracker.count);
+
+		first.dispose();
+		assertEquals(1, bean.changeSupport.getPropertyChangeListeners().length);
+		bean.setFirst("3");
+		assertEquals(2, first2Tracker.count);
+
+		second.dispose();
+		first2.dispose();
+		assertEquals(0, bean.changeSupport.getPropertyChangeListeners().length);
+	}
+
+	public void testNamedRegistration() throws Exception {
+		NamedBean bean = new NamedBean();
+		IObservableValue<?> first = BeanProperties.value("first").observe(bean);
+		IObservableValue<?> first2 = BeanProperties.value("first")
+				.observe(bean);
+		IObservableValue<?> second = BeanProperties.value("second").observe(
+				bean);
+		ValueChangeEventTracker firstTracker = ValueChangeEventTracker
+				.observe(first);
+		ValueChangeEventTracker first2Tracker = ValueChangeEventTracker
+				.observe(first2);
+		ValueChangeEventTracker secondTracker = ValueChangeEventTracker
+				.observe(second);
+
+		assertEquals(1, bean.changeSupport.getPropertyChangeListeners("first").length);
+		assertEquals(1, bean.changeSupport.getPropertyChangeListeners("second").length);
+
+		bean.setFirst("1");
+		assertEquals(1, firstTracker.count);
+		assertEquals(1, first2Tracker.count);
+		assertEquals(0, secondTracker.count);
+
+		first.dispose();
+		first2.dispose();
+		assertEquals(0, bean.changeSupport.getPropertyChangeListeners("first").length);
+		assertEquals(1, bean.changeSupport.getPropertyChangeListeners("second").length);
+
+		bean.setSecond("2");
+		assertEquals(1, secondTracker.count);
+
+		second.dispose();
+		assertEquals(0, bean.changeSupport.getPropertyChangeListeners().length);
+	}
+
+	public void testUnnamedEventReachesAllProperties() throws Exception {
+		GenericBean bean = new GenericBean();
+		IObservableValue<?> first = BeanProperties.value("first").observe(bean);
+		IObservableValue<?> second = BeanProperties.value("second").observe(
+				bean);
+		ValueChangeEventTracker firstTracker = ValueChangeEventTracker
+				.observe(first);
+		ValueChangeEventTracker secondTracker = ValueChangeEventTracker
+				.observe(second);
+
+		bean.first = "1";
+		bean.second = "2";
+		bean.changeSupport.firePropertyChange(null, null, null);
+		assertEquals(1, firstTracker.count);
+		assertEquals(1, secondTracker.count);
+		assertEquals("1", first.getValue());
+		assertEquals("2", second.getValue());
+	}
+
+	public void testEqualBeansAreObservedSeparately() throws Exception {
+		GenericBean bean1 = new EqualBean();
+		GenericBean bean2 = new EqualBean();
+		IObservableValue<?> first1 = BeanProperties.value("first").observe(
+				bean1);
+		IObservableValue<?> first2 = BeanProperties.value("first").observe(
+				bean2);
+		ValueChangeEventTracker tracker1 = ValueChangeEventTracker
+				.observe(first1);
+		ValueChangeEventTracker tracker2 = ValueChangeEventTracker
+				.observe(first2);
+
+		assertEquals(1, bean1.changeSupport.getPropertyChangeListeners().length);
+		assertEquals(1, bean2.changeSupport.getPropertyChangeListeners().length);
+
+		bean2.setFirst("2");
+		assertEquals(0, tracker1.count);
+		assertEquals(1, tracker2.count);
+
+		first1.dispose();
+		assertEquals(0, bean1.changeSupport.getPropertyChangeListeners().length);
+		assertEquals(1, bean2.changeSupport.getPropertyChangeListeners().length);
+		first2.dispose();
+	}
+
+	public void testConcurrentSubscriptions() throws Exception {
+		final GenericBean bean = new GenericBean();
+		final Exception[] failure = new Exception[1];
+		Thread[] threads = new Thread[4];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread() {
+				public void run() {
+					ThreadRealm realm = new ThreadRealm();
+					realm.init(Thread.currentThread());
+					try {
+						for (int i = 0; i < 500; i++) {
+							IObservableValue<?> value = BeanProperties.value(
+									"first").observe(realm, bean);
+							ValueChangeEventTracker.observe(value);
+							value.dispose();
+						}
+					} catch (Exception e) {
+						failure[0] = e;
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (int t = 0; t < threads.length; t++)
+			threads[t].join();
+
+		assertNull(failure[0]);
+		assertEquals(0, bean.changeSupport.getPropertyChangeListeners().length);
+	}
+
+	public static class GenericBean {
+		PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);
+		String first;
+		String second;
+
+		public void addPropertyChangeListener(PropertyChangeListener listener) {
+			changeSupport.addPropertyChangeListener(listener);
+		}
+
+		public void removePropertyChangeListener(PropertyChangeListener listener) {
+			changeSupport.removePropertyChangeListener(listener);
+		}
+
+		public String getFirst() {
+			return first;
+		}
+
+		public void setFirst(String first) {
+			changeSupport.firePropertyChange("first", this.first,
+					this.first = first);
+		}
+
+		public String getSecond() {
+			return second;
+		}
+
+		public void setSecond(String second) {
+			changeSupport.firePropertyChange("second", this.second,
+					this.second = second);
+		}
+	}
+
+	public static class EqualBean extends GenericBean {
+		public boolean equals(Object obj) {
+			return obj instanceof EqualBean;
+		}
+
+		public int hashCode() {
+			return 0;
+		}
+	}
+
+	public static class NamedBean {
+		PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);
+		String first;
+		String second;
+
+		public void addPropertyChangeListener(String name,
+				PropertyChangeListener listener) {
+			changeSupport.addPropertyChangeListener(name, listener);
+		}
+
+		public void removePropertyChangeListener(String name,
+				PropertyChangeListener listener) {
+			changeSupport.removePropertyChangeListener(name, listener);
+		}
+
+		public String getFirst() {
+			return first;
+		}
+
+		public void setFirst(String first) {
+			changeSupport.firePropertyChange("first", this.first,
+					this.first = first);
+		}
+
+		public String getSecond() {
+			return second;
+		}
+
+		public void setSecond(String second) {
+			changeSupport.firePropertyChange("second", this.second,
+					this.second = second);
+		}
+	}
+}
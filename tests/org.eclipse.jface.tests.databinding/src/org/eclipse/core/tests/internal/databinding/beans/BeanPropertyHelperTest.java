@@ -13,6 +13,7 @@ package org.eclipse.core.tests.internal.databinding.beans;
 
 import java.beans.PropertyDescriptor;
 
+import org.eclipse.core.internal.databinding.beans.BeanPropertyAccessor;
 import org.eclipse.core.internal.databinding.beans.BeanPropertyHelper;
 
 import junit.framework.TestCase;
@@ -51,4 +52,73 @@ public class BeanPropertyHelperTest extends TestCase {
 				new Class[] { String.class }), pd.getWriteMethod());
 	}
 
+	public void testGetPropertyDescriptor_Cached() {
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(
+				Bean.class, "value");
+		assertSame(pd, BeanPropertyHelper.getPropertyDescriptor(Bean.class,
+				"value"));
+		assertSame(pd.getReadMethod(), BeanPropertyHelper
+				.getPropertyDescriptor(Bean.class, "value").getReadMethod());
+	}
+
+	public void testGetPropertyDescriptor_InterfaceCached() {
+		PropertyDescriptor pd = BeanPropertyHelper.getPropertyDescriptor(
+				IBeanExtension.class, "value");
+		assertSame(pd, BeanPropertyHelper.getPropertyDescriptor(
+				IBeanExtension.class, "value"));
+	}
+
+	public void testGetPropertyDescriptor_MissingProperty() {
+		try {
+			BeanPropertyHelper.getPropertyDescriptor(Bean.class, "missing");
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testAccessor_ReadWrite() {
+		BeanPropertyAccessor accessor = new BeanPropertyAccessor(
+				BeanPropertyHelper.getPropertyDescriptor(Bean.class, "value"));
+		Bean bean = new Bean();
+		accessor.write(bean, "a");
+		assertEquals("a", bean.getValue());
+		assertEquals("a", accessor.read(bean));
+	}
+
+	public void testAccessor_NonPublicClass() {
+		BeanPropertyAccessor accessor = new BeanPropertyAccessor(
+				BeanPropertyHelper.getPropertyDescriptor(PrivateBean.class,
+						"value"));
+		PrivateBean bean = new PrivateBean();
+		accessor.write(bean, "a");
+		assertEquals("a", accessor.read(bean));
+	}
+
+	public void testAccessor_ReadThrows() {
+		BeanPropertyAccessor accessor = new BeanPropertyAccessor(
+				BeanPropertyHelper.getPropertyDescriptor(PrivateBean.class,
+						"failing"));
+		try {
+			accessor.read(new PrivateBean());
+			fail("Expected RuntimeException");
+		} catch (RuntimeException expected) {
+			assertTrue(expected.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	private static class PrivateBean {
+		private String value;
+
+		public String getValue() {
+			return value;
+		}
+
+		public void setValue(String value) {
+			this.value = value;
+		}
+
+		public String getFailing() {
+			throw new IllegalStateException();
+		}
+	}
 }
@@ -14,6 +14,7 @@ package org.eclipse.core.tests.internal.databinding.beans;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -22,7 +23,12 @@ import org.eclipse.core.databinding.observable.IDiff;
 import org.eclipse.core.databinding.property.IProperty;
 import org.eclipse.core.databinding.property.ISimplePropertyListener;
 import org.eclipse.core.databinding.property.SimplePropertyEvent;
+import org.eclipse.core.databinding.util.ILogger;
+import org.eclipse.core.databinding.util.Policy;
 import org.eclipse.core.internal.databinding.beans.BeanPropertyListener;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.tests.internal.databinding.beans.BeanPropertyListenerSupportTest.GenericListenerBean;
+import org.eclipse.core.tests.internal.databinding.beans.BeanPropertyListenerSupportTest.SpecificListenerBean;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 
 /**
@@ -97,6 +103,109 @@ public class BeanPropertyListenerTest extends AbstractDefaultRealmTestCase {
 				simpleListener.log);
 	}
 
+	public void testPropertyChange_ReuseEvents_ReusesEventWithoutDiff() {
+		listener.setReuseEvents(true);
+		Object source1 = new Object();
+		Object source2 = new Object();
+		listener.propertyChange(new PropertyChangeEvent(source1, null, null,
+				null));
+		listener.propertyChange(new PropertyChangeEvent(source2, null, null,
+				null));
+
+		assertEquals(2, simpleListener.log.size());
+		assertSame(simpleListener.log.get(0), simpleListener.log.get(1));
+		assertEquals(SimplePropertyEvent.CHANGE,
+				((SimplePropertyEvent) simpleListener.log.get(1)).type);
+		assertEquals(2, simpleListener.sources.size());
+		assertSame(source1, simpleListener.sources.get(0));
+		assertSame(source2, simpleListener.sources.get(1));
+	}
+
+	public void testPropertyChange_ReuseEvents_AllocatesEventWithDiff() {
+		listener.setReuseEvents(true);
+		Object source = new Object();
+		Object oldValue = new Object();
+		Object newValue = new Object();
+		listener.propertyChange(new PropertyChangeEvent(source, "value",
+				oldValue, newValue));
+
+		SimplePropertyEvent expectedEvent = new SimplePropertyEvent(
+				SimplePropertyEvent.CHANGE, source, property, Diffs
+						.createValueDiff(oldValue, newValue));
+		assertEquals(Collections.singletonList(expectedEvent),
+				simpleListener.log);
+	}
+
+	public void testAddTo_MixedBeanClasses() {
+		List beans = new ArrayList();
+		for (int i = 0; i < 3; i++)
+			beans.add(new SpecificListenerBean());
+		beans.add(null);
+		for (int i = 0; i < 3; i++)
+			beans.add(new GenericListenerBean());
+		beans.add(new SpecificListenerBean());
+
+		listener.addTo(beans);
+		for (int i = 0; i < beans.size(); i++) {
+			Object bean = beans.get(i);
+			if (bean instanceof SpecificListenerBean) {
+				assertTrue(((SpecificListenerBean) bean).changeSupport
+						.hasListeners("value"));
+				assertEquals("value",
+						((SpecificListenerBean) bean).propertyName);
+			} else if (bean instanceof GenericListenerBean) {
+				assertTrue(((GenericListenerBean) bean).changeSupport
+						.hasListeners("value"));
+			}
+		}
+
+		listener.removeFrom(beans);
+		for (int i = 0; i < beans.size(); i++) {
+			Object bean = beans.get(i);
+			if (bean instanceof SpecificListenerBean)
+				assertFalse(((SpecificListenerBean) bean).changeSupport
+						.hasListeners("value"));
+			else if (bean instanceof GenericListenerBean)
+				assertFalse(((GenericListenerBean) bean).changeSupport
+						.hasListeners("value"));
+		}
+	}
+
+	public void testAddTo_ReceivesEvents() {
+		GenericListenerBean bean1 = new GenericListenerBean();
+		GenericListenerBean bean2 = new GenericListenerBean();
+		listener.addTo(Arrays.asList(new Object[] { bean1, bean2 }));
+
+		bean1.setValue("1");
+		bean2.setValue("2");
+		assertEquals(2, simpleListener.log.size());
+		assertSame(bean2, simpleListener.sources.get(1));
+
+		listener.removeFrom(Arrays.asList(new Object[] { bean1, bean2 }));
+		bean1.setValue("3");
+		assertEquals(2, simpleListener.log.size());
+	}
+
+	public void testAddTo_LogsEachBeanWithoutMethod() {
+		class BeanStub {
+		}
+
+		class Log implements ILogger {
+			int count;
+
+			public void log(IStatus status) {
+				count++;
+			}
+		}
+
+		Log log = new Log();
+		Policy.setLog(log);
+
+		listener.addTo(Arrays.asList(new Object[] { new BeanStub(),
+				new BeanStub() }));
+		assertEquals(2, log.count);
+	}
+
 	private static class PropertyStub implements IProperty {
 	}
 
@@ -104,8 +213,11 @@ public class BeanPropertyListenerTest extends AbstractDefaultRealmTestCase {
 			ISimplePropertyListener {
 		public List log = new ArrayList();
 
+		public List sources = new ArrayList();
+
 		public void handleEvent(SimplePropertyEvent event) {
 			log.add(event);
+			sources.add(event.getSource());
 		}
 	}
 
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.core.tests.internal.databinding.beans;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.internal.databinding.beans.DelegateCache;
+
+public class DelegateCacheTest extends TestCase {
+	private List<Class<?>> created;
+	private DelegateCache<Object, String> cache;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+		created = new ArrayList<Class<?>>();
+		cache = new DelegateCache<Object, String>() {
+			protected String createDelegate(Class<? extends Object> beanClass) {
+				created.add(beanClass);
+				if (beanClass == Integer.class)
+					return null;
+				return beanClass.getName();
+			}
+		};
+	}
+
+	public void testGet_CreatesDelegateOnce() {
+		assertEquals("java.lang.String", cache.get(String.class));
+		assertEquals("java.lang.String", cache.get(String.class));
+		assertEquals(1, created.size());
+	}
+
+	public void testGet_AlternatingClasses() {
+		for (int i = 0; i < 3; i++) {
+			assertEquals("java.lang.String", cache.get(String.class));
+			assertEquals("java.lang.Long", cache.get(Long.class));
+		}
+		assertEquals(2, created.size());
+	}
+
+	public void testGet_NullDelegateIsCached() {
+		assertNull(cache.get(Integer.class));
+		assertEquals("java.lang.String", cache.get(String.class));
+		assertNull(cache.get(Integer.class));
+		assertEquals(2, created.size());
+	}
+}
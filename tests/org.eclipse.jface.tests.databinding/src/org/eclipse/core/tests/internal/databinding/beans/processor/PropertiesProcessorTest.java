@@ -0,0 +1,558 @@
+/*******************************************************************************
+ * Copyright (c) 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.core.tests.internal.databinding.beans.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.eclipse.core.databinding.beans.GenerateProperties;
+import org.eclipse.core.databinding.observable.IObservable;
+import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.map.IObservableMap;
+import org.eclipse.core.databinding.observable.set.IObservableSet;
+import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.databinding.observable.value.IObservableValue;
+import org.eclipse.core.databinding.observable.value.WritableValue;
+import org.eclipse.core.databinding.property.list.IListProperty;
+import org.eclipse.core.databinding.property.map.IMapProperty;
+import org.eclipse.core.databinding.property.set.ISetProperty;
+import org.eclipse.core.databinding.property.value.IValueProperty;
+import org.eclipse.core.internal.databinding.beans.processor.PropertiesProcessor;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.jface.databinding.conformance.util.ChangeEventTracker;
+import org.eclipse.jface.databinding.conformance.util.ListChangeEventTracker;
+import org.eclipse.jface.databinding.conformance.util.MapChangeEventTracker;
+import org.eclipse.jface.databinding.conformance.util.ValueChangeEventTracker;
+import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
+
+/**
+ * Compiles annotated fixtures with {@link PropertiesProcessor} and exercises
+ * the generated properties.
+ *
+ * @since 1.5
+ */
+public class PropertiesProcessorTest extends AbstractDefaultRealmTestCase {
+	private static final String PERSON = source(new String[] {
+			"package fixtures;",
+			"import java.beans.*;",
+			"import java.util.*;",
+			"import org.eclipse.core.databinding.beans.GenerateProperties;",
+			"@GenerateProperties",
+			"public class Person {",
+			"  private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);",
+			"  private String name;",
+			"  private int age;",
+			"  private boolean active;",
+			"  private List<String> nicknames = new ArrayList<String>();",
+			"  private Set<String> tags = new HashSet<String>();",
+			"  private Map<String, Integer> scores = new HashMap<String, Integer>();",
+			"  public void addPropertyChangeListener(PropertyChangeListener listener) {",
+			"    changeSupport.addPropertyChangeListener(listener);",
+			"  }",
+			"  public void removePropertyChangeListener(PropertyChangeListener listener) {",
+			"    changeSupport.removePropertyChangeListener(listener);",
+			"  }",
+			"  public int listenerCount() {",
+			"    return changeSupport.getPropertyChangeListeners().length;",
+			"  }",
+			"  public String getId() { return \"id\"; }",
+			"  public String getName() { return name; }",
+			"  public void setName(String name) {",
+			"    changeSupport.firePropertyChange(\"name\", this.name, this.name = name);",
+			"  }",
+			"  public int getAge() { return age; }",
+			"  public void setAge(int age) {",
+			"    changeSupport.firePropertyChange(\"age\", this.age, this.age = age);",
+			"  }",
+			"  public boolean isActive() { return active; }",
+			"  public void setActive(boolean active) {",
+			"    changeSupport.firePropertyChange(\"active\", this.active, this.active = active);",
+			"  }",
+			"  public List<String> getNicknames() { return nicknames; }",
+			"  public void setNicknames(List<String> nicknames) {",
+			"    changeSupport.firePropertyChange(\"nicknames\", this.nicknames, this.nicknames = nicknames);",
+			"  }",
+			"  public Set<String> getTags() { return tags; }",
+			"  public void setTags(Set<String> tags) {",
+			"    changeSupport.firePropertyChange(\"tags\", this.tags, this.tags = tags);",
+			"  }",
+			"  public Map<String, Integer> getScores() { return scores; }",
+			"  public void setScores(Map<String, Integer> scores) {",
+			"    changeSupport.firePropertyChange(\"scores\", this.scores, this.scores = scores);",
+			"  }",
+			"}" });
+
+	private static final String NAMED_BEAN = source(new String[] {
+			"package fixtures;",
+			"import java.beans.*;",
+			"import org.eclipse.core.databinding.beans.GenerateProperties;",
+			"@GenerateProperties",
+			"public class NamedBean {",
+			"  private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);",
+			"  private String value;",
+			"  public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {",
+			"    changeSupport.addPropertyChangeListener(propertyName, listener);",
+			"  }",
+			"  public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {",
+			"    changeSupport.removePropertyChangeListener(propertyName, listener);",
+			"  }",
+			"  public int listenerCount(String propertyName) {",
+			"    return changeSupport.getPropertyChangeListeners(propertyName).length;",
+			"  }",
+			"  public String getValue() { return value; }",
+			"  public void setValue(String value) {",
+			"    changeSupport.firePropertyChange(\"value\", this.value, this.value = value);",
+			"  }",
+			"}" });
+
+	private static final String OUTER = source(new String[] {
+			"package fixtures;",
+			"import org.eclipse.core.databinding.beans.GenerateProperties;",
+			"public class Outer {",
+			"  @GenerateProperties",
+			"  public static class Inner {",
+			"    private String value;",
+			"    public String getValue() { return value; }",
+			"    public void setValue(String value) { this.value = value; }",
+			"  }",
+			"}" });
+
+	private static final String GENERIC_BEAN = source(new String[] {
+			"package fixtures;",
+			"import org.eclipse.core.databinding.beans.GenerateProperties;",
+			"@GenerateProperties",
+			"public class GenericBean<T> {",
+			"  public T getValue() { return null; }",
+			"}" });
+
+	private static final String PRIVATE_MEMBER = source(new String[] {
+			"package fixtures;",
+			"import org.eclipse.core.databinding.beans.GenerateProperties;",
+			"public class PrivateMember {",
+			"  @GenerateProperties",
+			"  private static class Hidden {",
+			"    public String getValue() { return null; }",
+			"  }",
+			"}" });
+
+	private File outputDirectory;
+	private DiagnosticCollector diagnostics;
+	private ClassLoader classLoader;
+
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		outputDirectory = File.createTempFile("PropertiesProcessorTest", "");
+		assertTrue(outputDirectory.delete());
+		assertTrue(outputDirectory.mkdir());
+	}
+
+	protected void tearDown() throws Exception {
+		delete(outputDirectory);
+
+		super.tearDown();
+	}
+
+	public void testValueProperty() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+
+		IValueProperty property = (IValueProperty) property(
+				"fixtures.PersonProperties", "name");
+		assertEquals(String.class, property.getValueType());
+		IObservableValue observable = property.observe(person);
+		ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(observable);
+
+		invoke(person, "setName", "Bob");
+		assertEquals(1, tracker.count);
+		assertEquals("Bob", tracker.event.diff.getNewValue());
+		assertEquals("Bob", observable.getValue());
+
+		observable.setValue("Alice");
+		assertEquals("Alice", invoke(person, "getName"));
+		assertEquals(2, tracker.count);
+	}
+
+	public void testPrimitiveProperty() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+
+		IValueProperty property = (IValueProperty) property(
+				"fixtures.PersonProperties", "age");
+		assertEquals(Integer.class, property.getValueType());
+		IObservableValue observable = property.observe(person);
+
+		observable.setValue(new Integer(5));
+		assertEquals(new Integer(5), invoke(person, "getAge"));
+
+		observable.setValue(null);
+		assertEquals(new Integer(5), invoke(person, "getAge"));
+	}
+
+	public void testBooleanProperty_IsGetter() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+
+		IObservableValue observable = ((IValueProperty) property(
+				"fixtures.PersonProperties", "active")).observe(person);
+		assertEquals(Boolean.class, observable.getValueType());
+
+		invoke(person, "setActive", Boolean.TRUE);
+		assertEquals(Boolean.TRUE, observable.getValue());
+	}
+
+	public void testListProperty() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+
+		IListProperty property = (IListProperty) property(
+				"fixtures.PersonProperties", "nicknames");
+		assertEquals(String.class, property.getElementType());
+		IObservableList observable = property.observe(person);
+		ListChangeEventTracker tracker = ListChangeEventTracker
+				.observe(observable);
+
+		invoke(person, "setNicknames", Arrays.asList(new String[] { "a",
+				"b" }));
+		assertEquals(1, tracker.count);
+		assertEquals(Arrays.asList(new String[] { "a", "b" }), observable);
+
+		observable.add("c");
+		assertEquals(Arrays.asList(new String[] { "a", "b", "c" }), invoke(
+				person, "getNicknames"));
+	}
+
+	public void testSetProperty() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+
+		ISetProperty property = (ISetProperty) property(
+				"fixtures.PersonProperties", "tags");
+		assertEquals(String.class, property.getElementType());
+		IObservableSet observable = property.observe(person);
+		ChangeEventTracker tracker = ChangeEventTracker.observe(observable);
+
+		invoke(person, "setTags", Collections.singleton("a"));
+		assertEquals(1, tracker.count);
+		assertEquals(Collections.singleton("a"), observable);
+
+		observable.add("b");
+		assertEquals(new HashSet(Arrays.asList(new String[] { "a", "b" })),
+				invoke(person, "getTags"));
+	}
+
+	public void testMapProperty() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+
+		IMapProperty property = (IMapProperty) property(
+				"fixtures.PersonProperties", "scores");
+		assertEquals(String.class, property.getKeyType());
+		assertEquals(Integer.class, property.getValueType());
+		IObservableMap observable = property.observe(person);
+		MapChangeEventTracker tracker = MapChangeEventTracker
+				.observe(observable);
+
+		invoke(person, "setScores", Collections.singletonMap("a",
+				new Integer(1)));
+		assertEquals(1, tracker.count);
+		assertEquals(Collections.singletonMap("a", new Integer(1)),
+				observable);
+
+		observable.put("b", new Integer(2));
+		Map expected = new HashMap();
+		expected.put("a", new Integer(1));
+		expected.put("b", new Integer(2));
+		assertEquals(expected, invoke(person, "getScores"));
+	}
+
+	public void testReadOnlyProperty_SetValueThrowsIllegalArgument()
+			throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+
+		IObservableValue observable = ((IValueProperty) property(
+				"fixtures.PersonProperties", "id")).observe(person);
+		assertEquals("id", observable.getValue());
+
+		try {
+			observable.setValue("other");
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	public void testUnnamedListenerRegistration() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+
+		IObservableValue observable = ((IValueProperty) property(
+				"fixtures.PersonProperties", "name")).observe(person);
+		ValueChangeEventTracker.observe(observable);
+		assertEquals(new Integer(1), invoke(person, "listenerCount"));
+
+		observable.dispose();
+		assertEquals(new Integer(0), invoke(person, "listenerCount"));
+	}
+
+	public void testNamedListenerRegistration() throws Exception {
+		assertCompiles("fixtures.NamedBean", NAMED_BEAN);
+		Object bean = newInstance("fixtures.NamedBean");
+
+		IObservableValue observable = ((IValueProperty) property(
+				"fixtures.NamedBeanProperties", "value")).observe(bean);
+		ValueChangeEventTracker tracker = ValueChangeEventTracker
+				.observe(observable);
+		assertEquals(new Integer(1), invoke(bean, "listenerCount", "value"));
+
+		invoke(bean, "setValue", "new");
+		assertEquals(1, tracker.count);
+
+		observable.dispose();
+		assertEquals(new Integer(0), invoke(bean, "listenerCount", "value"));
+	}
+
+	public void testMemberClass() throws Exception {
+		assertCompiles("fixtures.Outer", OUTER);
+		Object inner = newInstance("fixtures.Outer$Inner");
+
+		IObservableValue observable = ((IValueProperty) property(
+				"fixtures.OuterInnerProperties", "value")).observe(inner);
+		observable.setValue("value");
+		assertEquals("value", invoke(inner, "getValue"));
+	}
+
+	public void testObserveDetail_Value() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object bob = newInstance("fixtures.Person");
+		invoke(bob, "setName", "Bob");
+		Object alice = newInstance("fixtures.Person");
+		invoke(alice, "setName", "Alice");
+
+		IObservableValue master = new WritableValue(bob, null);
+		IObservableValue detail = ((IValueProperty) property(
+				"fixtures.PersonProperties", "name")).observeDetail(master);
+		assertEquals("Bob", detail.getValue());
+
+		master.setValue(alice);
+		assertEquals("Alice", detail.getValue());
+
+		detail.setValue("Carol");
+		assertEquals("Carol", invoke(alice, "getName"));
+		assertEquals("Bob", invoke(bob, "getName"));
+	}
+
+	public void testObserveDetail_List() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+		invoke(person, "setNicknames", Collections.singletonList("a"));
+
+		IObservableValue master = new WritableValue(null, null);
+		IObservableList detail = ((IListProperty) property(
+				"fixtures.PersonProperties", "nicknames"))
+				.observeDetail(master);
+		assertTrue(detail.isEmpty());
+
+		master.setValue(person);
+		assertEquals(Collections.singletonList("a"), detail);
+	}
+
+	public void testObserveDetail_Set() throws Exception {
+		assertCompiles("fixtures.Person", PERSON);
+		Object person = newInstance("fixtures.Person");
+		invoke(person, "setName", "Bob");
+
+		IObservableSet master = new WritableSet();
+		IObservableMap detail = ((IValueProperty) property(
+				"fixtures.PersonProperties", "name")).observeDetail(master);
+		master.add(person);
+		assertEquals("Bob", detail.get(person));
+
+		invoke(person, "setName", "Alice");
+		assertEquals("Alice", detail.get(person));
+	}
+
+	public void testGenericClass_Error() throws Exception {
+		assertCompileError("fixtures.GenericBean", GENERIC_BEAN,
+				"@GenerateProperties cannot be applied to generic classes");
+	}
+
+	public void testPrivateMemberClass_Error() throws Exception {
+		assertCompileError(
+				"fixtures.PrivateMember",
+				PRIVATE_MEMBER,
+				"@GenerateProperties can only be applied to top level classes and non-private static member classes");
+	}
+
+	private static String source(String[] lines) {
+		StringBuffer buffer = new StringBuffer();
+		for (int i = 0; i < lines.length; i++)
+			buffer.append(lines[i]).append('\n');
+		return buffer.toString();
+	}
+
+	private boolean compile(String className, String source)
+			throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull("A JDK is needed to run the annotation processor",
+				compiler);
+		diagnostics = new DiagnosticCollector();
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(
+				diagnostics, null, null);
+		try {
+			List output = Collections.singletonList(outputDirectory);
+			fileManager.setLocation(StandardLocation.CLASS_OUTPUT, output);
+			fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, output);
+			fileManager.setLocation(StandardLocation.CLASS_PATH, classPath());
+			CompilationTask task = compiler.getTask(null, fileManager,
+					diagnostics, null, null, Collections
+							.singletonList(new SourceFile(className, source)));
+			task.setProcessors(Collections
+					.singletonList(new PropertiesProcessor()));
+			return task.call().booleanValue();
+		} finally {
+			fileManager.close();
+		}
+	}
+
+	private void assertCompiles(String className, String source)
+			throws IOException {
+		boolean compiled = compile(className, source);
+		assertTrue(diagnostics(Diagnostic.Kind.ERROR).toString(), compiled);
+		classLoader = new URLClassLoader(new URL[] { outputDirectory.toURI()
+				.toURL() }, getClass().getClassLoader());
+	}
+
+	private void assertCompileError(String className, String source,
+			String message) throws IOException {
+		assertFalse(compile(className, source));
+		assertEquals(Collections.singletonList(message),
+				diagnostics(Diagnostic.Kind.ERROR));
+		assertFalse(new File(outputDirectory, "fixtures").exists());
+	}
+
+	private List diagnostics(Diagnostic.Kind kind) {
+		List messages = new ArrayList();
+		for (Iterator it = diagnostics.getDiagnostics().iterator(); it
+				.hasNext();) {
+			Diagnostic diagnostic = (Diagnostic) it.next();
+			if (diagnostic.getKind() == kind)
+				messages.add(diagnostic.getMessage(null));
+		}
+		return messages;
+	}
+
+	/**
+	 * The fixtures only need the bundles whose API the generated code uses.
+	 */
+	private static Set classPath() {
+		Set classPath = new LinkedHashSet();
+		Class[] classes = new Class[] { GenerateProperties.class,
+				IValueProperty.class, IObservable.class, Assert.class };
+		for (int i = 0; i < classes.length; i++) {
+			try {
+				classPath.add(new File(classes[i].getProtectionDomain()
+						.getCodeSource().getLocation().toURI()));
+			} catch (Exception e) {
+				throw new IllegalStateException(e.toString());
+			}
+		}
+		return classPath;
+	}
+
+	private Object newInstance(String className) throws Exception {
+		return classLoader.loadClass(className).newInstance();
+	}
+
+	private Object property(String className, String methodName)
+			throws Exception {
+		return classLoader.loadClass(className).getMethod(methodName,
+				new Class[0]).invoke(null, new Object[0]);
+	}
+
+	private static Object invoke(Object target, String methodName)
+			throws Exception {
+		return invoke(target, methodName, new Object[0]);
+	}
+
+	private static Object invoke(Object target, String methodName,
+			Object argument) throws Exception {
+		return invoke(target, methodName, new Object[] { argument });
+	}
+
+	private static Object invoke(Object target, String methodName,
+			Object[] arguments) throws Exception {
+		Method[] methods = target.getClass().getMethods();
+		for (int i = 0; i < methods.length; i++) {
+			Method method = methods[i];
+			if (method.getName().equals(methodName)
+					&& method.getParameterTypes().length == arguments.length) {
+				try {
+					return method.invoke(target, arguments);
+				} catch (InvocationTargetException e) {
+					if (e.getCause() instanceof Exception)
+						throw (Exception) e.getCause();
+					throw e;
+				}
+			}
+		}
+		throw new NoSuchMethodException(methodName);
+	}
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (int i = 0; i < children.length; i++)
+				delete(children[i]);
+		}
+		file.delete();
+	}
+
+	private static class SourceFile extends SimpleJavaFileObject {
+		private final String source;
+
+		SourceFile(String className, String source) {
+			super(URI.create("string:///" + className.replace('.', '/')
+					+ Kind.SOURCE.extension), Kind.SOURCE);
+			this.source = source;
+		}
+
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return source;
+		}
+	}
+}
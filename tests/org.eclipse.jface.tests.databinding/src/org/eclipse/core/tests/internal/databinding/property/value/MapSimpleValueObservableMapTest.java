@@ -12,9 +12,14 @@
 
 package org.eclipse.core.tests.internal.databinding.property.value;
 
+import org.eclipse.core.databinding.beans.BeanProperties;
+import org.eclipse.core.databinding.observable.map.IObservableMap;
 import org.eclipse.core.databinding.observable.map.WritableMap;
+import org.eclipse.core.databinding.property.Properties;
 import org.eclipse.core.internal.databinding.property.value.MapSimpleValueObservableMap;
 import org.eclipse.core.internal.databinding.property.value.SelfValueProperty;
+import org.eclipse.core.tests.internal.databinding.beans.Bean;
+import org.eclipse.jface.databinding.conformance.util.MapChangeEventTracker;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 
 public class MapSimpleValueObservableMapTest extends
@@ -53,4 +58,36 @@ public class MapSimpleValueObservableMapTest extends
 		// Check that the replaced old value is our original value.
 		assertSame(oldValue, returnedOldValue);
 	}
+
+	public void testLazy_ObservesMasterValuesOnceRead() {
+		Bean first = new Bean("a");
+		Bean second = new Bean("b");
+		WritableMap<String, Bean> masterMap = new WritableMap<String, Bean>();
+		masterMap.put("first", first);
+		masterMap.put("second", second);
+		IObservableMap<String, String> detailMap = Properties
+				.observeDetailLazily(
+						BeanProperties.value(Bean.class, "value", String.class),
+						masterMap, 1);
+		MapChangeEventTracker tracker = MapChangeEventTracker
+				.observe(detailMap);
+
+		assertFalse(first.hasListeners("value"));
+		assertEquals("a", detailMap.get("first"));
+		assertTrue(first.hasListeners("value"));
+
+		first.setValue("c");
+		assertEquals(1, tracker.count);
+		assertEquals("a", tracker.event.diff.getOldValue("first"));
+		assertEquals("c", tracker.event.diff.getNewValue("first"));
+
+		assertEquals("b", detailMap.get("second"));
+		assertFalse(first.hasListeners("value"));
+		assertTrue(second.hasListeners("value"));
+
+		masterMap.remove("second");
+		assertFalse(second.hasListeners("value"));
+		assertEquals(2, tracker.count);
+		assertEquals("b", tracker.event.diff.getOldValue("second"));
+	}
 }
@@ -11,9 +11,17 @@
 
 package org.eclipse.core.tests.internal.databinding.property.value;
 
+import java.util.Arrays;
+
+import org.eclipse.core.databinding.beans.BeanProperties;
+import org.eclipse.core.databinding.observable.map.IObservableMap;
 import org.eclipse.core.databinding.observable.set.WritableSet;
+import org.eclipse.core.databinding.property.Properties;
+import org.eclipse.core.internal.databinding.property.ValuePropertyDetailValue;
 import org.eclipse.core.internal.databinding.property.value.SelfValueProperty;
 import org.eclipse.core.internal.databinding.property.value.SetSimpleValueObservableMap;
+import org.eclipse.core.tests.internal.databinding.beans.Bean;
+import org.eclipse.jface.databinding.conformance.util.MapChangeEventTracker;
 import org.eclipse.jface.tests.databinding.AbstractDefaultRealmTestCase;
 
 public class SetSimpleValueObservableMapTest extends
@@ -29,4 +37,142 @@ public class SetSimpleValueObservableMapTest extends
 		assertEquals(masterSet.getElementType(), detailMap.getKeyType());
 		assertEquals(detailProperty.getValueType(), detailMap.getValueType());
 	}
+
+	public void testAddAllToKeySet_ObservesEachKey() {
+		Bean first = new Bean("a");
+		Bean second = new Bean("b");
+		WritableSet<Bean> masterSet = new WritableSet<Bean>();
+		IObservableMap<Bean, String> detailMap = BeanProperties.value(
+				Bean.class, "value", String.class).observeDetail(masterSet);
+		MapChangeEventTracker tracker = MapChangeEventTracker
+				.observe(detailMap);
+
+		masterSet.addAll(Arrays.asList(new Bean[] { first, second }));
+		assertTrue(first.hasListeners("value"));
+		assertTrue(second.hasListeners("value"));
+		assertEquals(1, tracker.count);
+		assertEquals("a", tracker.event.diff.getNewValue(first));
+		assertEquals("b", tracker.event.diff.getNewValue(second));
+
+		second.setValue("c");
+		assertEquals(2, tracker.count);
+		assertEquals("b", tracker.event.diff.getOldValue(second));
+
+		masterSet.removeAll(Arrays.asList(new Bean[] { first, second }));
+		assertFalse(first.hasListeners("value"));
+		assertFalse(second.hasListeners("value"));
+	}
+
+	public void testLazy_ObservesKeysOnceRead() {
+		Bean first = new Bean("a");
+		Bean second = new Bean("b");
+		WritableSet<Bean> masterSet = new WritableSet<Bean>();
+		masterSet.add(first);
+		masterSet.add(second);
+		IObservableMap<Bean, String> detailMap = Properties
+				.observeDetailLazily(
+						BeanProperties.value(Bean.class, "value", String.class),
+						masterSet, 10);
+		MapChangeEventTracker tracker = MapChangeEventTracker
+				.observe(detailMap);
+
+		assertFalse(first.hasListeners("value"));
+		assertFalse(second.hasListeners("value"));
+
+		assertEquals("a", detailMap.get(first));
+		assertTrue(first.hasListeners("value"));
+		assertFalse(second.hasListeners("value"));
+
+		first.setValue("c");
+		assertEquals(1, tracker.count);
+		assertEquals("a", tracker.event.diff.getOldValue(first));
+		assertEquals("c", tracker.event.diff.getNewValue(first));
+
+		// Changes of keys which were never read are not reported
+		second.setValue("d");
+		assertEquals(1, tracker.count);
+
+		masterSet.remove(first);
+		assertFalse(first.hasListeners("value"));
+		assertEquals(2, tracker.count);
+		assertEquals("c", tracker.event.diff.getOldValue(first));
+	}
+
+	public void testLazy_EvictsLeastRecentlyReadKey() {
+		Bean first = new Bean("a");
+		Bean second = new Bean("b");
+		Bean third = new Bean("c");
+		WritableSet<Bean> masterSet = new WritableSet<Bean>();
+		masterSet.add(first);
+		masterSet.add(second);
+		masterSet.add(third);
+		IObservableMap<Bean, String> detailMap = Properties
+				.observeDetailLazily(
+						BeanProperties.value(Bean.class, "value", String.class),
+						masterSet, 2);
+		MapChangeEventTracker tracker = MapChangeEventTracker
+				.observe(detailMap);
+
+		detailMap.get(first);
+		detailMap.get(second);
+		detailMap.get(first);
+		detailMap.get(third);
+		assertTrue(first.hasListeners("value"));
+		assertFalse(second.hasListeners("value"));
+		assertTrue(third.hasListeners("value"));
+
+		second.setValue("d");
+		assertEquals(0, tracker.count);
+
+		// Reading an evicted key observes it again with its current value
+		assertEquals("d", detailMap.get(second));
+		assertFalse(first.hasListeners("value"));
+		second.setValue("e");
+		assertEquals(1, tracker.count);
+		assertEquals("d", tracker.event.diff.getOldValue(second));
+	}
+
+	public void testLazy_PutFiresChangeOfUnobservedKey() {
+		Bean bean = new Bean("a");
+		WritableSet<Bean> masterSet = new WritableSet<Bean>();
+		masterSet.add(bean);
+		IObservableMap<Bean, String> detailMap = Properties
+				.observeDetailLazily(
+						BeanProperties.value(Bean.class, "value", String.class),
+						masterSet, 1);
+		MapChangeEventTracker tracker = MapChangeEventTracker
+				.observe(detailMap);
+
+		assertEquals("a", detailMap.put(bean, "b"));
+		assertEquals(1, tracker.count);
+		assertEquals("a", tracker.event.diff.getOldValue(bean));
+		assertEquals("b", tracker.event.diff.getNewValue(bean));
+	}
+
+	public void testLazy_DisposeDetachesObservedKeys() {
+		Bean bean = new Bean("a");
+		WritableSet<Bean> masterSet = new WritableSet<Bean>();
+		masterSet.add(bean);
+		IObservableMap<Bean, String> detailMap = Properties
+				.observeDetailLazily(
+						BeanProperties.value(Bean.class, "value", String.class),
+						masterSet, 1);
+		MapChangeEventTracker.observe(detailMap);
+		detailMap.get(bean);
+		assertTrue(bean.hasListeners("value"));
+
+		detailMap.dispose();
+		assertFalse(bean.hasListeners("value"));
+	}
+
+	public void testLazy_DefaultImplementationChecksMaximum() {
+		ValuePropertyDetailValue property = new ValuePropertyDetailValue(
+				new SelfValueProperty(null), new SelfValueProperty(null));
+		try {
+			property.observeDetailLazily(new WritableSet(), 0);
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException expected) {
+		}
+		assertNotNull(property.observeDetailLazily(new WritableSet(), 1));
+	}
 }
@@ -30,6 +30,7 @@ import org.eclipse.core.tests.databinding.BindingTest;
 import org.eclipse.core.tests.databinding.DatabindingContextTest;
 import org.eclipse.core.tests.databinding.ListBindingTest;
 import org.eclipse.core.tests.databinding.ObservablesManagerTest;
+import org.eclipse.core.tests.databinding.SetBindingTest;
 import org.eclipse.core.tests.databinding.UpdateListStrategyTest;
 import org.eclipse.core.tests.databinding.UpdateSetStrategyTest;
 import org.eclipse.core.tests.databinding.UpdateStrategyTest;
@@ -49,9 +50,12 @@ import org.eclipse.core.tests.databinding.observable.ChangeSupportTest;
 import org.eclipse.core.tests.databinding.observable.DecoratingObservableTest;
 import org.eclipse.core.tests.databinding.observable.DiffsTest;
 import org.eclipse.core.tests.databinding.observable.Diffs_ListDiffTests;
+import org.eclipse.core.tests.databinding.observable.ExecutorRealmTest;
+import org.eclipse.core.tests.databinding.observable.ListenerListTest;
 import org.eclipse.core.tests.databinding.observable.ObservableTrackerTest;
 import org.eclipse.core.tests.databinding.observable.ObservablesTest;
 import org.eclipse.core.tests.databinding.observable.RealmTest;
+import org.eclipse.core.tests.databinding.observable.WorkerRealmTest;
 import org.eclipse.core.tests.databinding.observable.list.AbstractObservableListTest;
 import org.eclipse.core.tests.databinding.observable.list.ComputedListTest;
 import org.eclipse.core.tests.databinding.observable.list.DecoratingObservableListTest;
@@ -85,6 +89,8 @@ import org.eclipse.core.tests.databinding.validation.MultiValidatorTest;
 import org.eclipse.core.tests.databinding.validation.ValidationStatusTest;
 import org.eclipse.core.tests.internal.databinding.BindingMessagesTest;
 import org.eclipse.core.tests.internal.databinding.BindingStatusTest;
+import org.eclipse.core.tests.internal.databinding.CompactIdentityMapTest;
+import org.eclipse.core.tests.internal.databinding.CompactIdentitySetTest;
 import org.eclipse.core.tests.internal.databinding.ConverterValuePropertyTest;
 import org.eclipse.core.tests.internal.databinding.IdentityMapTest;
 import org.eclipse.core.tests.internal.databinding.IdentitySetTest;
@@ -92,10 +98,12 @@ import org.eclipse.core.tests.internal.databinding.QueueTest;
 import org.eclipse.core.tests.internal.databinding.beans.BeanObservableListDecoratorTest;
 import org.eclipse.core.tests.internal.databinding.beans.BeanObservableSetDecoratorTest;
 import org.eclipse.core.tests.internal.databinding.beans.BeanObservableValueDecoratorTest;
+import org.eclipse.core.tests.internal.databinding.beans.BeanPropertyChangeMultiplexerTest;
 import org.eclipse.core.tests.internal.databinding.beans.BeanPropertyHelperTest;
 import org.eclipse.core.tests.internal.databinding.beans.BeanPropertyListenerSupportTest;
 import org.eclipse.core.tests.internal.databinding.beans.BeanPropertyListenerTest;
 import org.eclipse.core.tests.internal.databinding.beans.BeanValuePropertyTest;
+import org.eclipse.core.tests.internal.databinding.beans.DelegateCacheTest;
 import org.eclipse.core.tests.internal.databinding.beans.JavaBeanObservableArrayBasedListTest;
 import org.eclipse.core.tests.internal.databinding.beans.JavaBeanObservableArrayBasedSetTest;
 import org.eclipse.core.tests.internal.databinding.beans.JavaBeanObservableListTest;
@@ -103,6 +111,7 @@ import org.eclipse.core.tests.internal.databinding.beans.JavaBeanObservableMapTe
 import org.eclipse.core.tests.internal.databinding.beans.JavaBeanObservableSetTest;
 import org.eclipse.core.tests.internal.databinding.beans.JavaBeanObservableValueTest;
 import org.eclipse.core.tests.internal.databinding.beans.JavaBeanPropertyObservableMapTest;
+import org.eclipse.core.tests.internal.databinding.beans.processor.PropertiesProcessorTest;
 import org.eclipse.core.tests.internal.databinding.conversion.DateConversionSupportTest;
 import org.eclipse.core.tests.internal.databinding.conversion.IdentityConverterTest;
 import org.eclipse.core.tests.internal.databinding.conversion.IntegerToStringConverterTest;
@@ -246,6 +255,7 @@ public class BindingTestSuite extends TestSuite {
 		addTestSuite(BindingTest.class);
 		addTestSuite(DatabindingContextTest.class);
 		addTestSuite(ListBindingTest.class);
+		addTestSuite(SetBindingTest.class);
 		addTestSuite(UpdateStrategyTest.class);
 		addTestSuite(UpdateListStrategyTest.class);
 		addTestSuite(UpdateSetStrategyTest.class);
@@ -275,9 +285,12 @@ public class BindingTestSuite extends TestSuite {
 		addTestSuite(DecoratingObservableTest.class);
 		addTestSuite(Diffs_ListDiffTests.class);
 		addTestSuite(DiffsTest.class);
+		addTestSuite(ExecutorRealmTest.class);
+		addTestSuite(ListenerListTest.class);
 		addTestSuite(ObservablesTest.class);
 		addTestSuite(ObservableTrackerTest.class);
 		addTestSuite(RealmTest.class);
+		addTestSuite(WorkerRealmTest.class);
 
 		// org.eclipse.core.tests.databinding.observable.list
 		addTest(AbstractObservableListTest.suite());
@@ -325,6 +338,8 @@ public class BindingTestSuite extends TestSuite {
 		addTestSuite(ConverterValuePropertyTest.class);
 		addTestSuite(IdentityMapTest.class);
 		addTestSuite(IdentitySetTest.class);
+		addTestSuite(CompactIdentityMapTest.class);
+		addTestSuite(CompactIdentitySetTest.class);
 		addTestSuite(QueueTest.class);
 
 		// org.eclipse.core.tests.internal.databinding.conversion
@@ -369,6 +384,11 @@ public class BindingTestSuite extends TestSuite {
 		addTestSuite(BeanPropertyHelperTest.class);
 		addTestSuite(BeanPropertyListenerSupportTest.class);
 		addTestSuite(BeanPropertyListenerTest.class);
+		addTestSuite(BeanPropertyChangeMultiplexerTest.class);
+		addTestSuite(DelegateCacheTest.class);
+
+		// org.eclipse.core.tests.internal.databinding.beans.processor
+		addTestSuite(PropertiesProcessorTest.class);
 
 		// org.eclipse.core.tests.internal.databinding.observable
 		addTest(ConstantObservableValueTest.suite());